@@ -29,4 +29,13 @@ public @interface TdTable {
      */
     String comment() default "";
 
+    /**
+     * 子表名模板，如 {@code "d_{deviceId}_{region}"}
+     * <p>
+     * {@code {name}} 为 TAG 字段的属性名或列名，其余部分原样保留；TAG 值为 null 时替换为 {@code unknown}。
+     * 在 TAG_JOIN 命名风格下生效，未配置时子表名为 {@code 超级表名_TAG值1_TAG值2...}（按 DDL 中的 TAG 顺序）。
+     * </p>
+     */
+    String subTable() default "";
+
 }
\ No newline at end of file
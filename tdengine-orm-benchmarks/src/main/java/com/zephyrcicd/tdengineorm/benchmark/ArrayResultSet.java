@@ -0,0 +1,547 @@
+package com.zephyrcicd.tdengineorm.benchmark;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Calendar;
+import java.util.Map;
+
+/**
+ * 基于内存数组的只进结果集
+ * <p>
+ * 单元格保存 TDengine JDBC 驱动对应类型的 Java 对象（TIMESTAMP 为 {@link Timestamp}、DOUBLE 为 {@link Double} 等），
+ * 类型化 getter 按驱动的方式转换，行映射的开销不被模拟层的装箱或反射掩盖。只实现映射会用到的读取方法，
+ * 其余方法抛出 {@link SQLFeatureNotSupportedException}。
+ * </p>
+ *
+ * @author Zephyr
+ */
+public class ArrayResultSet implements ResultSet {
+
+    private final String[] labels;
+    private final int[] sqlTypes;
+    private final Object[][] rows;
+    private int cursor = -1;
+    private boolean lastWasNull;
+    private boolean closed;
+
+    /**
+     * @param labels   列标签
+     * @param sqlTypes 各列的 {@link Types} 类型
+     * @param rows     行数据，结果集之间可以共享
+     */
+    public ArrayResultSet(String[] labels, int[] sqlTypes, Object[][] rows) {
+        this.labels = labels;
+        this.sqlTypes = sqlTypes;
+        this.rows = rows;
+    }
+
+    private Object value(int columnIndex) {
+        Object value = rows[cursor][columnIndex - 1];
+        lastWasNull = value == null;
+        return value;
+    }
+
+    private static SQLException unsupported() {
+        return new SQLFeatureNotSupportedException("Not supported by ArrayResultSet");
+    }
+
+    @Override
+    public boolean next() {
+        return ++cursor < rows.length;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public boolean wasNull() {
+        return lastWasNull;
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() {
+        return new MetaData();
+    }
+
+    @Override
+    public int findColumn(String columnLabel) throws SQLException {
+        for (int i = 0; i < labels.length; i++) {
+            if (labels[i].equalsIgnoreCase(columnLabel)) {
+                return i + 1;
+            }
+        }
+        throw new SQLException("Column not found: " + columnLabel);
+    }
+
+    @Override
+    public Object getObject(int columnIndex) {
+        return value(columnIndex);
+    }
+
+    @Override
+    public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
+        Object value = value(columnIndex);
+        if (value == null || type.isInstance(value)) {
+            return type.cast(value);
+        }
+        throw new SQLException("Can not convert " + value.getClass().getName() + " to " + type.getName());
+    }
+
+    @Override
+    public String getString(int columnIndex) {
+        Object value = value(columnIndex);
+        return value == null ? null : value.toString();
+    }
+
+    @Override
+    public boolean getBoolean(int columnIndex) {
+        Object value = value(columnIndex);
+        return value instanceof Boolean ? (Boolean) value : value != null && ((Number) value).intValue() != 0;
+    }
+
+    @Override
+    public byte getByte(int columnIndex) {
+        Object value = value(columnIndex);
+        return value == null ? 0 : ((Number) value).byteValue();
+    }
+
+    @Override
+    public short getShort(int columnIndex) {
+        Object value = value(columnIndex);
+        return value == null ? 0 : ((Number) value).shortValue();
+    }
+
+    @Override
+    public int getInt(int columnIndex) {
+        Object value = value(columnIndex);
+        return value == null ? 0 : ((Number) value).intValue();
+    }
+
+    @Override
+    public long getLong(int columnIndex) {
+        Object value = value(columnIndex);
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).getTime();
+        }
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+
+    @Override
+    public float getFloat(int columnIndex) {
+        Object value = value(columnIndex);
+        return value == null ? 0 : ((Number) value).floatValue();
+    }
+
+    @Override
+    public double getDouble(int columnIndex) {
+        Object value = value(columnIndex);
+        return value == null ? 0 : ((Number) value).doubleValue();
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(int columnIndex) {
+        Object value = value(columnIndex);
+        return value == null ? null : new BigDecimal(value.toString());
+    }
+
+    @Override
+    public byte[] getBytes(int columnIndex) {
+        Object value = value(columnIndex);
+        return value instanceof String ? ((String) value).getBytes() : (byte[]) value;
+    }
+
+    @Override
+    public Timestamp getTimestamp(int columnIndex) {
+        Object value = value(columnIndex);
+        return value instanceof Number ? new Timestamp(((Number) value).longValue()) : (Timestamp) value;
+    }
+
+    @Override
+    public Object getObject(String columnLabel) throws SQLException {
+        return getObject(findColumn(columnLabel));
+    }
+
+    @Override
+    public String getString(String columnLabel) throws SQLException {
+        return getString(findColumn(columnLabel));
+    }
+
+    @Override
+    public int getInt(String columnLabel) throws SQLException {
+        return getInt(findColumn(columnLabel));
+    }
+
+    @Override
+    public long getLong(String columnLabel) throws SQLException {
+        return getLong(findColumn(columnLabel));
+    }
+
+    @Override
+    public double getDouble(String columnLabel) throws SQLException {
+        return getDouble(findColumn(columnLabel));
+    }
+
+    @Override
+    public Timestamp getTimestamp(String columnLabel) throws SQLException {
+        return getTimestamp(findColumn(columnLabel));
+    }
+
+    @Override
+    public Statement getStatement() {
+        return null;
+    }
+
+    @Override
+    public SQLWarning getWarnings() {
+        return null;
+    }
+
+    @Override
+    public void clearWarnings() {
+    }
+
+    @Override
+    public int getType() {
+        return TYPE_FORWARD_ONLY;
+    }
+
+    @Override
+    public int getConcurrency() {
+        return CONCUR_READ_ONLY;
+    }
+
+    @Override
+    public int getHoldability() {
+        return CLOSE_CURSORS_AT_COMMIT;
+    }
+
+    @Override
+    public int getFetchSize() {
+        return rows.length;
+    }
+
+    @Override
+    public void setFetchSize(int rows) {
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw unsupported();
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    // ---------- 以下方法行映射不会调用 ----------
+
+    @Override public boolean absolute(int row) throws SQLException { throw unsupported(); }
+    @Override public void afterLast() throws SQLException { throw unsupported(); }
+    @Override public void beforeFirst() throws SQLException { throw unsupported(); }
+    @Override public void cancelRowUpdates() throws SQLException { throw unsupported(); }
+    @Override public void deleteRow() throws SQLException { throw unsupported(); }
+    @Override public boolean first() throws SQLException { throw unsupported(); }
+    @Override public Array getArray(String columnLabel) throws SQLException { throw unsupported(); }
+    @Override public Array getArray(int columnIndex) throws SQLException { throw unsupported(); }
+    @Override public InputStream getAsciiStream(String columnLabel) throws SQLException { throw unsupported(); }
+    @Override public InputStream getAsciiStream(int columnIndex) throws SQLException { throw unsupported(); }
+    @Override public BigDecimal getBigDecimal(String columnLabel, int x) throws SQLException { throw unsupported(); }
+    @Override public BigDecimal getBigDecimal(String columnLabel) throws SQLException { throw unsupported(); }
+    @Override public BigDecimal getBigDecimal(int columnIndex, int x) throws SQLException { throw unsupported(); }
+    @Override public InputStream getBinaryStream(String columnLabel) throws SQLException { throw unsupported(); }
+    @Override public InputStream getBinaryStream(int columnIndex) throws SQLException { throw unsupported(); }
+    @Override public Blob getBlob(String columnLabel) throws SQLException { throw unsupported(); }
+    @Override public Blob getBlob(int columnIndex) throws SQLException { throw unsupported(); }
+    @Override public boolean getBoolean(String columnLabel) throws SQLException { throw unsupported(); }
+    @Override public byte getByte(String columnLabel) throws SQLException { throw unsupported(); }
+    @Override public byte[] getBytes(String columnLabel) throws SQLException { throw unsupported(); }
+    @Override public Reader getCharacterStream(String columnLabel) throws SQLException { throw unsupported(); }
+    @Override public Reader getCharacterStream(int columnIndex) throws SQLException { throw unsupported(); }
+    @Override public Clob getClob(String columnLabel) throws SQLException { throw unsupported(); }
+    @Override public Clob getClob(int columnIndex) throws SQLException { throw unsupported(); }
+    @Override public String getCursorName() throws SQLException { throw unsupported(); }
+    @Override public Date getDate(String columnLabel, Calendar x) throws SQLException { throw unsupported(); }
+    @Override public Date getDate(String columnLabel) throws SQLException { throw unsupported(); }
+    @Override public Date getDate(int columnIndex, Calendar x) throws SQLException { throw unsupported(); }
+    @Override public Date getDate(int columnIndex) throws SQLException { throw unsupported(); }
+    @Override public int getFetchDirection() throws SQLException { throw unsupported(); }
+    @Override public float getFloat(String columnLabel) throws SQLException { throw unsupported(); }
+    @Override public Reader getNCharacterStream(String columnLabel) throws SQLException { throw unsupported(); }
+    @Override public Reader getNCharacterStream(int columnIndex) throws SQLException { throw unsupported(); }
+    @Override public NClob getNClob(String columnLabel) throws SQLException { throw unsupported(); }
+    @Override public NClob getNClob(int columnIndex) throws SQLException { throw unsupported(); }
+    @Override public String getNString(String columnLabel) throws SQLException { throw unsupported(); }
+    @Override public String getNString(int columnIndex) throws SQLException { throw unsupported(); }
+    @Override public <T> T getObject(String columnLabel, Class<T> x) throws SQLException { throw unsupported(); }
+    @Override public Object getObject(String columnLabel, Map<String, Class<?>> x) throws SQLException { throw unsupported(); }
+    @Override public Object getObject(int columnIndex, Map<String, Class<?>> x) throws SQLException { throw unsupported(); }
+    @Override public Ref getRef(String columnLabel) throws SQLException { throw unsupported(); }
+    @Override public Ref getRef(int columnIndex) throws SQLException { throw unsupported(); }
+    @Override public int getRow() throws SQLException { throw unsupported(); }
+    @Override public RowId getRowId(String columnLabel) throws SQLException { throw unsupported(); }
+    @Override public RowId getRowId(int columnIndex) throws SQLException { throw unsupported(); }
+    @Override public SQLXML getSQLXML(String columnLabel) throws SQLException { throw unsupported(); }
+    @Override public SQLXML getSQLXML(int columnIndex) throws SQLException { throw unsupported(); }
+    @Override public short getShort(String columnLabel) throws SQLException { throw unsupported(); }
+    @Override public Time getTime(String columnLabel, Calendar x) throws SQLException { throw unsupported(); }
+    @Override public Time getTime(String columnLabel) throws SQLException { throw unsupported(); }
+    @Override public Time getTime(int columnIndex, Calendar x) throws SQLException { throw unsupported(); }
+    @Override public Time getTime(int columnIndex) throws SQLException { throw unsupported(); }
+    @Override public Timestamp getTimestamp(String columnLabel, Calendar x) throws SQLException { throw unsupported(); }
+    @Override public Timestamp getTimestamp(int columnIndex, Calendar x) throws SQLException { throw unsupported(); }
+    @Override public URL getURL(String columnLabel) throws SQLException { throw unsupported(); }
+    @Override public URL getURL(int columnIndex) throws SQLException { throw unsupported(); }
+    @Override public InputStream getUnicodeStream(String columnLabel) throws SQLException { throw unsupported(); }
+    @Override public InputStream getUnicodeStream(int columnIndex) throws SQLException { throw unsupported(); }
+    @Override public void insertRow() throws SQLException { throw unsupported(); }
+    @Override public boolean isAfterLast() throws SQLException { throw unsupported(); }
+    @Override public boolean isBeforeFirst() throws SQLException { throw unsupported(); }
+    @Override public boolean isFirst() throws SQLException { throw unsupported(); }
+    @Override public boolean isLast() throws SQLException { throw unsupported(); }
+    @Override public boolean last() throws SQLException { throw unsupported(); }
+    @Override public void moveToCurrentRow() throws SQLException { throw unsupported(); }
+    @Override public void moveToInsertRow() throws SQLException { throw unsupported(); }
+    @Override public boolean previous() throws SQLException { throw unsupported(); }
+    @Override public void refreshRow() throws SQLException { throw unsupported(); }
+    @Override public boolean relative(int rows) throws SQLException { throw unsupported(); }
+    @Override public boolean rowDeleted() throws SQLException { throw unsupported(); }
+    @Override public boolean rowInserted() throws SQLException { throw unsupported(); }
+    @Override public boolean rowUpdated() throws SQLException { throw unsupported(); }
+    @Override public void setFetchDirection(int direction) throws SQLException { throw unsupported(); }
+    @Override public void updateArray(String columnLabel, Array x) throws SQLException { throw unsupported(); }
+    @Override public void updateArray(int columnIndex, Array x) throws SQLException { throw unsupported(); }
+    @Override public void updateAsciiStream(String columnLabel, InputStream x, int y) throws SQLException { throw unsupported(); }
+    @Override public void updateAsciiStream(String columnLabel, InputStream x, long y) throws SQLException { throw unsupported(); }
+    @Override public void updateAsciiStream(String columnLabel, InputStream x) throws SQLException { throw unsupported(); }
+    @Override public void updateAsciiStream(int columnIndex, InputStream x, int y) throws SQLException { throw unsupported(); }
+    @Override public void updateAsciiStream(int columnIndex, InputStream x, long y) throws SQLException { throw unsupported(); }
+    @Override public void updateAsciiStream(int columnIndex, InputStream x) throws SQLException { throw unsupported(); }
+    @Override public void updateBigDecimal(String columnLabel, BigDecimal x) throws SQLException { throw unsupported(); }
+    @Override public void updateBigDecimal(int columnIndex, BigDecimal x) throws SQLException { throw unsupported(); }
+    @Override public void updateBinaryStream(String columnLabel, InputStream x, int y) throws SQLException { throw unsupported(); }
+    @Override public void updateBinaryStream(String columnLabel, InputStream x, long y) throws SQLException { throw unsupported(); }
+    @Override public void updateBinaryStream(String columnLabel, InputStream x) throws SQLException { throw unsupported(); }
+    @Override public void updateBinaryStream(int columnIndex, InputStream x, int y) throws SQLException { throw unsupported(); }
+    @Override public void updateBinaryStream(int columnIndex, InputStream x, long y) throws SQLException { throw unsupported(); }
+    @Override public void updateBinaryStream(int columnIndex, InputStream x) throws SQLException { throw unsupported(); }
+    @Override public void updateBlob(String columnLabel, InputStream x, long y) throws SQLException { throw unsupported(); }
+    @Override public void updateBlob(String columnLabel, InputStream x) throws SQLException { throw unsupported(); }
+    @Override public void updateBlob(String columnLabel, Blob x) throws SQLException { throw unsupported(); }
+    @Override public void updateBlob(int columnIndex, InputStream x, long y) throws SQLException { throw unsupported(); }
+    @Override public void updateBlob(int columnIndex, InputStream x) throws SQLException { throw unsupported(); }
+    @Override public void updateBlob(int columnIndex, Blob x) throws SQLException { throw unsupported(); }
+    @Override public void updateBoolean(String columnLabel, boolean x) throws SQLException { throw unsupported(); }
+    @Override public void updateBoolean(int columnIndex, boolean x) throws SQLException { throw unsupported(); }
+    @Override public void updateByte(String columnLabel, byte x) throws SQLException { throw unsupported(); }
+    @Override public void updateByte(int columnIndex, byte x) throws SQLException { throw unsupported(); }
+    @Override public void updateBytes(String columnLabel, byte[] x) throws SQLException { throw unsupported(); }
+    @Override public void updateBytes(int columnIndex, byte[] x) throws SQLException { throw unsupported(); }
+    @Override public void updateCharacterStream(String columnLabel, Reader x, int y) throws SQLException { throw unsupported(); }
+    @Override public void updateCharacterStream(String columnLabel, Reader x, long y) throws SQLException { throw unsupported(); }
+    @Override public void updateCharacterStream(String columnLabel, Reader x) throws SQLException { throw unsupported(); }
+    @Override public void updateCharacterStream(int columnIndex, Reader x, int y) throws SQLException { throw unsupported(); }
+    @Override public void updateCharacterStream(int columnIndex, Reader x, long y) throws SQLException { throw unsupported(); }
+    @Override public void updateCharacterStream(int columnIndex, Reader x) throws SQLException { throw unsupported(); }
+    @Override public void updateClob(String columnLabel, Reader x, long y) throws SQLException { throw unsupported(); }
+    @Override public void updateClob(String columnLabel, Reader x) throws SQLException { throw unsupported(); }
+    @Override public void updateClob(String columnLabel, Clob x) throws SQLException { throw unsupported(); }
+    @Override public void updateClob(int columnIndex, Reader x, long y) throws SQLException { throw unsupported(); }
+    @Override public void updateClob(int columnIndex, Reader x) throws SQLException { throw unsupported(); }
+    @Override public void updateClob(int columnIndex, Clob x) throws SQLException { throw unsupported(); }
+    @Override public void updateDate(String columnLabel, Date x) throws SQLException { throw unsupported(); }
+    @Override public void updateDate(int columnIndex, Date x) throws SQLException { throw unsupported(); }
+    @Override public void updateDouble(String columnLabel, double x) throws SQLException { throw unsupported(); }
+    @Override public void updateDouble(int columnIndex, double x) throws SQLException { throw unsupported(); }
+    @Override public void updateFloat(String columnLabel, float x) throws SQLException { throw unsupported(); }
+    @Override public void updateFloat(int columnIndex, float x) throws SQLException { throw unsupported(); }
+    @Override public void updateInt(String columnLabel, int x) throws SQLException { throw unsupported(); }
+    @Override public void updateInt(int columnIndex, int x) throws SQLException { throw unsupported(); }
+    @Override public void updateLong(String columnLabel, long x) throws SQLException { throw unsupported(); }
+    @Override public void updateLong(int columnIndex, long x) throws SQLException { throw unsupported(); }
+    @Override public void updateNCharacterStream(String columnLabel, Reader x, long y) throws SQLException { throw unsupported(); }
+    @Override public void updateNCharacterStream(String columnLabel, Reader x) throws SQLException { throw unsupported(); }
+    @Override public void updateNCharacterStream(int columnIndex, Reader x, long y) throws SQLException { throw unsupported(); }
+    @Override public void updateNCharacterStream(int columnIndex, Reader x) throws SQLException { throw unsupported(); }
+    @Override public void updateNClob(String columnLabel, Reader x, long y) throws SQLException { throw unsupported(); }
+    @Override public void updateNClob(String columnLabel, Reader x) throws SQLException { throw unsupported(); }
+    @Override public void updateNClob(String columnLabel, NClob x) throws SQLException { throw unsupported(); }
+    @Override public void updateNClob(int columnIndex, Reader x, long y) throws SQLException { throw unsupported(); }
+    @Override public void updateNClob(int columnIndex, Reader x) throws SQLException { throw unsupported(); }
+    @Override public void updateNClob(int columnIndex, NClob x) throws SQLException { throw unsupported(); }
+    @Override public void updateNString(String columnLabel, String x) throws SQLException { throw unsupported(); }
+    @Override public void updateNString(int columnIndex, String x) throws SQLException { throw unsupported(); }
+    @Override public void updateNull(String columnLabel) throws SQLException { throw unsupported(); }
+    @Override public void updateNull(int columnIndex) throws SQLException { throw unsupported(); }
+    @Override public void updateObject(String columnLabel, Object x, int y) throws SQLException { throw unsupported(); }
+    @Override public void updateObject(String columnLabel, Object x) throws SQLException { throw unsupported(); }
+    @Override public void updateObject(int columnIndex, Object x, int y) throws SQLException { throw unsupported(); }
+    @Override public void updateObject(int columnIndex, Object x) throws SQLException { throw unsupported(); }
+    @Override public void updateRef(String columnLabel, Ref x) throws SQLException { throw unsupported(); }
+    @Override public void updateRef(int columnIndex, Ref x) throws SQLException { throw unsupported(); }
+    @Override public void updateRow() throws SQLException { throw unsupported(); }
+    @Override public void updateRowId(String columnLabel, RowId x) throws SQLException { throw unsupported(); }
+    @Override public void updateRowId(int columnIndex, RowId x) throws SQLException { throw unsupported(); }
+    @Override public void updateSQLXML(String columnLabel, SQLXML x) throws SQLException { throw unsupported(); }
+    @Override public void updateSQLXML(int columnIndex, SQLXML x) throws SQLException { throw unsupported(); }
+    @Override public void updateShort(String columnLabel, short x) throws SQLException { throw unsupported(); }
+    @Override public void updateShort(int columnIndex, short x) throws SQLException { throw unsupported(); }
+    @Override public void updateString(String columnLabel, String x) throws SQLException { throw unsupported(); }
+    @Override public void updateString(int columnIndex, String x) throws SQLException { throw unsupported(); }
+    @Override public void updateTime(String columnLabel, Time x) throws SQLException { throw unsupported(); }
+    @Override public void updateTime(int columnIndex, Time x) throws SQLException { throw unsupported(); }
+    @Override public void updateTimestamp(String columnLabel, Timestamp x) throws SQLException { throw unsupported(); }
+    @Override public void updateTimestamp(int columnIndex, Timestamp x) throws SQLException { throw unsupported(); }
+
+    private final class MetaData implements ResultSetMetaData {
+
+        @Override
+        public int getColumnCount() {
+            return labels.length;
+        }
+
+        @Override
+        public String getColumnLabel(int column) {
+            return labels[column - 1];
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return labels[column - 1];
+        }
+
+        @Override
+        public int getColumnType(int column) {
+            return sqlTypes[column - 1];
+        }
+
+        @Override
+        public String getColumnTypeName(int column) {
+            return String.valueOf(sqlTypes[column - 1]);
+        }
+
+        @Override
+        public String getColumnClassName(int column) {
+            for (Object[] row : rows) {
+                if (row[column - 1] != null) {
+                    return row[column - 1].getClass().getName();
+                }
+            }
+            return Object.class.getName();
+        }
+
+        @Override
+        public int isNullable(int column) {
+            return columnNullable;
+        }
+
+        @Override
+        public boolean isAutoIncrement(int column) {
+            return false;
+        }
+
+        @Override
+        public boolean isCaseSensitive(int column) {
+            return false;
+        }
+
+        @Override
+        public boolean isSearchable(int column) {
+            return true;
+        }
+
+        @Override
+        public boolean isCurrency(int column) {
+            return false;
+        }
+
+        @Override
+        public boolean isSigned(int column) {
+            return true;
+        }
+
+        @Override
+        public int getColumnDisplaySize(int column) {
+            return 64;
+        }
+
+        @Override
+        public String getSchemaName(int column) {
+            return "";
+        }
+
+        @Override
+        public int getPrecision(int column) {
+            return 0;
+        }
+
+        @Override
+        public int getScale(int column) {
+            return 0;
+        }
+
+        @Override
+        public String getTableName(int column) {
+            return "";
+        }
+
+        @Override
+        public String getCatalogName(int column) {
+            return "";
+        }
+
+        @Override
+        public boolean isReadOnly(int column) {
+            return true;
+        }
+
+        @Override
+        public boolean isWritable(int column) {
+            return false;
+        }
+
+        @Override
+        public boolean isDefinitelyWritable(int column) {
+            return false;
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            throw unsupported();
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) {
+            return false;
+        }
+    }
+}
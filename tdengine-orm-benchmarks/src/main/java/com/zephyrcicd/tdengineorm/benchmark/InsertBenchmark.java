@@ -0,0 +1,91 @@
+package com.zephyrcicd.tdengineorm.benchmark;
+
+import com.zephyrcicd.tdengineorm.config.TdOrmConfig;
+import com.zephyrcicd.tdengineorm.strategy.DynamicNameStrategy;
+import com.zephyrcicd.tdengineorm.template.TdTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 实体写入路径的单行开销
+ * <p>
+ * 数据库替换为 {@link NoopJdbcTemplate}，只测量实体到 SQL 和参数的渲染。结果按行归一化，
+ * 配合 GC profiler 得到每行分配的字节数：
+ * </p>
+ * <pre>{@code
+ * mvn -P benchmarks -pl tdengine-orm-benchmarks -am package -DskipTests
+ * java -jar tdengine-orm-benchmarks/target/benchmarks.jar InsertBenchmark -prof gc
+ * }</pre>
+ * 关注 {@code gc.alloc.rate.norm}（B/op，此处即每行字节数）。
+ *
+ * @author Zephyr
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InsertBenchmark {
+
+    private static final int ROWS = 1000;
+    private static final int SUB_TABLES = 10;
+
+    private final DynamicNameStrategy<Meter> nameStrategy = meter -> "d" + meter.getGroupId();
+
+    private NoopJdbcTemplate jdbcTemplate;
+    private TdTemplate tdTemplate;
+    private List<Meter> rows;
+    private Meter row;
+
+    @Setup
+    public void setup() {
+        jdbcTemplate = new NoopJdbcTemplate();
+        tdTemplate = TdTemplate.getInstance(jdbcTemplate, new TdOrmConfig(), null, null);
+        long start = System.currentTimeMillis();
+        rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Meter(start + i, i % SUB_TABLES));
+        }
+        row = rows.get(0);
+    }
+
+    /**
+     * 单行写入：{@code insert(strategy, entity)}
+     */
+    @Benchmark
+    public int insertOne() {
+        return tdTemplate.insert(nameStrategy, row);
+    }
+
+    /**
+     * 批量写入 1000 行、10 个子表：{@code batchInsert(list, pageSize, strategy)}，结果为每行开销
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int[] batchInsert() {
+        return tdTemplate.batchInsert(rows, ROWS, nameStrategy);
+    }
+
+    /**
+     * 带 TAG 的批量写入（INSERT ... USING ... TAGS），结果为每行开销
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int[] batchInsertUsing() {
+        return tdTemplate.batchInsertUsing(rows, ROWS, nameStrategy);
+    }
+}
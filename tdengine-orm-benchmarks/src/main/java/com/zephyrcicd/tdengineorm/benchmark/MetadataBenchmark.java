@@ -0,0 +1,110 @@
+package com.zephyrcicd.tdengineorm.benchmark;
+
+import com.zephyrcicd.tdengineorm.config.TdOrmConfig;
+import com.zephyrcicd.tdengineorm.template.TdTemplate;
+import com.zephyrcicd.tdengineorm.util.TdSqlUtil;
+import com.zephyrcicd.tdengineorm.wrapper.TdWrappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 依赖实体元数据的单次操作 CPU 开销
+ * <p>
+ * 覆盖 SQL 构建（查询包装器、列名解析）、字段与表名查找、DDL 生成和 getLast 查询语句，
+ * 每个操作都会读取实体的表名、列名、TAG 划分等元数据。数据库替换为 {@link NoopJdbcTemplate}。
+ * </p>
+ * <pre>{@code
+ * java -jar tdengine-orm-benchmarks/target/benchmarks.jar MetadataBenchmark
+ * }</pre>
+ *
+ * @author Zephyr
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetadataBenchmark {
+
+    private TdTemplate tdTemplate;
+    private Timestamp from;
+
+    @Setup
+    public void setup() {
+        tdTemplate = TdTemplate.getInstance(new NoopJdbcTemplate(), new TdOrmConfig(), null, null);
+        from = new Timestamp(System.currentTimeMillis() - 3_600_000);
+    }
+
+    /**
+     * 条件、排序使用 getter 引用的查询包装器，构建并生成 SQL
+     */
+    @Benchmark
+    public String queryWrapperSql() {
+        return TdWrappers.queryWrapper(Meter.class)
+                .selectAll()
+                .eq(Meter::getGroupId, 1)
+                .ge(Meter::getTs, from)
+                .orderByDesc(Meter::getTs)
+                .limit(100)
+                .getSql();
+    }
+
+    /**
+     * 宽表 SELECT 全部列
+     */
+    @Benchmark
+    public String wideSelectAllSql() {
+        return TdWrappers.queryWrapper(WideMeter.class).selectAll().getSql();
+    }
+
+    /**
+     * getter 引用解析为列名
+     */
+    @Benchmark
+    public String columnNameByGetter() {
+        return TdSqlUtil.getColumnName(WideMeter.class, WideMeter::getReactivePower);
+    }
+
+    /**
+     * 宽表的非 TAG 字段列表
+     */
+    @Benchmark
+    public List<Field> nonTagFields() {
+        return TdSqlUtil.getExistNonTagFields(WideMeter.class);
+    }
+
+    @Benchmark
+    public String tableName() {
+        return TdSqlUtil.getTbName(WideMeter.class);
+    }
+
+    /**
+     * 宽表超级表的 CREATE STABLE 语句
+     */
+    @Benchmark
+    public int createStableDdl() {
+        return tdTemplate.createStableTableIfNotExist(WideMeter.class);
+    }
+
+    /**
+     * 宽表 getLast 的 LAST_ROW 查询（未配置最新行缓存）
+     */
+    @Benchmark
+    public Object getLast() {
+        return tdTemplate.getLast(WideMeter.class, "d1001");
+    }
+}
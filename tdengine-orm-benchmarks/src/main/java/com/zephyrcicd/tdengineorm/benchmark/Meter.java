@@ -0,0 +1,39 @@
+package com.zephyrcicd.tdengineorm.benchmark;
+
+import com.zephyrcicd.tdengineorm.annotation.TdTable;
+import com.zephyrcicd.tdengineorm.annotation.TdTag;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+
+/**
+ * 窄表实体：4 个普通列、2 个 TAG
+ *
+ * @author Zephyr
+ */
+@Data
+@NoArgsConstructor
+@TdTable("meters")
+public class Meter {
+
+    private Timestamp ts;
+    private Double current;
+    private Integer voltage;
+    private Float phase;
+
+    @TdTag
+    private String location;
+
+    @TdTag
+    private Integer groupId;
+
+    public Meter(long ts, int index) {
+        this.ts = new Timestamp(ts);
+        this.current = 10.0 + index % 7;
+        this.voltage = 220 + index % 5;
+        this.phase = 0.3f;
+        this.location = "California.SanFrancisco";
+        this.groupId = index % 10;
+    }
+}
@@ -0,0 +1,72 @@
+package com.zephyrcicd.tdengineorm.benchmark;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 不连接数据库的 JDBC 模板
+ * <p>
+ * 写入直接返回 1，表结构查询返回空结果，实体查询逐行映射 {@link #setQueryResult} 提供的结果集，
+ * 基准测试只统计 SQL 构建、参数绑定、行映射等框架自身的开销。
+ * 收到的 SQL 长度和参数个数累加到 {@link #sink}，避免 JIT 把 SQL 构建当作无用代码消除。
+ * </p>
+ *
+ * @author Zephyr
+ */
+public class NoopJdbcTemplate extends NamedParameterJdbcTemplate {
+
+    public long sink;
+
+    private Supplier<ResultSet> queryResult;
+
+    public NoopJdbcTemplate() {
+        super(new DriverManagerDataSource());
+    }
+
+    /**
+     * @param queryResult 每次查询返回一个新的结果集，与真实查询一样每次都需要重新绑定列结构
+     */
+    public void setQueryResult(Supplier<ResultSet> queryResult) {
+        this.queryResult = queryResult;
+    }
+
+    @Override
+    public <T> List<T> query(String sql, Map<String, ?> paramMap, RowMapper<T> rowMapper) throws DataAccessException {
+        sink += sql.length() + paramMap.size();
+        if (queryResult == null) {
+            return Collections.emptyList();
+        }
+        List<T> result = new ArrayList<>();
+        try (ResultSet rs = queryResult.get()) {
+            int rowNum = 0;
+            while (rs.next()) {
+                result.add(rowMapper.mapRow(rs, rowNum++));
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        return result;
+    }
+
+    @Override
+    public int update(String sql, Map<String, ?> paramMap) {
+        sink += sql.length() + paramMap.size();
+        return 1;
+    }
+
+    @Override
+    public List<Map<String, Object>> queryForList(String sql, Map<String, ?> paramMap) {
+        sink += sql.length();
+        return Collections.emptyList();
+    }
+}
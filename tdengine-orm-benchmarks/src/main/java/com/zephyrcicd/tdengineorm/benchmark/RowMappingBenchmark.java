@@ -0,0 +1,153 @@
+package com.zephyrcicd.tdengineorm.benchmark;
+
+import com.zephyrcicd.tdengineorm.config.TdOrmConfig;
+import com.zephyrcicd.tdengineorm.mapper.TdColumnRowMapper;
+import com.zephyrcicd.tdengineorm.template.TdTemplate;
+import com.zephyrcicd.tdengineorm.wrapper.TdQueryWrapper;
+import com.zephyrcicd.tdengineorm.wrapper.TdWrappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 查询结果行映射吞吐量（行/秒）
+ * <p>
+ * 结果集由 {@link ArrayResultSet} 在内存中提供，每次调用映射 1000 行：
+ * <ul>
+ *     <li>{@code mapRows}：直接用 {@link TdColumnRowMapper} 映射一个新的结果集</li>
+ *     <li>{@code list}：经 {@code TdTemplate.list(wrapper)} 完整查询，包含 SQL 构建和拦截器</li>
+ * </ul>
+ * 窄表为 {@link Meter}（6 列），宽表为 {@link WideMeter}（30 列）。
+ * </p>
+ * <pre>{@code
+ * java -jar tdengine-orm-benchmarks/target/benchmarks.jar RowMappingBenchmark -prof gc
+ * }</pre>
+ *
+ * @author Zephyr
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowMappingBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private static final String[] NARROW_COLUMNS = {"ts", "current", "voltage", "phase", "location", "group_id"};
+    private static final int[] NARROW_TYPES = {Types.TIMESTAMP, Types.DOUBLE, Types.INTEGER, Types.REAL,
+            Types.NVARCHAR, Types.INTEGER};
+
+    private static final String[] WIDE_COLUMNS = {"ts",
+            "voltage_a", "voltage_b", "voltage_c", "current_a", "current_b", "current_c", "active_power", "reactive_power",
+            "energy_total", "energy_peak", "energy_valley", "pulse_count", "uptime_seconds", "sequence_no",
+            "frequency_hz", "temperature", "humidity", "signal_strength", "error_code", "firmware_build",
+            "power_factor", "load_rate", "battery_level",
+            "online", "alarm",
+            "status", "operator_name",
+            "location", "group_id"};
+    private static final int[] WIDE_TYPES = {Types.TIMESTAMP,
+            Types.DOUBLE, Types.DOUBLE, Types.DOUBLE, Types.DOUBLE, Types.DOUBLE, Types.DOUBLE, Types.DOUBLE, Types.DOUBLE,
+            Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.BIGINT,
+            Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.INTEGER,
+            Types.REAL, Types.REAL, Types.REAL,
+            Types.BOOLEAN, Types.BOOLEAN,
+            Types.NVARCHAR, Types.NVARCHAR,
+            Types.NVARCHAR, Types.INTEGER};
+
+    @Param({"narrow", "wide"})
+    public String entity;
+
+    private TdTemplate tdTemplate;
+    private TdColumnRowMapper<?> rowMapper;
+    private TdQueryWrapper<?> wrapper;
+    private String[] labels;
+    private int[] sqlTypes;
+    private Object[][] rows;
+
+    @Setup
+    public void setup() {
+        Class<?> entityClass;
+        if ("wide".equals(entity)) {
+            entityClass = WideMeter.class;
+            labels = WIDE_COLUMNS;
+            sqlTypes = WIDE_TYPES;
+        } else {
+            entityClass = Meter.class;
+            labels = NARROW_COLUMNS;
+            sqlTypes = NARROW_TYPES;
+        }
+        long start = System.currentTimeMillis();
+        rows = new Object[ROWS][];
+        for (int i = 0; i < ROWS; i++) {
+            Object[] row = new Object[labels.length];
+            for (int column = 0; column < labels.length; column++) {
+                row[column] = cellValue(sqlTypes[column], start, i, column);
+            }
+            rows[i] = row;
+        }
+
+        NoopJdbcTemplate jdbcTemplate = new NoopJdbcTemplate();
+        jdbcTemplate.setQueryResult(this::newResultSet);
+        tdTemplate = TdTemplate.getInstance(jdbcTemplate, new TdOrmConfig(), null, null);
+        rowMapper = TdColumnRowMapper.getInstance(entityClass);
+        wrapper = TdWrappers.queryWrapper(entityClass).selectAll();
+    }
+
+    private static Object cellValue(int sqlType, long start, int row, int column) {
+        switch (sqlType) {
+            case Types.TIMESTAMP:
+                return new Timestamp(start + row);
+            case Types.DOUBLE:
+                return row * 0.5 + column;
+            case Types.BIGINT:
+                return (long) row * 1000 + column;
+            case Types.INTEGER:
+                return row % 100 + column;
+            case Types.REAL:
+                return (float) (row % 10) / 10;
+            case Types.BOOLEAN:
+                return row % 2 == 0;
+            default:
+                return "value_" + column + "_" + row % 10;
+        }
+    }
+
+    private ResultSet newResultSet() {
+        return new ArrayResultSet(labels, sqlTypes, rows);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void mapRows(Blackhole blackhole) throws SQLException {
+        ResultSet rs = newResultSet();
+        int rowNum = 0;
+        while (rs.next()) {
+            blackhole.consume(rowMapper.mapRow(rs, rowNum++));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<?> list() {
+        return tdTemplate.list(wrapper);
+    }
+}
@@ -0,0 +1,58 @@
+package com.zephyrcicd.tdengineorm.benchmark;
+
+import com.zephyrcicd.tdengineorm.annotation.TdTable;
+import com.zephyrcicd.tdengineorm.annotation.TdTag;
+import lombok.Data;
+
+import java.sql.Timestamp;
+
+/**
+ * 宽表实体：28 个普通列（覆盖 TDengine 常用数值、布尔和字符串类型）、2 个 TAG
+ *
+ * @author Zephyr
+ */
+@Data
+@TdTable("wide_meters")
+public class WideMeter {
+
+    private Timestamp ts;
+
+    private Double voltageA;
+    private Double voltageB;
+    private Double voltageC;
+    private Double currentA;
+    private Double currentB;
+    private Double currentC;
+    private Double activePower;
+    private Double reactivePower;
+
+    private Long energyTotal;
+    private Long energyPeak;
+    private Long energyValley;
+    private Long pulseCount;
+    private Long uptimeSeconds;
+    private Long sequenceNo;
+
+    private Integer frequencyHz;
+    private Integer temperature;
+    private Integer humidity;
+    private Integer signalStrength;
+    private Integer errorCode;
+    private Integer firmwareBuild;
+
+    private Float powerFactor;
+    private Float loadRate;
+    private Float batteryLevel;
+
+    private Boolean online;
+    private Boolean alarm;
+
+    private String status;
+    private String operatorName;
+
+    @TdTag
+    private String location;
+
+    @TdTag
+    private Integer groupId;
+}
@@ -0,0 +1,81 @@
+package com.zephyrcicd.tdengineorm.batch;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 批量写入统计
+ * <p>
+ * 记录批量写入实际执行的语句数、行数和预估字节数，
+ * 用于观察分批效果（每条语句平均装入多少行、多少字节）。
+ * </p>
+ *
+ * @author Zephyr
+ */
+public class BatchInsertStats {
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAccumulator maxRowsPerStatement = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxBytesPerStatement = new LongAccumulator(Math::max, 0);
+
+    /**
+     * 记录一条已执行的批量语句
+     *
+     * @param rowCount       语句包含的行数
+     * @param estimatedBytes 语句预估字节数
+     */
+    public void record(int rowCount, long estimatedBytes) {
+        statements.increment();
+        rows.add(rowCount);
+        bytes.add(estimatedBytes);
+        maxRowsPerStatement.accumulate(rowCount);
+        maxBytesPerStatement.accumulate(estimatedBytes);
+    }
+
+    public long getStatements() {
+        return statements.sum();
+    }
+
+    public long getRows() {
+        return rows.sum();
+    }
+
+    public long getBytes() {
+        return bytes.sum();
+    }
+
+    public long getMaxRowsPerStatement() {
+        return maxRowsPerStatement.get();
+    }
+
+    public long getMaxBytesPerStatement() {
+        return maxBytesPerStatement.get();
+    }
+
+    public double getAvgRowsPerStatement() {
+        long count = statements.sum();
+        return count == 0 ? 0 : (double) rows.sum() / count;
+    }
+
+    public double getAvgBytesPerStatement() {
+        long count = statements.sum();
+        return count == 0 ? 0 : (double) bytes.sum() / count;
+    }
+
+    public void reset() {
+        statements.reset();
+        rows.reset();
+        bytes.reset();
+        maxRowsPerStatement.reset();
+        maxBytesPerStatement.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BatchInsertStats{statements=%d, rows=%d, bytes=%d, avgRows=%.1f, avgBytes=%.1f, maxRows=%d, maxBytes=%d}",
+                getStatements(), getRows(), getBytes(), getAvgRowsPerStatement(), getAvgBytesPerStatement(),
+                getMaxRowsPerStatement(), getMaxBytesPerStatement());
+    }
+}
@@ -0,0 +1,96 @@
+package com.zephyrcicd.tdengineorm.batch;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * 按字节预算分批
+ * <p>
+ * 依次累加每行的预估字节数，在即将超过 {@code maxBytes} 或达到 {@code maxRows} 时切分，
+ * 使每条语句尽量填满服务端允许的最大 SQL 长度：宽行不会超限，窄行也不会浪费往返次数。
+ * 单行超过预算时独占一批。
+ * </p>
+ *
+ * @author Zephyr
+ */
+@Getter
+public class BatchPartitioner {
+
+    /**
+     * 单条语句的字节预算
+     */
+    private final int maxBytes;
+
+    /**
+     * 单条语句的最大行数
+     */
+    private final int maxRows;
+
+    public BatchPartitioner(int maxBytes, int maxRows) {
+        this.maxBytes = maxBytes <= 0 ? Integer.MAX_VALUE : maxBytes;
+        this.maxRows = maxRows <= 0 ? Integer.MAX_VALUE : maxRows;
+    }
+
+    /**
+     * 判断当前语句能否继续追加
+     *
+     * @param currentBytes    当前语句已占用的字节数
+     * @param currentRows     当前语句已有的行数
+     * @param additionalBytes 追加内容的字节数
+     * @return true 可以追加
+     */
+    public boolean fits(long currentBytes, int currentRows, int additionalBytes) {
+        if (currentRows == 0) {
+            return true;
+        }
+        return currentRows < maxRows && currentBytes + additionalBytes <= maxBytes;
+    }
+
+    /**
+     * 对同一语句前缀下的行进行分批
+     *
+     * @param rows          待分批的行
+     * @param overheadBytes 每条语句的固定部分字节数（INSERT INTO ... VALUES）
+     * @param rowSizer      单行字节数预估函数
+     * @param <T>           行类型
+     * @return 分批结果
+     */
+    public <T> List<Chunk<T>> partition(List<T> rows, int overheadBytes, ToIntFunction<? super T> rowSizer) {
+        List<Chunk<T>> chunks = new ArrayList<>();
+        List<T> current = new ArrayList<>();
+        long currentBytes = overheadBytes;
+        for (T row : rows) {
+            int rowBytes = rowSizer.applyAsInt(row);
+            if (!fits(currentBytes, current.size(), rowBytes)) {
+                chunks.add(new Chunk<>(current, currentBytes));
+                current = new ArrayList<>();
+                currentBytes = overheadBytes;
+            }
+            current.add(row);
+            currentBytes += rowBytes;
+        }
+        if (!current.isEmpty()) {
+            chunks.add(new Chunk<>(current, currentBytes));
+        }
+        return chunks;
+    }
+
+    /**
+     * 一批数据及其预估字节数
+     *
+     * @param <T> 行类型
+     */
+    @Getter
+    public static class Chunk<T> {
+        private final List<T> rows;
+        private final long estimatedBytes;
+
+        public Chunk(List<T> rows, long estimatedBytes) {
+            this.rows = rows;
+            this.estimatedBytes = estimatedBytes;
+        }
+    }
+}
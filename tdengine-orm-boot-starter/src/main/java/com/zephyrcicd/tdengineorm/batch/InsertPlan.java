@@ -0,0 +1,391 @@
+package com.zephyrcicd.tdengineorm.batch;
+
+import com.zephyrcicd.tdengineorm.constant.SqlConstant;
+import com.zephyrcicd.tdengineorm.constant.TdSqlConstant;
+import com.zephyrcicd.tdengineorm.metadata.ColumnMetadata;
+import com.zephyrcicd.tdengineorm.metadata.EntityMetadata;
+import com.zephyrcicd.tdengineorm.util.TdSqlUtil;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+
+import java.lang.reflect.Field;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.zephyrcicd.tdengineorm.util.StringUtil.addSingleQuotes;
+
+/**
+ * 实体写入计划
+ * <p>
+ * 每个实体类的每种字段集合（全部字段 / TAG 字段 / 非 TAG 字段）只构建一次，字段、列名和字段访问器（含已解析的 TypeHandler）
+ * 取自 {@link EntityMetadata}，另外缓存列名 SQL 片段以及按行号预生成的参数名和 VALUES 片段。
+ * 写入时逐行只做取值和 Map 写入，不再遍历类层级、读取注解或拼接参数名。
+ * </p>
+ * <p>
+ * 行参数名格式为 {@code 字段名_行序号}，TAG 参数名格式为 {@code 字段名_t子表序号}，两者互不冲突。
+ * 计划是不可变的，可在多线程间共享。
+ * </p>
+ *
+ * @author Zephyr
+ */
+@Getter
+public final class InsertPlan {
+
+    /**
+     * 预生成参数名的最大行数，超过后按需临时生成
+     */
+    private static final int MAX_CACHED_ROWS = 4096;
+
+    /**
+     * 预生成 TAG 参数名的最大子表数
+     */
+    private static final int MAX_CACHED_CLAUSES = 1024;
+
+    private static final Map<Class<?>, InsertPlan[]> PLAN_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 参与写入的字段集合
+     */
+    public enum ColumnSet {
+        /**
+         * 全部存在的字段
+         */
+        ALL,
+        /**
+         * TAG 字段
+         */
+        TAG,
+        /**
+         * 非 TAG 字段
+         */
+        NON_TAG
+    }
+
+    private final Class<?> entityClass;
+
+    private final ColumnSet columnSet;
+
+    /**
+     * 超级表（或普通表）名
+     */
+    private final String superTableName;
+
+    /**
+     * 参与写入的字段（只读）
+     */
+    private final List<Field> fields;
+
+    /**
+     * 列名 SQL 片段，如 (ts,temperature,humidity)
+     */
+    private final String columnsSql;
+
+    /**
+     * USING 子句片段，如 USING sensor (device_id,region) TAGS ，仅 TAG 计划有意义
+     */
+    private final String usingSql;
+
+    /**
+     * 位置参数片段，如 (?,?,?)
+     */
+    private final String placeholdersSql;
+
+    @Getter(AccessLevel.NONE)
+    private final String[] columnNames;
+
+    @Getter(AccessLevel.NONE)
+    private final ColumnMetadata[] accessors;
+
+    @Getter(AccessLevel.NONE)
+    private final ParamTemplateCache rowTemplates;
+
+    @Getter(AccessLevel.NONE)
+    private final ParamTemplateCache tagTemplates;
+
+    private InsertPlan(EntityMetadata metadata, ColumnSet columnSet) {
+        List<ColumnMetadata> columns;
+        switch (columnSet) {
+            case TAG:
+                columns = metadata.getTagColumns();
+                this.fields = metadata.getTagFields();
+                break;
+            case NON_TAG:
+                columns = metadata.getNonTagColumns();
+                this.fields = metadata.getNonTagFields();
+                break;
+            case ALL:
+            default:
+                columns = metadata.getColumns();
+                this.fields = metadata.getFields();
+        }
+
+        this.entityClass = metadata.getEntityClass();
+        this.columnSet = columnSet;
+        this.superTableName = metadata.getTableName();
+        this.columnNames = new String[columns.size()];
+        this.accessors = columns.toArray(new ColumnMetadata[0]);
+        String[] fieldNames = new String[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            columnNames[i] = columns.get(i).getColumnName();
+            fieldNames[i] = columns.get(i).getFieldName();
+        }
+        this.columnsSql = TdSqlUtil.separateByCommas(Arrays.asList(columnNames), true);
+        this.usingSql = TdSqlConstant.USING + superTableName + columnsSql + TdSqlConstant.TAGS;
+        this.placeholdersSql = TdSqlUtil.separateByCommas(Collections.nCopies(columns.size(), "?"), true);
+        this.rowTemplates = new ParamTemplateCache(fieldNames, SqlConstant.UNDERLINE, MAX_CACHED_ROWS);
+        this.tagTemplates = new ParamTemplateCache(fieldNames, SqlConstant.UNDERLINE + "t", MAX_CACHED_CLAUSES);
+    }
+
+    /**
+     * 获取（必要时构建）实体类的写入计划
+     *
+     * @param entityClass 实体类
+     * @param columnSet   字段集合
+     * @return 写入计划
+     */
+    public static InsertPlan of(Class<?> entityClass, ColumnSet columnSet) {
+        InsertPlan[] plans = PLAN_CACHE.computeIfAbsent(entityClass, clazz -> {
+            EntityMetadata metadata = EntityMetadata.of(clazz);
+            ColumnSet[] columnSets = ColumnSet.values();
+            InsertPlan[] result = new InsertPlan[columnSets.length];
+            for (ColumnSet set : columnSets) {
+                result[set.ordinal()] = new InsertPlan(metadata, set);
+            }
+            return result;
+        });
+        return plans[columnSet.ordinal()];
+    }
+
+    /**
+     * 清除写入计划缓存及其依赖的实体元数据（TypeHandler 注册发生变化后调用）
+     */
+    public static void clearCache() {
+        EntityMetadata.clearCache();
+        PLAN_CACHE.clear();
+    }
+
+    public int size() {
+        return accessors.length;
+    }
+
+    public boolean isEmpty() {
+        return accessors.length == 0;
+    }
+
+    public String getColumnName(int index) {
+        return columnNames[index];
+    }
+
+    /**
+     * 读取第 index 个字段的值（已经过 TypeHandler 转换）
+     */
+    public Object getValue(Object entity, int index) {
+        return accessors[index].getSqlValue(entity);
+    }
+
+    /**
+     * 按字段顺序读取实体的全部值（已经过 TypeHandler 转换）
+     */
+    public Object[] getValues(Object entity) {
+        Object[] values = new Object[accessors.length];
+        for (int i = 0; i < accessors.length; i++) {
+            values[i] = accessors[i].getSqlValue(entity);
+        }
+        return values;
+    }
+
+    /**
+     * 生成插入语句前缀：INSERT INTO 'tb' (c1,c2) VALUES
+     *
+     * @param tbName 表名
+     * @return SQL 构建器，可继续追加行
+     */
+    public StringBuilder newInsertIntoPrefix(String tbName) {
+        return new StringBuilder(SqlConstant.INSERT_INTO.length() + tbName.length() + columnsSql.length() + 16)
+                .append(SqlConstant.INSERT_INTO)
+                .append(addSingleQuotes(tbName))
+                .append(columnsSql)
+                .append(SqlConstant.VALUES);
+    }
+
+    /**
+     * 追加一行 VALUES：(:c1_0,:c2_0)
+     *
+     * @param sql       SQL 构建器
+     * @param entity    实体对象
+     * @param paramsMap 参数 Map（输出参数）
+     * @param rowIndex  行在当前语句中的序号
+     */
+    public void appendRow(StringBuilder sql, Object entity, Map<String, Object> paramsMap, int rowIndex) {
+        append(sql, entity, paramsMap, rowTemplates.get(rowIndex));
+    }
+
+    /**
+     * 追加 TAGS 的参数部分：(:tag1_t0,:tag2_t0)
+     *
+     * @param sql         SQL 构建器
+     * @param entity      提供 TAG 值的实体
+     * @param paramsMap   参数 Map（输出参数）
+     * @param clauseIndex 子表在当前语句中的序号
+     */
+    public void appendTagValues(StringBuilder sql, Object entity, Map<String, Object> paramsMap, int clauseIndex) {
+        append(sql, entity, paramsMap, tagTemplates.get(clauseIndex));
+    }
+
+    /**
+     * 追加一行 VALUES，值来自已转换的值数组（顺序与 {@link #getValues(Object)} 一致）
+     *
+     * @param sql       SQL 构建器
+     * @param values    字段值
+     * @param paramsMap 参数 Map（输出参数）
+     * @param rowIndex  行在当前语句中的序号
+     */
+    public void appendRowValues(StringBuilder sql, Object[] values, Map<String, Object> paramsMap, int rowIndex) {
+        appendValues(sql, values, paramsMap, rowTemplates.get(rowIndex));
+    }
+
+    /**
+     * 追加 TAGS 的参数部分，值来自已转换的值数组（顺序与 {@link #getValues(Object)} 一致）
+     *
+     * @param sql         SQL 构建器
+     * @param values      TAG 值
+     * @param paramsMap   参数 Map（输出参数）
+     * @param clauseIndex 子表在当前语句中的序号
+     */
+    public void appendTagRowValues(StringBuilder sql, Object[] values, Map<String, Object> paramsMap, int clauseIndex) {
+        appendValues(sql, values, paramsMap, tagTemplates.get(clauseIndex));
+    }
+
+    /**
+     * 按字段顺序将实体的值绑定到位置参数上
+     *
+     * @param ps             预编译语句
+     * @param parameterIndex 第一个字段对应的参数序号（从 1 开始）
+     * @param entity         实体对象
+     * @return 下一个可用的参数序号
+     * @throws SQLException 绑定失败
+     */
+    public int bind(PreparedStatement ps, int parameterIndex, Object entity) throws SQLException {
+        for (ColumnMetadata accessor : accessors) {
+            StatementCreatorUtils.setParameterValue(ps, parameterIndex++, SqlTypeValue.TYPE_UNKNOWN, accessor.getSqlValue(entity));
+        }
+        return parameterIndex;
+    }
+
+    /**
+     * 预估实体一行 VALUES 渲染后的字节数：(v1,v2,...)
+     *
+     * @param entity 实体对象
+     * @return 字节数
+     */
+    public int estimateRow(Object entity) {
+        int size = 2 + accessors.length;
+        for (ColumnMetadata accessor : accessors) {
+            size += SqlSizeEstimator.estimateValue(accessor.getSqlValue(entity));
+        }
+        return size;
+    }
+
+    /**
+     * 预估一行已转换的值渲染后的字节数：(v1,v2,...)
+     *
+     * @param values 字段值
+     * @return 字节数
+     */
+    public int estimateRowValues(Object[] values) {
+        int size = 2 + values.length;
+        for (Object value : values) {
+            size += SqlSizeEstimator.estimateValue(value);
+        }
+        return size;
+    }
+
+    private void appendValues(StringBuilder sql, Object[] values, Map<String, Object> paramsMap, ParamTemplate template) {
+        if (values.length != accessors.length) {
+            throw new IllegalArgumentException("Expected " + accessors.length + " values for " + entityClass.getName()
+                    + " but got " + values.length);
+        }
+        sql.append(template.sql);
+        String[] paramNames = template.paramNames;
+        for (int i = 0; i < values.length; i++) {
+            paramsMap.put(paramNames[i], values[i]);
+        }
+    }
+
+    private void append(StringBuilder sql, Object entity, Map<String, Object> paramsMap, ParamTemplate template) {
+        sql.append(template.sql);
+        String[] paramNames = template.paramNames;
+        for (int i = 0; i < accessors.length; i++) {
+            paramsMap.put(paramNames[i], accessors[i].getSqlValue(entity));
+        }
+    }
+
+    /**
+     * 某个序号对应的参数名和 SQL 片段
+     */
+    private static final class ParamTemplate {
+
+        private final String sql;
+        private final String[] paramNames;
+
+        ParamTemplate(String[] fieldNames, String suffix) {
+            this.paramNames = new String[fieldNames.length];
+            StringBuilder sb = new StringBuilder(SqlConstant.LEFT_BRACKET);
+            for (int i = 0; i < fieldNames.length; i++) {
+                paramNames[i] = fieldNames[i] + suffix;
+                if (i > 0) {
+                    sb.append(SqlConstant.COMMA);
+                }
+                sb.append(SqlConstant.COLON).append(paramNames[i]);
+            }
+            this.sql = sb.append(SqlConstant.RIGHT_BRACKET).toString();
+        }
+    }
+
+    /**
+     * 按序号懒加载的参数模板缓存，只增不减，读取无锁
+     */
+    private static final class ParamTemplateCache {
+
+        private final String[] fieldNames;
+        private final String suffixPrefix;
+        private final int maxCached;
+        private volatile ParamTemplate[] templates = new ParamTemplate[0];
+
+        ParamTemplateCache(String[] fieldNames, String suffixPrefix, int maxCached) {
+            this.fieldNames = fieldNames;
+            this.suffixPrefix = suffixPrefix;
+            this.maxCached = maxCached;
+        }
+
+        ParamTemplate get(int index) {
+            ParamTemplate[] current = templates;
+            if (index < current.length) {
+                return current[index];
+            }
+            if (index >= maxCached) {
+                return new ParamTemplate(fieldNames, suffixPrefix + index);
+            }
+            synchronized (this) {
+                current = templates;
+                if (index >= current.length) {
+                    int newLength = Math.min(maxCached, Math.max(index + 1, Math.max(16, current.length * 2)));
+                    ParamTemplate[] grown = Arrays.copyOf(current, newLength);
+                    for (int i = current.length; i < newLength; i++) {
+                        grown[i] = new ParamTemplate(fieldNames, suffixPrefix + i);
+                    }
+                    templates = grown;
+                    current = grown;
+                }
+                return current[index];
+            }
+        }
+    }
+}
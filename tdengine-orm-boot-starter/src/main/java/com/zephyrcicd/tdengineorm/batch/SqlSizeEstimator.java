@@ -0,0 +1,113 @@
+package com.zephyrcicd.tdengineorm.batch;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.temporal.Temporal;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * SQL 长度预估工具
+ * <p>
+ * 参数最终会被驱动渲染为字面量发送给服务端，这里按值的类型估算渲染后的字节数（偏保守），
+ * 用于按服务端最大 SQL 长度对批量写入进行分批。
+ * </p>
+ *
+ * @author Zephyr
+ */
+public final class SqlSizeEstimator {
+
+    /**
+     * NULL 字面量长度
+     */
+    private static final int NULL_BYTES = 4;
+
+    /**
+     * 时间字面量长度：'yyyy-MM-dd HH:mm:ss.SSSSSSSSS'
+     */
+    private static final int TIMESTAMP_BYTES = 31;
+
+    private SqlSizeEstimator() {
+    }
+
+    /**
+     * 预估单个值渲染为 SQL 字面量后的字节数
+     *
+     * @param value 参数值（已经过 TypeHandler 转换）
+     * @return 字节数
+     */
+    public static int estimateValue(Object value) {
+        if (value == null) {
+            return NULL_BYTES;
+        }
+        if (value instanceof CharSequence) {
+            return estimateString((CharSequence) value);
+        }
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return 11;
+        }
+        if (value instanceof Long) {
+            return 20;
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return 24;
+        }
+        if (value instanceof Boolean) {
+            return 5;
+        }
+        if (value instanceof Date || value instanceof Temporal) {
+            return TIMESTAMP_BYTES;
+        }
+        if (value instanceof byte[]) {
+            // 十六进制字面量 '\x..'
+            return ((byte[]) value).length * 2 + 4;
+        }
+        if (value instanceof BigDecimal || value instanceof BigInteger) {
+            return value.toString().length();
+        }
+        if (value instanceof Collection) {
+            // IN (...) 展开
+            int size = 0;
+            for (Object item : (Collection<?>) value) {
+                size += estimateValue(item) + 1;
+            }
+            return size;
+        }
+        return estimateString(value.toString());
+    }
+
+    /**
+     * 预估 Map 一行 VALUES 的字节数：(v1,v2,...)
+     *
+     * @param row         行数据
+     * @param columnNames 参与插入的列
+     * @return 字节数
+     */
+    public static int estimateRow(Map<String, Object> row, Iterable<String> columnNames) {
+        int size = 2;
+        for (String columnName : columnNames) {
+            size += estimateValue(row.get(columnName)) + 1;
+        }
+        return size;
+    }
+
+    /**
+     * 预估字符串字面量的 UTF-8 字节数（含引号和转义）
+     */
+    private static int estimateString(CharSequence text) {
+        int length = text.length();
+        int size = 2;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                size += (c == '\'' || c == '\\') ? 2 : 1;
+            } else if (c < 0x800) {
+                size += 2;
+            } else {
+                size += 3;
+            }
+        }
+        return size;
+    }
+}
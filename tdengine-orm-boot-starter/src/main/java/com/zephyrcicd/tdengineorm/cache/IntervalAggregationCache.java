@@ -0,0 +1,481 @@
+package com.zephyrcicd.tdengineorm.cache;
+
+import com.zephyrcicd.tdengineorm.constant.SqlConstant;
+import com.zephyrcicd.tdengineorm.constant.TdColumnConstant;
+import com.zephyrcicd.tdengineorm.enums.TdWindFuncTypeEnum;
+import com.zephyrcicd.tdengineorm.util.TdTimeUtil;
+import com.zephyrcicd.tdengineorm.wrapper.AbstractTdQueryWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * INTERVAL 窗口聚合的增量缓存
+ * <p>
+ * 对同一形状（相同 SQL 和除 ts 条件外的参数）的 {@code INTERVAL} 查询，按分区键缓存已关闭窗口的结果行。
+ * 已缓存的窗口构成连续区间 {@code [from, until)}，再次查询时只向数据库查询区间之外的部分：
+ * <ul>
+ *     <li>尾部：{@code ts >= until}，即最后一个已关闭窗口之后的新数据</li>
+ *     <li>头部：{@code ts < from}，查询起点前移或被截断的第一个窗口</li>
+ * </ul>
+ * 两部分合并为一条查询 {@code (ts < :from OR ts >= :until)}，结果与缓存的窗口合并后返回，
+ * 查询开销与新增数据量成正比，而不是与查询的时间范围成正比。
+ * </p>
+ * <p>
+ * 窗口结束时间早于 {@code min(ts 上界, 当前时间 - watermarkMs)} 且起点晚于 ts 下界时视为已关闭，可以缓存；
+ * 晚于水位线到达的乱序数据不会反映到已缓存的窗口中，DELETE、DROP、ALTER 等语句清空缓存。
+ * </p>
+ * <p>
+ * 仅支持固定长度的 INTERVAL（单位 a / s / m / h / d / w），查询不能包含 ORDER BY、LIMIT、GROUP BY、内层查询、JOIN
+ * 或 ts 上的 OR 条件。返回结果按分区（首次出现的顺序）、窗口开始时间升序排列；缓存的结果对象在多次调用间共享，不应修改。
+ * </p>
+ *
+ * @author Zephyr
+ */
+@Slf4j
+public class IntervalAggregationCache {
+
+    private static final String WINDOW_START_ALIAS = "td_win_start";
+    private static final String PARTITION_ALIAS_PREFIX = "td_part_";
+    private static final String HEAD_UNTIL_PARAM = "tdIncHeadUntil";
+    private static final String TAIL_FROM_PARAM = "tdIncTailFrom";
+    private static final Pattern DURATION = Pattern.compile("^\\s*(\\d+)\\s*([a-zA-Z])\\s*$");
+
+    private final long watermarkMs;
+    private final TimeUnit tsPrecision;
+    private final Map<String, ShapeState<?>> states;
+
+    private final LongAdder incrementalQueries = new LongAdder();
+    private final LongAdder fullQueries = new LongAdder();
+    private final LongAdder fetchedRows = new LongAdder();
+    private final LongAdder reusedRows = new LongAdder();
+
+    /**
+     * @param maxShapes   最多缓存的查询形状数，超出后淘汰最久未访问的形状
+     * @param watermarkMs 水位线（毫秒），结束时间早于当前时间减去该值的窗口视为已关闭
+     * @param tsPrecision 数据库时间戳精度，用于换算数值类型的 ts 条件
+     */
+    public IntervalAggregationCache(int maxShapes, long watermarkMs, TimeUnit tsPrecision) {
+        this.watermarkMs = watermarkMs;
+        this.tsPrecision = tsPrecision;
+        int capacity = Math.max(1, maxShapes);
+        this.states = new LinkedHashMap<String, ShapeState<?>>(Math.min(capacity, 256), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ShapeState<?>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * 执行查询
+     *
+     * @param <R> 结果类型
+     */
+    @FunctionalInterface
+    public interface RowQuery<R> {
+
+        List<R> query(String sql, Map<String, Object> paramsMap, RowMapper<R> rowMapper);
+    }
+
+    /**
+     * 查询是否可以增量执行
+     *
+     * @param wrapper 查询包装器
+     * @return 不支持时调用方应执行完整查询
+     */
+    public boolean supports(AbstractTdQueryWrapper<?> wrapper) {
+        if (wrapper.getWindowType() != TdWindFuncTypeEnum.INTERVAL || parseIntervalMs(wrapper.getWindowValue()) <= 0
+                || !wrapper.isSimpleQuery()) {
+            return false;
+        }
+        List<Object> lowerBounds = wrapper.getTsLowerBounds();
+        List<Object> upperBounds = wrapper.getTsUpperBounds();
+        if (lowerBounds == null || upperBounds == null) {
+            return false;
+        }
+        // 无法识别的边界值会让窗口是否完整无从判断
+        for (Object bound : lowerBounds) {
+            if (TdTimeUtil.toEpochMillis(bound, tsPrecision) == null) {
+                return false;
+            }
+        }
+        for (Object bound : upperBounds) {
+            if (TdTimeUtil.toEpochMillis(bound, tsPrecision) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 增量查询，调用前需确认 {@link #supports(AbstractTdQueryWrapper)}
+     *
+     * @param wrapper     查询包装器
+     * @param resultClass 结果类型
+     * @param rowMapper   结果行映射器
+     * @param query       查询执行器
+     * @return 查询结果
+     */
+    @SuppressWarnings("unchecked")
+    public <R> List<R> list(AbstractTdQueryWrapper<?> wrapper, Class<R> resultClass, RowMapper<R> rowMapper,
+                            RowQuery<R> query) {
+        Map<String, Object> shapeParams = new HashMap<>(wrapper.getParamsMap());
+        shapeParams.keySet().removeAll(wrapper.getTsParamNames());
+        String key = QueryResultCache.buildKey(resultClass.getName(), wrapper.getSql(), shapeParams);
+        ShapeState<R> state;
+        synchronized (states) {
+            state = (ShapeState<R>) states.computeIfAbsent(key, k -> new ShapeState<>());
+        }
+        return state.list(wrapper, rowMapper, query);
+    }
+
+    /**
+     * 通过 TdTemplate 执行非查询语句后调用，DELETE、DROP、ALTER 等语句清空缓存
+     *
+     * @param sql 已执行的 SQL
+     */
+    public void onWrite(String sql) {
+        if (QueryResultCache.mayRemoveData(QueryResultCache.firstWord(sql))) {
+            clear();
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        synchronized (states) {
+            states.clear();
+        }
+        log.debug("Interval aggregation cache cleared");
+    }
+
+    /**
+     * 只查询了头尾增量的次数
+     */
+    public long getIncrementalQueryCount() {
+        return incrementalQueries.sum();
+    }
+
+    /**
+     * 查询了完整时间范围的次数
+     */
+    public long getFullQueryCount() {
+        return fullQueries.sum();
+    }
+
+    public long getFetchedRowCount() {
+        return fetchedRows.sum();
+    }
+
+    /**
+     * 直接从缓存返回的窗口行数
+     */
+    public long getReusedRowCount() {
+        return reusedRows.sum();
+    }
+
+    /**
+     * 解析固定长度的 INTERVAL 参数（忽略偏移量）
+     *
+     * @return 窗口长度（毫秒），日历单位（n / y）或小于毫秒的单位返回 -1
+     */
+    static long parseIntervalMs(String windowValue) {
+        if (windowValue == null) {
+            return -1;
+        }
+        int comma = windowValue.indexOf(',');
+        Matcher matcher = DURATION.matcher(comma < 0 ? windowValue : windowValue.substring(0, comma));
+        if (!matcher.matches()) {
+            return -1;
+        }
+        long amount = Long.parseLong(matcher.group(1));
+        switch (matcher.group(2).toLowerCase(Locale.ROOT)) {
+            case "a":
+                return amount;
+            case "s":
+                return TimeUnit.SECONDS.toMillis(amount);
+            case "m":
+                return TimeUnit.MINUTES.toMillis(amount);
+            case "h":
+                return TimeUnit.HOURS.toMillis(amount);
+            case "d":
+                return TimeUnit.DAYS.toMillis(amount);
+            case "w":
+                return TimeUnit.DAYS.toMillis(amount * 7);
+            default:
+                return -1;
+        }
+    }
+
+    private long lowerBoundMillis(AbstractTdQueryWrapper<?> wrapper) {
+        long lower = Long.MIN_VALUE;
+        for (Object bound : wrapper.getTsLowerBounds()) {
+            lower = Math.max(lower, TdTimeUtil.toEpochMillis(bound, tsPrecision));
+        }
+        return lower;
+    }
+
+    private long upperBoundMillis(AbstractTdQueryWrapper<?> wrapper) {
+        long upper = Long.MAX_VALUE;
+        for (Object bound : wrapper.getTsUpperBounds()) {
+            upper = Math.min(upper, TdTimeUtil.toEpochMillis(bound, tsPrecision));
+        }
+        return upper;
+    }
+
+    /**
+     * 单个查询形状的已关闭窗口，{@code [from, until)} 内所有有数据的窗口都已缓存
+     * <p>
+     * 状态只在持有自身锁时读写：查询前在锁内确定查询范围并复制已缓存的窗口，数据库查询在锁外执行，
+     * 完成后再在锁内写回。查询期间状态被其他查询更新过时放弃写回，本次结果仍由快照和查询结果合并得到。
+     * </p>
+     */
+    private final class ShapeState<R> {
+
+        private Map<List<Object>, TreeMap<Long, R>> windows = new LinkedHashMap<>();
+        private boolean initialized;
+        private long from;
+        private long until;
+        /**
+         * 缓存建立时没有 ts 下界，from 之前没有数据
+         */
+        private boolean unboundedFrom;
+        /**
+         * 每次修改状态时递增，用于判断锁外查询期间状态是否被修改
+         */
+        private long version;
+
+        List<R> list(AbstractTdQueryWrapper<?> wrapper, RowMapper<R> rowMapper, RowQuery<R> query) {
+            long intervalMs = parseIntervalMs(wrapper.getWindowValue());
+            long lower = lowerBoundMillis(wrapper);
+            long upper = upperBoundMillis(wrapper);
+            long now = System.currentTimeMillis();
+            long cutoff = Math.min(upper, now - watermarkMs);
+
+            Snapshot<R> snapshot;
+            synchronized (this) {
+                snapshot = snapshot(lower, upper);
+            }
+            if (snapshot == null) {
+                // 查询范围比缓存更早结束，缓存的窗口不能直接使用，也不更新缓存
+                fullQueries.increment();
+                return fetch(wrapper, rowMapper, query, null, Collections.emptyMap()).rows;
+            }
+            String condition = null;
+            Map<String, Object> extraParams = new HashMap<>(4);
+            if (snapshot.incremental) {
+                incrementalQueries.increment();
+                String tailCondition = TdColumnConstant.TS + SqlConstant.GE + SqlConstant.COLON + TAIL_FROM_PARAM;
+                extraParams.put(TAIL_FROM_PARAM, tsPrecision.convert(snapshot.until, TimeUnit.MILLISECONDS));
+                if (lower == Long.MIN_VALUE && snapshot.unboundedFrom) {
+                    condition = tailCondition;
+                } else {
+                    condition = SqlConstant.LEFT_BRACKET + TdColumnConstant.TS + SqlConstant.LT + SqlConstant.COLON
+                            + HEAD_UNTIL_PARAM + SqlConstant.OR + tailCondition + SqlConstant.RIGHT_BRACKET;
+                    extraParams.put(HEAD_UNTIL_PARAM, tsPrecision.convert(snapshot.from, TimeUnit.MILLISECONDS));
+                }
+            } else {
+                fullQueries.increment();
+            }
+
+            Fetched<R> fetched = fetch(wrapper, rowMapper, query, condition, extraParams);
+            Map<List<Object>, TreeMap<Long, R>> merged = snapshot.windows;
+            Map<List<Object>, List<Object[]>> transientRows = new LinkedHashMap<>();
+            long storedFrom = Long.MAX_VALUE;
+            long storedUntil = Long.MIN_VALUE;
+
+            for (int i = 0; i < fetched.rows.size(); i++) {
+                long windowStart = fetched.windowStarts.get(i);
+                long windowEnd = windowStart + intervalMs;
+                List<Object> partitionKey = fetched.partitionKeys.get(i);
+                R row = fetched.rows.get(i);
+                boolean complete = (lower == Long.MIN_VALUE || windowStart > lower) && windowEnd <= cutoff;
+                if (complete) {
+                    merged.computeIfAbsent(partitionKey, k -> new TreeMap<>()).put(windowStart, row);
+                    storedFrom = Math.min(storedFrom, windowStart);
+                    storedUntil = Math.max(storedUntil, windowEnd);
+                } else {
+                    transientRows.computeIfAbsent(partitionKey, k -> new ArrayList<>())
+                            .add(new Object[]{windowStart, row});
+                }
+            }
+            // 写回后窗口可能被其他查询在锁内裁剪，先在写回前合并出结果
+            List<R> result = merge(merged, transientRows);
+            synchronized (this) {
+                commit(snapshot, merged, storedFrom, storedUntil, lower == Long.MIN_VALUE);
+            }
+            reusedRows.add(result.size() - fetched.rows.size());
+            return result;
+        }
+
+        /**
+         * 确定本次查询能否增量执行，并复制增量查询需要的缓存窗口，需持有锁
+         *
+         * @return 查询范围比缓存更早结束时返回 null
+         */
+        private Snapshot<R> snapshot(long lower, long upper) {
+            if (initialized && upper < until) {
+                return null;
+            }
+            boolean incremental = initialized && lower < until && prune(lower);
+            Snapshot<R> snapshot = new Snapshot<>(version, incremental);
+            if (incremental) {
+                snapshot.from = from;
+                snapshot.until = until;
+                snapshot.unboundedFrom = unboundedFrom;
+                for (Map.Entry<List<Object>, TreeMap<Long, R>> partition : windows.entrySet()) {
+                    snapshot.windows.put(partition.getKey(), new TreeMap<>(partition.getValue()));
+                }
+            }
+            return snapshot;
+        }
+
+        /**
+         * 写回查询后的窗口，需持有锁
+         */
+        private void commit(Snapshot<R> snapshot, Map<List<Object>, TreeMap<Long, R>> merged,
+                            long storedFrom, long storedUntil, boolean unboundedLower) {
+            if (snapshot.version != version) {
+                // 查询期间其他查询已经更新了缓存，保留较新的状态
+                return;
+            }
+            version++;
+            windows = merged;
+            if (snapshot.incremental) {
+                if (storedUntil != Long.MIN_VALUE) {
+                    from = Math.min(snapshot.from, storedFrom);
+                    until = Math.max(snapshot.until, storedUntil);
+                }
+                return;
+            }
+            initialized = storedUntil != Long.MIN_VALUE;
+            from = storedFrom;
+            until = storedUntil;
+            unboundedFrom = unboundedLower;
+        }
+
+        /**
+         * 丢弃起点不晚于下界的窗口（可能只覆盖了部分数据）
+         *
+         * @return 是否还有缓存的窗口
+         */
+        private boolean prune(long lower) {
+            if (lower != Long.MIN_VALUE && lower >= from) {
+                version++;
+                long newFrom = Long.MAX_VALUE;
+                for (TreeMap<Long, R> partition : windows.values()) {
+                    partition.headMap(lower, true).clear();
+                    if (!partition.isEmpty()) {
+                        newFrom = Math.min(newFrom, partition.firstKey());
+                    }
+                }
+                windows.values().removeIf(TreeMap::isEmpty);
+                if (newFrom == Long.MAX_VALUE) {
+                    initialized = false;
+                    return false;
+                }
+                from = newFrom;
+                unboundedFrom = false;
+            }
+            return true;
+        }
+
+        private Fetched<R> fetch(AbstractTdQueryWrapper<?> wrapper, RowMapper<R> rowMapper, RowQuery<R> query,
+                                 String condition, Map<String, Object> extraParams) {
+            String[] partitionColumns = wrapper.getPartitionColumns();
+            StringBuilder extraSelect = new StringBuilder("_wstart ").append(WINDOW_START_ALIAS);
+            for (int i = 0; i < partitionColumns.length; i++) {
+                extraSelect.append(SqlConstant.COMMA).append(partitionColumns[i])
+                        .append(SqlConstant.BLANK).append(PARTITION_ALIAS_PREFIX).append(i);
+            }
+            Map<String, Object> paramsMap = new HashMap<>(wrapper.getParamsMap());
+            paramsMap.putAll(extraParams);
+            String sql = wrapper.getSeekSql(extraSelect.toString(), condition, null, null);
+
+            Fetched<R> fetched = new Fetched<>();
+            fetched.rows = query.query(sql, paramsMap, (rs, rowNum) -> {
+                Timestamp windowStart = rs.getTimestamp(WINDOW_START_ALIAS);
+                fetched.windowStarts.add(windowStart == null ? Long.MIN_VALUE : windowStart.getTime());
+                Object[] partitionValues = new Object[partitionColumns.length];
+                for (int i = 0; i < partitionColumns.length; i++) {
+                    partitionValues[i] = rs.getObject(PARTITION_ALIAS_PREFIX + i);
+                }
+                fetched.partitionKeys.add(Arrays.asList(partitionValues));
+                return rowMapper.mapRow(rs, rowNum);
+            });
+            fetchedRows.add(fetched.rows.size());
+            return fetched;
+        }
+
+        @SuppressWarnings("unchecked")
+        private List<R> merge(Map<List<Object>, TreeMap<Long, R>> cached,
+                              Map<List<Object>, List<Object[]>> transientRows) {
+            List<R> result = new ArrayList<>();
+            for (Map.Entry<List<Object>, TreeMap<Long, R>> partition : cached.entrySet()) {
+                List<Object[]> extra = transientRows.remove(partition.getKey());
+                TreeMap<Long, R> stored = partition.getValue();
+                if (extra == null) {
+                    result.addAll(stored.values());
+                    continue;
+                }
+                // 未缓存的行只会在已缓存区间之前（被截断的头部窗口）或之后（未关闭的尾部窗口）
+                extra.sort(Comparator.comparingLong(row -> (Long) row[0]));
+                long firstStored = stored.firstKey();
+                int index = 0;
+                while (index < extra.size() && (Long) extra.get(index)[0] < firstStored) {
+                    result.add((R) extra.get(index++)[1]);
+                }
+                result.addAll(stored.values());
+                while (index < extra.size()) {
+                    result.add((R) extra.get(index++)[1]);
+                }
+            }
+            for (List<Object[]> extra : transientRows.values()) {
+                extra.sort(Comparator.comparingLong(row -> (Long) row[0]));
+                for (Object[] row : extra) {
+                    result.add((R) row[1]);
+                }
+            }
+            return result;
+        }
+    }
+
+    private static final class Snapshot<R> {
+
+        private final long version;
+        private final boolean incremental;
+        private final Map<List<Object>, TreeMap<Long, R>> windows = new LinkedHashMap<>();
+        private long from;
+        private long until;
+        private boolean unboundedFrom;
+
+        private Snapshot(long version, boolean incremental) {
+            this.version = version;
+            this.incremental = incremental;
+        }
+    }
+
+    private static final class Fetched<R> {
+
+        private List<R> rows;
+        private final List<Long> windowStarts = new ArrayList<>();
+        private final List<List<Object>> partitionKeys = new ArrayList<>();
+    }
+}
@@ -0,0 +1,308 @@
+package com.zephyrcicd.tdengineorm.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.util.StringUtils;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 已存在子表登记表
+ * <p>
+ * 记录已确认存在的子表，写入时对已知子表省略 {@code USING stb TAGS (...)} 子句，减少 SQL 长度和服务端的 TAG 校验。
+ * 由两部分组成：
+ * <ul>
+ *     <li>布隆过滤器：按预计子表数量定长分配（百万子表、0.1% 误判率约 1.8MB），记录所有见过的子表</li>
+ *     <li>分段 LRU：精确记录最近访问的子表，同时保存失效标记</li>
+ * </ul>
+ * 布隆过滤器存在误判且不支持删除，因此省略 USING 的写入因子表不存在而失败时（见 {@link #isTableNotExist(Throwable)}），
+ * 调用方需调用 {@link #invalidate(String)} 并带 USING 子句重试一次；重试成功后子表即真实存在，同一子表最多多付出一次失败的写入。
+ * 其他错误（超时、连接中断、语法错误等）不重试，原样抛出，避免重复发送已可能写入的数据或掩盖真实错误。
+ * </p>
+ * <p>
+ * TDengine 的表名不区分大小写，登记时统一转为小写。
+ * </p>
+ *
+ * @author Zephyr
+ */
+@Slf4j
+public class KnownSubTableRegistry {
+
+    private static final int STRIPES = 16;
+
+    private static final String CURRENT_DATABASE_SQL = "SELECT DATABASE()";
+    private static final String LIST_TABLES_SQL = "SELECT table_name FROM information_schema.ins_tables WHERE db_name = :dbName";
+
+    /**
+     * TDengine "Table does not exist" 错误码：解析阶段（TSDB_CODE_PAR_TABLE_NOT_EXIST）和存储引擎（TSDB_CODE_TDB_TABLE_NOT_EXIST）
+     */
+    private static final int[] TABLE_NOT_EXIST_CODES = {0x2603, 0x0603};
+    private static final String TABLE_NOT_EXIST_MESSAGE = "table does not exist";
+
+    /**
+     * 异常链的最大检查深度
+     */
+    private static final int MAX_CAUSE_DEPTH = 8;
+
+    private final BloomFilter bloomFilter;
+    private final LruStripe[] stripes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param expectedTables    预计子表数量，决定布隆过滤器大小
+     * @param falsePositiveRate 布隆过滤器误判率
+     * @param lruCapacity       LRU 精确记录的子表数量
+     */
+    public KnownSubTableRegistry(long expectedTables, double falsePositiveRate, int lruCapacity) {
+        this.bloomFilter = new BloomFilter(Math.max(1, expectedTables), falsePositiveRate);
+        this.stripes = new LruStripe[STRIPES];
+        int stripeCapacity = Math.max(1, lruCapacity / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new LruStripe(stripeCapacity);
+        }
+    }
+
+    /**
+     * 子表是否可能已存在
+     *
+     * @param tableName 子表名
+     * @return true 可以省略 USING 子句写入（写入失败时需重试）
+     */
+    public boolean mightExist(String tableName) {
+        String key = normalize(tableName);
+        Boolean known = stripe(key).get(key);
+        boolean exist = known != null ? known : bloomFilter.mightContain(key);
+        if (exist) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return exist;
+    }
+
+    /**
+     * 登记已存在的子表（写入成功后调用）
+     *
+     * @param tableName 子表名
+     */
+    public void register(String tableName) {
+        String key = normalize(tableName);
+        stripe(key).put(key, Boolean.TRUE);
+        bloomFilter.put(key);
+    }
+
+    /**
+     * 标记子表不存在（省略 USING 的写入失败或子表被删除后调用），直到再次 {@link #register(String)}
+     *
+     * @param tableName 子表名
+     */
+    public void invalidate(String tableName) {
+        String key = normalize(tableName);
+        stripe(key).put(key, Boolean.FALSE);
+    }
+
+    /**
+     * 从 {@code information_schema.ins_tables} 预加载当前数据库的所有子表
+     *
+     * @param npJdbc 连接到目标数据库的 JdbcTemplate
+     * @return 加载的子表数量
+     */
+    public long preload(NamedParameterJdbcTemplate npJdbc) {
+        String dbName = npJdbc.queryForObject(CURRENT_DATABASE_SQL, Collections.emptyMap(), String.class);
+        if (!StringUtils.hasText(dbName)) {
+            log.warn("No current database on connection, skip preloading known sub tables");
+            return 0;
+        }
+        LongAdder count = new LongAdder();
+        // 逐行回调，不在内存中物化百万级结果集
+        npJdbc.query(LIST_TABLES_SQL, Collections.singletonMap("dbName", dbName), rs -> {
+            String key = normalize(rs.getString(1));
+            bloomFilter.put(key);
+            count.increment();
+        });
+        log.info("Preloaded {} known sub tables of database '{}'", count.sum(), dbName);
+        return count.sum();
+    }
+
+    /**
+     * 清空登记（删库或批量删表后调用）
+     */
+    public void clear() {
+        bloomFilter.clear();
+        for (LruStripe stripe : stripes) {
+            stripe.clear();
+        }
+        log.info("Known sub table registry cleared");
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * 布隆过滤器已置位比例，接近 0.5 以上时误判率明显升高，应调大预计子表数量
+     */
+    public double getBloomFillRatio() {
+        return bloomFilter.fillRatio();
+    }
+
+    /**
+     * 判断写入异常是否由子表不存在引起
+     * <p>
+     * 沿异常链查找 {@link SQLException}，按 TDengine 错误码（低 16 位）或错误信息 "Table does not exist" 判断。
+     * </p>
+     *
+     * @param e 写入异常（通常是包装了 SQLException 的 DataAccessException）
+     * @return true 子表不存在，可以带 USING 子句重试
+     */
+    public static boolean isTableNotExist(Throwable e) {
+        Throwable cause = e;
+        for (int depth = 0; cause != null && depth < MAX_CAUSE_DEPTH; depth++) {
+            if (cause instanceof SQLException) {
+                int code = ((SQLException) cause).getErrorCode() & 0xFFFF;
+                for (int notExistCode : TABLE_NOT_EXIST_CODES) {
+                    if (code == notExistCode) {
+                        return true;
+                    }
+                }
+            }
+            String message = cause.getMessage();
+            if (message != null && message.toLowerCase(Locale.ROOT).contains(TABLE_NOT_EXIST_MESSAGE)) {
+                return true;
+            }
+            cause = cause.getCause() == cause ? null : cause.getCause();
+        }
+        return false;
+    }
+
+    private LruStripe stripe(String key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+
+    private static String normalize(String tableName) {
+        return tableName.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 访问顺序 LinkedHashMap，超出容量时淘汰最久未访问的项
+     */
+    private static final class LruStripe {
+
+        private final Map<String, Boolean> map;
+
+        LruStripe(int capacity) {
+            this.map = new LinkedHashMap<String, Boolean>(Math.min(capacity, 1024), 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        synchronized Boolean get(String key) {
+            return map.get(key);
+        }
+
+        synchronized void put(String key, Boolean value) {
+            map.put(key, value);
+        }
+
+        synchronized void clear() {
+            map.clear();
+        }
+    }
+
+    /**
+     * 无锁布隆过滤器，位数组按 CAS 置位，哈希采用 64 位 FNV-1a + 双重哈希
+     */
+    private static final class BloomFilter {
+
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashCount;
+
+        BloomFilter(long expectedInsertions, double falsePositiveRate) {
+            double p = falsePositiveRate > 0 && falsePositiveRate < 1 ? falsePositiveRate : 0.001;
+            long m = (long) Math.ceil(-expectedInsertions * Math.log(p) / (Math.log(2) * Math.log(2)));
+            int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (m + 63) >>> 6));
+            this.bits = new AtomicLongArray(words);
+            this.bitCount = (long) words << 6;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        }
+
+        void put(String key) {
+            long hash = hash(key);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long index = index(h1 + (long) i * h2);
+                int word = (int) (index >>> 6);
+                long mask = 1L << index;
+                long current;
+                while (((current = bits.get(word)) & mask) == 0) {
+                    if (bits.compareAndSet(word, current, current | mask)) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        boolean mightContain(String key) {
+            long hash = hash(key);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long index = index(h1 + (long) i * h2);
+                if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void clear() {
+            for (int i = 0; i < bits.length(); i++) {
+                bits.set(i, 0L);
+            }
+        }
+
+        double fillRatio() {
+            long set = 0;
+            for (int i = 0; i < bits.length(); i++) {
+                set += Long.bitCount(bits.get(i));
+            }
+            return (double) set / bitCount;
+        }
+
+        private long index(long combined) {
+            return (combined & Long.MAX_VALUE) % bitCount;
+        }
+
+        private static long hash(String key) {
+            long h = 0xcbf29ce484222325L;
+            for (int i = 0; i < key.length(); i++) {
+                h ^= key.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            // fmix64，打散 FNV 低位
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb93fe53ceb4dL;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
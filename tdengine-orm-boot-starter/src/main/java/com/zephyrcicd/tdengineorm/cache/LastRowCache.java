@@ -0,0 +1,350 @@
+package com.zephyrcicd.tdengineorm.cache;
+
+import com.zephyrcicd.tdengineorm.constant.SqlConstant;
+import com.zephyrcicd.tdengineorm.metadata.ColumnMetadata;
+import com.zephyrcicd.tdengineorm.metadata.EntityMetadata;
+import com.zephyrcicd.tdengineorm.util.TdTimeUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeansException;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 子表最新行缓存
+ * <p>
+ * 按子表名缓存本进程最近写入的最新一行（按 ts 比较，乱序到达的旧数据不会覆盖新数据），
+ * 读取设备当前状态时直接返回内存中的副本，不必每次执行 {@code LAST_ROW} 或 {@code ORDER BY ts DESC LIMIT 1}。
+ * 由分段 LRU 组成，每段独立加锁，比较与替换在同一把锁内完成。
+ * </p>
+ * <p>
+ * 只有经过本进程 TdTemplate 写入的实体会更新缓存；其他进程的写入只能通过 {@code expireAfterWriteMs} 限制过期时间。
+ * 写入时存入实体的副本，读取时再返回一份副本，调用方修改返回值不影响缓存。
+ * 不带 TAG 写入（非 USING）的实体 TAG 字段为空时，沿用缓存中已有的 TAG 值；
+ * 仍有 TAG 字段为空的行视为未命中，由调用方回退到数据库查询，查询结果写回缓存时补齐 TAG。
+ * </p>
+ * <p>
+ * TDengine 的表名不区分大小写，缓存键统一转为小写。
+ * </p>
+ *
+ * @author Zephyr
+ */
+@Slf4j
+public class LastRowCache {
+
+    private static final int STRIPES = 16;
+
+    private final LruStripe[] stripes;
+    private final long expireAfterWriteMs;
+    private final TimeUnit tsPrecision;
+    private final Map<Class<?>, EntityAccessor> accessors = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder staleWrites = new LongAdder();
+
+    /**
+     * @param maxTables          最多缓存的子表数
+     * @param expireAfterWriteMs 写入后的过期时间（毫秒），小于等于 0 表示不过期
+     * @param tsPrecision        数据库时间戳精度，用于换算数值类型的 ts 字段
+     */
+    public LastRowCache(int maxTables, long expireAfterWriteMs, TimeUnit tsPrecision) {
+        this.expireAfterWriteMs = expireAfterWriteMs;
+        this.tsPrecision = tsPrecision;
+        this.stripes = new LruStripe[STRIPES];
+        int stripeCapacity = Math.max(1, maxTables / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new LruStripe(stripeCapacity);
+        }
+    }
+
+    /**
+     * 获取子表的最新行
+     *
+     * @param clazz     实体类
+     * @param tableName 子表名
+     * @return 最新行的副本，未缓存、已过期、TAG 未知或缓存的实体类型不同时返回 null
+     */
+    public <T> T get(Class<T> clazz, String tableName) {
+        String key = normalize(tableName);
+        Entry entry = stripe(key).get(key);
+        if (entry == null || !clazz.isInstance(entry.row)
+                || (expireAfterWriteMs > 0 && System.currentTimeMillis() - entry.writtenAt > expireAfterWriteMs)) {
+            misses.increment();
+            return null;
+        }
+        EntityAccessor accessor = accessor(clazz);
+        if (accessor.hasMissingTags(entry.row)) {
+            misses.increment();
+            return null;
+        }
+        T copy = accessor.copy(clazz.cast(entry.row));
+        if (copy == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return copy;
+    }
+
+    /**
+     * 记录写入成功的一行，ts 早于已缓存行时忽略
+     *
+     * @param tableName 子表名
+     * @param row       实体
+     */
+    public void put(String tableName, Object row) {
+        if (row == null) {
+            return;
+        }
+        EntityAccessor accessor = accessor(row.getClass());
+        Object snapshot = accessor.copy(row);
+        if (snapshot == null) {
+            invalidate(tableName);
+            return;
+        }
+        String key = normalize(tableName);
+        Entry entry = new Entry(snapshot, accessor.tsMillis(snapshot), System.currentTimeMillis());
+        if (!stripe(key).putIfNotOlder(key, entry, accessor)) {
+            staleWrites.increment();
+        }
+    }
+
+    /**
+     * 记录写入同一子表的一批行，只保留 ts 最大的一行
+     *
+     * @param tableName 子表名
+     * @param rows      实体列表
+     */
+    public void putAll(String tableName, List<?> rows) {
+        Object latest = null;
+        long latestTs = Long.MIN_VALUE;
+        for (Object row : rows) {
+            if (row == null) {
+                continue;
+            }
+            long ts = accessor(row.getClass()).tsMillis(row);
+            // ts 相同时后写入的行生效
+            if (latest == null || ts >= latestTs) {
+                latest = row;
+                latestTs = ts;
+            }
+        }
+        put(tableName, latest);
+    }
+
+    /**
+     * 移除子表的缓存（无法得到写入的实体时调用）
+     *
+     * @param tableName 子表名
+     */
+    public void invalidate(String tableName) {
+        String key = normalize(tableName);
+        stripe(key).remove(key);
+    }
+
+    /**
+     * 移除某个实体类的所有缓存（写入的子表名未知时调用）
+     *
+     * @param clazz 实体类
+     */
+    public void invalidateClass(Class<?> clazz) {
+        for (LruStripe stripe : stripes) {
+            stripe.removeIf(clazz);
+        }
+    }
+
+    /**
+     * 执行 SQL 后调用，DELETE、DROP、ALTER 等可能删除或改变已有数据的语句清空缓存
+     *
+     * @param sql 已执行的 SQL
+     */
+    public void onWrite(String sql) {
+        if (QueryResultCache.mayRemoveData(QueryResultCache.firstWord(sql))) {
+            clear();
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        for (LruStripe stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * 因 ts 早于已缓存行而被忽略的写入次数
+     */
+    public long getStaleWriteCount() {
+        return staleWrites.sum();
+    }
+
+    public int size() {
+        int size = 0;
+        for (LruStripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private EntityAccessor accessor(Class<?> clazz) {
+        return accessors.computeIfAbsent(clazz, c -> new EntityAccessor(c, tsPrecision));
+    }
+
+    private LruStripe stripe(String key) {
+        return stripes[(key.hashCode() & Integer.MAX_VALUE) % STRIPES];
+    }
+
+    private static String normalize(String tableName) {
+        return tableName.trim().replace(SqlConstant.HALF_ANGLE_DASH, "").toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Entry {
+
+        private final Object row;
+        private final long ts;
+        private final long writtenAt;
+
+        Entry(Object row, long ts, long writtenAt) {
+            this.row = row;
+            this.ts = ts;
+            this.writtenAt = writtenAt;
+        }
+    }
+
+    /**
+     * 实体类的 ts 字段、TAG 字段访问及复制
+     */
+    private static final class EntityAccessor {
+
+        private final Class<?> clazz;
+        private final ColumnMetadata tsColumn;
+        private final List<ColumnMetadata> tagColumns;
+        private final TimeUnit tsPrecision;
+
+        EntityAccessor(Class<?> clazz, TimeUnit tsPrecision) {
+            EntityMetadata metadata = EntityMetadata.of(clazz);
+            this.clazz = clazz;
+            this.tsPrecision = tsPrecision;
+            this.tsColumn = metadata.getTsColumn();
+            this.tagColumns = metadata.getTagColumns();
+        }
+
+        /**
+         * ts 字段的毫秒值，没有 ts 字段或无法识别时返回 Long.MIN_VALUE（总是被新写入覆盖）
+         */
+        long tsMillis(Object row) {
+            if (tsColumn == null) {
+                return Long.MIN_VALUE;
+            }
+            Long millis = TdTimeUtil.toEpochMillis(tsColumn.getValue(row), tsPrecision);
+            return millis == null ? Long.MIN_VALUE : millis;
+        }
+
+        /**
+         * 按属性复制实体，实体类无法实例化时返回 null
+         */
+        @SuppressWarnings("unchecked")
+        <T> T copy(T row) {
+            try {
+                T copy = (T) BeanUtils.instantiateClass(clazz);
+                BeanUtils.copyProperties(row, copy);
+                return copy;
+            } catch (BeansException e) {
+                log.debug("Can not copy entity of {} for last row cache: {}", clazz.getName(), e.getMessage());
+                return null;
+            }
+        }
+
+        /**
+         * 是否有 TAG 字段为空（不带 TAG 写入且此前没有缓存过该子表的 TAG）
+         */
+        boolean hasMissingTags(Object row) {
+            for (ColumnMetadata column : tagColumns) {
+                if (column.getValue(row) == null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * 新行的 TAG 字段为空时沿用旧行的值
+         */
+        void inheritTags(Object newRow, Object oldRow) {
+            for (ColumnMetadata column : tagColumns) {
+                if (column.getValue(newRow) == null) {
+                    column.setValue(newRow, column.getValue(oldRow));
+                }
+            }
+        }
+    }
+
+    private static final class LruStripe {
+
+        private final Map<String, Entry> map;
+
+        LruStripe(int capacity) {
+            this.map = new LinkedHashMap<String, Entry>(Math.min(capacity, 1024), 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        synchronized Entry get(String key) {
+            return map.get(key);
+        }
+
+        /**
+         * @return false 表示已缓存的行更新，未替换
+         */
+        synchronized boolean putIfNotOlder(String key, Entry entry, EntityAccessor accessor) {
+            Entry current = map.get(key);
+            if (current != null && current.row.getClass() == entry.row.getClass()) {
+                if (entry.ts < current.ts) {
+                    // 子表的 TAG 不随行变化，较旧的行（如 LAST_ROW 查询结果）仍可补齐缓存行缺失的 TAG
+                    accessor.inheritTags(current.row, entry.row);
+                    return false;
+                }
+                accessor.inheritTags(entry.row, current.row);
+            }
+            map.put(key, entry);
+            return true;
+        }
+
+        synchronized void remove(String key) {
+            map.remove(key);
+        }
+
+        synchronized void removeIf(Class<?> clazz) {
+            map.values().removeIf(entry -> entry.row.getClass() == clazz);
+        }
+
+        synchronized void clear() {
+            map.clear();
+        }
+
+        synchronized int size() {
+            return map.size();
+        }
+    }
+}
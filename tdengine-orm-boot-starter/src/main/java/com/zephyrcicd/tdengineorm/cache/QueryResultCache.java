@@ -0,0 +1,711 @@
+package com.zephyrcicd.tdengineorm.cache;
+
+import com.zephyrcicd.tdengineorm.util.TdTimeUtil;
+import com.zephyrcicd.tdengineorm.wrapper.AbstractTdQueryWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeansException;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 查询结果缓存
+ * <p>
+ * 以规范化后的 SQL、参数和结果类型为键缓存查询结果，按估算字节数做 LRU 淘汰。结果分为两类：
+ * <ul>
+ *     <li>不可变结果：查询条件中 ts 的上界早于 {@code 当前时间 - watermarkMs}，视为历史数据不再变化，
+ *     只按容量和 immutableTtlMs 淘汰，写入不会使其失效</li>
+ *     <li>可变结果：时间范围覆盖水位线之后或无法确定，按 mutableTtlMs 过期，
+ *     通过 TdTemplate 写入同一张表（超级表或其子表）后立即失效</li>
+ * </ul>
+ * 写入的子表通过 {@code USING} 子句（INSERT / CREATE TABLE）识别所属超级表；无法识别所属超级表的写入会使全部可变结果失效。
+ * DELETE、DROP、ALTER 等语句清空整个缓存。
+ * </p>
+ * <p>
+ * 查询执行期间发生的相关写入会使该次结果不进入缓存，避免缓存写入前读到的旧数据。
+ * 结果在存入和每次命中时复制：List 逐元素复制，实体对象和 Map 按字段复制（Date、byte[] 字段值同时复制），
+ * 调用方修改返回的列表或对象不影响缓存和其他调用方。无法复制的结果（如实体类没有无参构造器）不缓存。
+ * 开启 {@code shareResults} 后不再复制，所有命中共享同一批对象，调用方不得修改。
+ * </p>
+ *
+ * @author Zephyr
+ */
+@Slf4j
+public class QueryResultCache {
+
+    private static final Object NULL_VALUE = new Object();
+    private static final Object UNCOPYABLE = new Object();
+    private static final char KEY_SEPARATOR = '\u0001';
+    private static final int SIZE_SAMPLE_ROWS = 16;
+    private static final int MAX_SUB_TABLE_MAPPINGS = 65536;
+    private static final Set<String> READ_OR_APPEND_KEYWORDS = new HashSet<>(Arrays.asList(
+            "insert", "create", "select", "show", "describe", "desc", "use"));
+    private static final Set<String> TABLE_CLAUSE_KEYWORDS = new HashSet<>(Arrays.asList(
+            "insert", "into", "values", "tags", "file", "create", "table", "if", "not", "exists"));
+
+    private final long maxBytes;
+    private final long watermarkMs;
+    private final long immutableTtlMs;
+    private final long mutableTtlMs;
+    private final TimeUnit tsPrecision;
+    private final boolean shareResults;
+
+    /**
+     * 访问顺序 LinkedHashMap，以下状态均由 this 保护
+     */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<String, Set<String>> keysByTable = new HashMap<>();
+    private final Set<String> mutableKeys = new HashSet<>();
+    private final Set<String> queriedTables = new HashSet<>();
+    private final Map<String, Long> lastWriteSeqByTable = new HashMap<>();
+    private final Map<String, String> superTableOfSubTable = new LinkedHashMap<String, String>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > MAX_SUB_TABLE_MAPPINGS;
+        }
+    };
+    private long totalBytes;
+    private long writeSeq;
+    private long lastUnknownWriteSeq;
+    private long lastClearSeq;
+
+    private final AtomicInteger loading = new AtomicInteger();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final Map<Class<?>, Field[]> beanFields = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxBytes       缓存结果占用的最大估算字节数
+     * @param watermarkMs    水位线（毫秒），ts 上界早于当前时间减去该值的结果视为不可变
+     * @param immutableTtlMs 不可变结果的过期时间（毫秒），小于等于 0 表示不过期
+     * @param mutableTtlMs   可变结果的过期时间（毫秒），小于等于 0 表示不缓存可变结果
+     * @param tsPrecision    数据库时间戳精度，用于换算数值类型的 ts 条件
+     */
+    public QueryResultCache(long maxBytes, long watermarkMs, long immutableTtlMs, long mutableTtlMs, TimeUnit tsPrecision) {
+        this(maxBytes, watermarkMs, immutableTtlMs, mutableTtlMs, tsPrecision, false);
+    }
+
+    /**
+     * @param shareResults 是否在调用方之间共享缓存的结果对象（不复制），共享时调用方不得修改返回的对象
+     */
+    public QueryResultCache(long maxBytes, long watermarkMs, long immutableTtlMs, long mutableTtlMs, TimeUnit tsPrecision,
+                            boolean shareResults) {
+        this.maxBytes = maxBytes;
+        this.watermarkMs = watermarkMs;
+        this.immutableTtlMs = immutableTtlMs;
+        this.mutableTtlMs = mutableTtlMs;
+        this.tsPrecision = tsPrecision;
+        this.shareResults = shareResults;
+    }
+
+    /**
+     * 从缓存获取查询结果，未命中时执行查询并缓存
+     *
+     * @param wrapper    查询包装器，用于确定涉及的表和 ts 上界
+     * @param resultType 结果类型标识（同一 SQL 映射为不同结果类型时分别缓存）
+     * @param sql        SQL
+     * @param paramsMap  参数
+     * @param loader     实际执行查询
+     * @return 查询结果
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V get(AbstractTdQueryWrapper<?> wrapper, String resultType, String sql, Map<String, Object> paramsMap,
+                     Supplier<V> loader) {
+        String key = buildKey(resultType, sql, paramsMap);
+        long startSeq;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt > System.currentTimeMillis()) {
+                    hits.increment();
+                    return (V) copyOut(entry.value);
+                }
+                removeEntry(key);
+            }
+            startSeq = writeSeq;
+        }
+        misses.increment();
+
+        V value;
+        loading.incrementAndGet();
+        try {
+            value = loader.get();
+        } finally {
+            loading.decrementAndGet();
+        }
+
+        long now = System.currentTimeMillis();
+        boolean immutable = isImmutable(wrapper.getTsUpperBounds(), now);
+        if (!immutable && mutableTtlMs <= 0) {
+            return value;
+        }
+        Object stored = value == null ? NULL_VALUE : copyIn(value);
+        if (stored == UNCOPYABLE) {
+            return value;
+        }
+        long bytes = estimateEntryBytes(key, stored);
+        if (bytes > maxBytes) {
+            return value;
+        }
+        Set<String> tables = new HashSet<>();
+        for (String tableName : wrapper.getQueryTableNames()) {
+            tables.add(normalizeTableName(tableName));
+        }
+        long expiresAt = immutable
+                ? (immutableTtlMs > 0 ? now + immutableTtlMs : Long.MAX_VALUE)
+                : now + mutableTtlMs;
+        synchronized (this) {
+            if (lastClearSeq > startSeq || (!immutable && writtenSince(tables, startSeq))) {
+                return value;
+            }
+            removeEntry(key);
+            entries.put(key, new Entry(stored, bytes, expiresAt, tables));
+            totalBytes += bytes;
+            for (String table : tables) {
+                keysByTable.computeIfAbsent(table, k -> new HashSet<>()).add(key);
+                queriedTables.add(table);
+            }
+            if (!immutable) {
+                mutableKeys.add(key);
+            }
+            evictIfNecessary();
+        }
+        return value;
+    }
+
+    /**
+     * 通过 TdTemplate 执行写入或其他非查询语句后调用
+     * <p>
+     * INSERT 使相关表的可变结果失效；CREATE 只记录子表所属的超级表；DELETE、DROP、ALTER 等清空缓存。
+     * </p>
+     *
+     * @param sql 已执行的 SQL
+     */
+    public void onWrite(String sql) {
+        String keyword = firstWord(sql);
+        if ("insert".equals(keyword)) {
+            synchronized (this) {
+                if (mutableKeys.isEmpty() && loading.get() == 0) {
+                    return;
+                }
+            }
+            onInsert(sql);
+        } else if ("create".equals(keyword)) {
+            learnSubTables(sql);
+        } else if (mayRemoveData(keyword)) {
+            clear();
+        }
+    }
+
+    /**
+     * 不经过 SQL 写入指定表（如无模式写入）后调用，使该表的可变结果失效
+     *
+     * @param tableName 超级表或普通表名
+     */
+    public synchronized void onTableWrite(String tableName) {
+        invalidateMutable(Collections.singleton(normalizeTableName(tableName)));
+    }
+
+    /**
+     * 使指定表的全部缓存结果失效（包括不可变结果），用于补录历史数据等场景
+     *
+     * @param tableName 超级表或普通表名
+     */
+    public synchronized void invalidate(String tableName) {
+        String table = normalizeTableName(tableName);
+        lastWriteSeqByTable.put(table, ++writeSeq);
+        Set<String> keys = keysByTable.get(table);
+        if (keys != null) {
+            for (String key : new ArrayList<>(keys)) {
+                removeEntry(key);
+            }
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public synchronized void clear() {
+        lastClearSeq = ++writeSeq;
+        entries.clear();
+        keysByTable.clear();
+        mutableKeys.clear();
+        totalBytes = 0;
+        log.debug("Query result cache cleared");
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * 当前缓存结果占用的估算字节数
+     */
+    public synchronized long getBytes() {
+        return totalBytes;
+    }
+
+    private void onInsert(String sql) {
+        Map<String, String> usingTables = new HashMap<>();
+        List<String> tables = scanTableClauses(sql, usingTables);
+        synchronized (this) {
+            superTableOfSubTable.putAll(usingTables);
+            invalidateMutable(resolveWrittenTables(tables, usingTables));
+        }
+    }
+
+    private void learnSubTables(String sql) {
+        Map<String, String> usingTables = new HashMap<>();
+        scanTableClauses(sql, usingTables);
+        if (!usingTables.isEmpty()) {
+            synchronized (this) {
+                superTableOfSubTable.putAll(usingTables);
+            }
+        }
+    }
+
+    /**
+     * 把写入的表名解析为被查询的表名，返回 null 表示存在无法确定所属表的写入
+     */
+    private Set<String> resolveWrittenTables(List<String> tables, Map<String, String> usingTables) {
+        Set<String> resolved = new HashSet<>();
+        for (String table : tables) {
+            if (queriedTables.contains(table)) {
+                resolved.add(table);
+                continue;
+            }
+            String superTable = usingTables.get(table);
+            if (superTable == null) {
+                superTable = superTableOfSubTable.get(table);
+            }
+            if (superTable == null) {
+                return null;
+            }
+            resolved.add(superTable);
+        }
+        return resolved;
+    }
+
+    private void invalidateMutable(Set<String> tables) {
+        long seq = ++writeSeq;
+        if (tables == null) {
+            lastUnknownWriteSeq = seq;
+            for (String key : new ArrayList<>(mutableKeys)) {
+                removeEntry(key);
+            }
+            return;
+        }
+        for (String table : tables) {
+            lastWriteSeqByTable.put(table, seq);
+            Set<String> keys = keysByTable.get(table);
+            if (keys == null) {
+                continue;
+            }
+            for (String key : new ArrayList<>(keys)) {
+                if (mutableKeys.contains(key)) {
+                    removeEntry(key);
+                }
+            }
+        }
+    }
+
+    private boolean writtenSince(Set<String> tables, long startSeq) {
+        if (lastUnknownWriteSeq > startSeq) {
+            return true;
+        }
+        for (String table : tables) {
+            Long seq = lastWriteSeqByTable.get(table);
+            if (seq != null && seq > startSeq) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void removeEntry(String key) {
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return;
+        }
+        totalBytes -= entry.bytes;
+        mutableKeys.remove(key);
+        for (String table : entry.tables) {
+            Set<String> keys = keysByTable.get(table);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    keysByTable.remove(table);
+                }
+            }
+        }
+    }
+
+    private void evictIfNecessary() {
+        Iterator<String> iterator = entries.keySet().iterator();
+        List<String> victims = new ArrayList<>();
+        long bytes = totalBytes;
+        while (bytes > maxBytes && iterator.hasNext()) {
+            String key = iterator.next();
+            bytes -= entries.get(key).bytes;
+            victims.add(key);
+        }
+        for (String key : victims) {
+            removeEntry(key);
+            evictions.increment();
+        }
+    }
+
+    private boolean isImmutable(List<Object> upperBounds, long now) {
+        if (upperBounds == null || upperBounds.isEmpty()) {
+            return false;
+        }
+        long upperBound = Long.MAX_VALUE;
+        for (Object bound : upperBounds) {
+            Long millis = TdTimeUtil.toEpochMillis(bound, tsPrecision);
+            if (millis != null) {
+                upperBound = Math.min(upperBound, millis);
+            }
+        }
+        return upperBound != Long.MAX_VALUE && upperBound <= now - watermarkMs;
+    }
+
+    private Object copyIn(Object value) {
+        if (shareResults) {
+            return value instanceof List ? new ArrayList<>((List<?>) value) : value;
+        }
+        return copyResult(value);
+    }
+
+    private Object copyOut(Object stored) {
+        if (stored == NULL_VALUE) {
+            return null;
+        }
+        if (shareResults) {
+            return stored instanceof List ? new ArrayList<>((List<?>) stored) : stored;
+        }
+        return copyResult(stored);
+    }
+
+    // ==================== 结果复制 ====================
+
+    /**
+     * 复制查询结果：List 逐元素复制，元素为实体或 Map 时按字段复制
+     *
+     * @return 副本，无法复制时返回 {@link #UNCOPYABLE}
+     */
+    private Object copyResult(Object value) {
+        if (!(value instanceof List)) {
+            return copyRow(value);
+        }
+        List<?> rows = (List<?>) value;
+        List<Object> copy = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Object rowCopy = copyRow(row);
+            if (rowCopy == UNCOPYABLE) {
+                return UNCOPYABLE;
+            }
+            copy.add(rowCopy);
+        }
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object copyRow(Object row) {
+        if (row instanceof Map) {
+            Map<Object, Object> copy = new LinkedHashMap<>();
+            for (Map.Entry<Object, Object> entry : ((Map<Object, Object>) row).entrySet()) {
+                copy.put(entry.getKey(), copyLeaf(entry.getValue()));
+            }
+            return copy;
+        }
+        if (row == null || row.getClass().isArray() || row.getClass().getName().startsWith("java.")) {
+            return copyLeaf(row);
+        }
+        Object copy;
+        try {
+            copy = BeanUtils.instantiateClass(row.getClass());
+        } catch (BeansException e) {
+            log.debug("Can not copy result of {}, skip caching: {}", row.getClass().getName(), e.getMessage());
+            return UNCOPYABLE;
+        }
+        for (Field field : beanFields.computeIfAbsent(row.getClass(), QueryResultCache::instanceFields)) {
+            ReflectionUtils.setField(field, copy, copyLeaf(ReflectionUtils.getField(field, row)));
+        }
+        return copy;
+    }
+
+    /**
+     * 复制可变的字段值（Date 及其子类、byte[]），其他值视为不可变直接共享
+     */
+    private static Object copyLeaf(Object value) {
+        if (value instanceof Date) {
+            return ((Date) value).clone();
+        }
+        if (value instanceof byte[]) {
+            return ((byte[]) value).clone();
+        }
+        return value;
+    }
+
+    // ==================== 键与表名 ====================
+
+    static String buildKey(String resultType, String sql, Map<String, Object> paramsMap) {
+        StringBuilder key = new StringBuilder(sql.length() + 64).append(resultType).append(KEY_SEPARATOR);
+        appendNormalizedSql(key, sql);
+        key.append(KEY_SEPARATOR);
+        if (paramsMap != null) {
+            for (Map.Entry<String, Object> param : new TreeMap<>(paramsMap).entrySet()) {
+                Object value = param.getValue();
+                key.append(param.getKey()).append('=');
+                if (value == null) {
+                    key.append("null");
+                } else {
+                    key.append(value.getClass().getName()).append(':')
+                            .append(value instanceof Object[] ? Arrays.deepToString((Object[]) value) : value);
+                }
+                key.append(KEY_SEPARATOR);
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * 合并引号外的连续空白，忽略首尾空白
+     */
+    private static void appendNormalizedSql(StringBuilder out, String sql) {
+        char quote = 0;
+        boolean pendingBlank = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (quote != 0) {
+                out.append(c);
+                if (c == quote) {
+                    quote = 0;
+                }
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                pendingBlank = true;
+                continue;
+            }
+            if (pendingBlank && out.length() > 0 && out.charAt(out.length() - 1) != KEY_SEPARATOR) {
+                out.append(' ');
+            }
+            pendingBlank = false;
+            if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+            }
+            out.append(c);
+        }
+    }
+
+    /**
+     * 除写入、建表和只读语句外，其余语句（DELETE、DROP、ALTER 等）都可能删除或改变已有数据
+     */
+    static boolean mayRemoveData(String keyword) {
+        return !READ_OR_APPEND_KEYWORDS.contains(keyword);
+    }
+
+    static String firstWord(String sql) {
+        int start = 0;
+        while (start < sql.length() && !Character.isLetter(sql.charAt(start))) {
+            start++;
+        }
+        int end = start;
+        while (end < sql.length() && Character.isLetter(sql.charAt(end))) {
+            end++;
+        }
+        return sql.substring(start, end).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 扫描 INSERT / CREATE TABLE 语句括号外的表名，括号内的列、值和 TAG 全部跳过
+     *
+     * @param sql         SQL
+     * @param usingTables 输出：带 USING 子句的子表及其超级表
+     * @return 写入的表名（子表或普通表）
+     */
+    private static List<String> scanTableClauses(String sql, Map<String, String> usingTables) {
+        List<String> tables = new ArrayList<>();
+        int depth = 0;
+        boolean expectSuperTable = false;
+        int i = 0;
+        int length = sql.length();
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == '\'' || c == '"' || c == '`') {
+                int end = sql.indexOf(c, i + 1);
+                end = end < 0 ? length : end + 1;
+                if (depth == 0) {
+                    expectSuperTable = acceptWord(sql.substring(i, end), tables, usingTables, expectSuperTable);
+                }
+                i = end;
+            } else if (c == '(') {
+                depth++;
+                i++;
+            } else if (c == ')') {
+                depth = Math.max(0, depth - 1);
+                i++;
+            } else if (depth > 0 || Character.isWhitespace(c) || c == ',') {
+                i++;
+            } else {
+                int end = i;
+                while (end < length && !Character.isWhitespace(sql.charAt(end)) && "(),'\"`".indexOf(sql.charAt(end)) < 0) {
+                    end++;
+                }
+                expectSuperTable = acceptWord(sql.substring(i, end), tables, usingTables, expectSuperTable);
+                i = end;
+            }
+        }
+        return tables;
+    }
+
+    private static boolean acceptWord(String word, List<String> tables, Map<String, String> usingTables,
+                                      boolean expectSuperTable) {
+        String lower = word.toLowerCase(Locale.ROOT);
+        if ("using".equals(lower)) {
+            return true;
+        }
+        if (TABLE_CLAUSE_KEYWORDS.contains(lower)) {
+            return false;
+        }
+        String table = normalizeTableName(word);
+        if (expectSuperTable) {
+            if (!tables.isEmpty()) {
+                usingTables.put(tables.get(tables.size() - 1), table);
+            }
+        } else {
+            tables.add(table);
+        }
+        return false;
+    }
+
+    /**
+     * 去掉引号和库名前缀并转为小写（TDengine 表名不区分大小写）
+     */
+    private static String normalizeTableName(String tableName) {
+        String name = tableName.trim().replace("`", "").replace("'", "").replace("\"", "");
+        return name.substring(name.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+    }
+
+    // ==================== 大小估算 ====================
+
+    private long estimateEntryBytes(String key, Object value) {
+        long bytes = 64 + 40 + 2L * key.length();
+        if (value instanceof List) {
+            List<?> rows = (List<?>) value;
+            int sampled = Math.min(SIZE_SAMPLE_ROWS, rows.size());
+            long sampleBytes = 0;
+            for (int i = 0; i < sampled; i++) {
+                sampleBytes += estimate(rows.get(i), 0);
+            }
+            long perRow = sampled == 0 ? 0 : sampleBytes / sampled;
+            return bytes + 24 + (perRow + 8) * rows.size();
+        }
+        return bytes + estimate(value, 0);
+    }
+
+    private long estimate(Object value, int depth) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String) {
+            return 40 + 2L * ((String) value).length();
+        }
+        if (value instanceof BigDecimal) {
+            return 64;
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character
+                || value instanceof Date || value instanceof Enum || value instanceof Instant) {
+            return 24;
+        }
+        if (value instanceof byte[]) {
+            return 16 + ((byte[]) value).length;
+        }
+        if (value instanceof Map) {
+            long bytes = 48;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                bytes += 32 + estimate(entry.getKey(), depth + 1) + estimate(entry.getValue(), depth + 1);
+            }
+            return bytes;
+        }
+        if (value instanceof Collection) {
+            long bytes = 24;
+            for (Object element : (Collection<?>) value) {
+                bytes += 8 + estimate(element, depth + 1);
+            }
+            return bytes;
+        }
+        if (value.getClass().isArray() || depth > 0 || value.getClass().getName().startsWith("java.")) {
+            return 32;
+        }
+        long bytes = 16;
+        for (Field field : beanFields.computeIfAbsent(value.getClass(), QueryResultCache::instanceFields)) {
+            bytes += 8;
+            if (!field.getType().isPrimitive()) {
+                bytes += estimate(ReflectionUtils.getField(field, value), depth + 1);
+            }
+        }
+        return bytes;
+    }
+
+    private static Field[] instanceFields(Class<?> clazz) {
+        List<Field> fields = new ArrayList<>();
+        ReflectionUtils.doWithFields(clazz, field -> {
+            ReflectionUtils.makeAccessible(field);
+            fields.add(field);
+        }, field -> !Modifier.isStatic(field.getModifiers()));
+        return fields.toArray(new Field[0]);
+    }
+
+    private static final class Entry {
+
+        private final Object value;
+        private final long bytes;
+        private final long expiresAt;
+        private final Set<String> tables;
+
+        Entry(Object value, long bytes, long expiresAt, Set<String> tables) {
+            this.value = value;
+            this.bytes = bytes;
+            this.expiresAt = expiresAt;
+            this.tables = tables;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 /**
  * Tag 顺序缓存管理器
@@ -44,16 +45,7 @@ public class TagOrderCacheManager {
      */
     private List<String> queryTagOrderFromDatabase(String superTableName) {
         try {
-            // DESCRIBE 命令可以直接使用表名，连接时已指定数据库
-            String sql = "DESCRIBE `" + superTableName + "`";
-
-            List<Map<String, Object>> rows = npJdbc.queryForList(sql, Collections.emptyMap());
-
-            // 过滤出 Note 列为 "TAG" 的行，并提取 Field 列
-            List<String> tagList = rows.stream()
-                    .filter(row -> "TAG".equals(row.get("Note")))
-                    .map(row -> (String) row.get("Field"))
-                    .collect(java.util.stream.Collectors.toList());
+            List<String> tagList = extractTagOrder(describe(superTableName));
 
             if (log.isDebugEnabled()) {
                 log.debug("Loaded tag order for stable '{}': {}", superTableName, tagList);
@@ -67,6 +59,42 @@ public class TagOrderCacheManager {
         }
     }
 
+    /**
+     * 查询表结构
+     * <p>
+     * DESCRIBE 命令可以直接使用表名，连接时已指定数据库；表不存在等错误直接抛出
+     * </p>
+     *
+     * @param tableName 表名
+     * @return 每列一行，包含 Field / Type / Length / Note
+     */
+    public List<Map<String, Object>> describe(String tableName) {
+        return npJdbc.queryForList("DESCRIBE `" + tableName + "`", Collections.emptyMap());
+    }
+
+    /**
+     * 从 DESCRIBE 结果中提取 TAG 列名：Note 列为 "TAG" 的行的 Field 列，保持 DDL 顺序
+     *
+     * @param describeRows DESCRIBE 结果
+     * @return tag 列名列表
+     */
+    public static List<String> extractTagOrder(List<Map<String, Object>> describeRows) {
+        return describeRows.stream()
+                .filter(row -> "TAG".equals(row.get("Note")))
+                .map(row -> (String) row.get("Field"))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 写入已查询到的 tag 顺序（启动预热时由 DESCRIBE 结果填充，避免重复查询）
+     *
+     * @param superTableName 超级表名
+     * @param tagOrder       tag 列名列表，按 DDL 定义顺序排序
+     */
+    public void putTagOrder(String superTableName, List<String> tagOrder) {
+        tagOrderCache.put(superTableName, tagOrder);
+    }
+
     /**
      * 清空缓存
      */
@@ -1,21 +1,38 @@
 package com.zephyrcicd.tdengineorm.config;
 
+import com.zaxxer.hikari.HikariDataSource;
+import com.zephyrcicd.tdengineorm.cache.IntervalAggregationCache;
+import com.zephyrcicd.tdengineorm.cache.KnownSubTableRegistry;
+import com.zephyrcicd.tdengineorm.cache.LastRowCache;
+import com.zephyrcicd.tdengineorm.cache.QueryResultCache;
+import com.zephyrcicd.tdengineorm.executor.ParallelBatchExecutor;
+import com.zephyrcicd.tdengineorm.executor.ParallelQueryExecutor;
 import com.zephyrcicd.tdengineorm.interceptor.LoggingSqlInterceptor;
 import com.zephyrcicd.tdengineorm.interceptor.TdSqlInterceptor;
 import com.zephyrcicd.tdengineorm.interceptor.TdSqlInterceptorChain;
+import com.zephyrcicd.tdengineorm.metadata.TdEntityPrewarmer;
+import com.zephyrcicd.tdengineorm.schemaless.SchemalessSink;
+import com.zephyrcicd.tdengineorm.spool.TdWriteSpool;
 import com.zephyrcicd.tdengineorm.template.MetaObjectHandler;
 import com.zephyrcicd.tdengineorm.template.TdTemplate;
 import com.zephyrcicd.tdengineorm.template.TsMetaObjectHandler;
+import com.zephyrcicd.tdengineorm.writer.TdAsyncWriter;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.CollectionUtils;
 
 import javax.sql.DataSource;
+import java.sql.SQLException;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * TDengine ORM 自动配置类
@@ -23,18 +40,21 @@ import java.util.List;
  *
  * @author Zephyr
  */
+@Slf4j
 @Configuration(proxyBeanMethods = false)
 @EnableConfigurationProperties(TdOrmConfig.class)
 public class TdOrmAutoConfiguration {
 
+    private static final String HIKARI_DATA_SOURCE = "com.zaxxer.hikari.HikariDataSource";
+
     /**
      * 默认的 MetaObjectHandler（ts 字段自动填充）
      */
     @Bean
     @ConditionalOnMissingBean(MetaObjectHandler.class)
     @ConditionalOnProperty(prefix = TdOrmConfig.PREFIX, name = "enable-ts-auto-fill", havingValue = "true", matchIfMissing = true)
-    public MetaObjectHandler tsMetaObjectHandler() {
-        return new TsMetaObjectHandler();
+    public MetaObjectHandler tsMetaObjectHandler(TdOrmConfig tdOrmConfig) {
+        return new TsMetaObjectHandler(tdOrmConfig.getTsPrecision());
     }
 
     /**
@@ -79,13 +99,222 @@ public class TdOrmAutoConfiguration {
     public TdTemplate tdTemplate(DataSource dataSource,
                                   TdOrmConfig tdOrmConfig,
                                   ObjectProvider<MetaObjectHandler> metaObjectHandlerProvider,
-                                  ObjectProvider<TdSqlInterceptorChain> sqlInterceptorChainProvider) {
+                                  ObjectProvider<TdSqlInterceptorChain> sqlInterceptorChainProvider,
+                                  ObjectProvider<ParallelBatchExecutor> parallelBatchExecutorProvider,
+                                  ObjectProvider<ParallelQueryExecutor> parallelQueryExecutorProvider,
+                                  ObjectProvider<SchemalessSink> schemalessSinkProvider,
+                                  ObjectProvider<KnownSubTableRegistry> knownSubTableRegistryProvider,
+                                  ObjectProvider<QueryResultCache> queryResultCacheProvider,
+                                  ObjectProvider<IntervalAggregationCache> intervalAggregationCacheProvider,
+                                  ObjectProvider<LastRowCache> lastRowCacheProvider) {
         NamedParameterJdbcTemplate namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
-        return TdTemplate.getInstance(
+        TdTemplate tdTemplate = TdTemplate.getInstance(
                 namedParameterJdbcTemplate,
                 tdOrmConfig,
-                metaObjectHandlerProvider.getIfAvailable(),
+                null,
                 sqlInterceptorChainProvider.getIfAvailable()
         );
+        // 按 @Order / Ordered 顺序执行所有 MetaObjectHandler
+        tdTemplate.setMetaObjectHandlers(metaObjectHandlerProvider.orderedStream().collect(Collectors.toList()));
+        tdTemplate.setParallelBatchExecutor(parallelBatchExecutorProvider.getIfAvailable());
+        tdTemplate.setParallelQueryExecutor(parallelQueryExecutorProvider.getIfAvailable());
+        tdTemplate.setSchemalessSink(schemalessSinkProvider.getIfAvailable());
+        tdTemplate.setKnownSubTableRegistry(knownSubTableRegistryProvider.getIfAvailable());
+        tdTemplate.setQueryResultCache(queryResultCacheProvider.getIfAvailable());
+        tdTemplate.setIntervalAggregationCache(intervalAggregationCacheProvider.getIfAvailable());
+        tdTemplate.setLastRowCache(lastRowCacheProvider.getIfAvailable());
+        return tdTemplate;
+    }
+
+    /**
+     * 已存在子表登记表
+     * <p>
+     * 仅在 {@code td-orm.known-sub-table.enabled=true} 时创建，开启预加载时启动阶段从
+     * {@code information_schema.ins_tables} 加载当前数据库的子表，加载失败不影响启动。
+     * </p>
+     */
+    @Bean
+    @ConditionalOnMissingBean(KnownSubTableRegistry.class)
+    @ConditionalOnProperty(prefix = TdOrmConfig.PREFIX, name = "known-sub-table.enabled", havingValue = "true")
+    public KnownSubTableRegistry knownSubTableRegistry(DataSource dataSource, TdOrmConfig tdOrmConfig) {
+        TdOrmConfig.KnownSubTable config = tdOrmConfig.getKnownSubTable();
+        KnownSubTableRegistry registry = new KnownSubTableRegistry(config.getExpectedTables(),
+                config.getFalsePositiveRate(), config.getLruCapacity());
+        if (config.isPreload()) {
+            try {
+                registry.preload(new NamedParameterJdbcTemplate(dataSource));
+            } catch (Exception e) {
+                log.warn("预加载已存在子表失败，将在写入时逐步登记：{}", e.getMessage());
+            }
+        }
+        return registry;
+    }
+
+    /**
+     * 查询结果缓存
+     * <p>
+     * 仅在 {@code td-orm.query-cache.enabled=true} 时创建。
+     * </p>
+     */
+    @Bean
+    @ConditionalOnMissingBean(QueryResultCache.class)
+    @ConditionalOnProperty(prefix = TdOrmConfig.PREFIX, name = "query-cache.enabled", havingValue = "true")
+    public QueryResultCache queryResultCache(TdOrmConfig tdOrmConfig) {
+        TdOrmConfig.QueryCache config = tdOrmConfig.getQueryCache();
+        return new QueryResultCache(config.getMaxBytes(), config.getWatermarkMs(), config.getImmutableTtlMs(),
+                config.getMutableTtlMs(), tdOrmConfig.getTsPrecision(), config.isShareResults());
+    }
+
+    /**
+     * INTERVAL 聚合增量缓存
+     * <p>
+     * 仅在 {@code td-orm.interval-cache.enabled=true} 时创建。
+     * </p>
+     */
+    @Bean
+    @ConditionalOnMissingBean(IntervalAggregationCache.class)
+    @ConditionalOnProperty(prefix = TdOrmConfig.PREFIX, name = "interval-cache.enabled", havingValue = "true")
+    public IntervalAggregationCache intervalAggregationCache(TdOrmConfig tdOrmConfig) {
+        TdOrmConfig.IntervalCache config = tdOrmConfig.getIntervalCache();
+        return new IntervalAggregationCache(config.getMaxShapes(), config.getWatermarkMs(), tdOrmConfig.getTsPrecision());
+    }
+
+    /**
+     * 子表最新行缓存
+     * <p>
+     * 仅在 {@code td-orm.last-row-cache.enabled=true} 时创建。
+     * </p>
+     */
+    @Bean
+    @ConditionalOnMissingBean(LastRowCache.class)
+    @ConditionalOnProperty(prefix = TdOrmConfig.PREFIX, name = "last-row-cache.enabled", havingValue = "true")
+    public LastRowCache lastRowCache(TdOrmConfig tdOrmConfig) {
+        TdOrmConfig.LastRowCache config = tdOrmConfig.getLastRowCache();
+        return new LastRowCache(config.getMaxTables(), config.getExpireAfterWriteMs(), tdOrmConfig.getTsPrecision());
+    }
+
+    /**
+     * 子表分组并行写入执行器
+     * <p>
+     * 并发数默认取连接池最大连接数（HikariCP），线程按需创建，空闲后回收。
+     * </p>
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean(ParallelBatchExecutor.class)
+    @ConditionalOnProperty(prefix = TdOrmConfig.PREFIX, name = "enabled", havingValue = "true", matchIfMissing = true)
+    public ParallelBatchExecutor tdParallelBatchExecutor(DataSource dataSource, TdOrmConfig tdOrmConfig) {
+        int parallelism = tdOrmConfig.getParallel().getParallelism();
+        if (parallelism <= 0) {
+            parallelism = resolvePoolSize(dataSource);
+        }
+        return new ParallelBatchExecutor(parallelism);
+    }
+
+    /**
+     * 分片并行查询执行器
+     * <p>
+     * 并发数默认取连接池最大连接数（HikariCP），线程按需创建，空闲后回收。
+     * </p>
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean(ParallelQueryExecutor.class)
+    @ConditionalOnProperty(prefix = TdOrmConfig.PREFIX, name = "enabled", havingValue = "true", matchIfMissing = true)
+    public ParallelQueryExecutor tdParallelQueryExecutor(DataSource dataSource, TdOrmConfig tdOrmConfig) {
+        int parallelism = tdOrmConfig.getParallelQuery().getParallelism();
+        if (parallelism <= 0) {
+            parallelism = resolvePoolSize(dataSource);
+        }
+        return new ParallelQueryExecutor(parallelism);
+    }
+
+    /**
+     * 实体类启动预热
+     * <p>
+     * 并发数默认取连接池最大连接数（HikariCP）。预热由 {@link #tdEntityPrewarmTrigger} 在单例初始化完成后触发。
+     * </p>
+     */
+    @Bean
+    @ConditionalOnMissingBean(TdEntityPrewarmer.class)
+    @ConditionalOnProperty(prefix = TdOrmConfig.PREFIX, name = "enabled", havingValue = "true", matchIfMissing = true)
+    public TdEntityPrewarmer tdEntityPrewarmer(TdTemplate tdTemplate, DataSource dataSource, TdOrmConfig tdOrmConfig) {
+        TdOrmConfig.Prewarm config = tdOrmConfig.getPrewarm();
+        int parallelism = config.getParallelism();
+        if (parallelism <= 0) {
+            parallelism = resolvePoolSize(dataSource);
+        }
+        return new TdEntityPrewarmer(tdTemplate, config, parallelism);
+    }
+
+    /**
+     * 触发实体类启动预热
+     * <p>
+     * 配置了 {@code td-orm.entity-packages} 时，在所有单例初始化完成后、容器开始接收请求前扫描并预热；
+     * 未配置或没有 {@link TdEntityPrewarmer} 时不做任何事。
+     * </p>
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = TdOrmConfig.PREFIX, name = "enabled", havingValue = "true", matchIfMissing = true)
+    public SmartInitializingSingleton tdEntityPrewarmTrigger(ObjectProvider<TdEntityPrewarmer> prewarmerProvider,
+                                                             TdOrmConfig tdOrmConfig) {
+        return () -> {
+            List<String> entityPackages = tdOrmConfig.getEntityPackages();
+            if (CollectionUtils.isEmpty(entityPackages)) {
+                return;
+            }
+            prewarmerProvider.ifAvailable(prewarmer -> prewarmer.prewarm(entityPackages));
+        };
+    }
+
+    private static int resolvePoolSize(DataSource dataSource) {
+        if (ClassUtils.isPresent(HIKARI_DATA_SOURCE, TdOrmAutoConfiguration.class.getClassLoader())) {
+            int poolSize = HikariPoolSize.get(dataSource);
+            if (poolSize > 0) {
+                return poolSize;
+            }
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * 隔离对 HikariCP 的引用，未引入 HikariCP 时不会加载
+     */
+    private static class HikariPoolSize {
+
+        static int get(DataSource dataSource) {
+            try {
+                if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                    return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+                }
+            } catch (SQLException e) {
+                // 无法识别连接池，使用默认值
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * 异步微批写入器
+     * <p>
+     * 仅在 {@code td-orm.async-writer.enabled=true} 时创建，容器关闭时自动刷新所有缓冲。
+     * </p>
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean(TdAsyncWriter.class)
+    @ConditionalOnProperty(prefix = TdOrmConfig.PREFIX, name = "async-writer.enabled", havingValue = "true")
+    public TdAsyncWriter tdAsyncWriter(TdTemplate tdTemplate, TdOrmConfig tdOrmConfig) {
+        return new TdAsyncWriter(tdTemplate, tdOrmConfig.getAsyncWriter());
+    }
+
+    /**
+     * 磁盘写入缓冲
+     * <p>
+     * 仅在 {@code td-orm.spool.enabled=true} 时创建，启动时从检查点恢复未回放的数据，容器关闭时刷盘并停止回放。
+     * </p>
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean(TdWriteSpool.class)
+    @ConditionalOnProperty(prefix = TdOrmConfig.PREFIX, name = "spool.enabled", havingValue = "true")
+    public TdWriteSpool tdWriteSpool(TdTemplate tdTemplate, TdOrmConfig tdOrmConfig) {
+        return new TdWriteSpool(tdTemplate, tdOrmConfig.getSpool());
     }
 }
@@ -1,10 +1,17 @@
 package com.zephyrcicd.tdengineorm.config;
 
+import com.zephyrcicd.tdengineorm.enums.BatchPartitionModeEnum;
+import com.zephyrcicd.tdengineorm.enums.BatchWriteModeEnum;
 import com.zephyrcicd.tdengineorm.enums.NamingStyleEnum;
+import com.zephyrcicd.tdengineorm.enums.SchemaActionEnum;
 import com.zephyrcicd.tdengineorm.enums.TdLogLevelEnum;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 
 /**
  * TDengine ORM 配置类
@@ -33,11 +40,76 @@ public class TdOrmConfig {
     private boolean enableTsAutoFill = true;
 
     /**
-     * 分页大小
-     * 默认500
+     * 自动填充 ts 时使用的时间戳精度，需与数据库精度一致（MILLISECONDS / MICROSECONDS / NANOSECONDS），默认毫秒
+     */
+    private TimeUnit tsPrecision = TimeUnit.MILLISECONDS;
+
+    /**
+     * 分页大小，即未显式指定批次大小时单条批量写入语句的最大行数
+     * 默认500，按字节预算分批时同样生效（与 {@link #maxSqlLength} 先达到者切分）
      */
     private int pageSize = 500;
 
+    /**
+     * 流式查询（{@code stream} / {@code forEach}）时每次从服务端拉取的行数，默认 1000
+     * <p>
+     * 结果逐批拉取、逐行映射，内存占用只与该值相关而与结果集大小无关；小于等于 0 时使用驱动默认值。
+     * </p>
+     */
+    private int queryFetchSize = 1000;
+
+    /**
+     * 批量写入分批方式，默认按字节预算分批
+     * <p>
+     * BYTE_BUDGET: 按预估 SQL 字节数填满 {@link #maxSqlLength}，同时以 pageSize（或显式传入的批次大小）作为单条语句的行数上限<br/>
+     * ROW_COUNT: 按 pageSize 固定行数分批
+     * </p>
+     */
+    private BatchPartitionModeEnum batchPartitionMode = BatchPartitionModeEnum.BYTE_BUDGET;
+
+    /**
+     * 服务端允许的最大 SQL 长度（字节），与 TDengine 的 maxSQLLength 保持一致，默认 1MB
+     */
+    private int maxSqlLength = 1024 * 1024;
+
+    /**
+     * 批量写入执行方式，默认 NAMED_PARAMETER
+     * <p>
+     * NAMED_PARAMETER: 每批拼接一条多行命名参数 INSERT<br/>
+     * JDBC_BATCH: 使用单行位置参数 INSERT 预编译语句，按行绑定后 executeBatch，
+     * 客户端不再解析长 SQL、构建大参数 Map，服务端也只需解析一次语句；
+     * 批次大小为 pageSize，此模式下 {@link #multiTableInsert} 和按字节分批不生效
+     * </p>
+     */
+    private BatchWriteModeEnum batchWriteMode = BatchWriteModeEnum.NAMED_PARAMETER;
+
+    /**
+     * JDBC_BATCH 模式下是否将子表名作为第一个参数绑定（INSERT INTO ? USING ...），默认关闭
+     * <p>
+     * 开启后所有子表共用一条预编译语句，需要驱动支持表名占位符（如 taos-jdbcdriver 的参数绑定写入）；
+     * 关闭时每个子表各自预编译一条固定表名的语句。
+     * </p>
+     */
+    private boolean jdbcBatchTableNamePlaceholder = false;
+
+    /**
+     * 是否将多个子表的数据合并到同一条 INSERT 语句中，默认关闭
+     * <p>
+     * 开启后 {@code batchInsert} / {@code batchInsertUsing} 会使用
+     * {@code INSERT INTO t1 [USING st TAGS(...)] VALUES (...) t2 [USING ...] VALUES (...)} 的形式，
+     * 按批次大小把所有子表分组打包为尽可能少的语句，而不是每个子表单独执行。
+     * </p>
+     */
+    private boolean multiTableInsert = false;
+
+    /**
+     * 流式批量写入（{@code batchInsert(Iterator/Stream, ...)}）时所有子表缓冲的最大总行数，默认 100000
+     * <p>
+     * 单个子表缓冲达到批次大小时立即写入该子表；总行数达到该值时写入全部缓冲，以此限制内存占用。
+     * </p>
+     */
+    private int streamMaxBufferedRows = 100000;
+
     /**
      * 是否启用 SQL 拦截器功能，默认开启
      * <p>
@@ -56,4 +128,421 @@ public class TdOrmConfig {
      * </p>
      */
     private NamingStyleEnum namingStyle = NamingStyleEnum.TAG_JOIN;
+
+    /**
+     * 异步微批写入配置
+     */
+    private AsyncWriter asyncWriter = new AsyncWriter();
+
+    /**
+     * 分组并行写入配置
+     */
+    private Parallel parallel = new Parallel();
+
+    /**
+     * 分片并行查询配置
+     */
+    private ParallelQuery parallelQuery = new ParallelQuery();
+
+    /**
+     * 子表最新行缓存配置
+     */
+    private LastRowCache lastRowCache = new LastRowCache();
+
+    /**
+     * 无模式（行协议）写入配置
+     */
+    private Schemaless schemaless = new Schemaless();
+
+    /**
+     * 磁盘写入缓冲配置
+     */
+    private Spool spool = new Spool();
+
+    /**
+     * 已存在子表登记配置
+     */
+    private KnownSubTable knownSubTable = new KnownSubTable();
+
+    /**
+     * 查询结果缓存配置
+     */
+    private QueryCache queryCache = new QueryCache();
+
+    /**
+     * INTERVAL 聚合增量缓存配置
+     */
+    private IntervalCache intervalCache = new IntervalCache();
+
+    /**
+     * 启动时扫描的实体类包（含子包），扫描标注了 {@code @TdTable} 的类并预热，为空时不扫描
+     */
+    private List<String> entityPackages = new ArrayList<>();
+
+    /**
+     * 启动预热配置，配置了 {@link #entityPackages} 时生效
+     */
+    private Prewarm prewarm = new Prewarm();
+
+    /**
+     * 异步微批写入配置
+     * <p>
+     * 开启后会自动注册 {@link com.zephyrcicd.tdengineorm.writer.TdAsyncWriter}，
+     * 按子表缓冲实体，达到行数阈值或最大延迟后把到期的子表合并为一条多子表 INSERT 写入。
+     * </p>
+     */
+    @Data
+    public static class AsyncWriter {
+
+        /**
+         * 是否启用异步写入，默认关闭
+         */
+        private boolean enabled = false;
+
+        /**
+         * 单个子表缓冲或写入线程内缓冲总行数达到该行数时刷新，同时是每条多子表 INSERT 语句的最大行数
+         */
+        private int batchSize = 1000;
+
+        /**
+         * 缓冲中最早一行的最大等待时间（毫秒），超过后刷新
+         */
+        private long maxLatencyMs = 200;
+
+        /**
+         * 每个写入线程的队列容量，队列满时写入方被阻塞（背压）
+         */
+        private int queueCapacity = 100000;
+
+        /**
+         * 队列满时写入方的最大阻塞时间（毫秒），超时后拒绝写入
+         */
+        private long offerTimeoutMs = 1000;
+
+        /**
+         * 写入线程数，同一子表的数据总是由同一线程处理以保证顺序
+         */
+        private int threads = 1;
+
+        /**
+         * 是否使用 INSERT ... USING ... TAGS 语法写入（子表不存在时自动创建）
+         */
+        private boolean useUsing = true;
+
+        /**
+         * 关闭时等待缓冲刷新完成的最长时间（毫秒）
+         */
+        private long shutdownTimeoutMs = 30000;
+
+        /**
+         * 刷新失败后的最大重试次数，用尽后交给失败回调（未配置回调时丢弃）；为 0 时失败即丢弃
+         */
+        private int maxRetries = 3;
+
+        /**
+         * 刷新失败后到下次重试的间隔（毫秒）
+         */
+        private long retryBackoffMs = 1000;
+    }
+
+    /**
+     * 分组并行写入配置
+     * <p>
+     * 批量写入按子表分组后，各组通过 {@link com.zephyrcicd.tdengineorm.executor.ParallelBatchExecutor} 并行执行，
+     * 同一子表内的语句仍按顺序执行。
+     * </p>
+     */
+    @Data
+    public static class Parallel {
+
+        /**
+         * batchInsert / batchInsertUsing / batchInsertMap 是否并行执行各子表分组，默认关闭
+         * <p>
+         * 开启后所有分组都会尝试写入，全部结束后若有失败再统一抛出异常；
+         * parallelBatchInsert 系列方法不受此开关影响，始终并行执行并返回结构化结果。
+         * </p>
+         */
+        private boolean enabled = false;
+
+        /**
+         * 最大并发分组数，小于等于 0 时自动取连接池最大连接数（无法识别连接池时取 CPU 核数）
+         */
+        private int parallelism = 0;
+    }
+
+    /**
+     * 无模式（行协议）写入配置
+     * <p>
+     * {@code TdTemplate.insertSchemaless} 将实体编码为行协议后交给
+     * {@link com.zephyrcicd.tdengineorm.schemaless.SchemalessSink} 写入，需要注册一个 SchemalessSink Bean。
+     * </p>
+     */
+    @Data
+    public static class Schemaless {
+
+        /**
+         * 行协议时间戳精度，默认毫秒；数值型 ts 先按 {@code td-orm.ts-precision} 解释再换算到该精度
+         */
+        private TimeUnit timestampPrecision = TimeUnit.MILLISECONDS;
+
+        /**
+         * 单次提交给 SchemalessSink 的最大字节数（达到后提交），默认 1MB
+         */
+        private int maxBatchBytes = 1024 * 1024;
+    }
+
+    /**
+     * 磁盘写入缓冲配置
+     * <p>
+     * 开启后会自动注册 {@link com.zephyrcicd.tdengineorm.spool.TdWriteSpool}，
+     * 写入方只追加本地段文件，由后台线程回放到 TDengine，数据库不可用或变慢时不阻塞写入方。
+     * </p>
+     */
+    @Data
+    public static class Spool {
+
+        /**
+         * 是否启用写入缓冲，默认关闭
+         */
+        private boolean enabled = false;
+
+        /**
+         * 段文件目录
+         */
+        private String directory = "td-orm-spool";
+
+        /**
+         * 单个段文件大小（字节），默认 64MB，单条记录不能超过该大小
+         */
+        private int segmentBytes = 64 * 1024 * 1024;
+
+        /**
+         * 段文件占用的最大磁盘空间（字节），默认 1GB，达到后拒绝写入
+         */
+        private long maxDiskBytes = 1024L * 1024 * 1024;
+
+        /**
+         * 每次回放读取的最大行数
+         */
+        private int replayBatchRows = 1000;
+
+        /**
+         * 没有待回放数据时的轮询间隔（毫秒）
+         */
+        private long idleIntervalMs = 200;
+
+        /**
+         * 回放失败后的初始重试间隔（毫秒），之后按 2 倍递增
+         */
+        private long retryBackoffMs = 1000;
+
+        /**
+         * 回放失败后的最大重试间隔（毫秒）
+         */
+        private long maxRetryBackoffMs = 30000;
+
+        /**
+         * 单批数据的最大重试次数，超过后丢弃该批数据；小于等于 0 表示一直重试
+         */
+        private int maxRetries = 0;
+
+        /**
+         * 段文件刷盘间隔（毫秒），决定机器掉电时最多丢失的数据范围
+         */
+        private long forceIntervalMs = 1000;
+
+        /**
+         * 回放时是否使用 INSERT ... USING ... TAGS 语法（子表不存在时自动创建）
+         */
+        private boolean useUsing = true;
+
+        /**
+         * 关闭时等待回放线程结束的最长时间（毫秒）
+         */
+        private long shutdownTimeoutMs = 30000;
+    }
+
+    /**
+     * 已存在子表登记配置
+     * <p>
+     * 开启后会自动注册 {@link com.zephyrcicd.tdengineorm.cache.KnownSubTableRegistry}，
+     * insertUsing / batchInsertUsing 对已成功写入过的子表不再生成 {@code USING ... TAGS (...)} 子句。
+     * </p>
+     */
+    @Data
+    public static class KnownSubTable {
+
+        /**
+         * 是否启用，默认关闭
+         */
+        private boolean enabled = false;
+
+        /**
+         * 预计子表数量，决定布隆过滤器大小，默认 100 万
+         */
+        private long expectedTables = 1_000_000L;
+
+        /**
+         * 布隆过滤器误判率，默认 0.1%，误判的子表首次写入会失败一次后带 USING 重试
+         */
+        private double falsePositiveRate = 0.001;
+
+        /**
+         * 精确记录最近访问子表的 LRU 容量，默认 65536
+         */
+        private int lruCapacity = 65536;
+
+        /**
+         * 启动时是否从 information_schema.ins_tables 预加载当前数据库的子表，默认关闭
+         */
+        private boolean preload = false;
+    }
+
+    /**
+     * 查询结果缓存配置
+     * <p>
+     * 开启后会自动注册 {@link com.zephyrcicd.tdengineorm.cache.QueryResultCache}，
+     * {@code list} / {@code listAsMap} / {@code getOne} 的结果按 SQL 和参数缓存。
+     * ts 上界早于水位线的查询结果视为不可变，其余结果按 {@link #mutableTtlMs} 过期，并在通过 TdTemplate 写入同一张表后失效。
+     * </p>
+     */
+    @Data
+    public static class QueryCache {
+
+        /**
+         * 是否启用，默认关闭
+         */
+        private boolean enabled = false;
+
+        /**
+         * 缓存结果占用的最大内存（按估算字节数），超出后淘汰最久未访问的结果，默认 64MB
+         */
+        private long maxBytes = 64L * 1024 * 1024;
+
+        /**
+         * 水位线（毫秒），ts 上界早于 {@code 当前时间 - watermarkMs} 的查询结果视为不可变，默认 10 分钟
+         * <p>
+         * 不可变结果不会因写入失效，晚于水位线到达的乱序数据不会反映到已缓存的结果中；DELETE 等非写入语句仍会清空缓存。
+         * </p>
+         */
+        private long watermarkMs = 10 * 60 * 1000L;
+
+        /**
+         * 不可变结果的过期时间（毫秒），小于等于 0 表示只按容量淘汰，默认 1 小时
+         */
+        private long immutableTtlMs = 60 * 60 * 1000L;
+
+        /**
+         * 可变结果（时间范围覆盖水位线之后或无法确定）的过期时间（毫秒），小于等于 0 表示不缓存可变结果，默认 5 秒
+         */
+        private long mutableTtlMs = 5000L;
+
+        /**
+         * 是否在调用方之间共享缓存的结果对象，默认关闭
+         * <p>
+         * 关闭时结果在存入和每次命中时复制，调用方可以自由修改；开启后省去复制开销，但所有命中返回同一批对象，调用方不得修改。
+         * </p>
+         */
+        private boolean shareResults = false;
+    }
+
+    /**
+     * INTERVAL 聚合增量缓存配置
+     * <p>
+     * 开启后会自动注册 {@link com.zephyrcicd.tdengineorm.cache.IntervalAggregationCache}，
+     * {@code TdTemplate.listIncremental} 缓存已关闭的窗口，重复查询时只查询新窗口。
+     * </p>
+     */
+    @Data
+    public static class IntervalCache {
+
+        /**
+         * 是否启用，默认关闭
+         */
+        private boolean enabled = false;
+
+        /**
+         * 水位线（毫秒），结束时间早于 {@code 当前时间 - watermarkMs} 的窗口视为已关闭并缓存，默认 1 分钟
+         * <p>
+         * 应不小于数据的最大写入延迟，晚于水位线到达的数据不会反映到已缓存的窗口中。
+         * </p>
+         */
+        private long watermarkMs = 60 * 1000L;
+
+        /**
+         * 最多缓存的查询形状数（SQL 和除 ts 条件外的参数相同视为同一形状），默认 256
+         */
+        private int maxShapes = 256;
+    }
+
+    /**
+     * 分片并行查询配置
+     * <p>
+     * {@code TdTemplate.listParallel} 将查询按时间段或子表拆分后，通过
+     * {@link com.zephyrcicd.tdengineorm.executor.ParallelQueryExecutor} 并行执行并合并结果。
+     * </p>
+     */
+    @Data
+    public static class ParallelQuery {
+
+        /**
+         * 最大并发分片数，小于等于 0 时自动取连接池最大连接数（无法识别连接池时取 CPU 核数）
+         */
+        private int parallelism = 0;
+    }
+
+    /**
+     * 子表最新行缓存配置
+     * <p>
+     * 开启后会自动注册 {@link com.zephyrcicd.tdengineorm.cache.LastRowCache}，写入成功后按子表记录最新一行，
+     * {@code TdTemplate.getLast} 优先从内存返回。
+     * </p>
+     */
+    @Data
+    public static class LastRowCache {
+
+        /**
+         * 是否启用，默认关闭
+         */
+        private boolean enabled = false;
+
+        /**
+         * 最多缓存的子表数，默认 10 万
+         */
+        private int maxTables = 100_000;
+
+        /**
+         * 写入后的过期时间（毫秒），小于等于 0 表示不过期，默认不过期
+         * <p>
+         * 有其他进程写入同一批子表时应设置，缓存的行最多落后该时长。
+         * </p>
+         */
+        private long expireAfterWriteMs = 0;
+    }
+
+    /**
+     * 启动预热配置
+     * <p>
+     * 启动阶段（容器单例初始化完成后、开始接收请求前）为 {@code entity-packages} 中的实体类预先构建元数据、写入计划和行映射器，
+     * 并行查询各超级表的 TAG 顺序，按 {@link #schemaAction} 创建或校验超级表，完成后输出耗时报告。
+     * </p>
+     */
+    @Data
+    public static class Prewarm {
+
+        /**
+         * 超级表处理方式，默认只读取 TAG 顺序
+         */
+        private SchemaActionEnum schemaAction = SchemaActionEnum.NONE;
+
+        /**
+         * 并发查询的超级表数，小于等于 0 时自动取连接池最大连接数（无法识别连接池时取 CPU 核数）
+         */
+        private int parallelism = 0;
+
+        /**
+         * 建表或校验失败时是否中止启动，默认只输出警告
+         */
+        private boolean failOnError = false;
+    }
 }
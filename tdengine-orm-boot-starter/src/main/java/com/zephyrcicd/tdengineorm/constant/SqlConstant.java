@@ -22,6 +22,7 @@ public class SqlConstant {
     public static final String WHERE = " WHERE ";
     public static final String ORDER_BY = " ORDER BY ";
     public static final String DESC = " DESC ";
+    public static final String ASC = " ASC ";
     public static final String LIMIT = " LIMIT ";
     public static final String FROM = " FROM ";
     public static final String AND = " AND ";
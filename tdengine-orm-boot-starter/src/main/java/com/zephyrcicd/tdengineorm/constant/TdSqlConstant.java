@@ -16,4 +16,5 @@ public class TdSqlConstant {
     public static final String CREATE_STABLE = "CREATE STABLE ";
     public static final String CREATE_STABLE_IF_NOT_EXIST = "CREATE STABLE IF NOT EXISTS ";
     public static final String COMPOSITE_KEY = " COMPOSITE KEY ";
+    public static final String TBNAME = "tbname";
 }
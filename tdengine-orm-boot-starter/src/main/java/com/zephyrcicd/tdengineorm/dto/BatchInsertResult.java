@@ -0,0 +1,122 @@
+package com.zephyrcicd.tdengineorm.dto;
+
+import com.zephyrcicd.tdengineorm.exception.TdOrmException;
+import com.zephyrcicd.tdengineorm.exception.TdOrmExceptionCode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 分组批量写入结果
+ * <p>
+ * 每个子表分组对应一个 {@link GroupResult}，记录该组的行数、每条语句的执行结果、耗时以及失败原因。
+ * 分组顺序与提交顺序一致。
+ * </p>
+ *
+ * @author Zephyr
+ */
+@Getter
+public class BatchInsertResult {
+
+    /**
+     * 各分组的执行结果
+     */
+    private final List<GroupResult> groups;
+
+    public BatchInsertResult(List<GroupResult> groups) {
+        this.groups = Collections.unmodifiableList(groups);
+    }
+
+    /**
+     * 是否所有分组都写入成功
+     */
+    public boolean isSuccess() {
+        return groups.stream().allMatch(GroupResult::isSuccess);
+    }
+
+    /**
+     * 写入失败的分组
+     */
+    public List<GroupResult> getFailures() {
+        return groups.stream().filter(group -> !group.isSuccess()).collect(Collectors.toList());
+    }
+
+    /**
+     * 成功分组受影响的总行数
+     */
+    public int getAffectedRows() {
+        int affected = 0;
+        for (GroupResult group : groups) {
+            for (int result : group.getResults()) {
+                affected += result;
+            }
+        }
+        return affected;
+    }
+
+    /**
+     * 按分组顺序展开的每条语句执行结果，与 batchInsert 系列方法的返回值含义一致
+     */
+    public int[] toStatementResults() {
+        return groups.stream().flatMapToInt(group -> Arrays.stream(group.getResults())).toArray();
+    }
+
+    /**
+     * 存在失败分组时抛出异常，第一个失败原因作为 cause，其余作为 suppressed
+     *
+     * @return 当前结果（全部成功时）
+     */
+    public BatchInsertResult throwIfFailed() {
+        List<GroupResult> failures = getFailures();
+        if (failures.isEmpty()) {
+            return this;
+        }
+        TdOrmException exception = new TdOrmException(TdOrmExceptionCode.BATCH_INSERT_GROUP_FAILED,
+                failures.get(0).getError());
+        for (int i = 1; i < failures.size(); i++) {
+            exception.addSuppressed(failures.get(i).getError());
+        }
+        throw exception;
+    }
+
+    /**
+     * 单个子表分组的写入结果
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class GroupResult {
+
+        /**
+         * 子表名
+         */
+        private final String tableName;
+
+        /**
+         * 分组行数
+         */
+        private final int rows;
+
+        /**
+         * 每条语句影响的行数，失败时为空数组
+         */
+        private final int[] results;
+
+        /**
+         * 失败原因，成功时为 null
+         */
+        private final Throwable error;
+
+        /**
+         * 执行耗时（毫秒），包含等待并发许可的时间
+         */
+        private final long elapsedMillis;
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+}
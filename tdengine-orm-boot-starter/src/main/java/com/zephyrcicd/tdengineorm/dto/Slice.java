@@ -0,0 +1,63 @@
+package com.zephyrcicd.tdengineorm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 键集分页结果
+ * <p>
+ * 与 {@link Page} 不同，不需要总数和偏移量：下一页从 {@link #nextCursor} 之后继续读取，
+ * 翻到第 1 页和第 10000 页的开销相同。
+ * </p>
+ *
+ * @author Zephyr
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Slice<T> {
+
+    /**
+     * 本页数据
+     */
+    @Builder.Default
+    protected List<T> dataList = Collections.emptyList();
+
+    /**
+     * 页大小
+     */
+    protected int size;
+
+    /**
+     * 下一页游标，没有更多数据时为 null
+     */
+    protected TsCursor nextCursor;
+
+    /**
+     * 总数，仅在请求统计总数时有值
+     */
+    protected Long total;
+
+    /**
+     * 预取的下一页，仅在请求预取且存在下一页时有值
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    protected transient CompletableFuture<Slice<T>> prefetchedNext;
+
+    /**
+     * 是否还有下一页
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,135 @@
+package com.zephyrcicd.tdengineorm.dto;
+
+import com.zephyrcicd.tdengineorm.exception.TdOrmException;
+import com.zephyrcicd.tdengineorm.exception.TdOrmExceptionCode;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 时间戳游标（键集分页位置）
+ * <p>
+ * 以 (ts, tbname) 标识上一页最后一行，下一页从该位置之后继续读取，排序方向随游标传递。
+ * 通过 {@link #encode()} / {@link #decode(String)} 与不透明的字符串相互转换，便于在接口中传递。
+ * </p>
+ *
+ * @author Zephyr
+ */
+@Getter
+@EqualsAndHashCode
+public final class TsCursor {
+
+    private static final char ASC = 'a';
+    private static final char DESC = 'd';
+    private static final char SEPARATOR = ':';
+
+    /**
+     * 上一页最后一行的时间戳（按 td-orm.ts-precision 精度的 epoch 值），起始游标为 null
+     */
+    private final Long ts;
+
+    /**
+     * 上一页最后一行的子表名，起始游标为 null
+     */
+    private final String tableName;
+
+    /**
+     * 是否按时间倒序
+     */
+    private final boolean descending;
+
+    private TsCursor(Long ts, String tableName, boolean descending) {
+        this.ts = ts;
+        this.tableName = tableName;
+        this.descending = descending;
+    }
+
+    /**
+     * 按时间正序的第一页
+     */
+    public static TsCursor start() {
+        return new TsCursor(null, null, false);
+    }
+
+    /**
+     * 按时间倒序的第一页（最新数据在前）
+     */
+    public static TsCursor startDesc() {
+        return new TsCursor(null, null, true);
+    }
+
+    /**
+     * 指定位置之后的游标
+     *
+     * @param ts         时间戳 epoch 值
+     * @param tableName  子表名
+     * @param descending 是否按时间倒序
+     */
+    public static TsCursor after(long ts, String tableName, boolean descending) {
+        return new TsCursor(ts, tableName == null ? "" : tableName, descending);
+    }
+
+    /**
+     * 是否为第一页
+     */
+    public boolean isStart() {
+        return ts == null;
+    }
+
+    /**
+     * 编码为不透明字符串（URL 安全）
+     */
+    public String encode() {
+        StringBuilder sb = new StringBuilder().append(descending ? DESC : ASC);
+        if (ts != null) {
+            sb.append(ts).append(SEPARATOR).append(tableName);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析 {@link #encode()} 生成的字符串
+     *
+     * @param token 游标字符串，为空时返回 {@link #start()}
+     * @return 游标
+     */
+    public static TsCursor decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return start();
+        }
+        String text;
+        try {
+            text = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw invalid(token);
+        }
+        if (text.isEmpty() || (text.charAt(0) != ASC && text.charAt(0) != DESC)) {
+            throw invalid(token);
+        }
+        boolean descending = text.charAt(0) == DESC;
+        if (text.length() == 1) {
+            return new TsCursor(null, null, descending);
+        }
+        int separator = text.indexOf(SEPARATOR);
+        if (separator < 0) {
+            throw invalid(token);
+        }
+        try {
+            return new TsCursor(Long.parseLong(text.substring(1, separator)), text.substring(separator + 1), descending);
+        } catch (NumberFormatException e) {
+            throw invalid(token);
+        }
+    }
+
+    private static TdOrmException invalid(String token) {
+        return new TdOrmException(TdOrmExceptionCode.INVALID_SEEK_CURSOR.getCode(),
+                TdOrmExceptionCode.INVALID_SEEK_CURSOR.getMsg() + " " + token);
+    }
+
+    @Override
+    public String toString() {
+        return encode();
+    }
+}
@@ -0,0 +1,18 @@
+package com.zephyrcicd.tdengineorm.enums;
+
+/**
+ * 批量写入分批方式
+ *
+ * @author Zephyr
+ */
+public enum BatchPartitionModeEnum {
+    /**
+     * 按固定行数（td-orm.page-size）分批
+     */
+    ROW_COUNT,
+
+    /**
+     * 按预估 SQL 字节数分批，每条语句尽量填满 td-orm.max-sql-length
+     */
+    BYTE_BUDGET
+}
@@ -0,0 +1,18 @@
+package com.zephyrcicd.tdengineorm.enums;
+
+/**
+ * 批量写入执行方式
+ *
+ * @author Zephyr
+ */
+public enum BatchWriteModeEnum {
+    /**
+     * 拼接多行命名参数 SQL，通过 NamedParameterJdbcTemplate 执行
+     */
+    NAMED_PARAMETER,
+
+    /**
+     * 每个写入计划预编译一条单行位置参数语句，逐行 addBatch 后 executeBatch
+     */
+    JDBC_BATCH
+}
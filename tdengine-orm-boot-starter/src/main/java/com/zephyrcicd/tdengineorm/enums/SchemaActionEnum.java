@@ -0,0 +1,23 @@
+package com.zephyrcicd.tdengineorm.enums;
+
+/**
+ * 启动预热时对实体类对应超级表的处理方式
+ *
+ * @author Zephyr
+ */
+public enum SchemaActionEnum {
+    /**
+     * 不创建也不校验，只读取 TAG 顺序
+     */
+    NONE,
+
+    /**
+     * 超级表不存在时按实体类创建（CREATE STABLE IF NOT EXISTS）
+     */
+    CREATE,
+
+    /**
+     * 校验表已存在且实体类的每个字段都有对应列，TAG / 普通列身份一致
+     */
+    VERIFY
+}
@@ -26,6 +26,10 @@ public enum TdSelectFuncEnum {
      * 取区间最后一条
      */
     LAST("LAST({}) {}"),
+    /**
+     * 取最后一行（包含 NULL 值），可利用服务端的最新行缓存
+     */
+    LAST_ROW("LAST_ROW({}) {}"),
     /**
      * 总和
      */
@@ -28,4 +28,9 @@ public class TdOrmException extends RuntimeException {
         this.code = exceptionCode.getCode();
     }
 
+    public TdOrmException(ExceptionCode exceptionCode, Throwable cause) {
+        super(exceptionCode.getMsg(), cause);
+        this.code = exceptionCode.getCode();
+    }
+
 }
@@ -72,6 +72,61 @@ public enum TdOrmExceptionCode implements ExceptionCode {
 
     ENTITY_LIST_IS_EMPTY(70015, "Entity list is empty!"),
     PARTITION_SIZE_IS_ZERO(70016, "Partition size must be greater than zero"),
+
+    /**
+     * 异步写入器已关闭
+     */
+    ASYNC_WRITER_CLOSED(70017, "Async writer has been closed!"),
+
+    /**
+     * 分组批量写入存在失败的分组
+     */
+    BATCH_INSERT_GROUP_FAILED(70018, "Batch insert failed for one or more table groups!"),
+
+    /**
+     * 未配置无模式写入目标
+     */
+    SCHEMALESS_SINK_NOT_CONFIGURED(70019, "Schemaless sink is not configured!"),
+
+    /**
+     * 实体无法编码为行协议
+     */
+    SCHEMALESS_ENCODE_FAILED(70020, "Entity cannot be encoded as schemaless line protocol!"),
+
+    /**
+     * 写入缓冲已关闭
+     */
+    SPOOL_CLOSED(70021, "Write spool has been closed!"),
+
+    /**
+     * 写入缓冲文件读写失败
+     */
+    SPOOL_IO_ERROR(70022, "Write spool I/O error!"),
+
+    /**
+     * 子表名模板无效
+     */
+    INVALID_SUB_TABLE_PATTERN(70023, "Invalid sub table name pattern!"),
+
+    /**
+     * 分页游标无效
+     */
+    INVALID_SEEK_CURSOR(70024, "Invalid seek cursor!"),
+
+    /**
+     * 并行查询分片执行失败
+     */
+    PARALLEL_QUERY_FAILED(70025, "Parallel query shard failed!"),
+
+    /**
+     * 启动时表结构校验不通过
+     */
+    SCHEMA_VERIFY_FAILED(70026, "Table schema verification failed!"),
+
+    /**
+     * 表名包含非法字符
+     */
+    INVALID_TABLE_NAME(70027, "Invalid table name!"),
     ;
 
     private final Integer code;
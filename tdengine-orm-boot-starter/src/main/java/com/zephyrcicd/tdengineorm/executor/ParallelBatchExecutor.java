@@ -0,0 +1,205 @@
+package com.zephyrcicd.tdengineorm.executor;
+
+import com.zephyrcicd.tdengineorm.dto.BatchInsertResult;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 子表分组并行写入执行器
+ * <p>
+ * 批量写入按子表分组后，各组之间互不依赖，可以分发到不同连接上并行执行。
+ * 同一分组内的语句始终在同一个任务中顺序执行，因此子表内的写入顺序保持不变。
+ * 在途分组数由信号量限制为 {@code parallelism}（通常与连接池大小一致），
+ * 提交方在许可耗尽时阻塞，避免任务堆积或连接池被耗尽。
+ * </p>
+ *
+ * @author Zephyr
+ */
+@Slf4j
+public class ParallelBatchExecutor implements AutoCloseable {
+
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+    private final Semaphore permits;
+
+    /**
+     * 最大并发分组数
+     */
+    @Getter
+    private final int parallelism;
+
+    /**
+     * 使用内部线程池（线程按需创建，空闲后回收）
+     *
+     * @param parallelism 最大并发分组数
+     */
+    public ParallelBatchExecutor(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+        AtomicInteger threadIndex = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(this.parallelism, this.parallelism, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "td-batch-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        pool.allowCoreThreadTimeOut(true);
+        this.ownedExecutor = pool;
+        this.executor = pool;
+        this.permits = new Semaphore(this.parallelism);
+    }
+
+    /**
+     * 使用外部执行器，生命周期由调用方管理
+     *
+     * @param executor    执行器
+     * @param parallelism 最大并发分组数
+     */
+    public ParallelBatchExecutor(Executor executor, int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+        this.executor = executor;
+        this.ownedExecutor = null;
+        this.permits = new Semaphore(this.parallelism);
+    }
+
+    /**
+     * 并行执行各分组，等待全部完成后汇总结果
+     * <p>
+     * 单个分组失败不影响其他分组，失败原因记录在对应的 {@link BatchInsertResult.GroupResult} 中。
+     * </p>
+     *
+     * @param tasks 分组任务
+     * @return 分组写入结果，顺序与 tasks 一致
+     */
+    public BatchInsertResult execute(List<GroupTask> tasks) {
+        if (tasks.size() <= 1 || parallelism == 1) {
+            return executeInline(tasks);
+        }
+
+        List<FutureTask<BatchInsertResult.GroupResult>> futures = new ArrayList<>(tasks.size());
+        for (GroupTask task : tasks) {
+            long start = System.currentTimeMillis();
+            FutureTask<BatchInsertResult.GroupResult> future = new FutureTask<>(() -> {
+                try {
+                    return task.run(start);
+                } finally {
+                    permits.release();
+                }
+            });
+            futures.add(future);
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(false);
+                continue;
+            }
+            try {
+                executor.execute(future);
+            } catch (RejectedExecutionException e) {
+                // 许可由任务自身的 finally 归还
+                log.warn("Parallel batch task for table [{}] rejected, running on caller thread", task.getTableName());
+                future.run();
+            }
+        }
+
+        List<BatchInsertResult.GroupResult> results = new ArrayList<>(tasks.size());
+        for (int i = 0; i < futures.size(); i++) {
+            results.add(await(futures.get(i), tasks.get(i)));
+        }
+        return new BatchInsertResult(results);
+    }
+
+    /**
+     * 在当前线程依次执行各分组
+     *
+     * @param tasks 分组任务
+     * @return 分组写入结果
+     */
+    public static BatchInsertResult executeInline(List<GroupTask> tasks) {
+        List<BatchInsertResult.GroupResult> results = new ArrayList<>(tasks.size());
+        for (GroupTask task : tasks) {
+            results.add(task.run(System.currentTimeMillis()));
+        }
+        return new BatchInsertResult(results);
+    }
+
+    private static BatchInsertResult.GroupResult await(FutureTask<BatchInsertResult.GroupResult> future, GroupTask task) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return task.failed(e, 0);
+        } catch (ExecutionException e) {
+            return task.failed(e.getCause(), 0);
+        } catch (Exception e) {
+            // CancellationException：提交前被中断
+            return task.failed(e, 0);
+        }
+    }
+
+    /**
+     * 关闭内部线程池，已提交的分组会继续执行完成
+     */
+    @Override
+    public void close() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    /**
+     * 单个子表分组的写入任务
+     */
+    @Getter
+    public static class GroupTask {
+
+        private final String tableName;
+        private final int rows;
+        private final Callable<int[]> action;
+
+        private GroupTask(String tableName, int rows, Callable<int[]> action) {
+            this.tableName = tableName;
+            this.rows = rows;
+            this.action = action;
+        }
+
+        /**
+         * @param tableName 子表名
+         * @param rows      分组行数
+         * @param action    写入动作，返回每条语句影响的行数
+         * @return 分组任务
+         */
+        public static GroupTask of(String tableName, int rows, Callable<int[]> action) {
+            return new GroupTask(tableName, rows, action);
+        }
+
+        BatchInsertResult.GroupResult run(long start) {
+            try {
+                int[] results = action.call();
+                return new BatchInsertResult.GroupResult(tableName, rows, results, null,
+                        System.currentTimeMillis() - start);
+            } catch (Throwable t) {
+                log.error("Batch insert failed for table [{}], rows: {}, error: {}", tableName, rows, t.getMessage());
+                return failed(t, System.currentTimeMillis() - start);
+            }
+        }
+
+        BatchInsertResult.GroupResult failed(Throwable error, long elapsedMillis) {
+            return new BatchInsertResult.GroupResult(tableName, rows, new int[0], error, elapsedMillis);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.zephyrcicd.tdengineorm.executor;
+
+import com.zephyrcicd.tdengineorm.exception.TdOrmException;
+import com.zephyrcicd.tdengineorm.exception.TdOrmExceptionCode;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 分片并行查询执行器
+ * <p>
+ * 一个查询按时间段或子表拆分为多个分片后，由至多 {@code parallelism} 个工作任务按分片顺序领取执行，
+ * 每个工作任务同一时刻只占用一个连接。调用方按分片顺序等待结果，已得到足够的行数时停止领取剩余分片（LIMIT 短路）。
+ * </p>
+ *
+ * @author Zephyr
+ */
+@Slf4j
+public class ParallelQueryExecutor implements AutoCloseable {
+
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+
+    /**
+     * 最大并发分片数
+     */
+    @Getter
+    private final int parallelism;
+
+    /**
+     * 使用内部线程池（线程按需创建，空闲后回收）
+     *
+     * @param parallelism 最大并发分片数
+     */
+    public ParallelQueryExecutor(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+        AtomicInteger threadIndex = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(this.parallelism, this.parallelism, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "td-query-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        pool.allowCoreThreadTimeOut(true);
+        this.ownedExecutor = pool;
+        this.executor = pool;
+    }
+
+    /**
+     * 使用外部执行器，生命周期由调用方管理
+     *
+     * @param executor    执行器
+     * @param parallelism 最大并发分片数
+     */
+    public ParallelQueryExecutor(Executor executor, int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+        this.executor = executor;
+        this.ownedExecutor = null;
+    }
+
+    /**
+     * 并行执行各分片
+     * <p>
+     * 任一分片失败时停止领取剩余分片并抛出异常。
+     * </p>
+     *
+     * @param shards 分片查询
+     * @param needed 需要的行数，按分片顺序累计达到该值后不再执行剩余分片；小于 0 表示执行全部分片
+     * @return 已执行分片的结果，顺序与 shards 一致，短路时只包含前若干个分片
+     */
+    public <E> List<List<E>> execute(List<Callable<List<E>>> shards, long needed) {
+        int shardCount = shards.size();
+        if (shardCount <= 1 || parallelism == 1) {
+            return executeInline(shards, needed);
+        }
+
+        List<CompletableFuture<List<E>>> futures = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            futures.add(new CompletableFuture<>());
+        }
+        AtomicInteger nextShard = new AtomicInteger();
+        AtomicBoolean stopped = new AtomicBoolean();
+        Runnable worker = () -> {
+            int index;
+            while (!stopped.get() && (index = nextShard.getAndIncrement()) < shardCount) {
+                try {
+                    futures.get(index).complete(shards.get(index).call());
+                } catch (Throwable t) {
+                    futures.get(index).completeExceptionally(t);
+                }
+            }
+        };
+        int started = 0;
+        for (int i = Math.min(parallelism, shardCount); i > 0; i--) {
+            try {
+                executor.execute(worker);
+                started++;
+            } catch (RejectedExecutionException e) {
+                break;
+            }
+        }
+        if (started == 0) {
+            log.warn("Parallel query workers rejected, running {} shards on caller thread", shardCount);
+            worker.run();
+        }
+
+        List<List<E>> results = new ArrayList<>(shardCount);
+        long rows = 0;
+        try {
+            for (int i = 0; i < shardCount && (needed < 0 || rows < needed); i++) {
+                List<E> shardRows = await(futures.get(i), i);
+                results.add(shardRows);
+                rows += shardRows.size();
+            }
+        } finally {
+            stopped.set(true);
+        }
+        return results;
+    }
+
+    /**
+     * 在当前线程依次执行各分片
+     *
+     * @param shards 分片查询
+     * @param needed 需要的行数，小于 0 表示执行全部分片
+     * @return 已执行分片的结果
+     */
+    public static <E> List<List<E>> executeInline(List<Callable<List<E>>> shards, long needed) {
+        List<List<E>> results = new ArrayList<>(shards.size());
+        long rows = 0;
+        for (int i = 0; i < shards.size() && (needed < 0 || rows < needed); i++) {
+            List<E> shardRows;
+            try {
+                shardRows = shards.get(i).call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw shardFailed(i, e);
+            }
+            results.add(shardRows);
+            rows += shardRows.size();
+        }
+        return results;
+    }
+
+    /**
+     * 依次拼接各分片结果（各分片按顺序互不重叠时使用）
+     *
+     * @param shardResults 各分片结果
+     * @param offset       跳过的行数
+     * @param count        返回的最大行数，小于 0 表示不限制
+     * @return 拼接结果
+     */
+    public static <E> List<E> concat(List<List<E>> shardResults, long offset, long count) {
+        List<E> result = new ArrayList<>();
+        long skip = offset;
+        for (List<E> shardRows : shardResults) {
+            for (E row : shardRows) {
+                if (count >= 0 && result.size() >= count) {
+                    return result;
+                }
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
+                result.add(row);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 多路归并各分片的有序结果
+     *
+     * @param shardResults 各分片结果，每个分片内已按 comparator 排序
+     * @param comparator   排序规则
+     * @param offset       跳过的行数
+     * @param count        返回的最大行数，小于 0 表示不限制
+     * @return 归并结果，排序相等的行按分片顺序排列
+     */
+    public static <E> List<E> mergeSorted(List<List<E>> shardResults, Comparator<? super E> comparator,
+                                          long offset, long count) {
+        // 队列元素为 {分片下标, 分片内位置}
+        PriorityQueue<int[]> heads = new PriorityQueue<>(Math.max(1, shardResults.size()), (a, b) -> {
+            int compared = comparator.compare(shardResults.get(a[0]).get(a[1]), shardResults.get(b[0]).get(b[1]));
+            return compared != 0 ? compared : Integer.compare(a[0], b[0]);
+        });
+        for (int i = 0; i < shardResults.size(); i++) {
+            if (!shardResults.get(i).isEmpty()) {
+                heads.add(new int[]{i, 0});
+            }
+        }
+        List<E> result = new ArrayList<>();
+        long skip = offset;
+        while (!heads.isEmpty() && (count < 0 || result.size() < count)) {
+            int[] head = heads.poll();
+            List<E> shardRows = shardResults.get(head[0]);
+            if (skip > 0) {
+                skip--;
+            } else {
+                result.add(shardRows.get(head[1]));
+            }
+            if (++head[1] < shardRows.size()) {
+                heads.add(head);
+            }
+        }
+        return result;
+    }
+
+    private static <E> List<E> await(CompletableFuture<List<E>> future, int index) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw shardFailed(index, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw shardFailed(index, e.getCause());
+        }
+    }
+
+    private static TdOrmException shardFailed(int index, Throwable cause) {
+        log.error("Parallel query shard [{}] failed, error: {}", index, cause.getMessage());
+        return new TdOrmException(TdOrmExceptionCode.PARALLEL_QUERY_FAILED, cause);
+    }
+
+    /**
+     * 关闭内部线程池，已领取的分片会继续执行完成
+     */
+    @Override
+    public void close() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+}
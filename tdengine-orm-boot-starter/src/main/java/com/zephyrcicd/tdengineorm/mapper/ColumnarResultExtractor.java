@@ -0,0 +1,151 @@
+package com.zephyrcicd.tdengineorm.mapper;
+
+import com.zephyrcicd.tdengineorm.util.TdTimeUtil;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 把结果集直接填充为 {@link TdColumnarResult}
+ * <p>
+ * 列类型由 {@link ResultSetMetaData} 在第一行之前确定一次，之后逐行按列序号调用类型化的 getter 追加到对应的列，
+ * 数值不装箱、不创建行对象。
+ * </p>
+ *
+ * @author Zephyr
+ */
+public class ColumnarResultExtractor implements ResultSetExtractor<TdColumnarResult> {
+
+    /**
+     * 时间戳列转换为 epoch 值时使用的精度
+     */
+    private final TimeUnit tsPrecision;
+
+    public ColumnarResultExtractor(TimeUnit tsPrecision) {
+        this.tsPrecision = tsPrecision;
+    }
+
+    @Override
+    public TdColumnarResult extractData(ResultSet rs) throws SQLException {
+        ResultSetMetaData rsmd = rs.getMetaData();
+        int columnCount = rsmd.getColumnCount();
+        List<TdColumnarResult.Column> columns = new ArrayList<>(columnCount);
+        ColumnReader[] readers = new ColumnReader[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            int index = i + 1;
+            String name = JdbcUtils.lookupColumnName(rsmd, index);
+            readers[i] = newReader(rsmd.getColumnType(index), name, index, columns);
+        }
+
+        int rowCount = 0;
+        while (rs.next()) {
+            for (ColumnReader reader : readers) {
+                reader.read(rs);
+            }
+            rowCount++;
+        }
+        return new TdColumnarResult(rowCount, columns);
+    }
+
+    private ColumnReader newReader(int sqlType, String name, int index, List<TdColumnarResult.Column> columns) {
+        switch (sqlType) {
+            case Types.TIMESTAMP:
+            case Types.TIMESTAMP_WITH_TIMEZONE: {
+                TdColumnarResult.LongColumn column = new TdColumnarResult.LongColumn(name);
+                columns.add(column);
+                return rs -> {
+                    Timestamp value = rs.getTimestamp(index);
+                    if (value == null) {
+                        column.appendNull();
+                    } else {
+                        column.append(TdTimeUtil.toEpoch(value, tsPrecision));
+                    }
+                };
+            }
+            case Types.BIGINT: {
+                TdColumnarResult.LongColumn column = new TdColumnarResult.LongColumn(name);
+                columns.add(column);
+                return rs -> {
+                    long value = rs.getLong(index);
+                    if (rs.wasNull()) {
+                        column.appendNull();
+                    } else {
+                        column.append(value);
+                    }
+                };
+            }
+            case Types.INTEGER:
+            case Types.SMALLINT:
+            case Types.TINYINT: {
+                TdColumnarResult.IntColumn column = new TdColumnarResult.IntColumn(name);
+                columns.add(column);
+                return rs -> {
+                    int value = rs.getInt(index);
+                    if (rs.wasNull()) {
+                        column.appendNull();
+                    } else {
+                        column.append(value);
+                    }
+                };
+            }
+            case Types.BOOLEAN:
+            case Types.BIT: {
+                TdColumnarResult.IntColumn column = new TdColumnarResult.IntColumn(name);
+                columns.add(column);
+                return rs -> {
+                    boolean value = rs.getBoolean(index);
+                    if (rs.wasNull()) {
+                        column.appendNull();
+                    } else {
+                        column.append(value ? 1 : 0);
+                    }
+                };
+            }
+            case Types.FLOAT:
+            case Types.REAL:
+            case Types.DOUBLE:
+            case Types.DECIMAL:
+            case Types.NUMERIC: {
+                TdColumnarResult.DoubleColumn column = new TdColumnarResult.DoubleColumn(name);
+                columns.add(column);
+                return rs -> {
+                    double value = rs.getDouble(index);
+                    if (rs.wasNull()) {
+                        column.appendNull();
+                    } else {
+                        column.append(value);
+                    }
+                };
+            }
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.LONGVARCHAR:
+            case Types.NCHAR:
+            case Types.NVARCHAR:
+            case Types.LONGNVARCHAR:
+            case Types.OTHER: {
+                TdColumnarResult.StringColumn column = new TdColumnarResult.StringColumn(name);
+                columns.add(column);
+                return rs -> column.append(rs.getString(index));
+            }
+            default: {
+                TdColumnarResult.ObjectColumn column = new TdColumnarResult.ObjectColumn(name);
+                columns.add(column);
+                return rs -> column.append(JdbcUtils.getResultSetValue(rs, index));
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ColumnReader {
+        void read(ResultSet rs) throws SQLException;
+    }
+}
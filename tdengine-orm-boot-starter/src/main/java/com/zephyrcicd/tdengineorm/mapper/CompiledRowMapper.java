@@ -0,0 +1,338 @@
+package com.zephyrcicd.tdengineorm.mapper;
+
+import com.zephyrcicd.tdengineorm.mapper.RowBinding.ColumnTarget;
+import com.zephyrcicd.tdengineorm.typehandler.BooleanTypeHandler;
+import com.zephyrcicd.tdengineorm.typehandler.ByteArrayTypeHandler;
+import com.zephyrcicd.tdengineorm.typehandler.DoubleTypeHandler;
+import com.zephyrcicd.tdengineorm.typehandler.FloatTypeHandler;
+import com.zephyrcicd.tdengineorm.typehandler.IntegerTypeHandler;
+import com.zephyrcicd.tdengineorm.typehandler.LongTypeHandler;
+import com.zephyrcicd.tdengineorm.typehandler.StringTypeHandler;
+import com.zephyrcicd.tdengineorm.typehandler.TimestampTypeHandler;
+import com.zephyrcicd.tdengineorm.typehandler.TypeHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.util.ClassUtils;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * 按实体类和结果集列结构编译的行映射器
+ * <p>
+ * 编译时确定每列对应的 setter、读取方式和 TypeHandler，逐行映射时只按列序号调用类型化的 getter
+ * （{@code getLong} / {@code getDouble} / {@code getString} ...），再通过 {@link LambdaMetafactory}
+ * 生成的函数直接调用 setter，不创建 BeanWrapper、不查找列名、不做反射调用。
+ * long / int / double 基本类型字段全程不装箱。
+ * </p>
+ * <p>
+ * 实体类或 setter 对本类不可见（非 public、不同类加载器）时退化为 {@link MethodHandle} 调用；
+ * 单列读取或赋值失败时跳过该列，与反射映射器的行为保持一致。
+ * </p>
+ *
+ * @author Zephyr
+ */
+@Slf4j
+final class CompiledRowMapper<T> {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * 与结果集类型化读取结果一致的内置 TypeHandler，使用这些处理器的字段无需再转换
+     */
+    private static final Set<Class<?>> IDENTITY_HANDLERS = new HashSet<>(Arrays.asList(
+            StringTypeHandler.class, IntegerTypeHandler.class, LongTypeHandler.class, DoubleTypeHandler.class,
+            FloatTypeHandler.class, BooleanTypeHandler.class, ByteArrayTypeHandler.class, TimestampTypeHandler.class));
+
+    private final Class<T> mappedClass;
+    private final Supplier<T> factory;
+    private final ColumnWriter[] writers;
+
+    private CompiledRowMapper(Class<T> mappedClass, Supplier<T> factory, ColumnWriter[] writers) {
+        this.mappedClass = mappedClass;
+        this.factory = factory;
+        this.writers = writers;
+    }
+
+    /**
+     * 编译映射器
+     *
+     * @param mappedClass 实体类
+     * @param targets     各列的映射目标，按列序号排列
+     * @return 编译后的映射器
+     * @throws Throwable 无法生成访问代码时抛出，调用方应退回反射映射
+     */
+    static <T> CompiledRowMapper<T> compile(Class<T> mappedClass, ColumnTarget[] targets) throws Throwable {
+        ColumnWriter[] writers = new ColumnWriter[targets.length];
+        for (int i = 0; i < writers.length; i++) {
+            writers[i] = compileWriter(mappedClass, targets[i]);
+        }
+        return new CompiledRowMapper<>(mappedClass, compileFactory(mappedClass), writers);
+    }
+
+    T mapRow(ResultSet rs) {
+        T target = factory.get();
+        for (ColumnWriter writer : writers) {
+            try {
+                writer.write(rs, target);
+            } catch (Exception ex) {
+                if (log.isDebugEnabled()) {
+                    log.debug("无法设置 {} 第 {} 列的值: {}", mappedClass.getName(), writer.columnIndex(), ex.getMessage());
+                }
+            }
+        }
+        return target;
+    }
+
+    private static <T> Supplier<T> compileFactory(Class<T> mappedClass) throws Throwable {
+        Constructor<T> constructor = mappedClass.getDeclaredConstructor();
+        if (isLinkable(mappedClass, constructor.getModifiers())) {
+            MethodHandle handle = LOOKUP.unreflectConstructor(constructor);
+            return generate(Supplier.class, "get", MethodType.methodType(Object.class), handle,
+                    MethodType.methodType(mappedClass));
+        }
+        return () -> BeanUtils.instantiateClass(constructor);
+    }
+
+    private static ColumnWriter compileWriter(Class<?> mappedClass, ColumnTarget target) throws Throwable {
+        int index = target.columnIndex;
+        Class<?> type = target.propertyType;
+        Method method = target.writeMethod;
+        TypeHandler<Object> handler = target.handler;
+
+        if (handler != null && !IDENTITY_HANDLERS.contains(handler.getClass())) {
+            BiConsumer<Object, Object> setter = objectSetter(mappedClass, method);
+            ConversionService conversionService = DefaultConversionService.getSharedInstance();
+            Class<?> boxedType = ClassUtils.resolvePrimitiveIfNecessary(type);
+            return new ColumnWriter(index) {
+                @Override
+                void write(ResultSet rs, Object t) throws SQLException {
+                    Object value = JdbcUtils.getResultSetValue(rs, index, type);
+                    if (value != null) {
+                        value = handler.fromSqlValue(value);
+                    }
+                    if (value != null && !boxedType.isInstance(value)) {
+                        value = conversionService.convert(value, boxedType);
+                    }
+                    if (value != null || !type.isPrimitive()) {
+                        setter.accept(t, value);
+                    }
+                }
+            };
+        }
+
+        boolean linkable = isLinkable(method.getDeclaringClass(), method.getModifiers());
+        if (linkable && type == long.class) {
+            ObjLongConsumer<Object> setter = generate(ObjLongConsumer.class, "accept",
+                    MethodType.methodType(void.class, Object.class, long.class), LOOKUP.unreflect(method),
+                    MethodType.methodType(void.class, mappedClass, long.class));
+            return new ColumnWriter(index) {
+                @Override
+                void write(ResultSet rs, Object t) throws SQLException {
+                    long value = rs.getLong(index);
+                    if (!rs.wasNull()) {
+                        setter.accept(t, value);
+                    }
+                }
+            };
+        }
+        if (linkable && type == int.class) {
+            ObjIntConsumer<Object> setter = generate(ObjIntConsumer.class, "accept",
+                    MethodType.methodType(void.class, Object.class, int.class), LOOKUP.unreflect(method),
+                    MethodType.methodType(void.class, mappedClass, int.class));
+            return new ColumnWriter(index) {
+                @Override
+                void write(ResultSet rs, Object t) throws SQLException {
+                    int value = rs.getInt(index);
+                    if (!rs.wasNull()) {
+                        setter.accept(t, value);
+                    }
+                }
+            };
+        }
+        if (linkable && type == double.class) {
+            ObjDoubleConsumer<Object> setter = generate(ObjDoubleConsumer.class, "accept",
+                    MethodType.methodType(void.class, Object.class, double.class), LOOKUP.unreflect(method),
+                    MethodType.methodType(void.class, mappedClass, double.class));
+            return new ColumnWriter(index) {
+                @Override
+                void write(ResultSet rs, Object t) throws SQLException {
+                    double value = rs.getDouble(index);
+                    if (!rs.wasNull()) {
+                        setter.accept(t, value);
+                    }
+                }
+            };
+        }
+
+        BiConsumer<Object, Object> setter = objectSetter(mappedClass, method);
+        ValueReader reader = typedReader(type);
+        if (reader != null) {
+            boolean primitive = type.isPrimitive();
+            return new ColumnWriter(index) {
+                @Override
+                void write(ResultSet rs, Object t) throws SQLException {
+                    Object value = reader.read(rs, index);
+                    if (value != null || !primitive) {
+                        setter.accept(t, value);
+                    }
+                }
+            };
+        }
+
+        // 其他类型（LocalDateTime、枚举等）按 JdbcUtils 的规则读取，类型不符时再转换
+        ConversionService conversionService = DefaultConversionService.getSharedInstance();
+        return new ColumnWriter(index) {
+            @Override
+            void write(ResultSet rs, Object t) throws SQLException {
+                Object value = JdbcUtils.getResultSetValue(rs, index, type);
+                if (value != null && !type.isInstance(value)) {
+                    value = conversionService.convert(value, type);
+                }
+                setter.accept(t, value);
+            }
+        };
+    }
+
+    /**
+     * 与 {@link JdbcUtils#getResultSetValue(ResultSet, int, Class)} 对常用类型的读取方式一致的类型化读取
+     */
+    private static ValueReader typedReader(Class<?> type) {
+        if (type == Long.class || type == long.class) {
+            return (rs, i) -> {
+                long v = rs.getLong(i);
+                return rs.wasNull() ? null : v;
+            };
+        }
+        if (type == Integer.class || type == int.class) {
+            return (rs, i) -> {
+                int v = rs.getInt(i);
+                return rs.wasNull() ? null : v;
+            };
+        }
+        if (type == Double.class || type == double.class) {
+            return (rs, i) -> {
+                double v = rs.getDouble(i);
+                return rs.wasNull() ? null : v;
+            };
+        }
+        if (type == Float.class || type == float.class) {
+            return (rs, i) -> {
+                float v = rs.getFloat(i);
+                return rs.wasNull() ? null : v;
+            };
+        }
+        if (type == Short.class || type == short.class) {
+            return (rs, i) -> {
+                short v = rs.getShort(i);
+                return rs.wasNull() ? null : v;
+            };
+        }
+        if (type == Byte.class || type == byte.class) {
+            return (rs, i) -> {
+                byte v = rs.getByte(i);
+                return rs.wasNull() ? null : v;
+            };
+        }
+        if (type == Boolean.class || type == boolean.class) {
+            return (rs, i) -> {
+                boolean v = rs.getBoolean(i);
+                return rs.wasNull() ? null : v;
+            };
+        }
+        if (type == String.class) {
+            return ResultSet::getString;
+        }
+        if (type == Timestamp.class || type == java.util.Date.class) {
+            return ResultSet::getTimestamp;
+        }
+        if (type == BigDecimal.class) {
+            return ResultSet::getBigDecimal;
+        }
+        if (type == byte[].class) {
+            return ResultSet::getBytes;
+        }
+        return null;
+    }
+
+    private static BiConsumer<Object, Object> objectSetter(Class<?> mappedClass, Method method) throws Throwable {
+        Class<?> parameterType = method.getParameterTypes()[0];
+        if (isLinkable(method.getDeclaringClass(), method.getModifiers())) {
+            return generate(BiConsumer.class, "accept", MethodType.methodType(void.class, Object.class, Object.class),
+                    LOOKUP.unreflect(method),
+                    MethodType.methodType(void.class, mappedClass, ClassUtils.resolvePrimitiveIfNecessary(parameterType)));
+        }
+        MethodHandle handle = LOOKUP.unreflect(method)
+                .asType(MethodType.methodType(void.class, Object.class, Object.class));
+        return (target, value) -> {
+            try {
+                handle.invokeExact(target, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    /**
+     * 生成的 lambda 类定义在本类的类加载器中，只有 public 且对本类可见的成员才能直接链接
+     */
+    private static boolean isLinkable(Class<?> declaringClass, int memberModifiers) {
+        return Modifier.isPublic(memberModifiers) && Modifier.isPublic(declaringClass.getModifiers())
+                && (declaringClass.getEnclosingClass() == null || Modifier.isStatic(declaringClass.getModifiers()))
+                && ClassUtils.isVisible(declaringClass, CompiledRowMapper.class.getClassLoader());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <F> F generate(Class<?> functionType, String methodName, MethodType samType,
+                                  MethodHandle implementation, MethodType instantiatedType) throws Throwable {
+        CallSite site = LambdaMetafactory.metafactory(LOOKUP, methodName, MethodType.methodType(functionType),
+                samType, implementation, instantiatedType);
+        return (F) site.getTarget().invoke();
+    }
+
+    @FunctionalInterface
+    private interface ValueReader {
+        Object read(ResultSet rs, int index) throws SQLException;
+    }
+
+    /**
+     * 单列读取并赋值
+     */
+    private abstract static class ColumnWriter {
+
+        private final int columnIndex;
+
+        ColumnWriter(int columnIndex) {
+            this.columnIndex = columnIndex;
+        }
+
+        int columnIndex() {
+            return columnIndex;
+        }
+
+        abstract void write(ResultSet rs, Object target) throws SQLException;
+    }
+}
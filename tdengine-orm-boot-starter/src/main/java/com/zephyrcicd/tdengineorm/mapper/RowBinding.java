@@ -0,0 +1,106 @@
+package com.zephyrcicd.tdengineorm.mapper;
+
+import com.zephyrcicd.tdengineorm.typehandler.TypeHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * 实体类与某种结果集列结构的绑定计划
+ * <p>
+ * 由 {@link java.sql.ResultSetMetaData} 计算一次：每个参与映射的列对应的列序号、setter 和已解析的 TypeHandler，
+ * 按 (实体类, 列结构) 缓存，跨查询复用。逐行映射时只按数组顺序读取和赋值，不再读取元数据、转换列名或查找属性。
+ * 能编译时使用 {@link CompiledRowMapper}，否则按同一计划反射调用 setter。
+ * </p>
+ *
+ * @author Zephyr
+ */
+@Slf4j
+final class RowBinding<T> {
+
+    private final Class<T> mappedClass;
+    private final ColumnTarget[] targets;
+
+    /**
+     * 编译后的映射器，无法编译时为 null
+     */
+    private final CompiledRowMapper<T> compiled;
+
+    RowBinding(Class<T> mappedClass, List<ColumnTarget> targets) {
+        this.mappedClass = mappedClass;
+        this.targets = targets.toArray(new ColumnTarget[0]);
+        this.compiled = compileOrNull(mappedClass, this.targets);
+    }
+
+    /**
+     * 结果集中一列的映射目标
+     */
+    static final class ColumnTarget {
+
+        final int columnIndex;
+        final String propertyName;
+        final Method writeMethod;
+        final Class<?> propertyType;
+
+        /**
+         * 读取后应用的 TypeHandler，为 null 时不应用
+         */
+        final TypeHandler<Object> handler;
+
+        ColumnTarget(int columnIndex, String propertyName, Method writeMethod, Class<?> propertyType,
+                     TypeHandler<Object> handler) {
+            this.columnIndex = columnIndex;
+            this.propertyName = propertyName;
+            ReflectionUtils.makeAccessible(writeMethod);
+            this.writeMethod = writeMethod;
+            this.propertyType = propertyType;
+            this.handler = handler;
+        }
+    }
+
+    T mapRow(ResultSet rs) {
+        return compiled != null ? compiled.mapRow(rs) : mapRowReflectively(rs);
+    }
+
+    private T mapRowReflectively(ResultSet rs) {
+        T mappedObject = BeanUtils.instantiateClass(mappedClass);
+        ConversionService conversionService = DefaultConversionService.getSharedInstance();
+        for (ColumnTarget target : targets) {
+            try {
+                Object value = JdbcUtils.getResultSetValue(rs, target.columnIndex, target.propertyType);
+                if (value != null && target.handler != null) {
+                    value = target.handler.fromSqlValue(value);
+                }
+                Class<?> boxedType = ClassUtils.resolvePrimitiveIfNecessary(target.propertyType);
+                if (value != null && !boxedType.isInstance(value)) {
+                    value = conversionService.convert(value, boxedType);
+                }
+                if (value != null || !target.propertyType.isPrimitive()) {
+                    ReflectionUtils.invokeMethod(target.writeMethod, mappedObject, value);
+                }
+            } catch (Exception ex) {
+                if (log.isDebugEnabled()) {
+                    log.debug("无法设置属性 '{}' 的值: {}", target.propertyName, ex.getMessage());
+                }
+            }
+        }
+        return mappedObject;
+    }
+
+    private static <T> CompiledRowMapper<T> compileOrNull(Class<T> mappedClass, ColumnTarget[] targets) {
+        try {
+            return CompiledRowMapper.compile(mappedClass, targets);
+        } catch (Throwable ex) {
+            log.debug("无法为 {} 编译行映射器，使用反射映射: {}", mappedClass.getName(), ex.toString());
+            return null;
+        }
+    }
+}
@@ -1,26 +1,31 @@
 package com.zephyrcicd.tdengineorm.mapper;
 
-import com.zephyrcicd.tdengineorm.typehandler.TypeHandlerHelper;
-import com.zephyrcicd.tdengineorm.util.TdSqlUtil;
+import com.zephyrcicd.tdengineorm.metadata.ColumnMetadata;
+import com.zephyrcicd.tdengineorm.metadata.EntityMetadata;
+import com.zephyrcicd.tdengineorm.typehandler.TypeHandler;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.PropertyAccessorFactory;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.JdbcUtils;
 
 import java.beans.PropertyDescriptor;
-import java.lang.reflect.Field;
+import java.lang.ref.WeakReference;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 支持@TdColumn注解的RowMapper
  * 用于处理实体类字段与数据库列名的映射关系
+ * <p>
+ * 每个结果集只在第一行读取一次列结构，按 (实体类, 列结构) 取用缓存的 {@link RowBinding} 逐行映射：
+ * 能编译时使用 {@link CompiledRowMapper}，否则按同一绑定计划反射调用 setter。
+ * </p>
  *
  * @author Zephyr
  */
@@ -30,8 +35,23 @@ public class TdColumnRowMapper<T> implements RowMapper<T> {
     private final Class<T> mappedClass;
     private final Map<String, PropertyDescriptor> mappedFields;
     private final Map<String, String> columnToPropertyMap;
-    private final Map<String, Field> propertyToFieldMap;
-    
+    private final Map<String, ColumnMetadata> propertyToColumnMap;
+
+    /**
+     * 单个实体类缓存的列结构上限，超过后清空重新绑定
+     */
+    private static final int MAX_CACHED_SHAPES = 256;
+
+    /**
+     * 按列结构（小写列名序列）缓存的绑定计划，跨查询复用
+     */
+    private final Map<String, RowBinding<T>> bindingCache = new ConcurrentHashMap<>();
+
+    /**
+     * 当前线程正在映射的结果集及其绑定计划，同一结果集后续行不再读取元数据
+     */
+    private final ThreadLocal<ResultSetBinding<T>> currentBinding = new ThreadLocal<>();
+
     // 缓存已创建的RowMapper实例，避免重复初始化
     private static final Map<Class<?>, TdColumnRowMapper<?>> MAPPER_CACHE = new ConcurrentHashMap<>();
 
@@ -40,30 +60,37 @@ public class TdColumnRowMapper<T> implements RowMapper<T> {
         return (TdColumnRowMapper<T>) MAPPER_CACHE.computeIfAbsent(mappedClass, TdColumnRowMapper::new);
     }
 
+    /**
+     * 清除所有映射器、绑定计划及其依赖的实体元数据（重新注册 TypeHandler 后调用）
+     */
+    public static void clearCache() {
+        EntityMetadata.clearCache();
+        MAPPER_CACHE.clear();
+    }
+
     private TdColumnRowMapper(Class<?> mappedClass) {
         this.mappedClass = (Class<T>) mappedClass;
         this.mappedFields = new HashMap<>();
         this.columnToPropertyMap = new HashMap<>();
-        this.propertyToFieldMap = new HashMap<>();
+        this.propertyToColumnMap = new HashMap<>();
         initialize();
     }
 
     /**
-     * 初始化映射关系
+     * 初始化映射关系：列名取自 {@link EntityMetadata}（含父类字段及 @TdColumn），没有对应字段的属性使用默认映射
      */
     private void initialize() {
+        EntityMetadata metadata = EntityMetadata.of(mappedClass);
         PropertyDescriptor[] pds = BeanUtils.getPropertyDescriptors(mappedClass);
         for (PropertyDescriptor pd : pds) {
             if (pd.getWriteMethod() != null) {
                 String propertyName = pd.getName();
                 mappedFields.put(propertyName.toLowerCase(), pd);
-                // 获取字段上的@TdColumn注解
-                try {
-                    Field field = mappedClass.getDeclaredField(propertyName);
-                    String columnName = TdSqlUtil.getColumnName(field);
-                    columnToPropertyMap.put(columnName, propertyName);
-                    propertyToFieldMap.put(propertyName, field);
-                } catch (NoSuchFieldException e) {
+                ColumnMetadata column = metadata.getColumnByFieldName(propertyName);
+                if (column != null) {
+                    columnToPropertyMap.put(column.getColumnName(), propertyName);
+                    propertyToColumnMap.put(propertyName, column);
+                } else {
                     // 如果找不到字段，使用默认映射
                     String columnName = camelCaseToUnderscore(propertyName).toLowerCase();
                     columnToPropertyMap.put(columnName, propertyName);
@@ -95,47 +122,73 @@ public class TdColumnRowMapper<T> implements RowMapper<T> {
 
     @Override
     public T mapRow(ResultSet rs, int rowNum) throws SQLException {
-        T mappedObject = BeanUtils.instantiateClass(mappedClass);
-        BeanWrapper bw = PropertyAccessorFactory.forBeanPropertyAccess(mappedObject);
+        ResultSetBinding<T> current = currentBinding.get();
+        if (current == null || current.resultSet.get() != rs) {
+            current = new ResultSetBinding<>(rs, bind(rs.getMetaData()));
+            currentBinding.set(current);
+        }
+        return current.binding.mapRow(rs);
+    }
 
-        ResultSetMetaData rsmd = rs.getMetaData();
+    /**
+     * 按结果集元数据取得绑定计划：每个结果集只读取一次元数据，相同列结构的查询复用同一计划
+     */
+    private RowBinding<T> bind(ResultSetMetaData rsmd) throws SQLException {
         int columnCount = rsmd.getColumnCount();
-
+        String[] columns = new String[columnCount];
         for (int index = 1; index <= columnCount; index++) {
-            String column = JdbcUtils.lookupColumnName(rsmd, index).toLowerCase();
-            String propertyName = columnToPropertyMap.get(column);
+            columns[index - 1] = JdbcUtils.lookupColumnName(rsmd, index).toLowerCase();
+        }
+        String shape = String.join(",", columns);
+        RowBinding<T> binding = bindingCache.get(shape);
+        if (binding == null) {
+            binding = new RowBinding<>(mappedClass, resolveTargets(columns));
+            if (bindingCache.size() >= MAX_CACHED_SHAPES) {
+                bindingCache.clear();
+            }
+            bindingCache.put(shape, binding);
+        }
+        return binding;
+    }
 
+    /**
+     * 解析各列对应的属性：优先按列名（含 @TdColumn）匹配，其次直接匹配属性名（兼容性处理）；
+     * 按列名匹配且能找到字段时应用字段的 TypeHandler
+     */
+    private List<RowBinding.ColumnTarget> resolveTargets(String[] columns) {
+        List<RowBinding.ColumnTarget> targets = new ArrayList<>();
+        for (int index = 1; index <= columns.length; index++) {
+            String column = columns[index - 1];
+            String propertyName = columnToPropertyMap.get(column);
+            PropertyDescriptor pd;
+            TypeHandler<Object> handler = null;
             if (propertyName != null) {
-                PropertyDescriptor pd = mappedFields.get(propertyName.toLowerCase());
-                if (pd != null) {
-                    try {
-                        Object value = JdbcUtils.getResultSetValue(rs, index, pd.getPropertyType());
-                        // 应用TypeHandler进行反序列化
-                        Field field = propertyToFieldMap.get(propertyName);
-                        if (field != null) {
-                            value = TypeHandlerHelper.fromSqlValue(field, value);
-                        }
-                        bw.setPropertyValue(propertyName, value);
-                    } catch (Exception ignored) {
-
-                    }
+                pd = mappedFields.get(propertyName.toLowerCase());
+                ColumnMetadata columnMetadata = propertyToColumnMap.get(propertyName);
+                if (columnMetadata != null) {
+                    handler = columnMetadata.getTypeHandler();
                 }
             } else {
-                // 尝试直接匹配属性名（兼容性处理）
-                PropertyDescriptor pd = mappedFields.get(column);
-                if (pd != null) {
-                    try {
-                        Object value = JdbcUtils.getResultSetValue(rs, index, pd.getPropertyType());
-                        bw.setPropertyValue(pd.getName(), value);
-                    } catch (Exception ex) {
-                        if (log.isDebugEnabled()) {
-                            log.debug("无法设置属性 '{}' 的值: {}", pd.getName(), ex.getMessage());
-                        }
-                    }
-                }
+                pd = mappedFields.get(column);
+            }
+            if (pd != null) {
+                targets.add(new RowBinding.ColumnTarget(index, pd.getName(), pd.getWriteMethod(), pd.getPropertyType(), handler));
             }
         }
+        return targets;
+    }
 
-        return mappedObject;
+    /**
+     * 结果集与其绑定计划，弱引用结果集，不延长已关闭结果集的生命周期
+     */
+    private static final class ResultSetBinding<T> {
+
+        private final WeakReference<ResultSet> resultSet;
+        private final RowBinding<T> binding;
+
+        ResultSetBinding(ResultSet resultSet, RowBinding<T> binding) {
+            this.resultSet = new WeakReference<>(resultSet);
+            this.binding = binding;
+        }
     }
-}
\ No newline at end of file
+}
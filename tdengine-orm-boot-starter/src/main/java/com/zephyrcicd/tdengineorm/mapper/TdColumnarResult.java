@@ -0,0 +1,446 @@
+package com.zephyrcicd.tdengineorm.mapper;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 列式查询结果
+ * <p>
+ * 面向大量数值时序点（如看板曲线）的结果形式：每列以基本类型数组存储，不为每行创建实体或 Map。
+ * <ul>
+ *     <li>TIMESTAMP 列：{@link LongColumn}，值为按配置精度（{@code td-orm.ts-precision}）的 epoch 时间戳</li>
+ *     <li>BIGINT 列：{@link LongColumn}；INT / SMALLINT / TINYINT / BOOL 列：{@link IntColumn}</li>
+ *     <li>FLOAT / DOUBLE / DECIMAL 列：{@link DoubleColumn}</li>
+ *     <li>字符串列（VARCHAR / NCHAR / JSON 等，通常为 TAG）：{@link StringColumn}，字典编码，每个不同的值只保存一份</li>
+ *     <li>其他类型：{@link ObjectColumn}</li>
+ * </ul>
+ * 数据按固定大小的块追加，扩容时不复制已有数据；NULL 用按块懒分配的位图记录，没有 NULL 的块不额外占用内存。
+ * </p>
+ *
+ * @author Zephyr
+ */
+public final class TdColumnarResult {
+
+    /**
+     * 每块行数（2 的幂）
+     */
+    static final int CHUNK_SHIFT = 13;
+    static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    /**
+     * 行数
+     */
+    @Getter
+    private final int rowCount;
+
+    private final List<Column> columns;
+    private final Map<String, Column> columnsByName;
+
+    TdColumnarResult(int rowCount, List<Column> columns) {
+        this.rowCount = rowCount;
+        this.columns = Collections.unmodifiableList(columns);
+        Map<String, Column> byName = new LinkedHashMap<>();
+        for (Column column : columns) {
+            byName.putIfAbsent(column.getName().toLowerCase(Locale.ROOT), column);
+        }
+        this.columnsByName = byName;
+    }
+
+    /**
+     * 没有列和行的结果
+     */
+    public static TdColumnarResult empty() {
+        return new TdColumnarResult(0, new ArrayList<>());
+    }
+
+    public int getColumnCount() {
+        return columns.size();
+    }
+
+    /**
+     * 所有列，顺序与 SELECT 列顺序一致
+     */
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    public List<String> getColumnNames() {
+        List<String> names = new ArrayList<>(columns.size());
+        for (Column column : columns) {
+            names.add(column.getName());
+        }
+        return names;
+    }
+
+    /**
+     * 按序号获取列
+     *
+     * @param index 从 0 开始的列序号
+     */
+    public Column getColumn(int index) {
+        return columns.get(index);
+    }
+
+    /**
+     * 按列名（列别名，不区分大小写）获取列
+     *
+     * @param name 列名
+     * @return 列，不存在时返回 null
+     */
+    public Column getColumn(String name) {
+        return columnsByName.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    public LongColumn getLongColumn(String name) {
+        return typedColumn(name, LongColumn.class);
+    }
+
+    public IntColumn getIntColumn(String name) {
+        return typedColumn(name, IntColumn.class);
+    }
+
+    public DoubleColumn getDoubleColumn(String name) {
+        return typedColumn(name, DoubleColumn.class);
+    }
+
+    public StringColumn getStringColumn(String name) {
+        return typedColumn(name, StringColumn.class);
+    }
+
+    private <C extends Column> C typedColumn(String name, Class<C> type) {
+        Column column = getColumn(name);
+        if (column == null) {
+            throw new IllegalArgumentException("No column named [" + name + "] in columnar result");
+        }
+        if (!type.isInstance(column)) {
+            throw new IllegalArgumentException("Column [" + name + "] is " + column.getClass().getSimpleName()
+                    + ", not " + type.getSimpleName());
+        }
+        return type.cast(column);
+    }
+
+    /**
+     * 列的公共部分：列名、行数和 NULL 位图
+     */
+    public abstract static class Column {
+
+        @Getter
+        private final String name;
+
+        int size;
+
+        /**
+         * 按块懒分配的 NULL 位图，每块 CHUNK_SIZE 位
+         */
+        private long[][] nullChunks = new long[0][];
+
+        Column(String name) {
+            this.name = name;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * 该行是否为 NULL
+         */
+        public boolean isNull(int row) {
+            checkRow(row);
+            int chunk = row >>> CHUNK_SHIFT;
+            if (chunk >= nullChunks.length || nullChunks[chunk] == null) {
+                return false;
+            }
+            int bit = row & CHUNK_MASK;
+            return (nullChunks[chunk][bit >>> 6] & (1L << bit)) != 0;
+        }
+
+        /**
+         * 按行取值（装箱），NULL 返回 null；批量读取请使用各列的类型化方法
+         */
+        public abstract Object getObject(int row);
+
+        void markNull(int row) {
+            int chunk = row >>> CHUNK_SHIFT;
+            if (chunk >= nullChunks.length) {
+                nullChunks = Arrays.copyOf(nullChunks, Math.max(chunk + 1, nullChunks.length * 2));
+            }
+            if (nullChunks[chunk] == null) {
+                nullChunks[chunk] = new long[CHUNK_SIZE >>> 6];
+            }
+            int bit = row & CHUNK_MASK;
+            nullChunks[chunk][bit >>> 6] |= 1L << bit;
+        }
+
+        void checkRow(int row) {
+            if (row < 0 || row >= size) {
+                throw new IndexOutOfBoundsException("Row " + row + " out of range [0, " + size + ")");
+            }
+        }
+
+        static <A> A[] growChunks(A[] chunks, int chunk) {
+            return chunk < chunks.length ? chunks : Arrays.copyOf(chunks, Math.max(chunk + 1, chunks.length * 2));
+        }
+    }
+
+    /**
+     * long 列（TIMESTAMP、BIGINT），NULL 行的值为 0
+     */
+    public static final class LongColumn extends Column {
+
+        private long[][] chunks = new long[0][];
+
+        LongColumn(String name) {
+            super(name);
+        }
+
+        public long get(int row) {
+            checkRow(row);
+            return chunks[row >>> CHUNK_SHIFT][row & CHUNK_MASK];
+        }
+
+        @Override
+        public Object getObject(int row) {
+            return isNull(row) ? null : get(row);
+        }
+
+        /**
+         * 复制为连续数组
+         */
+        public long[] toArray() {
+            long[] array = new long[size];
+            for (int chunk = 0, offset = 0; offset < size; chunk++, offset += CHUNK_SIZE) {
+                System.arraycopy(chunks[chunk], 0, array, offset, Math.min(CHUNK_SIZE, size - offset));
+            }
+            return array;
+        }
+
+        void append(long value) {
+            int chunk = size >>> CHUNK_SHIFT;
+            if ((size & CHUNK_MASK) == 0) {
+                chunks = growChunks(chunks, chunk);
+                chunks[chunk] = new long[CHUNK_SIZE];
+            }
+            chunks[chunk][size & CHUNK_MASK] = value;
+            size++;
+        }
+
+        void appendNull() {
+            markNull(size);
+            append(0L);
+        }
+    }
+
+    /**
+     * int 列（INT、SMALLINT、TINYINT、BOOL），NULL 行的值为 0
+     */
+    public static final class IntColumn extends Column {
+
+        private int[][] chunks = new int[0][];
+
+        IntColumn(String name) {
+            super(name);
+        }
+
+        public int get(int row) {
+            checkRow(row);
+            return chunks[row >>> CHUNK_SHIFT][row & CHUNK_MASK];
+        }
+
+        @Override
+        public Object getObject(int row) {
+            return isNull(row) ? null : get(row);
+        }
+
+        /**
+         * 复制为连续数组
+         */
+        public int[] toArray() {
+            int[] array = new int[size];
+            for (int chunk = 0, offset = 0; offset < size; chunk++, offset += CHUNK_SIZE) {
+                System.arraycopy(chunks[chunk], 0, array, offset, Math.min(CHUNK_SIZE, size - offset));
+            }
+            return array;
+        }
+
+        void append(int value) {
+            int chunk = size >>> CHUNK_SHIFT;
+            if ((size & CHUNK_MASK) == 0) {
+                chunks = growChunks(chunks, chunk);
+                chunks[chunk] = new int[CHUNK_SIZE];
+            }
+            chunks[chunk][size & CHUNK_MASK] = value;
+            size++;
+        }
+
+        void appendNull() {
+            markNull(size);
+            append(0);
+        }
+    }
+
+    /**
+     * double 列（FLOAT、DOUBLE、DECIMAL），NULL 行的值为 NaN
+     */
+    public static final class DoubleColumn extends Column {
+
+        private double[][] chunks = new double[0][];
+
+        DoubleColumn(String name) {
+            super(name);
+        }
+
+        public double get(int row) {
+            checkRow(row);
+            return chunks[row >>> CHUNK_SHIFT][row & CHUNK_MASK];
+        }
+
+        @Override
+        public Object getObject(int row) {
+            return isNull(row) ? null : get(row);
+        }
+
+        /**
+         * 复制为连续数组，NULL 行为 NaN
+         */
+        public double[] toArray() {
+            double[] array = new double[size];
+            for (int chunk = 0, offset = 0; offset < size; chunk++, offset += CHUNK_SIZE) {
+                System.arraycopy(chunks[chunk], 0, array, offset, Math.min(CHUNK_SIZE, size - offset));
+            }
+            return array;
+        }
+
+        void append(double value) {
+            int chunk = size >>> CHUNK_SHIFT;
+            if ((size & CHUNK_MASK) == 0) {
+                chunks = growChunks(chunks, chunk);
+                chunks[chunk] = new double[CHUNK_SIZE];
+            }
+            chunks[chunk][size & CHUNK_MASK] = value;
+            size++;
+        }
+
+        void appendNull() {
+            markNull(size);
+            append(Double.NaN);
+        }
+    }
+
+    /**
+     * 字典编码的字符串列：每行只保存字典序号，相同的值共享同一个 String 实例
+     */
+    public static final class StringColumn extends Column {
+
+        private static final int NULL_CODE = -1;
+
+        private int[][] chunks = new int[0][];
+        private final List<String> dictionary = new ArrayList<>();
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        StringColumn(String name) {
+            super(name);
+        }
+
+        public String get(int row) {
+            int code = getCode(row);
+            return code == NULL_CODE ? null : dictionary.get(code);
+        }
+
+        @Override
+        public Object getObject(int row) {
+            return get(row);
+        }
+
+        /**
+         * 行对应的字典序号，NULL 为 -1
+         */
+        public int getCode(int row) {
+            checkRow(row);
+            return chunks[row >>> CHUNK_SHIFT][row & CHUNK_MASK];
+        }
+
+        /**
+         * 字典，序号即下标
+         */
+        public List<String> getDictionary() {
+            return Collections.unmodifiableList(dictionary);
+        }
+
+        /**
+         * 复制为连续的字典序号数组，NULL 为 -1
+         */
+        public int[] toCodeArray() {
+            int[] array = new int[size];
+            for (int chunk = 0, offset = 0; offset < size; chunk++, offset += CHUNK_SIZE) {
+                System.arraycopy(chunks[chunk], 0, array, offset, Math.min(CHUNK_SIZE, size - offset));
+            }
+            return array;
+        }
+
+        void append(String value) {
+            if (value == null) {
+                markNull(size);
+                appendCode(NULL_CODE);
+                return;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.add(value);
+                codes.put(value, code);
+            }
+            appendCode(code);
+        }
+
+        private void appendCode(int code) {
+            int chunk = size >>> CHUNK_SHIFT;
+            if ((size & CHUNK_MASK) == 0) {
+                chunks = growChunks(chunks, chunk);
+                chunks[chunk] = new int[CHUNK_SIZE];
+            }
+            chunks[chunk][size & CHUNK_MASK] = code;
+            size++;
+        }
+    }
+
+    /**
+     * 其他类型的列（VARBINARY、GEOMETRY 等），按对象存储
+     */
+    public static final class ObjectColumn extends Column {
+
+        private Object[][] chunks = new Object[0][];
+
+        ObjectColumn(String name) {
+            super(name);
+        }
+
+        @Override
+        public Object getObject(int row) {
+            checkRow(row);
+            return chunks[row >>> CHUNK_SHIFT][row & CHUNK_MASK];
+        }
+
+        void append(Object value) {
+            int chunk = size >>> CHUNK_SHIFT;
+            if ((size & CHUNK_MASK) == 0) {
+                chunks = growChunks(chunks, chunk);
+                chunks[chunk] = new Object[CHUNK_SIZE];
+            }
+            if (value == null) {
+                markNull(size);
+            }
+            chunks[chunk][size & CHUNK_MASK] = value;
+            size++;
+        }
+    }
+}
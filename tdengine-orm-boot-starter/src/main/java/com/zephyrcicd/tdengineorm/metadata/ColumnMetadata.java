@@ -0,0 +1,91 @@
+package com.zephyrcicd.tdengineorm.metadata;
+
+import com.zephyrcicd.tdengineorm.annotation.TdColumn;
+import com.zephyrcicd.tdengineorm.annotation.TdTag;
+import com.zephyrcicd.tdengineorm.typehandler.TypeHandler;
+import com.zephyrcicd.tdengineorm.typehandler.TypeHandlerHelper;
+import com.zephyrcicd.tdengineorm.util.FieldUtil;
+import lombok.Getter;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Field;
+
+/**
+ * 实体字段元数据
+ * <p>
+ * 字段的列名、是否存在、是否为 TAG、是否为组合主键以及 TypeHandler 在构建时一次解析完成，
+ * 字段已设置为可访问，读写时不再读取注解。
+ * </p>
+ *
+ * @author Zephyr
+ */
+@Getter
+public final class ColumnMetadata {
+
+    private final Field field;
+
+    /**
+     * 属性名
+     */
+    private final String fieldName;
+
+    /**
+     * 列名：{@link TdColumn#value()}，未配置时为属性名的下划线形式
+     */
+    private final String columnName;
+
+    /**
+     * 是否为数据库字段（{@link TdColumn#exist()}）
+     */
+    private final boolean exist;
+
+    /**
+     * 是否为 TAG 字段
+     */
+    private final boolean tag;
+
+    /**
+     * 是否为组合主键（{@link TdColumn#compositeKey()}）
+     */
+    private final boolean compositeKey;
+
+    /**
+     * 字段的 TypeHandler，没有时为 null
+     */
+    private final TypeHandler<Object> typeHandler;
+
+    ColumnMetadata(Field field) {
+        ReflectionUtils.makeAccessible(field);
+        TdColumn tdColumn = field.getAnnotation(TdColumn.class);
+        this.field = field;
+        this.fieldName = field.getName();
+        this.columnName = tdColumn == null || !StringUtils.hasText(tdColumn.value())
+                ? FieldUtil.toUnderlineCase(fieldName) : tdColumn.value();
+        this.exist = tdColumn == null || tdColumn.exist();
+        this.tag = field.isAnnotationPresent(TdTag.class);
+        this.compositeKey = tdColumn != null && tdColumn.compositeKey();
+        this.typeHandler = TypeHandlerHelper.getHandler(field);
+    }
+
+    /**
+     * 读取字段的原始值
+     */
+    public Object getValue(Object entity) {
+        return ReflectionUtils.getField(field, entity);
+    }
+
+    /**
+     * 读取字段值并经过 TypeHandler 转换为 SQL 值
+     */
+    public Object getSqlValue(Object entity) {
+        return TypeHandlerHelper.toSqlValue(typeHandler, ReflectionUtils.getField(field, entity));
+    }
+
+    /**
+     * 写入字段的原始值
+     */
+    public void setValue(Object entity, Object value) {
+        ReflectionUtils.setField(field, entity, value);
+    }
+}
@@ -0,0 +1,196 @@
+package com.zephyrcicd.tdengineorm.metadata;
+
+import com.zephyrcicd.tdengineorm.annotation.TdTable;
+import com.zephyrcicd.tdengineorm.constant.TdColumnConstant;
+import com.zephyrcicd.tdengineorm.util.ClassUtil;
+import com.zephyrcicd.tdengineorm.util.FieldUtil;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 实体类元数据
+ * <p>
+ * 每个实体类只解析一次：表名、按声明顺序排列的字段（子类在前，父类在后）、TAG / 非 TAG 分组、ts 字段、
+ * 组合主键以及每个字段的 {@link ColumnMetadata}。SQL 构建、行映射、子表命名和建表语句都从这里取得字段信息，
+ * 不再各自遍历类层级、读取注解或转换列名。
+ * </p>
+ * <p>
+ * 元数据是不可变的，可在多线程间共享；返回的字段列表均为只读。
+ * </p>
+ *
+ * @author Zephyr
+ */
+@Getter
+public final class EntityMetadata {
+
+    private static final Map<Class<?>, EntityMetadata> METADATA_CACHE = new ConcurrentHashMap<>();
+
+    private final Class<?> entityClass;
+
+    /**
+     * 超级表（或普通表）名：{@link TdTable#value()}，未配置时为类名的下划线形式
+     */
+    private final String tableName;
+
+    /**
+     * 子表名模板（{@link TdTable#subTable()}），未配置时为空字符串
+     */
+    private final String subTablePattern;
+
+    /**
+     * 是否标注了 {@link TdTable}
+     */
+    private final boolean tdEntity;
+
+    /**
+     * 存在的字段（exist=true）
+     */
+    private final List<ColumnMetadata> columns;
+
+    /**
+     * 存在的 TAG 字段
+     */
+    private final List<ColumnMetadata> tagColumns;
+
+    /**
+     * 存在的非 TAG 字段
+     */
+    private final List<ColumnMetadata> nonTagColumns;
+
+    /**
+     * 组合主键字段
+     */
+    private final List<ColumnMetadata> compositeKeyColumns;
+
+    /**
+     * 主时间戳字段：第一个列名为 ts 的非 TAG 字段，没有时为 null
+     */
+    private final ColumnMetadata tsColumn;
+
+    private final List<Field> fields;
+
+    private final List<Field> tagFields;
+
+    private final List<Field> nonTagFields;
+
+    /**
+     * 属性名 -> 字段元数据，包含 exist=false 的字段，同名时子类字段优先
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<String, ColumnMetadata> columnsByFieldName;
+
+    private EntityMetadata(Class<?> entityClass) {
+        TdTable tdTable = entityClass.getAnnotation(TdTable.class);
+        this.entityClass = entityClass;
+        this.tdEntity = tdTable != null;
+        this.tableName = tdTable != null && StringUtils.hasText(tdTable.value())
+                ? tdTable.value() : FieldUtil.toUnderlineCase(entityClass.getSimpleName());
+        this.subTablePattern = tdTable == null ? "" : tdTable.subTable();
+
+        List<ColumnMetadata> all = new ArrayList<>();
+        List<ColumnMetadata> tags = new ArrayList<>();
+        List<ColumnMetadata> nonTags = new ArrayList<>();
+        List<ColumnMetadata> compositeKeys = new ArrayList<>();
+        Map<String, ColumnMetadata> byFieldName = new HashMap<>();
+        ColumnMetadata ts = null;
+        for (Field field : ClassUtil.getAllFields(entityClass)) {
+            ColumnMetadata column = new ColumnMetadata(field);
+            byFieldName.putIfAbsent(column.getFieldName(), column);
+            if (!column.isExist()) {
+                continue;
+            }
+            all.add(column);
+            if (column.isTag()) {
+                tags.add(column);
+                continue;
+            }
+            nonTags.add(column);
+            if (column.isCompositeKey()) {
+                compositeKeys.add(column);
+            }
+            if (ts == null && TdColumnConstant.TS.equals(column.getColumnName())) {
+                ts = column;
+            }
+        }
+        this.columns = Collections.unmodifiableList(all);
+        this.tagColumns = Collections.unmodifiableList(tags);
+        this.nonTagColumns = Collections.unmodifiableList(nonTags);
+        this.compositeKeyColumns = Collections.unmodifiableList(compositeKeys);
+        this.tsColumn = ts;
+        this.fields = toFields(all);
+        this.tagFields = toFields(tags);
+        this.nonTagFields = toFields(nonTags);
+        this.columnsByFieldName = byFieldName;
+    }
+
+    /**
+     * 获取（必要时构建）实体类的元数据
+     *
+     * @param entityClass 实体类
+     * @return 元数据
+     */
+    public static EntityMetadata of(Class<?> entityClass) {
+        EntityMetadata metadata = METADATA_CACHE.get(entityClass);
+        return metadata != null ? metadata : METADATA_CACHE.computeIfAbsent(entityClass, EntityMetadata::new);
+    }
+
+    /**
+     * 获取字段的元数据，字段不属于其声明类的元数据时（如被子类同名字段遮蔽）临时解析
+     *
+     * @param field 字段
+     * @return 字段元数据
+     */
+    public static ColumnMetadata columnOf(Field field) {
+        ColumnMetadata column = of(field.getDeclaringClass()).columnsByFieldName.get(field.getName());
+        return column != null && column.getField().equals(field) ? column : new ColumnMetadata(field);
+    }
+
+    /**
+     * 清除元数据缓存（TypeHandler 注册发生变化后调用）
+     */
+    public static void clearCache() {
+        METADATA_CACHE.clear();
+    }
+
+    /**
+     * 按属性名获取字段元数据（包含 exist=false 的字段）
+     *
+     * @param fieldName 属性名
+     * @return 字段元数据，不存在时返回 null
+     */
+    public ColumnMetadata getColumnByFieldName(String fieldName) {
+        return columnsByFieldName.get(fieldName);
+    }
+
+    /**
+     * 按属性名获取列名
+     *
+     * @param fieldName 属性名
+     * @return 列名，属性不存在时为属性名的下划线形式
+     */
+    public String getColumnName(String fieldName) {
+        ColumnMetadata column = columnsByFieldName.get(fieldName);
+        return column != null ? column.getColumnName() : FieldUtil.toUnderlineCase(fieldName);
+    }
+
+    public Field getTsField() {
+        return tsColumn == null ? null : tsColumn.getField();
+    }
+
+    private static List<Field> toFields(List<ColumnMetadata> columns) {
+        List<Field> result = new ArrayList<>(columns.size());
+        for (ColumnMetadata column : columns) {
+            result.add(column.getField());
+        }
+        return Collections.unmodifiableList(result);
+    }
+}
@@ -0,0 +1,128 @@
+package com.zephyrcicd.tdengineorm.metadata;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 启动预热报告
+ *
+ * @author Zephyr
+ */
+@Getter
+public class PrewarmReport {
+
+    /**
+     * 预热的实体类数
+     */
+    private int entityCount;
+
+    /**
+     * 涉及的表数（多个实体类映射同一张表时只计一次）
+     */
+    private int tableCount;
+
+    /**
+     * 已查询表结构（DESCRIBE）的表数
+     */
+    private int describedTables;
+
+    /**
+     * 已执行 CREATE STABLE IF NOT EXISTS 的表数
+     */
+    private int ensuredTables;
+
+    /**
+     * 已校验的表数
+     */
+    private int verifiedTables;
+
+    /**
+     * 扫描实体类耗时（毫秒）
+     */
+    private long scanMillis;
+
+    /**
+     * 构建元数据、写入计划和行映射器耗时（毫秒）
+     */
+    private long metadataMillis;
+
+    /**
+     * 建表、校验及加载 TAG 顺序耗时（毫秒）
+     */
+    private long schemaMillis;
+
+    /**
+     * 总耗时（毫秒）
+     */
+    private long totalMillis;
+
+    private final List<String> problems = new ArrayList<>();
+
+    /**
+     * 建表失败、表不存在或与实体类不一致等问题，每项一条描述
+     */
+    public List<String> getProblems() {
+        return Collections.unmodifiableList(problems);
+    }
+
+    public boolean hasProblems() {
+        return !problems.isEmpty();
+    }
+
+    void setEntityCount(int entityCount) {
+        this.entityCount = entityCount;
+    }
+
+    void setTableCount(int tableCount) {
+        this.tableCount = tableCount;
+    }
+
+    void setScanMillis(long scanMillis) {
+        this.scanMillis = scanMillis;
+    }
+
+    void setMetadataMillis(long metadataMillis) {
+        this.metadataMillis = metadataMillis;
+    }
+
+    void setSchemaMillis(long schemaMillis) {
+        this.schemaMillis = schemaMillis;
+    }
+
+    void setTotalMillis(long totalMillis) {
+        this.totalMillis = totalMillis;
+    }
+
+    void addDescribed() {
+        describedTables++;
+    }
+
+    void addEnsured() {
+        ensuredTables++;
+    }
+
+    void addVerified() {
+        verifiedTables++;
+    }
+
+    void addProblem(String problem) {
+        problems.add(problem);
+    }
+
+    @Override
+    public String toString() {
+        return "entities=" + entityCount
+                + ", tables=" + tableCount
+                + ", described=" + describedTables
+                + ", ensured=" + ensuredTables
+                + ", verified=" + verifiedTables
+                + ", problems=" + problems.size()
+                + ", scan=" + scanMillis + "ms"
+                + ", metadata=" + metadataMillis + "ms"
+                + ", schema=" + schemaMillis + "ms"
+                + ", total=" + totalMillis + "ms";
+    }
+}
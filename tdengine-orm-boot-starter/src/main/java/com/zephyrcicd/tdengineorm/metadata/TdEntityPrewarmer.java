@@ -0,0 +1,306 @@
+package com.zephyrcicd.tdengineorm.metadata;
+
+import com.zephyrcicd.tdengineorm.annotation.TdTable;
+import com.zephyrcicd.tdengineorm.batch.InsertPlan;
+import com.zephyrcicd.tdengineorm.cache.TagOrderCacheManager;
+import com.zephyrcicd.tdengineorm.config.TdOrmConfig;
+import com.zephyrcicd.tdengineorm.enums.SchemaActionEnum;
+import com.zephyrcicd.tdengineorm.exception.TdOrmException;
+import com.zephyrcicd.tdengineorm.exception.TdOrmExceptionCode;
+import com.zephyrcicd.tdengineorm.executor.ParallelQueryExecutor;
+import com.zephyrcicd.tdengineorm.mapper.TdColumnRowMapper;
+import com.zephyrcicd.tdengineorm.strategy.DefaultTagNameStrategy;
+import com.zephyrcicd.tdengineorm.strategy.DynamicNameStrategy;
+import com.zephyrcicd.tdengineorm.template.TdTemplate;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 实体类启动预热
+ * <p>
+ * 扫描指定包下标注了 {@link TdTable} 的实体类，预先构建 {@link EntityMetadata}、{@link InsertPlan} 和
+ * {@link TdColumnRowMapper}；并行对各表执行 DESCRIBE，将 TAG 顺序写入 {@link TagOrderCacheManager}，
+ * 按配置创建（CREATE STABLE IF NOT EXISTS）或校验超级表；最后编译子表名模板。
+ * 完成后首次写入和查询不再承担反射解析、DESCRIBE 和建表的耗时。
+ * </p>
+ * <p>
+ * 建表、校验失败只记录到报告中并输出警告，开启 {@code fail-on-error} 时抛出异常中止启动。
+ * </p>
+ *
+ * @author Zephyr
+ */
+@Slf4j
+public class TdEntityPrewarmer {
+
+    private final TdTemplate tdTemplate;
+    private final TdOrmConfig.Prewarm config;
+    private final int parallelism;
+
+    /**
+     * 最近一次预热的报告，未预热时为 null
+     */
+    @Getter
+    private volatile PrewarmReport lastReport;
+
+    /**
+     * @param tdTemplate  TdTemplate
+     * @param config      预热配置
+     * @param parallelism 并发查询的表数
+     */
+    public TdEntityPrewarmer(TdTemplate tdTemplate, TdOrmConfig.Prewarm config, int parallelism) {
+        this.tdTemplate = tdTemplate;
+        this.config = config;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * 扫描包（含子包）下标注了 {@link TdTable} 的具体类
+     *
+     * @param basePackages 包名
+     * @param classLoader  类加载器
+     * @return 实体类，按包和类名顺序去重
+     */
+    public static List<Class<?>> scan(Collection<String> basePackages, ClassLoader classLoader) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(TdTable.class));
+        Set<Class<?>> classes = new LinkedHashSet<>();
+        for (String basePackage : basePackages) {
+            if (!StringUtils.hasText(basePackage)) {
+                continue;
+            }
+            for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage.trim())) {
+                try {
+                    classes.add(ClassUtils.forName(candidate.getBeanClassName(), classLoader));
+                } catch (ClassNotFoundException | LinkageError e) {
+                    log.warn("Can not load entity class [{}]: {}", candidate.getBeanClassName(), e.getMessage());
+                }
+            }
+        }
+        return new ArrayList<>(classes);
+    }
+
+    /**
+     * 扫描并预热
+     *
+     * @param basePackages 实体类所在的包
+     * @return 预热报告
+     */
+    public PrewarmReport prewarm(Collection<String> basePackages) {
+        long start = System.nanoTime();
+        List<Class<?>> entityClasses = scan(basePackages, ClassUtils.getDefaultClassLoader());
+        long scanNanos = System.nanoTime() - start;
+        PrewarmReport report = doPrewarm(entityClasses);
+        report.setScanMillis(TimeUnit.NANOSECONDS.toMillis(scanNanos));
+        report.setTotalMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return finish(report);
+    }
+
+    /**
+     * 预热给定的实体类
+     *
+     * @param entityClasses 实体类
+     * @return 预热报告
+     */
+    public PrewarmReport prewarm(List<Class<?>> entityClasses) {
+        long start = System.nanoTime();
+        PrewarmReport report = doPrewarm(entityClasses);
+        report.setTotalMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return finish(report);
+    }
+
+    private PrewarmReport doPrewarm(List<Class<?>> entityClasses) {
+        PrewarmReport report = new PrewarmReport();
+        report.setEntityCount(entityClasses.size());
+
+        // 1. 元数据、写入计划、行映射器
+        long start = System.nanoTime();
+        Map<String, List<EntityMetadata>> tables = new LinkedHashMap<>();
+        for (Class<?> entityClass : entityClasses) {
+            EntityMetadata metadata = EntityMetadata.of(entityClass);
+            InsertPlan.of(entityClass, InsertPlan.ColumnSet.ALL);
+            TdColumnRowMapper.getInstance(entityClass);
+            tables.computeIfAbsent(metadata.getTableName(), k -> new ArrayList<>()).add(metadata);
+        }
+        report.setTableCount(tables.size());
+        report.setMetadataMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        // 2. 并行 DESCRIBE / 建表 / 校验，加载 TAG 顺序
+        start = System.nanoTime();
+        DynamicNameStrategy<Object> namingStrategy = tdTemplate.getDefaultNamingStrategy();
+        DefaultTagNameStrategy tagNameStrategy = namingStrategy instanceof DefaultTagNameStrategy
+                ? (DefaultTagNameStrategy) namingStrategy : null;
+        List<Callable<List<TableResult>>> tasks = new ArrayList<>();
+        for (Map.Entry<String, List<EntityMetadata>> entry : tables.entrySet()) {
+            TableTask task = new TableTask(entry.getKey(), entry.getValue(), tagNameStrategy != null);
+            if (task.needsDescribe()) {
+                tasks.add(() -> Collections.singletonList(task.run()));
+            }
+        }
+        try (ParallelQueryExecutor executor = new ParallelQueryExecutor(Math.min(parallelism, Math.max(1, tasks.size())))) {
+            for (List<TableResult> results : executor.execute(tasks, -1)) {
+                for (TableResult result : results) {
+                    result.applyTo(report);
+                }
+            }
+        }
+
+        // 3. 子表名模板（TAG 顺序已在缓存中，不再查询数据库）
+        if (tagNameStrategy != null) {
+            for (List<EntityMetadata> metadataList : tables.values()) {
+                for (EntityMetadata metadata : metadataList) {
+                    if (metadata.getTagColumns().isEmpty()) {
+                        continue;
+                    }
+                    try {
+                        tagNameStrategy.getTemplate(metadata.getEntityClass());
+                    } catch (RuntimeException e) {
+                        report.addProblem(metadata.getEntityClass().getName() + ": " + e.getMessage());
+                    }
+                }
+            }
+        }
+        report.setSchemaMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return report;
+    }
+
+    private PrewarmReport finish(PrewarmReport report) {
+        lastReport = report;
+        for (String problem : report.getProblems()) {
+            log.warn("TdOrm prewarm problem: {}", problem);
+        }
+        log.info("TdOrm prewarm finished: {}", report);
+        if (report.hasProblems() && config.isFailOnError()) {
+            throw new TdOrmException(TdOrmExceptionCode.SCHEMA_VERIFY_FAILED.getCode(),
+                    TdOrmExceptionCode.SCHEMA_VERIFY_FAILED.getMsg() + " " + report.getProblems());
+        }
+        return report;
+    }
+
+    /**
+     * 单张表的 DESCRIBE、建表和校验，在工作线程中执行，结果汇总到报告时在调用线程完成
+     */
+    private final class TableTask {
+
+        private final String tableName;
+        private final List<EntityMetadata> metadataList;
+        private final boolean needsTagOrder;
+        private final boolean hasTags;
+
+        TableTask(String tableName, List<EntityMetadata> metadataList, boolean tagJoinNaming) {
+            this.tableName = tableName;
+            this.metadataList = metadataList;
+            boolean tags = false;
+            boolean tagOrder = false;
+            for (EntityMetadata metadata : metadataList) {
+                if (!metadata.getTagColumns().isEmpty()) {
+                    tags = true;
+                    tagOrder |= tagJoinNaming && !StringUtils.hasText(metadata.getSubTablePattern());
+                }
+            }
+            this.hasTags = tags;
+            this.needsTagOrder = tagOrder;
+        }
+
+        boolean needsDescribe() {
+            return config.getSchemaAction() != SchemaActionEnum.NONE || needsTagOrder;
+        }
+
+        TableResult run() {
+            TableResult result = new TableResult();
+            TagOrderCacheManager tagOrderCacheManager = tdTemplate.getTagOrderCacheManager();
+            if (config.getSchemaAction() == SchemaActionEnum.CREATE && hasTags) {
+                try {
+                    tdTemplate.createStableTableIfNotExist(metadataList.get(0).getEntityClass());
+                    result.ensured = true;
+                } catch (RuntimeException e) {
+                    result.problems.add(tableName + ": create failed, " + e.getMessage());
+                    return result;
+                }
+            }
+            List<Map<String, Object>> rows;
+            try {
+                rows = tagOrderCacheManager.describe(tableName);
+            } catch (RuntimeException e) {
+                result.problems.add(tableName + ": describe failed, " + e.getMessage());
+                if (hasTags) {
+                    // 与按需加载失败时一致，缓存空顺序，避免首次写入时再次查询
+                    tagOrderCacheManager.putTagOrder(tableName, Collections.emptyList());
+                }
+                return result;
+            }
+            result.described = true;
+            if (hasTags) {
+                tagOrderCacheManager.putTagOrder(tableName, TagOrderCacheManager.extractTagOrder(rows));
+            }
+            if (config.getSchemaAction() == SchemaActionEnum.VERIFY) {
+                result.verified = true;
+                for (EntityMetadata metadata : metadataList) {
+                    verify(metadata, rows, result.problems);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * 校验实体类的每个字段在表中都有对应列，且 TAG / 普通列身份一致（列名不区分大小写）
+         */
+        private void verify(EntityMetadata metadata, List<Map<String, Object>> rows, List<String> problems) {
+            Map<String, Boolean> tableColumns = new HashMap<>(rows.size() * 2);
+            for (Map<String, Object> row : rows) {
+                Object field = row.get("Field");
+                if (field != null) {
+                    tableColumns.put(field.toString().toLowerCase(Locale.ROOT), "TAG".equals(row.get("Note")));
+                }
+            }
+            String prefix = tableName + " (" + metadata.getEntityClass().getSimpleName() + "): ";
+            for (ColumnMetadata column : metadata.getColumns()) {
+                Boolean tag = tableColumns.get(column.getColumnName().toLowerCase(Locale.ROOT));
+                if (tag == null) {
+                    problems.add(prefix + "column [" + column.getColumnName() + "] not found");
+                } else if (tag != column.isTag()) {
+                    problems.add(prefix + "column [" + column.getColumnName() + "] is "
+                            + (tag ? "a TAG" : "not a TAG") + " in table but " + (column.isTag() ? "a TAG" : "not a TAG") + " in entity");
+                }
+            }
+        }
+    }
+
+    private static final class TableResult {
+
+        private boolean described;
+        private boolean ensured;
+        private boolean verified;
+        private final List<String> problems = new ArrayList<>();
+
+        void applyTo(PrewarmReport report) {
+            if (described) {
+                report.addDescribed();
+            }
+            if (ensured) {
+                report.addEnsured();
+            }
+            if (verified) {
+                report.addVerified();
+            }
+            problems.forEach(report::addProblem);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.zephyrcicd.tdengineorm.schemaless;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 内存中的无模式写入目标
+ * <p>
+ * 只记录收到的行，不连接数据库，用于本地调试和测试。
+ * </p>
+ *
+ * @author Zephyr
+ */
+public class InMemorySchemalessSink implements SchemalessSink {
+
+    private final List<String> lines = new ArrayList<>();
+    private int batches;
+
+    @Override
+    public synchronized int write(ByteBuffer payload, int lineCount, TimeUnit precision) {
+        byte[] bytes = new byte[payload.remaining()];
+        payload.get(bytes);
+        int written = 0;
+        for (String line : new String(bytes, StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isEmpty()) {
+                lines.add(line);
+                written++;
+            }
+        }
+        batches++;
+        return written;
+    }
+
+    /**
+     * 已收到的行（副本）
+     */
+    public synchronized List<String> getLines() {
+        return Collections.unmodifiableList(new ArrayList<>(lines));
+    }
+
+    /**
+     * 已收到的批次数
+     */
+    public synchronized int getBatches() {
+        return batches;
+    }
+
+    public synchronized void clear() {
+        lines.clear();
+        batches = 0;
+    }
+}
@@ -0,0 +1,211 @@
+package com.zephyrcicd.tdengineorm.schemaless;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 可复用的行协议字节缓冲区
+ * <p>
+ * 字符直接按 UTF-8 编码写入内部字节数组，不经过中间 String / byte[]，{@link #reset()} 后可重复使用。
+ * 非线程安全，通常每个写入线程持有一个实例。
+ * </p>
+ *
+ * @author Zephyr
+ */
+public final class LineProtocolBuffer {
+
+    private static final byte[] LONG_MIN_BYTES = Long.toString(Long.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private byte[] bytes;
+    private int size;
+    private int lines;
+
+    public LineProtocolBuffer() {
+        this(8192);
+    }
+
+    public LineProtocolBuffer(int initialCapacity) {
+        this.bytes = new byte[Math.max(64, initialCapacity)];
+    }
+
+    /**
+     * 已写入的字节数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 已写入的完整行数
+     */
+    public int lines() {
+        return lines;
+    }
+
+    public int capacity() {
+        return bytes.length;
+    }
+
+    /**
+     * 清空内容，保留已分配的空间
+     */
+    public void reset() {
+        size = 0;
+        lines = 0;
+    }
+
+    /**
+     * 清空内容，容量超过 maxCapacity 时释放为 maxCapacity，避免偶发的大批次长期占用内存
+     *
+     * @param maxCapacity 保留的最大容量
+     */
+    public void reset(int maxCapacity) {
+        reset();
+        if (bytes.length > maxCapacity) {
+            bytes = new byte[Math.max(64, maxCapacity)];
+        }
+    }
+
+    /**
+     * 回退到指定位置（用于丢弃编码失败的半行）
+     *
+     * @param position 之前记录的 {@link #size()}
+     */
+    void truncate(int position) {
+        size = position;
+    }
+
+    /**
+     * 只读视图，内容在下一次写入或 reset 之前有效
+     */
+    public ByteBuffer asReadOnlyByteBuffer() {
+        return ByteBuffer.wrap(bytes, 0, size).asReadOnlyBuffer();
+    }
+
+    /**
+     * 复制当前内容
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes, 0, size, StandardCharsets.UTF_8);
+    }
+
+    LineProtocolBuffer write(byte b) {
+        ensureCapacity(1);
+        bytes[size++] = b;
+        return this;
+    }
+
+    LineProtocolBuffer write(byte[] src) {
+        ensureCapacity(src.length);
+        System.arraycopy(src, 0, bytes, size, src.length);
+        size += src.length;
+        return this;
+    }
+
+    /**
+     * 结束当前行
+     */
+    void endLine() {
+        write((byte) '\n');
+        lines++;
+    }
+
+    LineProtocolBuffer writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            return write(LONG_MIN_BYTES);
+        }
+        ensureCapacity(20);
+        if (value < 0) {
+            bytes[size++] = '-';
+            value = -value;
+        }
+        int start = size;
+        do {
+            bytes[size++] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+        // 反转数字
+        for (int i = start, j = size - 1; i < j; i++, j--) {
+            byte tmp = bytes[i];
+            bytes[i] = bytes[j];
+            bytes[j] = tmp;
+        }
+        return this;
+    }
+
+    LineProtocolBuffer writeAscii(String value) {
+        int length = value.length();
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            bytes[size++] = (byte) value.charAt(i);
+        }
+        return this;
+    }
+
+    LineProtocolBuffer writeHex(byte[] value) {
+        ensureCapacity(value.length * 4);
+        for (byte b : value) {
+            bytes[size++] = '\\';
+            bytes[size++] = 'x';
+            bytes[size++] = HEX_DIGITS[(b >> 4) & 0x0F];
+            bytes[size++] = HEX_DIGITS[b & 0x0F];
+        }
+        return this;
+    }
+
+    /**
+     * 按 UTF-8 写入字符串，escapeChars 中的字符前加反斜杠
+     *
+     * @param value       字符串
+     * @param escapeChars 需要转义的 ASCII 字符
+     * @return 是否包含换行符（行协议无法表示换行）
+     */
+    boolean writeEscaped(CharSequence value, String escapeChars) {
+        int length = value.length();
+        // 最坏情况：每个字符 3 字节，或转义后 2 字节
+        ensureCapacity(length * 3);
+        boolean newline = false;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (c == '\n' || c == '\r') {
+                    newline = true;
+                }
+                if (escapeChars.indexOf(c) >= 0) {
+                    bytes[size++] = '\\';
+                }
+                bytes[size++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[size++] = (byte) (0xC0 | (c >> 6));
+                bytes[size++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                bytes[size++] = (byte) (0xF0 | (codePoint >> 18));
+                bytes[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                bytes[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                bytes[size++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                bytes[size++] = '?';
+            } else {
+                bytes[size++] = (byte) (0xE0 | (c >> 12));
+                bytes[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[size++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return newline;
+    }
+
+    private void ensureCapacity(int additional) {
+        int required = size + additional;
+        if (required > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(required, bytes.length << 1));
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.zephyrcicd.tdengineorm.schemaless;
+
+import com.zephyrcicd.tdengineorm.batch.InsertPlan;
+import com.zephyrcicd.tdengineorm.constant.TdColumnConstant;
+import com.zephyrcicd.tdengineorm.enums.TdFieldTypeEnum;
+import com.zephyrcicd.tdengineorm.exception.TdOrmException;
+import com.zephyrcicd.tdengineorm.exception.TdOrmExceptionCode;
+import com.zephyrcicd.tdengineorm.util.TdSqlUtil;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code @TdTable} 实体的 InfluxDB 行协议编码器
+ * <p>
+ * 编码格式：{@code 超级表名,tag1=v1,tag2=v2 col1=1i32,col2=L"abc",col3=1.5f64 时间戳}。
+ * TAG / 普通列的划分与 SQL 写入一致（{@link InsertPlan}），列值后缀按 {@link TdFieldTypeEnum} 生成。
+ * 每个实体类的键名转义结果、类型后缀和字段访问器只解析一次。
+ * </p>
+ * <p>
+ * 服务端自动建出的超级表与 {@code createStableTableIfNotExist} 建出的结构<b>不一致</b>：
+ * 行协议中 TAG 只能是字符串，所有 TAG 列都建为 NCHAR；ts 以外的 TIMESTAMP 字段以 {@code i64} 写入，建为 BIGINT；
+ * 字符串列的长度由服务端按实际数据决定。预先用 {@code createStableTableIfNotExist} 建表后再无模式写入时，
+ * 非 NCHAR 的 TAG 和 ts 以外的 TIMESTAMP 列会因类型不符被服务端拒绝；同一超级表应只使用一种写入方式建表。
+ * </p>
+ * <p>
+ * 行协议无法表示 NULL：值为 null 的 TAG 和列直接省略；ts 列为 null 或全部普通列为 null 时抛出异常。
+ * 不支持 JSON、BLOB 类型的字段。
+ * </p>
+ *
+ * @author Zephyr
+ * @see <a href="https://docs.taosdata.com/reference/develop/schemaless/">TDengine 无模式写入</a>
+ */
+public final class LineProtocolEncoder {
+
+    private static final String MEASUREMENT_ESCAPES = ", ";
+    private static final String KEY_ESCAPES = ",= ";
+    private static final String STRING_ESCAPES = "\"\\";
+
+    private static final Map<Class<?>, LinePlan> PLAN_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 时间戳精度
+     */
+    @Getter
+    private final TimeUnit precision;
+
+    /**
+     * 数值型 ts 的单位，与 {@code td-orm.ts-precision} 一致
+     */
+    @Getter
+    private final TimeUnit sourcePrecision;
+
+    public LineProtocolEncoder(TimeUnit precision) {
+        this(precision, TimeUnit.MILLISECONDS);
+    }
+
+    public LineProtocolEncoder(TimeUnit precision, TimeUnit sourcePrecision) {
+        this.precision = precision;
+        this.sourcePrecision = sourcePrecision;
+    }
+
+    /**
+     * 清除编码计划缓存（TypeHandler 注册发生变化后调用）
+     */
+    public static void clearCache() {
+        PLAN_CACHE.clear();
+    }
+
+    /**
+     * 将实体编码为一行并追加到缓冲区（以换行结尾）
+     * <p>
+     * 编码失败时缓冲区回退到调用前的状态。
+     * </p>
+     *
+     * @param entity 实体对象
+     * @param buffer 缓冲区
+     */
+    public void encode(Object entity, LineProtocolBuffer buffer) {
+        LinePlan plan = PLAN_CACHE.computeIfAbsent(entity.getClass(), LinePlan::new);
+        int mark = buffer.size();
+        try {
+            plan.encode(entity, buffer, precision, sourcePrecision);
+        } catch (RuntimeException e) {
+            buffer.truncate(mark);
+            throw e;
+        }
+    }
+
+    private static TdOrmException encodeFailed(Class<?> entityClass, String reason) {
+        return new TdOrmException(TdOrmExceptionCode.SCHEMALESS_ENCODE_FAILED.getCode(),
+                TdOrmExceptionCode.SCHEMALESS_ENCODE_FAILED.getMsg() + " [" + entityClass.getName() + "] " + reason);
+    }
+
+    private static void checkNoNewline(boolean newline, Class<?> entityClass, String columnName) {
+        if (newline) {
+            throw encodeFailed(entityClass, "value of [" + columnName + "] contains line break");
+        }
+    }
+
+    /**
+     * 实体类的编码计划
+     */
+    private static final class LinePlan {
+
+        private final Class<?> entityClass;
+        private final byte[] measurement;
+        private final InsertPlan tagPlan;
+        private final InsertPlan columnPlan;
+        /**
+         * 已转义的 ",tag=" 前缀
+         */
+        private final byte[][] tagKeys;
+        /**
+         * 已转义的 "col=" 前缀，ts 列对应位置为 null
+         */
+        private final byte[][] columnKeys;
+        private final TdFieldTypeEnum[] columnTypes;
+        private final int tsIndex;
+
+        LinePlan(Class<?> entityClass) {
+            this.entityClass = entityClass;
+            this.tagPlan = InsertPlan.of(entityClass, InsertPlan.ColumnSet.TAG);
+            this.columnPlan = InsertPlan.of(entityClass, InsertPlan.ColumnSet.NON_TAG);
+
+            LineProtocolBuffer scratch = new LineProtocolBuffer(256);
+            scratch.writeEscaped(tagPlan.getSuperTableName(), MEASUREMENT_ESCAPES);
+            this.measurement = scratch.toByteArray();
+
+            this.tagKeys = new byte[tagPlan.size()][];
+            for (int i = 0; i < tagKeys.length; i++) {
+                scratch.reset();
+                scratch.write((byte) ',').writeEscaped(tagPlan.getColumnName(i), KEY_ESCAPES);
+                tagKeys[i] = scratch.write((byte) '=').toByteArray();
+            }
+
+            int ts = -1;
+            this.columnKeys = new byte[columnPlan.size()][];
+            this.columnTypes = new TdFieldTypeEnum[columnPlan.size()];
+            for (int i = 0; i < columnKeys.length; i++) {
+                String columnName = columnPlan.getColumnName(i);
+                if (ts < 0 && TdColumnConstant.TS.equals(columnName)) {
+                    ts = i;
+                    continue;
+                }
+                TdFieldTypeEnum type = TdSqlUtil.getFieldType(columnPlan.getFields().get(i));
+                if (type == TdFieldTypeEnum.JSON || type == TdFieldTypeEnum.BLOB) {
+                    throw encodeFailed(entityClass, "unsupported type " + type + " of [" + columnName + "]");
+                }
+                columnTypes[i] = type;
+                scratch.reset();
+                scratch.writeEscaped(columnName, KEY_ESCAPES);
+                columnKeys[i] = scratch.write((byte) '=').toByteArray();
+            }
+            if (ts < 0) {
+                throw new TdOrmException(TdOrmExceptionCode.NO_TS_COLUMN_FOUND);
+            }
+            this.tsIndex = ts;
+        }
+
+        void encode(Object entity, LineProtocolBuffer buffer, TimeUnit precision, TimeUnit sourcePrecision) {
+            buffer.write(measurement);
+            for (int i = 0; i < tagKeys.length; i++) {
+                Object value = tagPlan.getValue(entity, i);
+                if (value == null) {
+                    continue;
+                }
+                buffer.write(tagKeys[i]);
+                // 无模式写入的 TAG 统一为 NCHAR
+                checkNoNewline(buffer.writeEscaped(String.valueOf(value), KEY_ESCAPES), entityClass, tagPlan.getColumnName(i));
+            }
+
+            byte separator = ' ';
+            for (int i = 0; i < columnKeys.length; i++) {
+                if (i == tsIndex) {
+                    continue;
+                }
+                Object value = columnPlan.getValue(entity, i);
+                if (value == null || isNaN(value)) {
+                    continue;
+                }
+                buffer.write(separator).write(columnKeys[i]);
+                writeColumnValue(buffer, columnTypes[i], value, precision, sourcePrecision, columnPlan.getColumnName(i));
+                separator = ',';
+            }
+            if (separator == ' ') {
+                throw encodeFailed(entityClass, "all columns are null");
+            }
+
+            Object ts = columnPlan.getValue(entity, tsIndex);
+            if (ts == null) {
+                throw encodeFailed(entityClass, "ts is null");
+            }
+            buffer.write((byte) ' ').writeLong(toEpoch(ts, precision, sourcePrecision));
+            buffer.endLine();
+        }
+
+        private void writeColumnValue(LineProtocolBuffer buffer, TdFieldTypeEnum type, Object value,
+                                      TimeUnit precision, TimeUnit sourcePrecision, String columnName) {
+            switch (type) {
+                case BOOL:
+                    boolean bool = value instanceof Boolean ? (Boolean) value : ((Number) value).intValue() != 0;
+                    buffer.write((byte) (bool ? 't' : 'f'));
+                    break;
+                case TINYINT:
+                    buffer.writeLong(((Number) value).longValue()).writeAscii("i8");
+                    break;
+                case SMALLINT:
+                    buffer.writeLong(((Number) value).longValue()).writeAscii("i16");
+                    break;
+                case INT:
+                    buffer.writeLong(((Number) value).longValue()).writeAscii("i32");
+                    break;
+                case BIGINT:
+                    buffer.writeLong(((Number) value).longValue()).writeAscii("i64");
+                    break;
+                case TINYINT_UNSIGNED:
+                    buffer.writeLong(((Number) value).longValue()).writeAscii("u8");
+                    break;
+                case SMALLINT_UNSIGNED:
+                    buffer.writeLong(((Number) value).longValue()).writeAscii("u16");
+                    break;
+                case INT_UNSIGNED:
+                    buffer.writeLong(((Number) value).longValue()).writeAscii("u32");
+                    break;
+                case BIGINT_UNSIGNED:
+                    buffer.writeAscii(value.toString()).writeAscii("u64");
+                    break;
+                case FLOAT:
+                    buffer.writeAscii(Float.toString(((Number) value).floatValue())).writeAscii("f32");
+                    break;
+                case DOUBLE:
+                    buffer.writeAscii(Double.toString(((Number) value).doubleValue())).writeAscii("f64");
+                    break;
+                case DECIMAL:
+                    String decimal = value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString();
+                    buffer.writeAscii(decimal).writeAscii("f64");
+                    break;
+                case TIMESTAMP:
+                    buffer.writeLong(toEpoch(value, precision, sourcePrecision)).writeAscii("i64");
+                    break;
+                case VARBINARY:
+                    buffer.writeAscii("b\"");
+                    if (value instanceof byte[]) {
+                        buffer.writeHex((byte[]) value);
+                    } else {
+                        checkNoNewline(buffer.writeEscaped(value.toString(), STRING_ESCAPES), entityClass, columnName);
+                    }
+                    buffer.write((byte) '"');
+                    break;
+                case GEOMETRY:
+                    writeQuoted(buffer, "g\"", value, columnName);
+                    break;
+                case NCHAR:
+                    writeQuoted(buffer, "L\"", value, columnName);
+                    break;
+                case VARCHAR:
+                case BINARY:
+                default:
+                    writeQuoted(buffer, "\"", value, columnName);
+            }
+        }
+
+        private void writeQuoted(LineProtocolBuffer buffer, String open, Object value, String columnName) {
+            String text = value instanceof byte[] ? new String((byte[]) value, StandardCharsets.UTF_8) : value.toString();
+            buffer.writeAscii(open);
+            checkNoNewline(buffer.writeEscaped(text, STRING_ESCAPES), entityClass, columnName);
+            buffer.write((byte) '"');
+        }
+
+        private long toEpoch(Object value, TimeUnit precision, TimeUnit sourcePrecision) {
+            if (value instanceof Timestamp) {
+                Timestamp timestamp = (Timestamp) value;
+                long seconds = Math.floorDiv(timestamp.getTime(), 1000L);
+                return precision.convert(seconds, TimeUnit.SECONDS) + precision.convert(timestamp.getNanos(), TimeUnit.NANOSECONDS);
+            }
+            if (value instanceof Date) {
+                return precision.convert(((Date) value).getTime(), TimeUnit.MILLISECONDS);
+            }
+            if (value instanceof Number) {
+                // 与 SQL 写入一致，数值型 ts 按 td-orm.ts-precision 的单位解释
+                return precision.convert(((Number) value).longValue(), sourcePrecision);
+            }
+            Instant instant = null;
+            if (value instanceof Instant) {
+                instant = (Instant) value;
+            } else if (value instanceof LocalDateTime) {
+                instant = ((LocalDateTime) value).atZone(ZoneId.systemDefault()).toInstant();
+            } else if (value instanceof ZonedDateTime) {
+                instant = ((ZonedDateTime) value).toInstant();
+            }
+            if (instant == null) {
+                throw encodeFailed(entityClass, "unsupported timestamp value type " + value.getClass().getName());
+            }
+            return precision.convert(instant.getEpochSecond(), TimeUnit.SECONDS)
+                    + precision.convert(instant.getNano(), TimeUnit.NANOSECONDS);
+        }
+
+        private static boolean isNaN(Object value) {
+            return value instanceof Double && !Double.isFinite((Double) value)
+                    || value instanceof Float && !Float.isFinite((Float) value);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.zephyrcicd.tdengineorm.schemaless;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 无模式写入目标
+ * <p>
+ * 接收由 {@link LineProtocolEncoder} 编码的行协议数据并写入 TDengine，
+ * 例如通过 taos-jdbcdriver 连接的 {@code write(...)} 接口或 taosAdapter 的 InfluxDB 兼容 HTTP 接口。
+ * 实现需要线程安全。
+ * </p>
+ *
+ * @author Zephyr
+ */
+public interface SchemalessSink {
+
+    /**
+     * 写入一批行协议数据
+     *
+     * @param payload   以换行分隔的 UTF-8 行数据（只读）；缓冲区会被复用，仅在本次调用期间有效
+     * @param lineCount 行数
+     * @param precision 时间戳精度
+     * @return 写入的行数
+     */
+    int write(ByteBuffer payload, int lineCount, TimeUnit precision);
+}
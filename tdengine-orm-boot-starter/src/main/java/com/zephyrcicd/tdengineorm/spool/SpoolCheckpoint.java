@@ -0,0 +1,86 @@
+package com.zephyrcicd.tdengineorm.spool;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * 回放进度检查点：已回放到的段序号和段内位置
+ * <p>
+ * 先写临时文件并刷盘，再原子替换正式文件，任何时刻崩溃都只会留下旧的或新的完整检查点；
+ * 文件内容带 CRC 校验，损坏时视为不存在（从最早的段重新回放）。
+ * </p>
+ *
+ * @author Zephyr
+ */
+@Getter
+final class SpoolCheckpoint {
+
+    static final String FILE_NAME = "checkpoint";
+
+    private static final int BYTES = 16;
+
+    private final long sequence;
+    private final int position;
+
+    SpoolCheckpoint(long sequence, int position) {
+        this.sequence = sequence;
+        this.position = position;
+    }
+
+    /**
+     * 读取检查点
+     *
+     * @return 检查点，不存在或已损坏时返回 null
+     */
+    static SpoolCheckpoint read(Path directory) throws IOException {
+        Path path = directory.resolve(FILE_NAME);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        byte[] bytes = Files.readAllBytes(path);
+        if (bytes.length != BYTES) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long sequence = buffer.getLong();
+        int position = buffer.getInt();
+        int expected = buffer.getInt();
+        return checksum(sequence, position) == expected ? new SpoolCheckpoint(sequence, position) : null;
+    }
+
+    void write(Path directory) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BYTES);
+        buffer.putLong(sequence).putInt(position).putInt(checksum(sequence, position));
+        ((Buffer) buffer).flip();
+        Path tmp = directory.resolve(FILE_NAME + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Path target = directory.resolve(FILE_NAME);
+        try {
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static int checksum(long sequence, int position) {
+        CRC32 crc = new CRC32();
+        crc.update(ByteBuffer.allocate(12).putLong(sequence).putInt(position).array());
+        return (int) crc.getValue();
+    }
+}
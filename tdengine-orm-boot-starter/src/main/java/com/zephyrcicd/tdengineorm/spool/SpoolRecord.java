@@ -0,0 +1,216 @@
+package com.zephyrcicd.tdengineorm.spool;
+
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.Buffer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Date;
+
+/**
+ * 写入缓冲中的一行数据
+ * <p>
+ * 保存子表名、实体类名以及已经过 TypeHandler 转换的 TAG 值和普通列值，回放时不再需要实体对象。
+ * 编码格式：{@code appendMillis(long) | tableName | className | tagCount(short) | tags | columnCount(short) | columns}，
+ * 字符串为 {@code 长度(int) + UTF-8}，每个值以 1 字节类型标识开头。
+ * 无法识别的值类型按 {@code toString()} 保存为字符串。
+ * </p>
+ *
+ * @author Zephyr
+ */
+@Getter
+final class SpoolRecord {
+
+    private static final byte NULL = 0;
+    private static final byte BOOL = 1;
+    private static final byte BYTE = 2;
+    private static final byte SHORT = 3;
+    private static final byte INT = 4;
+    private static final byte LONG = 5;
+    private static final byte FLOAT = 6;
+    private static final byte DOUBLE = 7;
+    private static final byte STRING = 8;
+    private static final byte BYTES = 9;
+    private static final byte TIMESTAMP = 10;
+    private static final byte DATE = 11;
+    private static final byte BIG_DECIMAL = 12;
+    private static final byte BIG_INTEGER = 13;
+    private static final byte INSTANT = 14;
+    private static final byte LOCAL_DATE_TIME = 15;
+
+    private final long appendMillis;
+    private final String tableName;
+    private final String className;
+    /**
+     * TAG 值，未使用 TAG 时为 null
+     */
+    private final Object[] tagValues;
+    private final Object[] columnValues;
+
+    SpoolRecord(long appendMillis, String tableName, String className, Object[] tagValues, Object[] columnValues) {
+        this.appendMillis = appendMillis;
+        this.tableName = tableName;
+        this.className = className;
+        this.tagValues = tagValues;
+        this.columnValues = columnValues;
+    }
+
+    /**
+     * 编码到缓冲区，空间不足时扩容后重试
+     *
+     * @param buffer 可复用的缓冲区
+     * @return 写入了本记录的缓冲区（可能是扩容后的新实例），已 flip
+     */
+    ByteBuffer encode(ByteBuffer buffer) {
+        while (true) {
+            ((Buffer) buffer).clear();
+            try {
+                buffer.putLong(appendMillis);
+                putString(buffer, tableName);
+                putString(buffer, className);
+                putValues(buffer, tagValues);
+                putValues(buffer, columnValues);
+                ((Buffer) buffer).flip();
+                return buffer;
+            } catch (BufferOverflowException e) {
+                buffer = ByteBuffer.allocate(buffer.capacity() * 2);
+            }
+        }
+    }
+
+    static SpoolRecord decode(ByteBuffer buffer) {
+        long appendMillis = buffer.getLong();
+        String tableName = getString(buffer);
+        String className = getString(buffer);
+        Object[] tagValues = getValues(buffer);
+        Object[] columnValues = getValues(buffer);
+        return new SpoolRecord(appendMillis, tableName, className, tagValues, columnValues);
+    }
+
+    private static void putValues(ByteBuffer buffer, Object[] values) {
+        if (values == null) {
+            buffer.putShort((short) -1);
+            return;
+        }
+        buffer.putShort((short) values.length);
+        for (Object value : values) {
+            putValue(buffer, value);
+        }
+    }
+
+    private static Object[] getValues(ByteBuffer buffer) {
+        short count = buffer.getShort();
+        if (count < 0) {
+            return null;
+        }
+        Object[] values = new Object[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = getValue(buffer);
+        }
+        return values;
+    }
+
+    private static void putValue(ByteBuffer buffer, Object value) {
+        if (value == null) {
+            buffer.put(NULL);
+        } else if (value instanceof Boolean) {
+            buffer.put(BOOL).put((byte) ((Boolean) value ? 1 : 0));
+        } else if (value instanceof Byte) {
+            buffer.put(BYTE).put((Byte) value);
+        } else if (value instanceof Short) {
+            buffer.put(SHORT).putShort((Short) value);
+        } else if (value instanceof Integer) {
+            buffer.put(INT).putInt((Integer) value);
+        } else if (value instanceof Long) {
+            buffer.put(LONG).putLong((Long) value);
+        } else if (value instanceof Float) {
+            buffer.put(FLOAT).putFloat((Float) value);
+        } else if (value instanceof Double) {
+            buffer.put(DOUBLE).putDouble((Double) value);
+        } else if (value instanceof byte[]) {
+            byte[] bytes = (byte[]) value;
+            buffer.put(BYTES).putInt(bytes.length).put(bytes);
+        } else if (value instanceof Timestamp) {
+            Timestamp timestamp = (Timestamp) value;
+            buffer.put(TIMESTAMP).putLong(timestamp.getTime()).putInt(timestamp.getNanos());
+        } else if (value instanceof Date) {
+            buffer.put(DATE).putLong(((Date) value).getTime());
+        } else if (value instanceof BigDecimal) {
+            buffer.put(BIG_DECIMAL);
+            putString(buffer, value.toString());
+        } else if (value instanceof BigInteger) {
+            buffer.put(BIG_INTEGER);
+            putString(buffer, value.toString());
+        } else if (value instanceof Instant) {
+            Instant instant = (Instant) value;
+            buffer.put(INSTANT).putLong(instant.getEpochSecond()).putInt(instant.getNano());
+        } else if (value instanceof LocalDateTime) {
+            buffer.put(LOCAL_DATE_TIME);
+            putString(buffer, value.toString());
+        } else {
+            buffer.put(STRING);
+            putString(buffer, value.toString());
+        }
+    }
+
+    private static Object getValue(ByteBuffer buffer) {
+        byte type = buffer.get();
+        switch (type) {
+            case NULL:
+                return null;
+            case BOOL:
+                return buffer.get() != 0;
+            case BYTE:
+                return buffer.get();
+            case SHORT:
+                return buffer.getShort();
+            case INT:
+                return buffer.getInt();
+            case LONG:
+                return buffer.getLong();
+            case FLOAT:
+                return buffer.getFloat();
+            case DOUBLE:
+                return buffer.getDouble();
+            case STRING:
+                return getString(buffer);
+            case BYTES:
+                byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                return bytes;
+            case TIMESTAMP:
+                Timestamp timestamp = new Timestamp(buffer.getLong());
+                timestamp.setNanos(buffer.getInt());
+                return timestamp;
+            case DATE:
+                return new Date(buffer.getLong());
+            case BIG_DECIMAL:
+                return new BigDecimal(getString(buffer));
+            case BIG_INTEGER:
+                return new BigInteger(getString(buffer));
+            case INSTANT:
+                return Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+            case LOCAL_DATE_TIME:
+                return LocalDateTime.parse(getString(buffer));
+            default:
+                throw new IllegalStateException("Unknown spool value type: " + type);
+        }
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,189 @@
+package com.zephyrcicd.tdengineorm.spool;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * 写入缓冲的一个段文件
+ * <p>
+ * 段文件创建时预分配固定大小并整体映射到内存，记录只追加：{@code 长度(int) | CRC32(int) | 数据}。
+ * 预分配区域初始为 0，因此长度为 0 表示数据结束；长度越界或 CRC 不匹配的记录视为崩溃时未写完整，
+ * 恢复时截断到最后一条完整记录。
+ * </p>
+ * <p>
+ * 追加由写入方在锁内完成，写入完成后才推进 {@code writePosition}（volatile），
+ * 回放线程只读取 {@code writePosition} 之前的内容，无需加锁。
+ * </p>
+ *
+ * @author Zephyr
+ */
+final class SpoolSegment {
+
+    static final int HEADER_BYTES = 8;
+    static final String FILE_PREFIX = "spool-";
+    static final String FILE_SUFFIX = ".seg";
+
+    @Getter
+    private final long sequence;
+
+    @Getter
+    private final Path path;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer mapped;
+    private final ByteBuffer writeView;
+    private final CRC32 crc = new CRC32();
+
+    @Getter
+    private volatile int writePosition;
+
+    /**
+     * 已封存：不再追加，{@link #writePosition} 不再变化
+     */
+    @Getter
+    private volatile boolean sealed;
+
+    private SpoolSegment(long sequence, Path path, FileChannel channel, MappedByteBuffer mapped, int writePosition) {
+        this.sequence = sequence;
+        this.path = path;
+        this.channel = channel;
+        this.mapped = mapped;
+        this.writeView = mapped.duplicate();
+        this.writePosition = writePosition;
+    }
+
+    /**
+     * 创建新的段文件
+     */
+    static SpoolSegment create(Path directory, long sequence, int size) throws IOException {
+        Path path = directory.resolve(fileName(sequence));
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(size);
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        return new SpoolSegment(sequence, path, channel, mapped, 0);
+    }
+
+    /**
+     * 打开已有段文件，扫描出最后一条完整记录的位置，打开后即为封存状态
+     */
+    static SpoolSegment recover(Path path, long sequence) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        SpoolSegment segment = new SpoolSegment(sequence, path, channel, mapped, 0);
+        segment.writePosition = segment.scanValidEnd();
+        segment.sealed = true;
+        return segment;
+    }
+
+    static String fileName(long sequence) {
+        return String.format("%s%020d%s", FILE_PREFIX, sequence, FILE_SUFFIX);
+    }
+
+    static long parseSequence(String fileName) {
+        return Long.parseLong(fileName.substring(FILE_PREFIX.length(), fileName.length() - FILE_SUFFIX.length()));
+    }
+
+    int capacity() {
+        return mapped.capacity();
+    }
+
+    /**
+     * 追加一条记录，调用方需保证串行调用
+     *
+     * @param payload 记录数据（position 到 limit）
+     * @return false 段剩余空间不足
+     */
+    boolean append(ByteBuffer payload) {
+        int length = payload.remaining();
+        int position = writePosition;
+        if (position + HEADER_BYTES + length > mapped.capacity()) {
+            return false;
+        }
+        crc.reset();
+        crc.update(payload.array(), payload.arrayOffset() + payload.position(), length);
+        // 先写数据和 CRC，最后写长度：进程在中途崩溃时长度仍为 0，记录自然不可见
+        ((Buffer) writeView).position(position + HEADER_BYTES);
+        writeView.put(payload);
+        writeView.putInt(position + 4, (int) crc.getValue());
+        writeView.putInt(position, length);
+        writePosition = position + HEADER_BYTES + length;
+        return true;
+    }
+
+    void seal() {
+        sealed = true;
+    }
+
+    /**
+     * 读取 position 处的记录
+     *
+     * @param position 记录起始位置，需小于 {@link #getWritePosition()}
+     * @return 记录数据视图
+     */
+    ByteBuffer read(int position) {
+        ByteBuffer view = mapped.duplicate();
+        int length = view.getInt(position);
+        ((Buffer) view).position(position + HEADER_BYTES).limit(position + HEADER_BYTES + length);
+        return view.slice();
+    }
+
+    void force() {
+        mapped.force();
+    }
+
+    void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // 关闭失败不影响已写入的数据
+        }
+    }
+
+    /**
+     * 关闭并删除段文件
+     *
+     * @return 是否删除成功
+     */
+    boolean delete() {
+        close();
+        try {
+            return Files.deleteIfExists(path);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private int scanValidEnd() {
+        ByteBuffer view = mapped.duplicate();
+        CRC32 checksum = new CRC32();
+        int position = 0;
+        while (position + HEADER_BYTES <= view.capacity()) {
+            int length = view.getInt(position);
+            if (length <= 0 || position + HEADER_BYTES + length > view.capacity()) {
+                break;
+            }
+            int expected = view.getInt(position + 4);
+            ByteBuffer data = view.duplicate();
+            ((Buffer) data).position(position + HEADER_BYTES).limit(position + HEADER_BYTES + length);
+            checksum.reset();
+            checksum.update(data);
+            if ((int) checksum.getValue() != expected) {
+                break;
+            }
+            position += HEADER_BYTES + length;
+        }
+        return position;
+    }
+}
@@ -0,0 +1,560 @@
+package com.zephyrcicd.tdengineorm.spool;
+
+import com.zephyrcicd.tdengineorm.batch.InsertPlan;
+import com.zephyrcicd.tdengineorm.config.TdOrmConfig;
+import com.zephyrcicd.tdengineorm.exception.TdOrmException;
+import com.zephyrcicd.tdengineorm.exception.TdOrmExceptionCode;
+import com.zephyrcicd.tdengineorm.strategy.DynamicNameStrategy;
+import com.zephyrcicd.tdengineorm.template.TdTemplate;
+import com.zephyrcicd.tdengineorm.util.AssertUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 基于磁盘的写入缓冲
+ * <p>
+ * 写入方只把行数据追加到本地内存映射的段文件（{@code segmentBytes} 大小，顺序编号），不访问数据库，
+ * 因此写入延迟与 TDengine 的可用性和响应速度无关。后台回放线程从检查点位置顺序读取，
+ * 按子表合并后通过 {@link TdTemplate#insertValues(Class, String, Object[], List, int)} 写入，
+ * 成功后推进检查点并删除已回放完的段文件。数据库不可用时回放线程按指数退避重试，数据保留在磁盘上。
+ * </p>
+ * <p>
+ * 可靠性：
+ * <ul>
+ *   <li>进程崩溃不丢失已追加的数据（映射页由操作系统写回），机器掉电最多丢失 {@code forceIntervalMs} 内的数据</li>
+ *   <li>检查点先写临时文件再原子替换；重启后从检查点继续回放，写到一半的记录通过 CRC 识别并丢弃</li>
+ *   <li>回放为至少一次语义：检查点之后、崩溃之前已写入的数据会再次写入，TDengine 对相同时间戳的行覆盖写入，结果不变</li>
+ * </ul>
+ * </p>
+ * <p>
+ * 磁盘占用不超过 {@code maxDiskBytes}，空间耗尽时 {@link #write(Object)} 立即返回 false，不阻塞写入方。
+ * </p>
+ *
+ * @author Zephyr
+ */
+@Slf4j
+public class TdWriteSpool implements AutoCloseable {
+
+    private static final ThreadLocal<ByteBuffer> ENCODE_BUFFER = ThreadLocal.withInitial(() -> ByteBuffer.allocate(4096));
+
+    private final TdTemplate tdTemplate;
+    private final TdOrmConfig.Spool config;
+    private final Path directory;
+    private final int maxSegments;
+
+    /**
+     * 保护段列表和当前写入段
+     */
+    private final Object writeLock = new Object();
+    private final TreeMap<Long, SpoolSegment> segments = new TreeMap<>();
+    private SpoolSegment activeSegment;
+
+    /**
+     * 回放位置，仅回放线程访问
+     */
+    private SpoolSegment readSegment;
+    private int readPosition;
+
+    private final Object sleepMonitor = new Object();
+    private final Thread replayer;
+    private volatile boolean running = true;
+
+    private final Map<String, Class<?>> classCache = new ConcurrentHashMap<>();
+
+    private final LongAdder appendedRows = new LongAdder();
+    private final LongAdder rejectedRows = new LongAdder();
+    private final LongAdder replayedRows = new LongAdder();
+    private final LongAdder droppedRows = new LongAdder();
+    private final LongAdder replayFailures = new LongAdder();
+    private final AtomicLong pendingRows = new AtomicLong();
+    private final AtomicLong pendingBytes = new AtomicLong();
+    private volatile long replayLagMillis;
+
+    public TdWriteSpool(TdTemplate tdTemplate, TdOrmConfig.Spool config) {
+        AssertUtil.isTrue(config.getReplayBatchRows() > 0, new TdOrmException(TdOrmExceptionCode.PARTITION_SIZE_IS_ZERO));
+        this.tdTemplate = tdTemplate;
+        this.config = config;
+        this.directory = Paths.get(config.getDirectory()).toAbsolutePath();
+        this.maxSegments = (int) Math.max(2, Math.min(Integer.MAX_VALUE, config.getMaxDiskBytes() / config.getSegmentBytes()));
+        try {
+            recover();
+        } catch (IOException e) {
+            throw new TdOrmException(TdOrmExceptionCode.SPOOL_IO_ERROR, e);
+        }
+        this.replayer = new Thread(this::replayLoop, "td-spool-replayer");
+        replayer.setDaemon(true);
+        replayer.start();
+    }
+
+    /**
+     * 使用 TdTemplate 默认命名策略写入缓冲
+     *
+     * @param entity 实体对象
+     * @param <T>    实体类型
+     * @return true 已写入缓冲，false 缓冲磁盘空间已满
+     */
+    public <T> boolean write(T entity) {
+        return write(entity, tdTemplate.getDefaultNamingStrategy());
+    }
+
+    /**
+     * 使用指定命名策略写入缓冲
+     *
+     * @param entity              实体对象
+     * @param dynamicNameStrategy 子表命名策略
+     * @param <T>                 实体类型
+     * @return true 已写入缓冲，false 缓冲磁盘空间已满
+     */
+    public <T> boolean write(T entity, DynamicNameStrategy<T> dynamicNameStrategy) {
+        if (!running) {
+            throw new TdOrmException(TdOrmExceptionCode.SPOOL_CLOSED);
+        }
+        if (entity == null) {
+            return true;
+        }
+        String tableName = dynamicNameStrategy.getTableName(entity);
+        AssertUtil.notBlank(tableName, () -> new TdOrmException(TdOrmExceptionCode.TABLE_NAME_BLANK));
+        tdTemplate.getInsertFiller().fill(entity, tableName);
+
+        Class<?> entityClass = entity.getClass();
+        InsertPlan tagPlan = InsertPlan.of(entityClass, InsertPlan.ColumnSet.TAG);
+        Object[] tagValues = config.isUseUsing() && !tagPlan.isEmpty() ? tagPlan.getValues(entity) : null;
+        Object[] columnValues = InsertPlan.of(entityClass, InsertPlan.ColumnSet.NON_TAG).getValues(entity);
+        SpoolRecord record = new SpoolRecord(System.currentTimeMillis(), tableName, entityClass.getName(), tagValues, columnValues);
+
+        // 编码在锁外完成，锁内只做内存拷贝
+        ByteBuffer payload = record.encode(ENCODE_BUFFER.get());
+        ENCODE_BUFFER.set(payload);
+        int recordBytes = SpoolSegment.HEADER_BYTES + payload.remaining();
+        if (recordBytes > config.getSegmentBytes()) {
+            log.error("Spool record for table [{}] is {} bytes, larger than segment size {}", tableName, recordBytes,
+                    config.getSegmentBytes());
+            rejectedRows.increment();
+            return false;
+        }
+
+        synchronized (writeLock) {
+            if (!activeSegment.append(payload)) {
+                if (!roll()) {
+                    rejectedRows.increment();
+                    return false;
+                }
+                activeSegment.append(payload);
+            }
+            pendingRows.incrementAndGet();
+            pendingBytes.addAndGet(recordBytes);
+        }
+        appendedRows.increment();
+        return true;
+    }
+
+    /**
+     * 批量写入缓冲
+     *
+     * @param entities 实体集合
+     * @param <T>      实体类型
+     * @return 成功写入缓冲的行数
+     */
+    public <T> int writeAll(Collection<T> entities) {
+        int accepted = 0;
+        for (T entity : entities) {
+            if (write(entity)) {
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * 写入缓冲的总行数
+     */
+    public long getAppendedRows() {
+        return appendedRows.sum();
+    }
+
+    /**
+     * 因磁盘空间不足被拒绝的行数
+     */
+    public long getRejectedRows() {
+        return rejectedRows.sum();
+    }
+
+    /**
+     * 已回放写入数据库的行数
+     */
+    public long getReplayedRows() {
+        return replayedRows.sum();
+    }
+
+    /**
+     * 无法回放而被丢弃的行数（实体类不存在、数据损坏、超过最大重试次数）
+     */
+    public long getDroppedRows() {
+        return droppedRows.sum();
+    }
+
+    /**
+     * 回放失败次数
+     */
+    public long getReplayFailures() {
+        return replayFailures.sum();
+    }
+
+    /**
+     * 等待回放的行数
+     */
+    public long getPendingRows() {
+        return pendingRows.get();
+    }
+
+    /**
+     * 等待回放的数据字节数
+     */
+    public long getPendingBytes() {
+        return pendingBytes.get();
+    }
+
+    /**
+     * 最早一条待回放数据已等待的时间（毫秒），无积压时为 0
+     */
+    public long getReplayLagMillis() {
+        return replayLagMillis;
+    }
+
+    public int getSegmentCount() {
+        synchronized (writeLock) {
+            return segments.size();
+        }
+    }
+
+    /**
+     * 段文件占用的磁盘空间（预分配大小）
+     */
+    public long getDiskBytes() {
+        synchronized (writeLock) {
+            long bytes = 0;
+            for (SpoolSegment segment : segments.values()) {
+                bytes += segment.capacity();
+            }
+            return bytes;
+        }
+    }
+
+    /**
+     * 停止接收新数据和回放，刷盘后关闭；未回放的数据保留在磁盘上，下次启动继续回放
+     */
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        synchronized (sleepMonitor) {
+            sleepMonitor.notifyAll();
+        }
+        try {
+            replayer.join(Math.max(1, config.getShutdownTimeoutMs()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (replayer.isAlive()) {
+            log.warn("TdWriteSpool replayer did not stop within {}ms", config.getShutdownTimeoutMs());
+        }
+        synchronized (writeLock) {
+            for (SpoolSegment segment : segments.values()) {
+                segment.force();
+                segment.close();
+            }
+        }
+        log.info("TdWriteSpool closed, pending rows: {}", pendingRows.get());
+    }
+
+    private void recover() throws IOException {
+        Files.createDirectories(directory);
+        SpoolCheckpoint checkpoint = SpoolCheckpoint.read(directory);
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = stream.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(SpoolSegment.FILE_PREFIX) && name.endsWith(SpoolSegment.FILE_SUFFIX);
+            }).collect(Collectors.toList());
+        }
+
+        for (Path path : files) {
+            long sequence = SpoolSegment.parseSequence(path.getFileName().toString());
+            if (checkpoint != null && sequence < checkpoint.getSequence()) {
+                Files.deleteIfExists(path);
+                continue;
+            }
+            segments.put(sequence, SpoolSegment.recover(path, sequence));
+        }
+
+        long nextSequence = 0;
+        if (!segments.isEmpty()) {
+            readSegment = segments.firstEntry().getValue();
+            if (checkpoint != null && readSegment.getSequence() == checkpoint.getSequence()) {
+                readPosition = Math.min(checkpoint.getPosition(), readSegment.getWritePosition());
+            }
+            countPending();
+            nextSequence = segments.lastKey() + 1;
+        }
+        activeSegment = SpoolSegment.create(directory, nextSequence, config.getSegmentBytes());
+        segments.put(nextSequence, activeSegment);
+        if (readSegment == null) {
+            readSegment = activeSegment;
+        }
+        if (pendingRows.get() > 0) {
+            log.info("TdWriteSpool recovered {} pending rows ({} bytes) from {}", pendingRows.get(), pendingBytes.get(), directory);
+        }
+    }
+
+    private void countPending() {
+        for (SpoolSegment segment : segments.tailMap(readSegment.getSequence()).values()) {
+            int position = segment == readSegment ? readPosition : 0;
+            while (position < segment.getWritePosition()) {
+                int recordBytes = SpoolSegment.HEADER_BYTES + segment.read(position).remaining();
+                pendingRows.incrementAndGet();
+                pendingBytes.addAndGet(recordBytes);
+                position += recordBytes;
+            }
+        }
+    }
+
+    /**
+     * 封存当前段并创建下一个段，调用方持有 writeLock
+     *
+     * @return false 已达到磁盘上限
+     */
+    private boolean roll() {
+        if (segments.size() >= maxSegments) {
+            return false;
+        }
+        long nextSequence = activeSegment.getSequence() + 1;
+        try {
+            SpoolSegment next = SpoolSegment.create(directory, nextSequence, config.getSegmentBytes());
+            activeSegment.seal();
+            segments.put(nextSequence, next);
+            activeSegment = next;
+            return true;
+        } catch (IOException e) {
+            throw new TdOrmException(TdOrmExceptionCode.SPOOL_IO_ERROR, e);
+        }
+    }
+
+    private SpoolSegment nextSegment(SpoolSegment segment) {
+        synchronized (writeLock) {
+            Entry<Long, SpoolSegment> next = segments.higherEntry(segment.getSequence());
+            return next == null ? null : next.getValue();
+        }
+    }
+
+    private void replayLoop() {
+        long backoff = config.getRetryBackoffMs();
+        int attempts = 0;
+        long lastForce = System.currentTimeMillis();
+        while (running) {
+            long now = System.currentTimeMillis();
+            if (now - lastForce >= config.getForceIntervalMs()) {
+                forceActiveSegment();
+                lastForce = now;
+            }
+
+            ReplayBatch batch = readBatch(config.getReplayBatchRows());
+            replayLagMillis = batch.records.isEmpty() ? 0 : now - batch.records.get(0).getAppendMillis();
+            if (batch.records.isEmpty()) {
+                if (batch.endSegment != readSegment || batch.endPosition != readPosition) {
+                    commit(batch);
+                }
+                sleep(config.getIdleIntervalMs());
+                continue;
+            }
+
+            try {
+                int replayed = replay(batch);
+                commit(batch);
+                replayedRows.add(replayed);
+                attempts = 0;
+                backoff = config.getRetryBackoffMs();
+            } catch (Exception e) {
+                replayFailures.increment();
+                attempts++;
+                if (config.getMaxRetries() > 0 && attempts > config.getMaxRetries()) {
+                    log.error("TdWriteSpool drop {} rows after {} failed attempts, error: {}",
+                            batch.records.size(), attempts, e.getMessage());
+                    droppedRows.add(batch.records.size());
+                    commit(batch);
+                    attempts = 0;
+                    backoff = config.getRetryBackoffMs();
+                } else {
+                    log.warn("TdWriteSpool replay failed (attempt {}), retry in {}ms, error: {}", attempts, backoff, e.getMessage());
+                    sleep(backoff);
+                    backoff = Math.min(backoff * 2, Math.max(config.getRetryBackoffMs(), config.getMaxRetryBackoffMs()));
+                }
+            }
+        }
+    }
+
+    private ReplayBatch readBatch(int maxRows) {
+        ReplayBatch batch = new ReplayBatch();
+        SpoolSegment segment = readSegment;
+        int position = readPosition;
+        while (batch.records.size() < maxRows) {
+            boolean sealed = segment.isSealed();
+            if (position < segment.getWritePosition()) {
+                ByteBuffer data = segment.read(position);
+                int recordBytes = SpoolSegment.HEADER_BYTES + data.remaining();
+                position += recordBytes;
+                batch.bytes += recordBytes;
+                try {
+                    batch.records.add(SpoolRecord.decode(data));
+                } catch (RuntimeException e) {
+                    log.error("TdWriteSpool skip corrupted record in segment {} at {}", segment.getSequence(), position - recordBytes);
+                    batch.skipped++;
+                }
+                continue;
+            }
+            if (!sealed) {
+                break;
+            }
+            SpoolSegment next = nextSegment(segment);
+            if (next == null) {
+                break;
+            }
+            segment = next;
+            position = 0;
+        }
+        batch.endSegment = segment;
+        batch.endPosition = position;
+        return batch;
+    }
+
+    /**
+     * @return 写入数据库的行数
+     */
+    private int replay(ReplayBatch batch) {
+        Map<String, ReplayGroup> groups = new LinkedHashMap<>();
+        int replayed = 0;
+        for (SpoolRecord record : batch.records) {
+            String key = record.getClassName() + '#' + record.getTableName() + '#' + (record.getTagValues() != null);
+            groups.computeIfAbsent(key, k -> new ReplayGroup(record)).rows.add(record.getColumnValues());
+        }
+        for (ReplayGroup group : groups.values()) {
+            Class<?> entityClass = resolveClass(group.className);
+            if (entityClass == null) {
+                log.error("TdWriteSpool drop {} rows for table [{}], class not found: {}", group.rows.size(),
+                        group.tableName, group.className);
+                droppedRows.add(group.rows.size());
+                continue;
+            }
+            tdTemplate.insertValues(entityClass, group.tableName, group.tagValues, group.rows, config.getReplayBatchRows());
+            replayed += group.rows.size();
+        }
+        return replayed;
+    }
+
+    private void commit(ReplayBatch batch) {
+        readSegment = batch.endSegment;
+        readPosition = batch.endPosition;
+        pendingRows.addAndGet(-(batch.records.size() + batch.skipped));
+        pendingBytes.addAndGet(-batch.bytes);
+        droppedRows.add(batch.skipped);
+        try {
+            new SpoolCheckpoint(readSegment.getSequence(), readPosition).write(directory);
+        } catch (IOException e) {
+            log.warn("TdWriteSpool failed to write checkpoint: {}", e.getMessage());
+        }
+        releaseConsumedSegments();
+    }
+
+    private void releaseConsumedSegments() {
+        synchronized (writeLock) {
+            while (!segments.isEmpty() && segments.firstKey() < readSegment.getSequence()) {
+                SpoolSegment consumed = segments.pollFirstEntry().getValue();
+                if (!consumed.delete()) {
+                    log.warn("TdWriteSpool failed to delete segment {}", consumed.getPath());
+                }
+            }
+        }
+    }
+
+    private void forceActiveSegment() {
+        SpoolSegment segment;
+        synchronized (writeLock) {
+            segment = activeSegment;
+        }
+        segment.force();
+    }
+
+    private Class<?> resolveClass(String className) {
+        Class<?> cached = classCache.get(className);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            Class<?> resolved = ClassUtils.forName(className, ClassUtils.getDefaultClassLoader());
+            classCache.put(className, resolved);
+            return resolved;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private void sleep(long millis) {
+        synchronized (sleepMonitor) {
+            if (!running) {
+                return;
+            }
+            try {
+                sleepMonitor.wait(Math.max(1, millis));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+        }
+    }
+
+    /**
+     * 一次回放读取的记录及读取结束位置
+     */
+    private static class ReplayBatch {
+        private final List<SpoolRecord> records = new ArrayList<>();
+        private long bytes;
+        private int skipped;
+        private SpoolSegment endSegment;
+        private int endPosition;
+    }
+
+    /**
+     * 同一实体类、同一子表的回放行
+     */
+    private static class ReplayGroup {
+        private final String className;
+        private final String tableName;
+        private final Object[] tagValues;
+        private final List<Object[]> rows = new ArrayList<>();
+
+        ReplayGroup(SpoolRecord first) {
+            this.className = first.getClassName();
+            this.tableName = first.getTableName();
+            this.tagValues = first.getTagValues();
+        }
+    }
+}
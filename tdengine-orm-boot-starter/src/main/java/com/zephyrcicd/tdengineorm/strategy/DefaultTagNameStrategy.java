@@ -3,18 +3,18 @@ package com.zephyrcicd.tdengineorm.strategy;
 import com.zephyrcicd.tdengineorm.cache.TagOrderCacheManager;
 import com.zephyrcicd.tdengineorm.util.TdSqlUtil;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.util.Pair;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 默认表名策略 - 根据实体类上的标签字段值生成表名
  * <p>
- * 通过拼接超级表名和标签字段值来生成子表名，按照 TDengine DDL 中定义的 tag 顺序排列
+ * 通过拼接超级表名和标签字段值来生成子表名，按照 TDengine DDL 中定义的 tag 顺序排列；
+ * 实体类通过 {@code @TdTable(subTable = "...")} 声明了子表名模板时按模板生成。
+ * 每个实体类的命名规则编译为 {@link SubTableNameTemplate} 后缓存，{@link TagOrderCacheManager} 刷新后自动重新编译。
  * </p>
  *
  * @author zjarlin
@@ -22,53 +22,39 @@ import java.util.stream.Stream;
 @RequiredArgsConstructor
 public class DefaultTagNameStrategy implements DynamicNameStrategy<Object> {
     private final TagOrderCacheManager tagOrderCacheManager;
-    /**
-     * 按照 DDL 定义的顺序对 tag 字段进行排序
-     */
-    private List<Pair<String, String>> sortTagsByDdlOrder(
-            List<Pair<String, String>> tagPairs,
-            List<String> ddlTagOrder) {
-
-        if (ddlTagOrder == null || ddlTagOrder.isEmpty()) {
-            // 如果查询失败或没有顺序信息，返回原始顺序
-            return tagPairs;
-        }
-
-        // 创建字段名到下划线格式的映射
-        Map<String, Pair<String, String>> tagMap = tagPairs.stream()
-                .collect(Collectors.toMap(
-                        Pair::getFirst,
-                        pair -> pair,
-                        (a, b) -> a
-                ));
-
-        // 按照 DDL 顺序重新排列
-        return ddlTagOrder.stream()
-                .map(tagMap::get)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
-    }
+    private final Map<Class<?>, SubTableNameTemplate> templateCache = new ConcurrentHashMap<>();
 
     @Override
     public String getTableName(Object entity) {
-        String superTableName = TdSqlUtil.getTbName(entity.getClass());
-        List<Pair<String, String>> allTagFieldsPair = TdSqlUtil.getAllTagFieldsPairOrdered(entity);
+        return getTemplate(entity.getClass()).getTableName(entity);
+    }
 
-        // 如果没有配置 TagOrderCacheManager，使用原始顺序
-        if (tagOrderCacheManager == null) {
-            return Stream.concat(Stream.of(superTableName),
-                            allTagFieldsPair.stream().map(Pair::getSecond))
-                    .collect(Collectors.joining("_"));
+    /**
+     * 获取实体类编译后的子表名模板
+     *
+     * @param entityClass 实体类
+     * @return 子表名模板
+     */
+    public SubTableNameTemplate getTemplate(Class<?> entityClass) {
+        SubTableNameTemplate template = templateCache.get(entityClass);
+        // TAG 顺序缓存被清空后会重新查询，得到新的 List 实例，此时重新编译
+        if (template != null && (template.getDdlTagOrder() == null || tagOrderCacheManager == null
+                || template.getDdlTagOrder() == tagOrderCacheManager.getTagOrder(template.getSuperTableName()))) {
+            return template;
         }
+        // 如果没有配置 TagOrderCacheManager 或声明了子表名模板，不需要 DDL 中的 tag 顺序
+        List<String> tagOrder = tagOrderCacheManager == null || SubTableNameTemplate.hasPattern(entityClass)
+                ? Collections.emptyList()
+                : tagOrderCacheManager.getTagOrder(TdSqlUtil.getTbName(entityClass));
+        template = SubTableNameTemplate.compile(entityClass, tagOrder);
+        templateCache.put(entityClass, template);
+        return template;
+    }
 
-        // 获取 TDengine 中定义的 tag 顺序
-        List<String> tagOrder = tagOrderCacheManager.getTagOrder(superTableName);
-
-        // 按照 DDL 定义顺序排序 tag 字段
-        List<Pair<String, String>> sortedTags = sortTagsByDdlOrder(allTagFieldsPair, tagOrder);
-
-        return Stream.concat(Stream.of(superTableName),
-                        sortedTags.stream().map(Pair::getSecond))
-                .collect(Collectors.joining("_"));
+    /**
+     * 清空已编译的模板（TypeHandler 注册发生变化后调用）
+     */
+    public void clearCache() {
+        templateCache.clear();
     }
 }
@@ -0,0 +1,226 @@
+package com.zephyrcicd.tdengineorm.strategy;
+
+import com.zephyrcicd.tdengineorm.annotation.TdTable;
+import com.zephyrcicd.tdengineorm.batch.InsertPlan;
+import com.zephyrcicd.tdengineorm.exception.TdOrmException;
+import com.zephyrcicd.tdengineorm.exception.TdOrmExceptionCode;
+import com.zephyrcicd.tdengineorm.metadata.EntityMetadata;
+import lombok.Getter;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 编译后的子表名模板
+ * <p>
+ * 每个实体类只解析一次：模板拆分为固定文本和 TAG 取值位置，取值复用 {@link InsertPlan} 的字段访问器
+ * （已经过 TypeHandler 转换），生成时单次拼接。生成结果按 TAG 值组合缓存，
+ * 同一设备的后续行直接返回同一个 String 实例（hashCode 已缓存，分组时无需重复计算）。
+ * </p>
+ * <p>
+ * 模板来源：{@link TdTable#subTable()}；未配置时为 {@code 超级表名_TAG值1_TAG值2...}，TAG 按 DDL 顺序排列。
+ * </p>
+ *
+ * @author Zephyr
+ */
+public final class SubTableNameTemplate {
+
+    private static final String NULL_VALUE = "unknown";
+
+    /**
+     * 单个模板缓存的表名上限，超过后清空重新缓存，避免设备持续变化时无限增长
+     */
+    private static final int MAX_CACHED_NAMES = 65536;
+
+    private final InsertPlan tagPlan;
+
+    /**
+     * 固定文本，长度为 tagIndexes.length + 1
+     */
+    private final String[] literals;
+
+    /**
+     * 每个占位符对应的 TAG 字段序号（{@link InsertPlan} 中的序号）
+     */
+    private final int[] tagIndexes;
+
+    private final int literalLength;
+
+    /**
+     * 编译时使用的 DDL TAG 顺序，用于判断 TAG 顺序缓存是否已刷新；按 {@link TdTable#subTable()} 编译时为 null
+     */
+    @Getter
+    private final List<String> ddlTagOrder;
+
+    private final Map<Object, String> nameCache = new ConcurrentHashMap<>();
+
+    private SubTableNameTemplate(InsertPlan tagPlan, List<String> literals, List<Integer> tagIndexes,
+                                 List<String> ddlTagOrder) {
+        this.tagPlan = tagPlan;
+        this.literals = literals.toArray(new String[0]);
+        this.tagIndexes = tagIndexes.stream().mapToInt(Integer::intValue).toArray();
+        this.literalLength = literals.stream().mapToInt(String::length).sum();
+        this.ddlTagOrder = ddlTagOrder;
+    }
+
+    /**
+     * 编译实体类的子表名模板
+     *
+     * @param entityClass 实体类
+     * @param ddlTagOrder DDL 中的 TAG 列顺序，为空时按字段声明顺序；配置了 {@link TdTable#subTable()} 时忽略
+     * @return 子表名模板
+     */
+    public static SubTableNameTemplate compile(Class<?> entityClass, List<String> ddlTagOrder) {
+        InsertPlan tagPlan = InsertPlan.of(entityClass, InsertPlan.ColumnSet.TAG);
+        if (hasPattern(entityClass)) {
+            return compilePattern(tagPlan, EntityMetadata.of(entityClass).getSubTablePattern());
+        }
+
+        List<String> literals = new ArrayList<>();
+        List<Integer> tagIndexes = new ArrayList<>();
+        String separator = tagPlan.getSuperTableName() + "_";
+        if (ddlTagOrder == null || ddlTagOrder.isEmpty()) {
+            for (int i = 0; i < tagPlan.size(); i++) {
+                literals.add(separator);
+                tagIndexes.add(i);
+                separator = "_";
+            }
+        } else {
+            // 按 DDL 顺序排列，实体中不存在的 TAG 跳过
+            for (String tagName : ddlTagOrder) {
+                int index = indexOfColumn(tagPlan, tagName);
+                if (index >= 0) {
+                    literals.add(separator);
+                    tagIndexes.add(index);
+                    separator = "_";
+                }
+            }
+        }
+        literals.add(tagIndexes.isEmpty() ? tagPlan.getSuperTableName() : "");
+        return new SubTableNameTemplate(tagPlan, literals, tagIndexes, ddlTagOrder);
+    }
+
+    /**
+     * 实体类是否声明了子表名模板（声明后与 DDL TAG 顺序无关）
+     */
+    public static boolean hasPattern(Class<?> entityClass) {
+        return StringUtils.hasText(EntityMetadata.of(entityClass).getSubTablePattern());
+    }
+
+    private static SubTableNameTemplate compilePattern(InsertPlan tagPlan, String pattern) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> tagIndexes = new ArrayList<>();
+        int start = 0;
+        int open;
+        while ((open = pattern.indexOf('{', start)) >= 0) {
+            int close = pattern.indexOf('}', open);
+            if (close < 0) {
+                throw invalidPattern(tagPlan, pattern, "unclosed '{'");
+            }
+            String name = pattern.substring(open + 1, close).trim();
+            int index = indexOfTag(tagPlan, name);
+            if (index < 0) {
+                throw invalidPattern(tagPlan, pattern, "[" + name + "] is not a tag field");
+            }
+            literals.add(pattern.substring(start, open));
+            tagIndexes.add(index);
+            start = close + 1;
+        }
+        literals.add(pattern.substring(start));
+        return new SubTableNameTemplate(tagPlan, literals, tagIndexes, null);
+    }
+
+    public String getSuperTableName() {
+        return tagPlan.getSuperTableName();
+    }
+
+    /**
+     * 生成实体对应的子表名
+     *
+     * @param entity 实体对象
+     * @return 子表名
+     */
+    public String getTableName(Object entity) {
+        if (tagIndexes.length == 0) {
+            return literals[0];
+        }
+        Object[] values = new Object[tagIndexes.length];
+        for (int i = 0; i < tagIndexes.length; i++) {
+            values[i] = tagPlan.getValue(entity, tagIndexes[i]);
+        }
+        Object key = values.length == 1 && isSimpleKey(values[0]) ? values[0] : new TagTuple(values);
+        String name = nameCache.get(key);
+        if (name == null) {
+            name = render(values);
+            if (nameCache.size() >= MAX_CACHED_NAMES) {
+                nameCache.clear();
+            }
+            nameCache.put(key, name);
+        }
+        return name;
+    }
+
+    private String render(Object[] values) {
+        StringBuilder sb = new StringBuilder(literalLength + values.length * 16);
+        for (int i = 0; i < values.length; i++) {
+            sb.append(literals[i]).append(values[i] == null ? NULL_VALUE : values[i].toString());
+        }
+        return sb.append(literals[values.length]).toString();
+    }
+
+    private static boolean isSimpleKey(Object value) {
+        return value instanceof String || value instanceof Number || value instanceof Boolean;
+    }
+
+    private static int indexOfTag(InsertPlan tagPlan, String name) {
+        for (int i = 0; i < tagPlan.size(); i++) {
+            if (tagPlan.getFields().get(i).getName().equals(name)) {
+                return i;
+            }
+        }
+        return indexOfColumn(tagPlan, name);
+    }
+
+    private static int indexOfColumn(InsertPlan tagPlan, String columnName) {
+        for (int i = 0; i < tagPlan.size(); i++) {
+            if (tagPlan.getColumnName(i).equals(columnName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static TdOrmException invalidPattern(InsertPlan tagPlan, String pattern, String reason) {
+        return new TdOrmException(TdOrmExceptionCode.INVALID_SUB_TABLE_PATTERN.getCode(),
+                TdOrmExceptionCode.INVALID_SUB_TABLE_PATTERN.getMsg() + " [" + tagPlan.getEntityClass().getName()
+                        + "] " + pattern + ": " + reason);
+    }
+
+    /**
+     * 多个 TAG 值组成的缓存键
+     */
+    private static final class TagTuple {
+
+        private final Object[] values;
+        private final int hash;
+
+        TagTuple(Object[] values) {
+            this.values = values;
+            this.hash = Arrays.deepHashCode(values);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || o instanceof TagTuple && Arrays.deepEquals(values, ((TagTuple) o).values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.zephyrcicd.tdengineorm.template;
 
+import com.zephyrcicd.tdengineorm.batch.BatchInsertStats;
+import com.zephyrcicd.tdengineorm.batch.BatchPartitioner;
+import com.zephyrcicd.tdengineorm.batch.SqlSizeEstimator;
 import com.zephyrcicd.tdengineorm.constant.SqlConstant;
 import com.zephyrcicd.tdengineorm.exception.TdOrmException;
 import com.zephyrcicd.tdengineorm.exception.TdOrmExceptionCode;
@@ -10,11 +13,24 @@ import com.zephyrcicd.tdengineorm.mapper.TdColumnRowMapper;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.ListUtils;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementCreatorFactory;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SqlParameter;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
 import org.springframework.util.CollectionUtils;
 
+import java.sql.PreparedStatement;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static com.zephyrcicd.tdengineorm.util.StringUtil.addSingleQuotes;
 
@@ -39,6 +55,12 @@ public abstract class AbstractTdJdbcTemplate {
     @Setter
     protected TdSqlInterceptorChain sqlInterceptorChain;
 
+    /**
+     * 批量写入统计（每条语句的行数、预估字节数）
+     */
+    @Getter
+    protected final BatchInsertStats batchInsertStats = new BatchInsertStats();
+
     protected AbstractTdJdbcTemplate(NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
         this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
     }
@@ -75,10 +97,64 @@ public abstract class AbstractTdJdbcTemplate {
             ex = t;
             throw t;
         } finally {
+            // 失败的批量语句也可能已部分写入
+            afterUpdate(finalSql);
             executeAfterInterceptors(context, result, ex);
         }
     }
 
+    /**
+     * 执行 JDBC 批量更新（同一预编译语句上多次 addBatch / executeBatch）
+     * <p>
+     * 在执行前后触发 SQL 拦截器链，拦截器参数中只包含总行数（rows）和每批行数（batchSize），不展开每行的参数。
+     * </p>
+     *
+     * @param sql       位置参数 SQL 语句
+     * @param batchArgs 逐行数据
+     * @param batchSize 每次 executeBatch 的行数
+     * @param setter    逐行参数绑定器
+     * @param <T>       行数据类型
+     * @return 每次 executeBatch 中每行受影响的行数
+     */
+    protected <T> int[][] batchUpdateWithInterceptor(String sql, Collection<T> batchArgs, int batchSize,
+                                                     ParameterizedPreparedStatementSetter<T> setter) {
+        Map<String, Object> paramsMap = new HashMap<>(4);
+        paramsMap.put("rows", batchArgs.size());
+        paramsMap.put("batchSize", batchSize);
+        TdSqlContext context = TdSqlContext.builder()
+                .sql(sql)
+                .params(paramsMap)
+                .sqlType(TdSqlContext.SqlType.UPDATE)
+                .startTime(System.currentTimeMillis())
+                .build();
+
+        // 执行前拦截
+        if (!executeBeforeInterceptors(context)) {
+            return new int[0][];
+        }
+
+        int[][] result = null;
+        Throwable ex = null;
+        try {
+            result = namedParameterJdbcTemplate.getJdbcOperations().batchUpdate(sql, batchArgs, batchSize, setter);
+            return result;
+        } catch (Throwable t) {
+            ex = t;
+            throw t;
+        } finally {
+            afterUpdate(sql);
+            executeAfterInterceptors(context, result, ex);
+        }
+    }
+
+    /**
+     * 更新语句执行后（无论成功与否）的回调，默认不做任何处理
+     *
+     * @param sql 已执行的 SQL
+     */
+    protected void afterUpdate(String sql) {
+    }
+
     /**
      * 执行列表查询
      * <p>
@@ -98,6 +174,21 @@ public abstract class AbstractTdJdbcTemplate {
             throw new TdOrmException(TdOrmExceptionCode.MAP_TYPE_NOT_SUPPORTED);
         }
 
+        return listWithInterceptor(sql, paramsMap, TdColumnRowMapper.getInstance(resultClass), resultClass);
+    }
+
+    /**
+     * 使用指定的 RowMapper 执行列表查询（支持拦截器）
+     *
+     * @param sql         SQL 语句
+     * @param paramsMap   参数 Map
+     * @param rowMapper   行映射器
+     * @param resultClass 结果类型
+     * @param <R>         结果泛型
+     * @return 查询结果列表
+     */
+    protected <R> List<R> listWithInterceptor(String sql, Map<String, Object> paramsMap, RowMapper<R> rowMapper,
+                                              Class<R> resultClass) {
         TdSqlContext context = TdSqlContext.builder()
                 .sql(sql)
                 .params(paramsMap)
@@ -114,7 +205,7 @@ public abstract class AbstractTdJdbcTemplate {
         List<R> result = null;
         Throwable ex = null;
         try {
-            result = namedParameterJdbcTemplate.query(sql, paramsMap, TdColumnRowMapper.getInstance(resultClass));
+            result = namedParameterJdbcTemplate.query(sql, paramsMap, rowMapper);
             return result;
         } catch (Throwable t) {
             ex = t;
@@ -272,6 +363,190 @@ public abstract class AbstractTdJdbcTemplate {
         }
     }
 
+    /**
+     * 逐行回调查询（支持拦截器）
+     * <p>
+     * 按 fetchSize 分批拉取结果，每行映射后立即交给回调，不在内存中物化结果集。
+     * 后置拦截器收到的结果为处理的行数。
+     * </p>
+     *
+     * @param sql         SQL 语句
+     * @param paramsMap   参数 Map
+     * @param rowMapper   行映射器
+     * @param resultClass 结果类型（Map 查询时为 null）
+     * @param fetchSize   每次拉取的行数，小于等于 0 时使用驱动默认值
+     * @param action      行回调
+     * @param <R>         结果泛型
+     * @return 处理的行数
+     */
+    protected <R> long forEachWithInterceptor(String sql, Map<String, Object> paramsMap, RowMapper<R> rowMapper,
+                                              Class<R> resultClass, int fetchSize, Consumer<? super R> action) {
+        TdSqlContext context = TdSqlContext.builder()
+                .sql(sql)
+                .params(paramsMap)
+                .sqlType(TdSqlContext.SqlType.QUERY)
+                .resultClass(resultClass)
+                .startTime(System.currentTimeMillis())
+                .build();
+
+        if (!executeBeforeInterceptors(context)) {
+            return 0L;
+        }
+
+        long[] rows = new long[1];
+        Throwable ex = null;
+        try {
+            namedParameterJdbcTemplate.getJdbcOperations().query(newStreamingStatementCreator(sql, paramsMap, fetchSize),
+                    (RowCallbackHandler) rs -> action.accept(rowMapper.mapRow(rs, (int) rows[0]++)));
+            return rows[0];
+        } catch (Throwable t) {
+            ex = t;
+            throw t;
+        } finally {
+            executeAfterInterceptors(context, ex == null ? rows[0] : null, ex);
+        }
+    }
+
+    /**
+     * 使用 ResultSetExtractor 一次性处理整个结果集（支持拦截器）
+     *
+     * @param sql         SQL 语句
+     * @param paramsMap   参数 Map
+     * @param extractor   结果集处理器
+     * @param resultClass 结果类型
+     * @param fetchSize   每次拉取的行数，小于等于 0 时使用驱动默认值
+     * @param <R>         结果泛型
+     * @return 处理结果，被拦截器中断时为 null
+     */
+    protected <R> R extractWithInterceptor(String sql, Map<String, Object> paramsMap, ResultSetExtractor<R> extractor,
+                                           Class<R> resultClass, int fetchSize) {
+        TdSqlContext context = TdSqlContext.builder()
+                .sql(sql)
+                .params(paramsMap)
+                .sqlType(TdSqlContext.SqlType.QUERY)
+                .resultClass(resultClass)
+                .startTime(System.currentTimeMillis())
+                .build();
+
+        if (!executeBeforeInterceptors(context)) {
+            return null;
+        }
+
+        R result = null;
+        Throwable ex = null;
+        try {
+            result = namedParameterJdbcTemplate.getJdbcOperations()
+                    .query(newStreamingStatementCreator(sql, paramsMap, fetchSize), extractor);
+            return result;
+        } catch (Throwable t) {
+            ex = t;
+            throw t;
+        } finally {
+            executeAfterInterceptors(context, result, ex);
+        }
+    }
+
+    /**
+     * 流式查询（支持拦截器）
+     * <p>
+     * 返回的 Stream 持有数据库连接和结果集，必须在 try-with-resources 中使用或显式关闭；
+     * 后置拦截器在 Stream 关闭时执行，收到的结果为已读取的行数。
+     * </p>
+     *
+     * @param sql         SQL 语句
+     * @param paramsMap   参数 Map
+     * @param rowMapper   行映射器
+     * @param resultClass 结果类型（Map 查询时为 null）
+     * @param fetchSize   每次拉取的行数，小于等于 0 时使用驱动默认值
+     * @param <R>         结果泛型
+     * @return 需关闭的结果流
+     */
+    protected <R> Stream<R> streamWithInterceptor(String sql, Map<String, Object> paramsMap, RowMapper<R> rowMapper,
+                                                  Class<R> resultClass, int fetchSize) {
+        TdSqlContext context = TdSqlContext.builder()
+                .sql(sql)
+                .params(paramsMap)
+                .sqlType(TdSqlContext.SqlType.QUERY)
+                .resultClass(resultClass)
+                .startTime(System.currentTimeMillis())
+                .build();
+
+        if (!executeBeforeInterceptors(context)) {
+            return Stream.empty();
+        }
+
+        Stream<R> source;
+        try {
+            source = namedParameterJdbcTemplate.getJdbcOperations()
+                    .queryForStream(newStreamingStatementCreator(sql, paramsMap, fetchSize), rowMapper);
+        } catch (Throwable t) {
+            executeAfterInterceptors(context, null, t);
+            throw t;
+        }
+        InterceptedSpliterator<R> spliterator = new InterceptedSpliterator<>(source.spliterator());
+        return StreamSupport.stream(spliterator, false)
+                .onClose(() -> {
+                    try {
+                        source.close();
+                    } finally {
+                        executeAfterInterceptors(context,
+                                spliterator.error == null ? spliterator.rows : null, spliterator.error);
+                    }
+                });
+    }
+
+    /**
+     * 构建只进、只读并设置了 fetchSize 的预编译语句
+     * <p>
+     * fetchSize 只作用于本条语句，不修改共享 JdbcTemplate 的全局配置。
+     * </p>
+     */
+    private static PreparedStatementCreator newStreamingStatementCreator(String sql, Map<String, Object> paramsMap,
+                                                                         int fetchSize) {
+        MapSqlParameterSource paramSource = new MapSqlParameterSource(paramsMap == null ? Collections.emptyMap() : paramsMap);
+        ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement(sql);
+        String sqlToUse = NamedParameterUtils.substituteNamedParameters(parsedSql, paramSource);
+        List<SqlParameter> declaredParameters = NamedParameterUtils.buildSqlParameterList(parsedSql, paramSource);
+        Object[] params = NamedParameterUtils.buildValueArray(parsedSql, paramSource, null);
+        PreparedStatementCreator delegate = new PreparedStatementCreatorFactory(sqlToUse, declaredParameters)
+                .newPreparedStatementCreator(params);
+        return con -> {
+            PreparedStatement ps = delegate.createPreparedStatement(con);
+            if (fetchSize > 0) {
+                ps.setFetchSize(fetchSize);
+            }
+            return ps;
+        };
+    }
+
+    /**
+     * 记录已读取行数和迭代异常的 Spliterator，供 Stream 关闭时回调后置拦截器
+     */
+    private static final class InterceptedSpliterator<R> extends Spliterators.AbstractSpliterator<R> {
+
+        private final Spliterator<R> delegate;
+        private long rows;
+        private Throwable error;
+
+        InterceptedSpliterator(Spliterator<R> delegate) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED);
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super R> action) {
+            try {
+                return delegate.tryAdvance(row -> {
+                    rows++;
+                    action.accept(row);
+                });
+            } catch (RuntimeException | Error e) {
+                error = e;
+                throw e;
+            }
+        }
+    }
+
     /**
      * 执行前置拦截器
      *
@@ -418,16 +693,19 @@ public abstract class AbstractTdJdbcTemplate {
         String sqlPrefix = buildInsertSqlPrefix(tableName, columnNames);
 
         // 分批进行插入
-        List<List<Map<String, Object>>> partition = ListUtils.partition(dataList, pageSize);
+        List<BatchPartitioner.Chunk<Map<String, Object>>> partition = newBatchPartitioner(pageSize)
+                .partition(dataList, sqlPrefix.length(), row -> SqlSizeEstimator.estimateRow(row, columnNames));
         List<Integer> resultList = new ArrayList<>();
         int processedCount = 0; // 全局计数器，确保参数名唯一
 
-        for (List<Map<String, Object>> batch : partition) {
+        for (BatchPartitioner.Chunk<Map<String, Object>> chunk : partition) {
+            List<Map<String, Object>> batch = chunk.getRows();
             Map<String, Object> paramsMap = new HashMap<>(batch.size() * columnNames.size());
             String valuesSql = buildValuesSql(batch, columnNames, paramsMap, processedCount);
             String sql = sqlPrefix + valuesSql;
 
             int singleResult = updateWithInterceptor(sql, paramsMap);
+            batchInsertStats.record(batch.size(), chunk.getEstimatedBytes());
             resultList.add(singleResult);
             processedCount += batch.size(); // 更新已处理数量
         }
@@ -435,6 +713,19 @@ public abstract class AbstractTdJdbcTemplate {
         return resultList.stream().mapToInt(Integer::intValue).toArray();
     }
 
+    /**
+     * 创建批量写入分批器
+     * <p>
+     * 默认只按行数分批，子类可根据配置加入字节预算。
+     * </p>
+     *
+     * @param pageSize 单条语句的最大行数
+     * @return 分批器
+     */
+    protected BatchPartitioner newBatchPartitioner(int pageSize) {
+        return new BatchPartitioner(Integer.MAX_VALUE, pageSize);
+    }
+
     @SuppressWarnings("unchecked")
     protected <T> Class<T> inferEntityClass(List<T> entityList) {
         return (Class<T>) entityList.get(0).getClass();
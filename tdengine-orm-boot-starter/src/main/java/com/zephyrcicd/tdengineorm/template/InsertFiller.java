@@ -0,0 +1,108 @@
+package com.zephyrcicd.tdengineorm.template;
+
+import com.zephyrcicd.tdengineorm.util.TdSqlUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 写入前的元对象填充阶段
+ * <p>
+ * 由写入路径在取得表名之后逐行调用（通常与分组在同一次遍历中完成），按注册顺序依次执行各 {@link MetaObjectHandler}，
+ * 表名经 {@link MetaObjectHandler#insertFill(Object, String)} 传给处理器，因此表名策略不应依赖被填充的字段。
+ * 只填充标注了 {@code @TdTable} 的实体，Map 等其他对象直接跳过；每个类是否需要填充只判断一次。
+ * </p>
+ *
+ * @author Zephyr
+ */
+public final class InsertFiller {
+
+    /**
+     * 不做任何填充
+     */
+    public static final InsertFiller NONE = new InsertFiller(Collections.emptyList());
+
+    private final MetaObjectHandler[] handlers;
+    private final Map<Class<?>, Boolean> fillableCache = new ConcurrentHashMap<>();
+
+    /**
+     * @param handlers 元对象处理器，按列表顺序执行，忽略 null 元素
+     */
+    public InsertFiller(List<? extends MetaObjectHandler> handlers) {
+        List<MetaObjectHandler> list = new ArrayList<>();
+        if (handlers != null) {
+            for (MetaObjectHandler handler : handlers) {
+                if (handler != null) {
+                    list.add(handler);
+                }
+            }
+        }
+        this.handlers = list.toArray(new MetaObjectHandler[0]);
+    }
+
+    public static InsertFiller of(MetaObjectHandler handler) {
+        return handler == null ? NONE : new InsertFiller(Collections.singletonList(handler));
+    }
+
+    /**
+     * 是否没有任何处理器
+     */
+    public boolean isEmpty() {
+        return handlers.length == 0;
+    }
+
+    /**
+     * 填充单个对象
+     *
+     * @param object 实体对象，非 {@code @TdTable} 实体时跳过
+     */
+    public void fill(Object object) {
+        if (handlers.length == 0 || object == null || !isFillable(object.getClass())) {
+            return;
+        }
+        for (MetaObjectHandler handler : handlers) {
+            handler.insertFill(object);
+        }
+    }
+
+    /**
+     * 填充将写入指定表的单个对象
+     *
+     * @param object    实体对象，非 {@code @TdTable} 实体时跳过
+     * @param tableName 目标表名
+     */
+    public void fill(Object object, String tableName) {
+        if (handlers.length == 0 || object == null || !isFillable(object.getClass())) {
+            return;
+        }
+        for (MetaObjectHandler handler : handlers) {
+            handler.insertFill(object, tableName);
+        }
+    }
+
+    /**
+     * 填充列表中的每个对象
+     *
+     * @param objects 实体列表
+     */
+    public void fillAll(List<?> objects) {
+        if (handlers.length == 0 || objects == null) {
+            return;
+        }
+        for (Object object : objects) {
+            fill(object);
+        }
+    }
+
+    private boolean isFillable(Class<?> clazz) {
+        Boolean fillable = fillableCache.get(clazz);
+        if (fillable == null) {
+            fillable = TdSqlUtil.isTdEntity(clazz);
+            fillableCache.put(clazz, fillable);
+        }
+        return fillable;
+    }
+}
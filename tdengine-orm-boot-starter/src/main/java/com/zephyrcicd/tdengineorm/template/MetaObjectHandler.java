@@ -15,4 +15,16 @@ public interface MetaObjectHandler {
      * @param <T>    实体类型或Map类型
      */
     <T> void insertFill(T object);
+
+    /**
+     * 插入元对象字段填充，已知目标表名时调用
+     * <p>默认忽略表名，需要按子表区分填充值（如单调时间戳）的实现可覆盖此方法</p>
+     *
+     * @param object    实体对象或Map
+     * @param tableName 目标表名
+     * @param <T>       实体类型或Map类型
+     */
+    default <T> void insertFill(T object, String tableName) {
+        insertFill(object);
+    }
 }
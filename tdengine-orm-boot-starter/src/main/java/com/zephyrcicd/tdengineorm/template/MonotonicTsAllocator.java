@@ -0,0 +1,107 @@
+package com.zephyrcicd.tdengineorm.template;
+
+import lombok.Getter;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按键单调递增的时间戳分配器
+ * <p>
+ * 每个键（通常为子表）独立维护上一次分配的时间戳，新时间戳取 {@code max(当前时间, 上次 + 1)}，
+ * 同一子表内分配的时间戳严格递增、不会重复，不同子表之间互不影响。
+ * 同一子表写入速率超过精度（如毫秒精度下每秒超过 1000 行）时，时间戳会逐步领先于系统时间，速率回落后自动追平。
+ * </p>
+ * <p>
+ * 分配过程无锁（CAS）。键数量超过上限时清理已落后于当前时间的键：这些键下次分配必然取当前时间，清理后不影响单调性。
+ * </p>
+ *
+ * @author Zephyr
+ */
+public final class MonotonicTsAllocator {
+
+    private static final int DEFAULT_MAX_KEYS = 100_000;
+
+    /**
+     * 时间戳精度（MILLISECONDS / MICROSECONDS / NANOSECONDS）
+     */
+    @Getter
+    private final TimeUnit precision;
+
+    private final int maxKeys;
+    private final Clock clock;
+    private final Map<Object, AtomicLong> lastAllocated = new ConcurrentHashMap<>();
+
+    public MonotonicTsAllocator(TimeUnit precision) {
+        this(precision, DEFAULT_MAX_KEYS, Clock.systemUTC());
+    }
+
+    public MonotonicTsAllocator(TimeUnit precision, int maxKeys, Clock clock) {
+        if (precision != TimeUnit.MILLISECONDS && precision != TimeUnit.MICROSECONDS
+                && precision != TimeUnit.NANOSECONDS) {
+            throw new IllegalArgumentException("Unsupported timestamp precision: " + precision);
+        }
+        this.precision = precision;
+        this.maxKeys = Math.max(1, maxKeys);
+        this.clock = clock;
+    }
+
+    /**
+     * 为指定键分配下一个时间戳
+     *
+     * @param key 分配键，如子表名
+     * @return 以 {@link #getPrecision()} 为单位的 epoch 时间戳
+     */
+    public long next(Object key) {
+        while (true) {
+            AtomicLong last = lastAllocated.get(key);
+            if (last == null) {
+                if (lastAllocated.size() >= maxKeys) {
+                    evictStale(now());
+                }
+                last = lastAllocated.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+            }
+            // 取得计数器之后再读时钟：被清理的键上次分配的值必然小于此刻时间
+            long now = now();
+            long prev;
+            long next;
+            do {
+                prev = last.get();
+                next = Math.max(now, prev + 1);
+            } while (!last.compareAndSet(prev, next));
+            // 分配期间该键被清理并重建时，本次结果可能与新计数器重复，在新计数器上重新分配
+            if (lastAllocated.get(key) == last) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * 当前时间
+     *
+     * @return 以 {@link #getPrecision()} 为单位的 epoch 时间戳
+     */
+    public long now() {
+        if (precision == TimeUnit.MILLISECONDS) {
+            return clock.millis();
+        }
+        Instant instant = clock.instant();
+        return precision.convert(instant.getEpochSecond(), TimeUnit.SECONDS)
+                + precision.convert(instant.getNano(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 当前维护的键数量
+     */
+    public int size() {
+        return lastAllocated.size();
+    }
+
+    private void evictStale(long now) {
+        lastAllocated.entrySet().removeIf(entry -> entry.getValue().get() < now);
+    }
+}
@@ -1,35 +1,71 @@
 package com.zephyrcicd.tdengineorm.template;
 
+import com.zephyrcicd.tdengineorm.batch.BatchPartitioner;
+import com.zephyrcicd.tdengineorm.batch.InsertPlan;
+import com.zephyrcicd.tdengineorm.cache.IntervalAggregationCache;
+import com.zephyrcicd.tdengineorm.cache.KnownSubTableRegistry;
+import com.zephyrcicd.tdengineorm.cache.LastRowCache;
+import com.zephyrcicd.tdengineorm.cache.QueryResultCache;
 import com.zephyrcicd.tdengineorm.cache.TagOrderCacheManager;
 import com.zephyrcicd.tdengineorm.config.TdOrmConfig;
 import com.zephyrcicd.tdengineorm.constant.SqlConstant;
+import com.zephyrcicd.tdengineorm.constant.TdColumnConstant;
 import com.zephyrcicd.tdengineorm.constant.TdSqlConstant;
+import com.zephyrcicd.tdengineorm.dto.BatchInsertResult;
 import com.zephyrcicd.tdengineorm.dto.Page;
+import com.zephyrcicd.tdengineorm.dto.Slice;
+import com.zephyrcicd.tdengineorm.dto.TsCursor;
+import com.zephyrcicd.tdengineorm.enums.BatchPartitionModeEnum;
+import com.zephyrcicd.tdengineorm.enums.BatchWriteModeEnum;
 import com.zephyrcicd.tdengineorm.enums.NamingStyleEnum;
+import com.zephyrcicd.tdengineorm.enums.TdSelectFuncEnum;
 import com.zephyrcicd.tdengineorm.exception.TdOrmException;
+import com.zephyrcicd.tdengineorm.executor.ParallelBatchExecutor;
+import com.zephyrcicd.tdengineorm.executor.ParallelQueryExecutor;
 import com.zephyrcicd.tdengineorm.exception.TdOrmExceptionCode;
 import com.zephyrcicd.tdengineorm.interceptor.TdSqlInterceptorChain;
+import com.zephyrcicd.tdengineorm.mapper.ColumnarResultExtractor;
+import com.zephyrcicd.tdengineorm.mapper.TdColumnRowMapper;
+import com.zephyrcicd.tdengineorm.mapper.TdColumnarResult;
+import com.zephyrcicd.tdengineorm.metadata.ColumnMetadata;
+import com.zephyrcicd.tdengineorm.metadata.EntityMetadata;
+import com.zephyrcicd.tdengineorm.schemaless.LineProtocolBuffer;
+import com.zephyrcicd.tdengineorm.schemaless.LineProtocolEncoder;
+import com.zephyrcicd.tdengineorm.schemaless.SchemalessSink;
 import com.zephyrcicd.tdengineorm.strategy.DefaultDynamicNameStrategy;
 import com.zephyrcicd.tdengineorm.strategy.DefaultTagNameStrategy;
 import com.zephyrcicd.tdengineorm.strategy.DynamicNameStrategy;
 import com.zephyrcicd.tdengineorm.util.AssertUtil;
 import com.zephyrcicd.tdengineorm.util.TdMigrateUtil;
 import com.zephyrcicd.tdengineorm.util.TdSqlUtil;
+import com.zephyrcicd.tdengineorm.util.TdTimeUtil;
 import com.zephyrcicd.tdengineorm.wrapper.AbstractTdQueryWrapper;
 import com.zephyrcicd.tdengineorm.wrapper.TdQueryWrapper;
 import com.zephyrcicd.tdengineorm.wrapper.TdWrappers;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
-import org.aopalliance.intercept.MethodInterceptor;
-import org.aopalliance.intercept.MethodInvocation;
-import org.apache.commons.collections4.ListUtils;
-import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.data.util.Pair;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.util.CollectionUtils;
 
 import java.lang.reflect.Field;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
 import java.util.*;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 import static com.zephyrcicd.tdengineorm.util.StringUtil.addSingleQuotes;
 
@@ -46,9 +82,83 @@ public class TdTemplate extends AbstractTdJdbcTemplate {
 
     private final TdOrmConfig tdOrmConfig;
     private TagOrderCacheManager tagOrderCacheManager;
+
+    /**
+     * 分组并行写入执行器，为 null 时各分组在调用线程依次执行
+     */
+    @Setter
+    private ParallelBatchExecutor parallelBatchExecutor;
+
+    /**
+     * 分片并行查询执行器，为 null 时各分片在调用线程依次执行
+     */
+    @Setter
+    private ParallelQueryExecutor parallelQueryExecutor;
+
+    /**
+     * 无模式写入目标，为 null 时 {@link #insertSchemaless(List)} 不可用
+     */
+    @Setter
+    private SchemalessSink schemalessSink;
+
+    /**
+     * 写入前的元对象填充阶段
+     */
+    private InsertFiller insertFiller = InsertFiller.NONE;
+
+    /**
+     * 已存在子表登记表，为 null 时带 USING 的写入始终生成 USING 子句
+     */
+    @Setter
+    private KnownSubTableRegistry knownSubTableRegistry;
+
+    /**
+     * 查询预取等异步任务的执行器，为 null 时使用 {@link java.util.concurrent.ForkJoinPool#commonPool()}
+     */
+    @Setter
+    private Executor queryExecutor;
+
+    /**
+     * 查询结果缓存，为 null 时 list / listAsMap / getOne 每次都查询数据库
+     */
+    @Setter
+    private QueryResultCache queryResultCache;
+
+    /**
+     * INTERVAL 聚合增量缓存，为 null 时 listIncremental 每次执行完整查询
+     */
+    @Setter
+    private IntervalAggregationCache intervalAggregationCache;
+
+    /**
+     * 子表最新行缓存，为 null 时 getLast 每次都查询数据库
+     */
+    @Setter
+    private LastRowCache lastRowCache;
+
+    /**
+     * 每个线程复用的行协议缓冲区
+     */
+    private static final ThreadLocal<LineProtocolBuffer> SCHEMALESS_BUFFER = ThreadLocal.withInitial(LineProtocolBuffer::new);
     private static DefaultTagNameStrategy defaultTagNameStrategy;
     private static final DefaultDynamicNameStrategy DEFAULT_DYNAMIC_NAME_STRATEGY = new DefaultDynamicNameStrategy();
 
+    /**
+     * 键集分页附加的游标列别名及参数名
+     */
+    private static final String SEEK_TS_ALIAS = "td_seek_ts";
+    private static final String SEEK_TB_ALIAS = "td_seek_tb";
+    private static final String SEEK_TS_PARAM = "tdSeekTs";
+    private static final String SEEK_TB_PARAM = "tdSeekTb";
+
+    /**
+     * 分片并行查询附加的排序列别名前缀及分片参数名
+     */
+    private static final String SHARD_ORDER_ALIAS_PREFIX = "td_shard_ord_";
+    private static final String SHARD_FROM_PARAM = "tdShardFrom";
+    private static final String SHARD_UNTIL_PARAM = "tdShardUntil";
+    private static final String SHARD_TABLES_PARAM = "tdShardTables";
+
     /**
      * 根据配置获取默认的命名策略
      *
@@ -62,6 +172,51 @@ public class TdTemplate extends AbstractTdJdbcTemplate {
                 .orElse(DEFAULT_DYNAMIC_NAME_STRATEGY);
     }
 
+    /**
+     * 未显式指定批次大小时使用的单条语句行数上限，即 {@code td-orm.page-size}
+     * <p>
+     * 按字节预算分批时每条语句同时受该行数和 {@code td-orm.max-sql-length} 限制，先达到者切分。
+     * </p>
+     *
+     * @return 行数上限
+     */
+    public int getDefaultPageSize() {
+        return tdOrmConfig.getPageSize();
+    }
+
+    private boolean isJdbcBatchMode() {
+        return tdOrmConfig.getBatchWriteMode() == BatchWriteModeEnum.JDBC_BATCH;
+    }
+
+    @Override
+    protected void afterUpdate(String sql) {
+        if (queryResultCache != null) {
+            queryResultCache.onWrite(sql);
+        }
+        if (intervalAggregationCache != null) {
+            intervalAggregationCache.onWrite(sql);
+        }
+        if (lastRowCache != null) {
+            lastRowCache.onWrite(sql);
+        }
+    }
+
+    @Override
+    protected int[] doBatchInsertMaps(String tableName, List<Map<String, Object>> dataList, int pageSize) {
+        try {
+            return super.doBatchInsertMaps(tableName, dataList, pageSize);
+        } finally {
+            invalidateLastRow(tableName);
+        }
+    }
+
+    @Override
+    protected BatchPartitioner newBatchPartitioner(int pageSize) {
+        int maxBytes = tdOrmConfig.getBatchPartitionMode() == BatchPartitionModeEnum.BYTE_BUDGET
+                ? tdOrmConfig.getMaxSqlLength() : Integer.MAX_VALUE;
+        return new BatchPartitioner(maxBytes, pageSize);
+    }
+
     /**
      * 构造函数
      *
@@ -94,30 +249,30 @@ public class TdTemplate extends AbstractTdJdbcTemplate {
                                          TdSqlInterceptorChain sqlInterceptorChain) {
         TdTemplate tdTemplate = new TdTemplate(namedParameterJdbcTemplate, tdOrmConfig);
         tdTemplate.setSqlInterceptorChain(sqlInterceptorChain);
-
-        // 如果有 MetaObjectHandler，创建代理进行实体填充
-        if (metaObjectHandler != null) {
-            return createDefaultProxy(tdTemplate, new TdTemplateMethodInterceptor(metaObjectHandler));
-        }
+        tdTemplate.setMetaObjectHandler(metaObjectHandler);
         return tdTemplate;
     }
 
+    /**
+     * 设置单个元对象处理器，为 null 时不做填充
+     */
+    public void setMetaObjectHandler(MetaObjectHandler metaObjectHandler) {
+        this.insertFiller = InsertFiller.of(metaObjectHandler);
+    }
 
     /**
-     * 创建代理增强的TdTemplate实例
-     * 使用Spring的ProxyFactory创建基于CGLIB的类代理
-     *
-     * @return 代理增强的TdTemplate实例
+     * 设置多个元对象处理器
+     * <p>
+     * 元对象处理器在写入路径中逐行直接调用，按列表顺序执行。调用发生在命名策略解析出子表名<b>之后</b>，
+     * 子表名经 {@link MetaObjectHandler#insertFill(Object, String)} 传给处理器。
+     * </p>
+     * <p>
+     * 因此 {@link DynamicNameStrategy} 读不到处理器填充的字段（如自动填充的 ts）：依赖这些字段命名的策略
+     * 会读到 null 或默认值，应改为依赖调用方赋值的字段（如 TAG）。
+     * </p>
      */
-    private static TdTemplate createDefaultProxy(TdTemplate tdTemplate, TdTemplateMethodInterceptor... tdTemplateMethodInterceptors) {
-        ProxyFactory proxyFactory = new ProxyFactory(tdTemplate);
-        proxyFactory.setProxyTargetClass(true);
-        if (tdTemplateMethodInterceptors != null) {
-            for (TdTemplateMethodInterceptor tdTemplateMethodInterceptor : tdTemplateMethodInterceptors) {
-                proxyFactory.addAdvice(tdTemplateMethodInterceptor);
-            }
-        }
-        return (TdTemplate) proxyFactory.getProxy();
+    public void setMetaObjectHandlers(List<? extends MetaObjectHandler> metaObjectHandlers) {
+        this.insertFiller = new InsertFiller(metaObjectHandlers);
     }
 
     /**
@@ -127,20 +282,21 @@ public class TdTemplate extends AbstractTdJdbcTemplate {
      * @return int
      */
     public <T> int createStableTableIfNotExist(Class<T> clazz) {
-        List<Field> fieldList = TdSqlUtil.getExistFields(clazz);
-        // 区分普通字段和Tag字段
-        Pair<List<Field>, List<Field>> fieldListPairByTag = TdSqlUtil.differentiateByTag(fieldList);
-
-        List<Field> commFieldList = fieldListPairByTag.getSecond();
+        EntityMetadata metadata = EntityMetadata.of(clazz);
+        // 普通字段（建表时会移除其中的 ts 字段，使用副本）
+        List<Field> commFieldList = new ArrayList<>(metadata.getNonTagFields());
         if (CollectionUtils.isEmpty(commFieldList)) {
             throw new TdOrmException(TdOrmExceptionCode.NO_COMM_FIELD);
         }
 
-        Field primaryTsField = TdSqlUtil.checkPrimaryTsField(commFieldList);
+        Field primaryTsField = metadata.getTsField();
+        if (primaryTsField == null) {
+            throw new TdOrmException(TdOrmExceptionCode.NO_TS_COLUMN_FOUND);
+        }
 
-        String finalSql = TdSqlConstant.CREATE_STABLE_IF_NOT_EXIST + TdSqlUtil.getTbName(clazz)
+        String finalSql = TdSqlConstant.CREATE_STABLE_IF_NOT_EXIST + metadata.getTableName()
                 + TdSqlUtil.buildCreateColumn(commFieldList, primaryTsField);
-        List<Field> tagFieldList = fieldListPairByTag.getFirst();
+        List<Field> tagFieldList = metadata.getTagFields();
 
         if (CollectionUtils.isEmpty(tagFieldList)) {
             throw new TdOrmException(TdOrmExceptionCode.NO_TAG_FIELD);
@@ -150,6 +306,159 @@ public class TdTemplate extends AbstractTdJdbcTemplate {
         return updateWithInterceptor(finalSql, new HashMap<>(0));
     }
 
+    /**
+     * 批量预创建子表（使用默认命名策略）
+     *
+     * @param entityList 提供 TAG 值的实体列表
+     * @param <T>        实体类型
+     * @return 提交创建的子表数量（去重后）
+     */
+    public <T> int createSubTables(List<T> entityList) {
+        return createSubTables(entityList, getDefaultNamingStrategy());
+    }
+
+    /**
+     * 批量预创建子表
+     *
+     * <p>
+     * 按子表名去重后生成多表建表语句
+     * {@code CREATE TABLE IF NOT EXISTS t1 USING stb (...) TAGS (...) IF NOT EXISTS t2 USING stb (...) TAGS (...) ...}，
+     * 每条语句按 {@code td-orm.max-sql-length} 装满后再拆分。开启 {@code td-orm.parallel.enabled}
+     * 且配置了执行器时各语句并行执行。已存在的子表不受影响，创建成功的子表会登记到已存在子表登记表。
+     * </p>
+     *
+     * <p><b>适用场景：</b>大批量设备接入前预先建表，后续写入无需 USING 子句</p>
+     *
+     * @param entityList            提供 TAG 值的实体列表，同一子表只取第一个实体
+     * @param dynamicTbNameStrategy 动态子表名称策略
+     * @param <T>                   实体类型
+     * @return 提交创建的子表数量（去重后）
+     */
+    public <T> int createSubTables(List<T> entityList, DynamicNameStrategy<T> dynamicTbNameStrategy) {
+        if (CollectionUtils.isEmpty(entityList)) {
+            return 0;
+        }
+        Map<String, T> tableTagMap = new LinkedHashMap<>();
+        for (T entity : entityList) {
+            tableTagMap.putIfAbsent(dynamicTbNameStrategy.getTableName(entity), entity);
+        }
+
+        InsertPlan tagPlan = InsertPlan.of(inferEntityClass(entityList), InsertPlan.ColumnSet.TAG);
+        if (tagPlan.isEmpty()) {
+            throw new TdOrmException(TdOrmExceptionCode.NO_TAG_FIELD);
+        }
+        BatchPartitioner partitioner = new BatchPartitioner(tdOrmConfig.getMaxSqlLength(), Integer.MAX_VALUE);
+        List<ParallelBatchExecutor.GroupTask> tasks = new ArrayList<>();
+        List<String> statementTables = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(SqlConstant.CREATE_TABLE);
+        Map<String, Object> paramsMap = new HashMap<>();
+        long statementBytes = SqlConstant.CREATE_TABLE.length();
+
+        for (Map.Entry<String, T> entry : tableTagMap.entrySet()) {
+            String tbName = entry.getKey();
+            int clauseBytes = SqlConstant.IF_NOT_EXISTS.length() + tbName.length() + 2 + tagPlan.getUsingSql().length()
+                    + tagPlan.estimateRow(entry.getValue());
+            if (!statementTables.isEmpty() && !partitioner.fits(statementBytes, statementTables.size(), clauseBytes)) {
+                tasks.add(newCreateSubTablesTask(sql.toString(), paramsMap, statementTables));
+                sql = new StringBuilder(SqlConstant.CREATE_TABLE);
+                paramsMap = new HashMap<>();
+                statementBytes = SqlConstant.CREATE_TABLE.length();
+                statementTables = new ArrayList<>();
+            }
+            sql.append(SqlConstant.IF_NOT_EXISTS).append(addSingleQuotes(tbName)).append(tagPlan.getUsingSql());
+            tagPlan.appendTagValues(sql, entry.getValue(), paramsMap, statementTables.size());
+            statementBytes += clauseBytes;
+            statementTables.add(tbName);
+        }
+        tasks.add(newCreateSubTablesTask(sql.toString(), paramsMap, statementTables));
+
+        if (parallelBatchExecutor != null && tdOrmConfig.getParallel().isEnabled() && tasks.size() > 1) {
+            parallelBatchExecutor.execute(tasks).throwIfFailed();
+        } else {
+            ParallelBatchExecutor.executeInline(tasks).throwIfFailed();
+        }
+        return tableTagMap.size();
+    }
+
+    private ParallelBatchExecutor.GroupTask newCreateSubTablesTask(String sql, Map<String, Object> paramsMap,
+                                                                   List<String> tableNames) {
+        return ParallelBatchExecutor.GroupTask.of(tableNames.get(0), tableNames.size(), () -> {
+            int result = updateWithInterceptor(sql, paramsMap);
+            KnownSubTableRegistry registry = knownSubTableRegistry;
+            if (registry != null) {
+                tableNames.forEach(registry::register);
+            }
+            return new int[]{result};
+        });
+    }
+
+    /**
+     * 获取子表的最新一行
+     * <p>
+     * 配置了 {@link LastRowCache} 时优先返回本进程写入时记录的最新行（内存读取，不访问数据库），
+     * 未命中时执行 {@code SELECT LAST_ROW(col) col, ..., tag, ... FROM `tableName`}，查询结果同样写入缓存。
+     * 表名加反引号后拼接，包含反引号的表名抛出 {@link TdOrmExceptionCode#INVALID_TABLE_NAME}。
+     * 返回的对象是副本，可以自由修改。
+     * </p>
+     * <pre>{@code
+     * DeviceStatus status = tdTemplate.getLast(DeviceStatus.class, "device_1001");
+     * }</pre>
+     *
+     * @param clazz     实体类
+     * @param tableName 子表名
+     * @return 最新一行，子表没有数据时返回 null
+     */
+    public <T> T getLast(Class<T> clazz, String tableName) {
+        AssertUtil.notBlank(tableName, () -> new TdOrmException(TdOrmExceptionCode.TABLE_NAME_BLANK));
+        LastRowCache cache = lastRowCache;
+        if (cache != null) {
+            T cached = cache.get(clazz, tableName);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        EntityMetadata metadata = EntityMetadata.of(clazz);
+        StringBuilder sql = new StringBuilder(SqlConstant.SELECT);
+        int columnCount = 0;
+        for (ColumnMetadata column : metadata.getNonTagColumns()) {
+            String columnName = column.getColumnName();
+            if (columnCount++ > 0) {
+                sql.append(SqlConstant.COMMA);
+            }
+            sql.append(TdSqlUtil.buildAggregationFunc(TdSelectFuncEnum.LAST_ROW, columnName, columnName));
+        }
+        if (columnCount == 0) {
+            throw new TdOrmException(TdOrmExceptionCode.NO_COMM_FIELD);
+        }
+        for (ColumnMetadata column : metadata.getTagColumns()) {
+            sql.append(SqlConstant.COMMA).append(column.getColumnName());
+        }
+        sql.append(SqlConstant.FROM).append(quoteTableName(tableName));
+        T last = getOneWithInterceptor(clazz, sql.toString(), Collections.emptyMap());
+        if (cache != null && last != null) {
+            cache.put(tableName, last);
+        }
+        return last;
+    }
+
+    /**
+     * 为表名加反引号，带库名前缀时分别处理，已加反引号的部分保持不变
+     *
+     * @param tableName 表名，如 {@code d1001} 或 {@code power.d1001}
+     * @return 如 {@code `d1001`} 或 {@code `power`.`d1001`}
+     */
+    private static String quoteTableName(String tableName) {
+        StringJoiner joiner = new StringJoiner(SqlConstant.DOT);
+        for (String part : tableName.trim().split("\\.", -1)) {
+            String name = part.length() > 1 && part.startsWith(SqlConstant.HALF_ANGLE_DASH)
+                    && part.endsWith(SqlConstant.HALF_ANGLE_DASH) ? part.substring(1, part.length() - 1) : part;
+            AssertUtil.isTrue(!name.isEmpty() && !name.contains(SqlConstant.HALF_ANGLE_DASH),
+                    () -> new TdOrmException(TdOrmExceptionCode.INVALID_TABLE_NAME));
+            joiner.add(SqlConstant.HALF_ANGLE_DASH + name + SqlConstant.HALF_ANGLE_DASH);
+        }
+        return joiner.toString();
+    }
+
     /**
      * 按ts字段倒叙, 获取最新的一条数据
      *
@@ -186,7 +495,11 @@ public class TdTemplate extends AbstractTdJdbcTemplate {
     public <T, R> R getOne(AbstractTdQueryWrapper<T> wrapper, Class<R> resultClass) {
         String sql = wrapper.getSql();
         Map<String, Object> paramsMap = wrapper.getParamsMap();
-        return getOneWithInterceptor(resultClass, sql, paramsMap);
+        if (queryResultCache == null) {
+            return getOneWithInterceptor(resultClass, sql, paramsMap);
+        }
+        return queryResultCache.get(wrapper, "one:" + resultClass.getName(), sql, paramsMap,
+                () -> getOneWithInterceptor(resultClass, sql, paramsMap));
     }
 
     /**
@@ -232,7 +545,13 @@ public class TdTemplate extends AbstractTdJdbcTemplate {
 
 
     public <T, R> List<R> list(AbstractTdQueryWrapper<T> wrapper, Class<R> resultClass) {
-        return listWithInterceptor(wrapper.getSql(), wrapper.getParamsMap(), resultClass);
+        String sql = wrapper.getSql();
+        Map<String, Object> paramsMap = wrapper.getParamsMap();
+        if (queryResultCache == null) {
+            return listWithInterceptor(sql, paramsMap, resultClass);
+        }
+        return queryResultCache.get(wrapper, "list:" + resultClass.getName(), sql, paramsMap,
+                () -> listWithInterceptor(sql, paramsMap, resultClass));
     }
 
     /**
@@ -256,145 +575,726 @@ public class TdTemplate extends AbstractTdJdbcTemplate {
     public <T> List<Map<String, Object>> listAsMap(AbstractTdQueryWrapper<T> wrapper) {
         String sql = wrapper.getSql();
         Map<String, Object> paramsMap = wrapper.getParamsMap();
-        return listAsMapWithInterceptor(sql, paramsMap);
+        if (queryResultCache == null) {
+            return listAsMapWithInterceptor(sql, paramsMap);
+        }
+        return queryResultCache.get(wrapper, "map", sql, paramsMap, () -> listAsMapWithInterceptor(sql, paramsMap));
     }
 
-    public <T> Page<T> page(long pageNo, long pageSize, TdQueryWrapper<T> wrapper) {
-        return page(pageNo, pageSize, wrapper, wrapper.getEntityClass());
+    /**
+     * 增量执行 INTERVAL 窗口聚合查询
+     *
+     * @param wrapper 包装器
+     * @return 查询结果
+     * @see #listIncremental(AbstractTdQueryWrapper, Class)
+     */
+    public <T> List<T> listIncremental(AbstractTdQueryWrapper<T> wrapper) {
+        return listIncremental(wrapper, wrapper.getEntityClass());
     }
 
-    public <T, R> Page<R> page(long pageNo, long pageSize, TdQueryWrapper<T> wrapper, Class<R> resultClass) {
-        // 构建安全的计数查询SQL
-        String innerSql = wrapper.getSql();
-        String countSql = "SELECT COUNT(*) FROM (" + innerSql + ") t";
-        Long count = countWithInterceptor(countSql, wrapper.getParamsMap());
-        Page<R> page = Page.<R>builder()
-                .pageNo(pageNo)
-                .pageSize(pageSize)
-                .total(count).build();
-        if (count != null && count > 0) {
-            List<R> list = listWithInterceptor(wrapper.limit(pageNo, pageSize).getSql(), wrapper.getParamsMap(), resultClass);
-            page.setDataList(list);
+    /**
+     * 增量执行 INTERVAL 窗口聚合查询，可以响应和实体类不一样的对象
+     * <p>
+     * 适用于按固定周期轮询、时间范围随当前时间滑动的看板查询（如最近 24 小时的 {@code INTERVAL(1m)} + {@code PARTITION BY}）。
+     * 已关闭的窗口按查询形状和分区键缓存，再次查询时只查询缓存区间之前被截断的窗口和之后的新窗口，与缓存合并后返回。
+     * 未开启 {@code td-orm.interval-cache.enabled} 或查询不满足条件时（见 {@link IntervalAggregationCache}）等同于
+     * {@link #list(AbstractTdQueryWrapper, Class)}。
+     * </p>
+     * <pre>{@code
+     * TdQueryWrapper<Meter> wrapper = TdWrappers.queryWrapper(Meter.class)
+     *         .selectFunc(TdSelectFuncEnum.AVG, "current", "current")
+     *         .ge("ts", new Timestamp(now - TimeUnit.HOURS.toMillis(24)))
+     *         .partitionBy("device_id")
+     *         .intervalWindow("1m");
+     * List<MeterAvg> rows = tdTemplate.listIncremental(wrapper, MeterAvg.class);
+     * }</pre>
+     *
+     * @param wrapper     包装器
+     * @param resultClass 结果类
+     * @return 查询结果，按分区、窗口开始时间升序排列
+     */
+    public <T, R> List<R> listIncremental(AbstractTdQueryWrapper<T> wrapper, Class<R> resultClass) {
+        assertNotMapClass(resultClass);
+        if (intervalAggregationCache == null || !intervalAggregationCache.supports(wrapper)) {
+            return list(wrapper, resultClass);
         }
-        return page;
+        return intervalAggregationCache.list(wrapper, resultClass, TdColumnRowMapper.getInstance(resultClass),
+                (sql, paramsMap, rowMapper) -> listWithInterceptor(sql, paramsMap, rowMapper, resultClass));
     }
 
     /**
-     * 统计数据量
+     * 分片并行查询，按 ts 范围拆分
      *
-     * @param wrapper 查询包装器
-     * @return 数据条数
+     * @param wrapper 包装器
+     * @return 查询结果
+     * @see #listParallel(AbstractTdQueryWrapper, Class, int)
      */
-    public <T> Long count(AbstractTdQueryWrapper<T> wrapper) {
-        // 构建安全的计数查询SQL
-        String innerSql = wrapper.getSql();
-        String countSql = "SELECT COUNT(*) FROM (" + innerSql + ") t";
-        Map<String, Object> paramsMap = wrapper.getParamsMap();
-
-        return countWithInterceptor(countSql, paramsMap);
+    public <T> List<T> listParallel(AbstractTdQueryWrapper<T> wrapper) {
+        return listParallel(wrapper, wrapper.getEntityClass(), 0);
     }
 
     /**
-     * 插入单条数据（使用默认表名）
-     *
+     * 分片并行查询，按 ts 范围拆分，可以响应和实体类不一样的对象
      * <p>
-     * 使用实体类上的 @TdTable 注解值作为表名进行插入。
-     * 如果实体类对应的是超级表，会使用超级表名称作为表名插入，故要求实体类内对Tag相关字段有准确的赋值。
+     * 将 wrapper 中 ts 的上下界（{@code between}、{@code ge}、{@code lt} 等条件）之间的范围等分为 shards 段，
+     * 每段追加 {@code ts >= :from AND ts < :until} 条件后并行执行，各段使用独立的连接。
+     * 结果按 ORDER BY 合并：未排序或首个排序列为 ts 时按时间段顺序拼接，否则按排序列多路归并。
+     * 存在 LIMIT 时每段只取 {@code offset + count} 行，按时间段顺序拼接时已取够的行数后不再执行剩余分段。
      * </p>
+     * <p>
+     * 仅适用于逐行查询（见 {@link AbstractTdQueryWrapper#isRowQuery()}），聚合、窗口、分组等查询，
+     * 以及 ts 没有上下界或条件中包含 OR 时等同于 {@link #list(AbstractTdQueryWrapper, Class)}。
+     * </p>
+     * <pre>{@code
+     * TdQueryWrapper<Meter> wrapper = TdWrappers.queryWrapper(Meter.class)
+     *         .selectAll()
+     *         .ge("ts", Timestamp.valueOf("2024-01-01 00:00:00"))
+     *         .lt("ts", Timestamp.valueOf("2025-01-01 00:00:00"))
+     *         .orderByAsc("ts");
+     * List<Meter> rows = tdTemplate.listParallel(wrapper, Meter.class, 12);
+     * }</pre>
      *
-     * <p><b>适用场景：</b>普通表插入、向超级表插入数据（需包含 TAG 字段值）</p>
-     *
-     * @param entity 实体对象（必须有 @TdTable 注解）
-     * @param <T>    实体类型
-     * @return 影响的行数
-     * @throws TdOrmException 如果实体类没有字段
+     * @param wrapper     包装器
+     * @param resultClass 结果类
+     * @param shards      分段数，小于等于 0 时取执行器的并发数
+     * @return 查询结果
      */
-    public <T> int insert(T entity) {
-        String tbName = TdSqlUtil.getTbName(entity.getClass());
+    public <T, R> List<R> listParallel(AbstractTdQueryWrapper<T> wrapper, Class<R> resultClass, int shards) {
+        assertNotMapClass(resultClass);
+        List<Object> lowerBounds = wrapper.getTsLowerBounds();
+        List<Object> upperBounds = wrapper.getTsUpperBounds();
+        int shardCount = resolveShardCount(shards);
+        if (!isShardable(wrapper, shardCount) || lowerBounds == null || lowerBounds.isEmpty()
+                || upperBounds == null || upperBounds.isEmpty()) {
+            return list(wrapper, resultClass);
+        }
+        TimeUnit tsPrecision = tdOrmConfig.getTsPrecision();
+        long lower = Long.MIN_VALUE;
+        long upper = Long.MAX_VALUE;
+        for (Object bound : lowerBounds) {
+            Long millis = TdTimeUtil.toEpochMillis(bound, tsPrecision);
+            if (millis == null) {
+                return list(wrapper, resultClass);
+            }
+            lower = Math.max(lower, millis);
+        }
+        for (Object bound : upperBounds) {
+            Long millis = TdTimeUtil.toEpochMillis(bound, tsPrecision);
+            if (millis == null) {
+                return list(wrapper, resultClass);
+            }
+            upper = Math.min(upper, millis);
+        }
+        if (upper - lower < shardCount) {
+            return list(wrapper, resultClass);
+        }
 
-        // 拿到所有字段进行赋值
-        List<Field> fields = TdSqlUtil.getExistFields(entity.getClass());
-        if (CollectionUtils.isEmpty(fields)) {
-            throw new TdOrmException(TdOrmExceptionCode.NO_FILED);
+        // 相邻分段以 [from, until) 衔接，首段不加下界、末段不加上界，边界仍由原条件约束
+        long step = (upper - lower) / shardCount;
+        List<ShardQuery> shardQueries = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            StringBuilder condition = new StringBuilder();
+            Map<String, Object> shardParams = new HashMap<>(4);
+            if (i > 0) {
+                condition.append(TdColumnConstant.TS).append(SqlConstant.GE).append(SqlConstant.COLON).append(SHARD_FROM_PARAM);
+                shardParams.put(SHARD_FROM_PARAM, tsPrecision.convert(lower + step * i, TimeUnit.MILLISECONDS));
+            }
+            if (i < shardCount - 1) {
+                if (condition.length() > 0) {
+                    condition.append(SqlConstant.AND);
+                }
+                condition.append(TdColumnConstant.TS).append(SqlConstant.LT).append(SqlConstant.COLON).append(SHARD_UNTIL_PARAM);
+                shardParams.put(SHARD_UNTIL_PARAM, tsPrecision.convert(lower + step * (i + 1), TimeUnit.MILLISECONDS));
+            }
+            shardQueries.add(new ShardQuery(condition.toString(), shardParams));
         }
 
-        return doInsertEntity(entity, tbName, fields);
+        Map<String, Boolean> orderColumns = wrapper.getOrderColumns();
+        if (orderColumns.isEmpty() || isTsColumn(orderColumns.keySet().iterator().next())) {
+            // 各时间段互不重叠，按排序方向依次拼接即可
+            if (!orderColumns.isEmpty() && orderColumns.values().iterator().next()) {
+                Collections.reverse(shardQueries);
+            }
+            return listShardsInOrder(wrapper, resultClass, shardQueries);
+        }
+        return listShardsMerged(wrapper, resultClass, shardQueries);
     }
 
     /**
-     * 向指定子表插入数据（使用动态表名策略）
-     *
+     * 分片并行查询，按子表拆分，可以响应和实体类不一样的对象
      * <p>
-     * 通过策略模式动态生成表名，适用于 TDengine 子表场景。
-     * 由于已经通过策略指定了子表名称，会跳过 TAG 相关字段的赋值，只插入普通字段。
+     * 将子表名均分为 shards 组，每组追加 {@code tbname IN (:tableNames)} 条件后并行执行，适用于对超级表的查询。
+     * 未排序时按分组顺序拼接，否则按排序列多路归并；LIMIT 的处理与 {@link #listParallel(AbstractTdQueryWrapper, Class, int)} 相同。
+     * 非逐行查询等同于 {@link #list(AbstractTdQueryWrapper, Class)}。
      * </p>
      *
-     * <p><b>适用场景：</b>TDengine 子表插入（根据设备ID等生成子表名）、动态分表场景</p>
-     *
-     * @param dynamicNameStrategy 实体类表名称获取策略
-     * @param object              实体对象
-     * @param <T>                 实体类型
-     * @return 影响的行数
-     * @throws TdOrmException 如果表名为空或实体类没有非TAG字段
+     * @param wrapper     包装器
+     * @param resultClass 结果类
+     * @param tableNames  参与查询的子表名
+     * @param shards      分组数，小于等于 0 时取执行器的并发数
+     * @return 查询结果
      */
-    public <T> int insert(DynamicNameStrategy<T> dynamicNameStrategy, T object) {
-        String tbName = dynamicNameStrategy.getTableName(object);
-        AssertUtil.notBlank(tbName, new TdOrmException(TdOrmExceptionCode.TABLE_NAME_BLANK));
-
-        // 获取非TAG字段
-        List<Field> noTagFieldList = TdSqlUtil.getExistNonTagFields(object.getClass());
-        if (CollectionUtils.isEmpty(noTagFieldList)) {
-            throw new TdOrmException(TdOrmExceptionCode.NO_COMM_FIELD);
+    public <T, R> List<R> listParallel(AbstractTdQueryWrapper<T> wrapper, Class<R> resultClass,
+                                       Collection<String> tableNames, int shards) {
+        assertNotMapClass(resultClass);
+        if (CollectionUtils.isEmpty(tableNames)) {
+            return Collections.emptyList();
         }
-
-        return doInsertEntity(object, tbName, noTagFieldList);
+        int shardCount = Math.min(resolveShardCount(shards), tableNames.size());
+        if (!isShardable(wrapper, shardCount)) {
+            return list(wrapper, resultClass);
+        }
+        List<List<String>> tableGroups = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            tableGroups.add(new ArrayList<>(tableNames.size() / shardCount + 1));
+        }
+        int index = 0;
+        for (String tableName : tableNames) {
+            tableGroups.get(index++ % shardCount).add(tableName);
+        }
+        List<ShardQuery> shardQueries = new ArrayList<>(shardCount);
+        String condition = TdSqlConstant.TBNAME + SqlConstant.IN + SqlConstant.LEFT_BRACKET + SqlConstant.COLON
+                + SHARD_TABLES_PARAM + SqlConstant.RIGHT_BRACKET;
+        for (List<String> tableGroup : tableGroups) {
+            shardQueries.add(new ShardQuery(condition, Collections.singletonMap(SHARD_TABLES_PARAM, tableGroup)));
+        }
+        return wrapper.getOrderColumns().isEmpty()
+                ? listShardsInOrder(wrapper, resultClass, shardQueries)
+                : listShardsMerged(wrapper, resultClass, shardQueries);
     }
 
+    private int resolveShardCount(int shards) {
+        if (shards > 0) {
+            return shards;
+        }
+        return parallelQueryExecutor == null ? 1 : parallelQueryExecutor.getParallelism();
+    }
 
-    private <T> int doInsertEntity(T object, String tbName, List<Field> noTagFieldList) {
-        Map<String, Object> paramsMap = new HashMap<>(noTagFieldList.size());
-
-        String sql = SqlConstant.INSERT_INTO + addSingleQuotes(tbName) + TdSqlUtil.joinColumnNamesAndValuesSql(object, noTagFieldList, paramsMap);
-        return updateWithInterceptor(sql, paramsMap);
+    private static boolean isShardable(AbstractTdQueryWrapper<?> wrapper, int shardCount) {
+        return shardCount > 1 && wrapper.isRowQuery() && wrapper.getLimitCount() != -2;
     }
 
+    private static boolean isTsColumn(String columnName) {
+        String name = columnName.trim().replace(SqlConstant.HALF_ANGLE_DASH, "");
+        return TdColumnConstant.TS.equalsIgnoreCase(name.substring(name.lastIndexOf('.') + 1));
+    }
 
     /**
-     * 使用 Map 作为数据载体插入指定表（使用动态表名策略）
-     *
-     * <p>
-     * 适用于无需定义实体类的灵活场景，直接使用 Map 存储数据并通过策略动态生成表名。
-     * Map 的 key 为列名，value 为列值。
-     * </p>
-     *
-     * <p><b>适用场景：</b>动态字段场景、快速原型开发、基于 Map 的数据动态分表</p>
-     *
-     * @param mapTableNameStrategy Map 载体表名称策略
-     * @param dataMap              数据 Map（key=列名, value=列值）
-     * @return 影响的行数
+     * 各分片结果按顺序互不重叠，依次拼接，取够 LIMIT 后不再执行剩余分片
      */
-    public int insert(DynamicNameStrategy<Map<String, Object>> mapTableNameStrategy, Map<String, Object> dataMap) {
-        return doInsertMap(mapTableNameStrategy.getTableName(dataMap), dataMap);
+    private <T, R> List<R> listShardsInOrder(AbstractTdQueryWrapper<T> wrapper, Class<R> resultClass,
+                                             List<ShardQuery> shardQueries) {
+        long offset = wrapper.getLimitOffset();
+        long count = wrapper.getLimitCount();
+        String limitClause = count < 0 ? null : SqlConstant.LIMIT + (offset + count);
+        String orderByClause = buildOrderByClause(wrapper.getOrderColumns());
+        RowMapper<R> rowMapper = TdColumnRowMapper.getInstance(resultClass);
+        List<Callable<List<R>>> shards = new ArrayList<>(shardQueries.size());
+        for (ShardQuery shardQuery : shardQueries) {
+            String sql = wrapper.getSeekSql(null, shardQuery.condition, orderByClause, limitClause);
+            Map<String, Object> paramsMap = shardQuery.paramsOf(wrapper);
+            shards.add(() -> listWithInterceptor(sql, paramsMap, rowMapper, resultClass));
+        }
+        long needed = count < 0 ? -1 : offset + count;
+        return ParallelQueryExecutor.concat(executeShards(shards, needed), offset, count);
     }
 
-    private int doInsertMap(String tableName, Map<String, Object> dataMap) {
-        StringBuilder sql = new StringBuilder(SqlConstant.INSERT_INTO)
-                .append(addSingleQuotes(tableName))
-                .append(SqlConstant.LEFT_BRACKET);
+    /**
+     * 各分片结果交错，每个分片附带排序列的值，按排序列多路归并
+     */
+    private <T, R> List<R> listShardsMerged(AbstractTdQueryWrapper<T> wrapper, Class<R> resultClass,
+                                            List<ShardQuery> shardQueries) {
+        long offset = wrapper.getLimitOffset();
+        long count = wrapper.getLimitCount();
+        String limitClause = count < 0 ? null : SqlConstant.LIMIT + (offset + count);
+        Map<String, Boolean> orderColumns = wrapper.getOrderColumns();
+        String orderByClause = buildOrderByClause(orderColumns);
+        boolean[] descending = new boolean[orderColumns.size()];
+        StringBuilder extraSelect = new StringBuilder();
+        int i = 0;
+        for (Map.Entry<String, Boolean> orderColumn : orderColumns.entrySet()) {
+            if (i > 0) {
+                extraSelect.append(SqlConstant.COMMA);
+            }
+            extraSelect.append(orderColumn.getKey()).append(SqlConstant.BLANK).append(SHARD_ORDER_ALIAS_PREFIX).append(i);
+            descending[i++] = orderColumn.getValue();
+        }
 
-        StringBuilder valueSql = new StringBuilder(") VALUES (");
-        for (Map.Entry<String, Object> entry : dataMap.entrySet()) {
-            sql.append(entry.getKey()).append(SqlConstant.COMMA);
-            valueSql.append(SqlConstant.COLON).append(entry.getKey()).append(SqlConstant.COMMA);
+        RowMapper<R> delegate = TdColumnRowMapper.getInstance(resultClass);
+        List<Callable<List<SortKeyRow<R>>>> shards = new ArrayList<>(shardQueries.size());
+        for (ShardQuery shardQuery : shardQueries) {
+            String sql = wrapper.getSeekSql(extraSelect.toString(), shardQuery.condition, orderByClause, limitClause);
+            Map<String, Object> paramsMap = shardQuery.paramsOf(wrapper);
+            shards.add(() -> {
+                List<Object[]> sortKeys = new ArrayList<>();
+                RowMapper<R> rowMapper = (rs, rowNum) -> {
+                    Object[] keys = new Object[descending.length];
+                    for (int k = 0; k < keys.length; k++) {
+                        keys[k] = rs.getObject(SHARD_ORDER_ALIAS_PREFIX + k);
+                    }
+                    sortKeys.add(keys);
+                    return delegate.mapRow(rs, rowNum);
+                };
+                List<R> rows = listWithInterceptor(sql, paramsMap, rowMapper, resultClass);
+                List<SortKeyRow<R>> keyedRows = new ArrayList<>(rows.size());
+                for (int k = 0; k < rows.size(); k++) {
+                    keyedRows.add(new SortKeyRow<>(sortKeys.get(k), rows.get(k)));
+                }
+                return keyedRows;
+            });
         }
-        sql.deleteCharAt(sql.length() - 1);
-        valueSql.deleteCharAt(valueSql.length() - 1).append(SqlConstant.RIGHT_BRACKET);
-        sql.append(valueSql);
-        return updateWithInterceptor(sql.toString(), dataMap);
+        Comparator<SortKeyRow<R>> comparator = (a, b) -> {
+            for (int k = 0; k < descending.length; k++) {
+                int compared = compareSortKey(a.keys[k], b.keys[k]);
+                if (compared != 0) {
+                    return descending[k] ? -compared : compared;
+                }
+            }
+            return 0;
+        };
+        List<SortKeyRow<R>> merged = ParallelQueryExecutor.mergeSorted(executeShards(shards, -1), comparator, offset, count);
+        List<R> result = new ArrayList<>(merged.size());
+        for (SortKeyRow<R> row : merged) {
+            result.add(row.row);
+        }
+        return result;
     }
 
+    private <E> List<List<E>> executeShards(List<Callable<List<E>>> shards, long needed) {
+        return parallelQueryExecutor == null
+                ? ParallelQueryExecutor.executeInline(shards, needed)
+                : parallelQueryExecutor.execute(shards, needed);
+    }
 
-    public <T> int insertUsing(T object) {
+    private static String buildOrderByClause(Map<String, Boolean> orderColumns) {
+        if (orderColumns.isEmpty()) {
+            return null;
+        }
+        StringBuilder orderBy = new StringBuilder(SqlConstant.ORDER_BY);
+        int i = 0;
+        for (Map.Entry<String, Boolean> orderColumn : orderColumns.entrySet()) {
+            if (i++ > 0) {
+                orderBy.append(SqlConstant.COMMA);
+            }
+            orderBy.append(orderColumn.getKey()).append(orderColumn.getValue() ? SqlConstant.DESC : SqlConstant.ASC);
+        }
+        return orderBy.toString();
+    }
+
+    /**
+     * 按 TDengine 的默认规则比较排序列的值：升序时 NULL 在前，降序时 NULL 在后
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareSortKey(Object a, Object b) {
+        if (a == b) {
+            return 0;
+        }
+        if (a == null) {
+            return -1;
+        }
+        if (b == null) {
+            return 1;
+        }
+        if (a instanceof byte[] && b instanceof byte[]) {
+            return new String((byte[]) a, StandardCharsets.UTF_8).compareTo(new String((byte[]) b, StandardCharsets.UTF_8));
+        }
+        if (a instanceof Number && b instanceof Number && a.getClass() != b.getClass()) {
+            return Double.compare(((Number) a).doubleValue(), ((Number) b).doubleValue());
+        }
+        if (a instanceof Comparable && a.getClass() == b.getClass()) {
+            return ((Comparable) a).compareTo(b);
+        }
+        return a.toString().compareTo(b.toString());
+    }
+
+    /**
+     * 单个分片追加的条件及参数
+     */
+    private static final class ShardQuery {
+
+        private final String condition;
+        private final Map<String, ?> params;
+
+        private ShardQuery(String condition, Map<String, ?> params) {
+            this.condition = condition;
+            this.params = params;
+        }
+
+        Map<String, Object> paramsOf(AbstractTdQueryWrapper<?> wrapper) {
+            Map<String, Object> paramsMap = new HashMap<>(wrapper.getParamsMap());
+            paramsMap.putAll(params);
+            return paramsMap;
+        }
+    }
+
+    /**
+     * 附带排序列值的结果行
+     */
+    private static final class SortKeyRow<R> {
+
+        private final Object[] keys;
+        private final R row;
+
+        private SortKeyRow(Object[] keys, R row) {
+            this.keys = keys;
+            this.row = row;
+        }
+    }
+
+    /**
+     * 流式查询
+     *
+     * @param wrapper 包装器
+     * @return 需关闭的结果流
+     * @see #stream(AbstractTdQueryWrapper, Class)
+     */
+    public <T> Stream<T> stream(AbstractTdQueryWrapper<T> wrapper) {
+        return stream(wrapper, wrapper.getEntityClass());
+    }
+
+    /**
+     * 流式查询，可以响应和实体类不一样的对象
+     * <p>
+     * 按 {@code td-orm.query-fetch-size} 分批拉取、逐行映射，内存占用与结果集大小无关，适合大范围扫描。
+     * 返回的 Stream 持有数据库连接，必须在 try-with-resources 中使用：
+     * </p>
+     * <pre>{@code
+     * try (Stream<Meter> rows = tdTemplate.stream(wrapper, Meter.class)) {
+     *     rows.forEach(this::process);
+     * }
+     * }</pre>
+     *
+     * @param wrapper     包装器
+     * @param resultClass 结果类
+     * @return 需关闭的结果流
+     */
+    public <T, R> Stream<R> stream(AbstractTdQueryWrapper<T> wrapper, Class<R> resultClass) {
+        assertNotMapClass(resultClass);
+        return streamWithInterceptor(wrapper.getSql(), wrapper.getParamsMap(), TdColumnRowMapper.getInstance(resultClass),
+                resultClass, tdOrmConfig.getQueryFetchSize());
+    }
+
+    /**
+     * 逐行处理查询结果
+     *
+     * @param wrapper 包装器
+     * @param action  行回调
+     * @return 处理的行数
+     * @see #forEach(AbstractTdQueryWrapper, Class, Consumer)
+     */
+    public <T> long forEach(AbstractTdQueryWrapper<T> wrapper, Consumer<? super T> action) {
+        return forEach(wrapper, wrapper.getEntityClass(), action);
+    }
+
+    /**
+     * 逐行处理查询结果，可以响应和实体类不一样的对象
+     * <p>
+     * 按 {@code td-orm.query-fetch-size} 分批拉取，每行映射后立即回调，方法返回时连接已释放。
+     * </p>
+     *
+     * @param wrapper     包装器
+     * @param resultClass 结果类
+     * @param action      行回调
+     * @return 处理的行数
+     */
+    public <T, R> long forEach(AbstractTdQueryWrapper<T> wrapper, Class<R> resultClass, Consumer<? super R> action) {
+        assertNotMapClass(resultClass);
+        return forEachWithInterceptor(wrapper.getSql(), wrapper.getParamsMap(), TdColumnRowMapper.getInstance(resultClass),
+                resultClass, tdOrmConfig.getQueryFetchSize(), action);
+    }
+
+    /**
+     * 逐行处理 Map 形式的查询结果（用于聚合查询等场景）
+     *
+     * @param wrapper 查询包装器
+     * @param action  行回调，Map 的 key 为列名（列别名）
+     * @return 处理的行数
+     */
+    public <T> long forEachAsMap(AbstractTdQueryWrapper<T> wrapper, Consumer<? super Map<String, Object>> action) {
+        return forEachWithInterceptor(wrapper.getSql(), wrapper.getParamsMap(), new ColumnMapRowMapper(),
+                null, tdOrmConfig.getQueryFetchSize(), action);
+    }
+
+    /**
+     * 查询并以列式结构返回（用于大量数值时序点，如看板曲线）
+     * <p>
+     * 每列以基本类型数组存储：时间戳为按 {@code td-orm.ts-precision} 精度的 long 值，数值列为 long / int / double，
+     * 字符串列（TAG 等）字典编码；相比实体列表或 {@link #listAsMap(AbstractTdQueryWrapper)}，
+     * 不为每行创建对象，堆占用和 GC 压力大幅降低。按 {@code td-orm.query-fetch-size} 分批拉取。
+     * </p>
+     * <pre>{@code
+     * TdColumnarResult result = tdTemplate.listColumnar(wrapper);
+     * long[] ts = result.getLongColumn("ts").toArray();
+     * double[] current = result.getDoubleColumn("current").toArray();
+     * }</pre>
+     *
+     * @param wrapper 查询包装器
+     * @param <T>     实体类型（用于构建查询条件）
+     * @return 列式结果
+     */
+    public <T> TdColumnarResult listColumnar(AbstractTdQueryWrapper<T> wrapper) {
+        TdColumnarResult result = extractWithInterceptor(wrapper.getSql(), wrapper.getParamsMap(),
+                new ColumnarResultExtractor(tdOrmConfig.getTsPrecision()), TdColumnarResult.class,
+                tdOrmConfig.getQueryFetchSize());
+        return result != null ? result : TdColumnarResult.empty();
+    }
+
+    private static void assertNotMapClass(Class<?> resultClass) {
+        if (Map.class.isAssignableFrom(resultClass)) {
+            log.error("Map.class is not supported as result type! Please use forEachAsMap() method instead.");
+            throw new TdOrmException(TdOrmExceptionCode.MAP_TYPE_NOT_SUPPORTED);
+        }
+    }
+
+    public <T> Page<T> page(long pageNo, long pageSize, TdQueryWrapper<T> wrapper) {
+        return page(pageNo, pageSize, wrapper, wrapper.getEntityClass());
+    }
+
+    public <T, R> Page<R> page(long pageNo, long pageSize, TdQueryWrapper<T> wrapper, Class<R> resultClass) {
+        // 构建安全的计数查询SQL
+        String innerSql = wrapper.getSql();
+        String countSql = "SELECT COUNT(*) FROM (" + innerSql + ") t";
+        Long count = countWithInterceptor(countSql, wrapper.getParamsMap());
+        Page<R> page = Page.<R>builder()
+                .pageNo(pageNo)
+                .pageSize(pageSize)
+                .total(count).build();
+        if (count != null && count > 0) {
+            List<R> list = listWithInterceptor(wrapper.limit(pageNo, pageSize).getSql(), wrapper.getParamsMap(), resultClass);
+            page.setDataList(list);
+        }
+        return page;
+    }
+
+    /**
+     * 键集（游标）分页查询
+     *
+     * @param wrapper 包装器
+     * @param cursor  游标，null 表示按时间正序的第一页
+     * @param size    页大小
+     * @return 本页数据及下一页游标
+     * @see #seek(AbstractTdQueryWrapper, Class, TsCursor, int, boolean, boolean)
+     */
+    public <T> Slice<T> seek(AbstractTdQueryWrapper<T> wrapper, TsCursor cursor, int size) {
+        return seek(wrapper, wrapper.getEntityClass(), cursor, size, false, false);
+    }
+
+    /**
+     * 键集（游标）分页查询，可以响应和实体类不一样的对象
+     *
+     * @param wrapper     包装器
+     * @param resultClass 结果类
+     * @param cursor      游标，null 表示按时间正序的第一页
+     * @param size        页大小
+     * @return 本页数据及下一页游标
+     * @see #seek(AbstractTdQueryWrapper, Class, TsCursor, int, boolean, boolean)
+     */
+    public <T, R> Slice<R> seek(AbstractTdQueryWrapper<T> wrapper, Class<R> resultClass, TsCursor cursor, int size) {
+        return seek(wrapper, resultClass, cursor, size, false, false);
+    }
+
+    /**
+     * 键集（游标）分页查询，可以响应和实体类不一样的对象
+     * <p>
+     * 按 (ts, tbname) 排序，以上一页最后一行为起点追加 {@code ts > ? OR (ts = ? AND tbname > ?)} 条件（倒序时为小于），
+     * 不使用 OFFSET，也不必先统计总数，任意深度的页开销相同。wrapper 原有的 ORDER BY 和 LIMIT 会被替换，wrapper 本身不会被修改。
+     * 适用于按原始行查询（非聚合、非窗口）的超级表或子表。
+     * </p>
+     * <pre>{@code
+     * Slice<Meter> slice = tdTemplate.seek(wrapper, Meter.class, TsCursor.decode(token), 500, false, true);
+     * String next = slice.hasNext() ? slice.getNextCursor().encode() : null;
+     * }</pre>
+     *
+     * @param wrapper      包装器
+     * @param resultClass  结果类
+     * @param cursor       游标，null 表示按时间正序的第一页
+     * @param size         页大小
+     * @param countTotal   是否统计总数（额外执行一次 COUNT 查询）
+     * @param prefetchNext 是否异步预取下一页，结果见 {@link Slice#getPrefetchedNext()}，预取的页不再继续预取
+     * @return 本页数据及下一页游标
+     */
+    public <T, R> Slice<R> seek(AbstractTdQueryWrapper<T> wrapper, Class<R> resultClass, TsCursor cursor, int size,
+                                boolean countTotal, boolean prefetchNext) {
+        AssertUtil.isTrue(size > 0, new TdOrmException("Seek size must be greater than zero: " + size));
+        assertNotMapClass(resultClass);
+        TsCursor position = cursor == null ? TsCursor.start() : cursor;
+        boolean descending = position.isDescending();
+        String direction = descending ? SqlConstant.DESC : SqlConstant.ASC;
+
+        Map<String, Object> paramsMap = new HashMap<>(wrapper.getParamsMap());
+        String keysetCondition = null;
+        if (!position.isStart()) {
+            String compare = descending ? SqlConstant.LT : SqlConstant.GT;
+            keysetCondition = SqlConstant.LEFT_BRACKET + TdColumnConstant.TS + compare + SqlConstant.COLON + SEEK_TS_PARAM
+                    + SqlConstant.OR + SqlConstant.LEFT_BRACKET + TdColumnConstant.TS + SqlConstant.EQUAL
+                    + SqlConstant.COLON + SEEK_TS_PARAM + SqlConstant.AND + TdSqlConstant.TBNAME + compare
+                    + SqlConstant.COLON + SEEK_TB_PARAM + SqlConstant.RIGHT_BRACKET + SqlConstant.RIGHT_BRACKET;
+            paramsMap.put(SEEK_TS_PARAM, position.getTs());
+            paramsMap.put(SEEK_TB_PARAM, position.getTableName());
+        }
+        String sql = wrapper.getSeekSql(
+                TdColumnConstant.TS + SqlConstant.BLANK + SEEK_TS_ALIAS + SqlConstant.COMMA
+                        + TdSqlConstant.TBNAME + SqlConstant.BLANK + SEEK_TB_ALIAS,
+                keysetCondition,
+                SqlConstant.ORDER_BY + TdColumnConstant.TS + direction + SqlConstant.COMMA + TdSqlConstant.TBNAME + direction,
+                SqlConstant.LIMIT + (size + 1));
+
+        // 多取一行判断是否还有下一页，下一页游标取自本页最后一行
+        TsCursor[] nextCursor = new TsCursor[1];
+        RowMapper<R> delegate = TdColumnRowMapper.getInstance(resultClass);
+        TimeUnit tsPrecision = tdOrmConfig.getTsPrecision();
+        RowMapper<R> rowMapper = (rs, rowNum) -> {
+            if (rowNum == size - 1) {
+                Timestamp ts = rs.getTimestamp(SEEK_TS_ALIAS);
+                nextCursor[0] = ts == null ? null
+                        : TsCursor.after(TdTimeUtil.toEpoch(ts, tsPrecision), rs.getString(SEEK_TB_ALIAS), descending);
+            }
+            return delegate.mapRow(rs, rowNum);
+        };
+        List<R> dataList = new ArrayList<>(listWithInterceptor(sql, paramsMap, rowMapper, resultClass));
+        boolean hasNext = dataList.size() > size;
+        if (hasNext) {
+            dataList.remove(size);
+        }
+
+        Slice<R> slice = Slice.<R>builder()
+                .dataList(dataList)
+                .size(size)
+                .nextCursor(hasNext ? nextCursor[0] : null)
+                .total(countTotal ? count(wrapper) : null)
+                .build();
+        if (prefetchNext && slice.hasNext()) {
+            TsCursor next = slice.getNextCursor();
+            Supplier<Slice<R>> loader = () -> seek(wrapper, resultClass, next, size, false, false);
+            slice.setPrefetchedNext(queryExecutor != null
+                    ? CompletableFuture.supplyAsync(loader, queryExecutor)
+                    : CompletableFuture.supplyAsync(loader));
+        }
+        return slice;
+    }
+
+    /**
+     * 统计数据量
+     *
+     * @param wrapper 查询包装器
+     * @return 数据条数
+     */
+    public <T> Long count(AbstractTdQueryWrapper<T> wrapper) {
+        // 构建安全的计数查询SQL
+        String innerSql = wrapper.getSql();
+        String countSql = "SELECT COUNT(*) FROM (" + innerSql + ") t";
+        Map<String, Object> paramsMap = wrapper.getParamsMap();
+
+        return countWithInterceptor(countSql, paramsMap);
+    }
+
+    /**
+     * 插入单条数据（使用默认表名）
+     *
+     * <p>
+     * 使用实体类上的 @TdTable 注解值作为表名进行插入。
+     * 如果实体类对应的是超级表，会使用超级表名称作为表名插入，故要求实体类内对Tag相关字段有准确的赋值。
+     * </p>
+     *
+     * <p><b>适用场景：</b>普通表插入、向超级表插入数据（需包含 TAG 字段值）</p>
+     *
+     * @param entity 实体对象（必须有 @TdTable 注解）
+     * @param <T>    实体类型
+     * @return 影响的行数
+     * @throws TdOrmException 如果实体类没有字段
+     */
+    public <T> int insert(T entity) {
+        // 拿到所有字段进行赋值
+        InsertPlan plan = InsertPlan.of(entity.getClass(), InsertPlan.ColumnSet.ALL);
+        if (plan.isEmpty()) {
+            throw new TdOrmException(TdOrmExceptionCode.NO_FILED);
+        }
+        insertFiller.fill(entity, plan.getSuperTableName());
+
+        return doInsertEntity(entity, plan.getSuperTableName(), plan);
+    }
+
+    /**
+     * 向指定子表插入数据（使用动态表名策略）
+     *
+     * <p>
+     * 通过策略模式动态生成表名，适用于 TDengine 子表场景。
+     * 由于已经通过策略指定了子表名称，会跳过 TAG 相关字段的赋值，只插入普通字段。
+     * </p>
+     *
+     * <p><b>适用场景：</b>TDengine 子表插入（根据设备ID等生成子表名）、动态分表场景</p>
+     *
+     * @param dynamicNameStrategy 实体类表名称获取策略
+     * @param object              实体对象
+     * @param <T>                 实体类型
+     * @return 影响的行数
+     * @throws TdOrmException 如果表名为空或实体类没有非TAG字段
+     */
+    public <T> int insert(DynamicNameStrategy<T> dynamicNameStrategy, T object) {
+        String tbName = dynamicNameStrategy.getTableName(object);
+        AssertUtil.notBlank(tbName, () -> new TdOrmException(TdOrmExceptionCode.TABLE_NAME_BLANK));
+        insertFiller.fill(object, tbName);
+
+        // 获取非TAG字段
+        InsertPlan plan = InsertPlan.of(object.getClass(), InsertPlan.ColumnSet.NON_TAG);
+        if (plan.isEmpty()) {
+            throw new TdOrmException(TdOrmExceptionCode.NO_COMM_FIELD);
+        }
+
+        return trackLastRow(tbName, Collections.singletonList(object),
+                () -> new int[]{doInsertEntity(object, tbName, plan)})[0];
+    }
+
+
+    private <T> int doInsertEntity(T object, String tbName, InsertPlan plan) {
+        Map<String, Object> paramsMap = new HashMap<>(paramsCapacity(plan.size()));
+
+        StringBuilder sql = plan.newInsertIntoPrefix(tbName);
+        plan.appendRow(sql, object, paramsMap, 0);
+        return updateWithInterceptor(sql.toString(), paramsMap);
+    }
+
+
+    /**
+     * 使用 Map 作为数据载体插入指定表（使用动态表名策略）
+     *
+     * <p>
+     * 适用于无需定义实体类的灵活场景，直接使用 Map 存储数据并通过策略动态生成表名。
+     * Map 的 key 为列名，value 为列值。
+     * </p>
+     *
+     * <p><b>适用场景：</b>动态字段场景、快速原型开发、基于 Map 的数据动态分表</p>
+     *
+     * @param mapTableNameStrategy Map 载体表名称策略
+     * @param dataMap              数据 Map（key=列名, value=列值）
+     * @return 影响的行数
+     */
+    public int insert(DynamicNameStrategy<Map<String, Object>> mapTableNameStrategy, Map<String, Object> dataMap) {
+        return doInsertMap(mapTableNameStrategy.getTableName(dataMap), dataMap);
+    }
+
+    private int doInsertMap(String tableName, Map<String, Object> dataMap) {
+        StringBuilder sql = new StringBuilder(SqlConstant.INSERT_INTO)
+                .append(addSingleQuotes(tableName))
+                .append(SqlConstant.LEFT_BRACKET);
+
+        StringBuilder valueSql = new StringBuilder(") VALUES (");
+        for (Map.Entry<String, Object> entry : dataMap.entrySet()) {
+            sql.append(entry.getKey()).append(SqlConstant.COMMA);
+            valueSql.append(SqlConstant.COLON).append(entry.getKey()).append(SqlConstant.COMMA);
+        }
+        sql.deleteCharAt(sql.length() - 1);
+        valueSql.deleteCharAt(valueSql.length() - 1).append(SqlConstant.RIGHT_BRACKET);
+        sql.append(valueSql);
+        try {
+            return updateWithInterceptor(sql.toString(), dataMap);
+        } finally {
+            invalidateLastRow(tableName);
+        }
+    }
+
+
+    public <T> int insertUsing(T object) {
         return insertUsing(object, getDefaultNamingStrategy());
     }
 
@@ -415,18 +1315,22 @@ public class TdTemplate extends AbstractTdJdbcTemplate {
      * @return 影响的行数
      */
     public <T> int insertUsing(T object, DynamicNameStrategy<T> dynamicTbNameStrategy) {
-        // 获取SQL&参数值
-        Pair<String, Map<String, Object>> finalSqlAndParamsMapPair = TdSqlUtil.getFinalInsertUsingSql(object,
-                TdSqlUtil.getExistFields(object.getClass()), dynamicTbNameStrategy);
-
-        String finalSql = finalSqlAndParamsMapPair.getFirst();
-        Map<String, Object> paramsMap = finalSqlAndParamsMapPair.getSecond();
-
-        return updateWithInterceptor(finalSql, paramsMap);
+        InsertPlan tagPlan = InsertPlan.of(object.getClass(), InsertPlan.ColumnSet.TAG);
+        InsertPlan commPlan = InsertPlan.of(object.getClass(), InsertPlan.ColumnSet.NON_TAG);
+        // 根据策略生成表名(传入实体对象以支持基于数据的命名)
+        String tbName = dynamicTbNameStrategy.getTableName(object);
+        insertFiller.fill(object, tbName);
+        return trackLastRow(tbName, Collections.singletonList(object), () -> insertWithKnownSubTable(tbName, true, using -> {
+            Map<String, Object> paramsMap = new HashMap<>(paramsCapacity(tagPlan.size() + commPlan.size()));
+            StringBuilder finalSql = new StringBuilder(SqlConstant.INSERT_INTO);
+            TdSqlUtil.appendInsertTableClause(finalSql, tbName, object, using ? tagPlan : null, commPlan, paramsMap, 0);
+            commPlan.appendRow(finalSql, object, paramsMap, 0);
+            return new int[]{updateWithInterceptor(finalSql.toString(), paramsMap)};
+        }))[0];
     }
 
     public <T> int[] batchInsert(List<T> entityList) {
-        return batchInsert(entityList, tdOrmConfig.getPageSize(), getDefaultNamingStrategy());
+        return batchInsert(entityList, getDefaultPageSize(), getDefaultNamingStrategy());
     }
 
 
@@ -436,7 +1340,7 @@ public class TdTemplate extends AbstractTdJdbcTemplate {
      * <p>
      * 批量插入实体列表到不同的子表中。会根据表名策略对数据进行智能分组，
      * 相同表名的数据放在一起合并为一条批量 INSERT 语句，提高插入效率。
-     * 使用指定批次大小（tdOrmConfig.getPageSize()）进行分批插入。
+     * 使用默认批次大小（见 {@link #getDefaultPageSize()}）进行分批插入。
      * </p>
      *
      * <p><b>适用场景：</b>大批量数据导入不同子表、多设备数据批量上报、分表场景的批量写入</p>
@@ -447,7 +1351,7 @@ public class TdTemplate extends AbstractTdJdbcTemplate {
      * @return 每批插入影响的行数数组
      */
     public <T> int[] batchInsert(List<T> entityList, DynamicNameStrategy<T> dynamicTbNameStrategy) {
-        return batchInsert(entityList, tdOrmConfig.getPageSize(), dynamicTbNameStrategy);
+        return batchInsert(entityList, getDefaultPageSize(), dynamicTbNameStrategy);
     }
 
     /**
@@ -481,41 +1385,18 @@ public class TdTemplate extends AbstractTdJdbcTemplate {
         if (CollectionUtils.isEmpty(entityList)) {
             return new int[0];
         }
-        // 不使用USING语法时, 不能指定TAG字段的值
-        Class<T> clazz = inferEntityClass(entityList);
-        List<Field> fieldList = TdSqlUtil.getExistNonTagFields(clazz);
-
-        // 按照命名策略对数据进行分组,相同表名的数据放在一起
-        Map<String, List<T>> tableGroupMap = new HashMap<>();
-
-        for (T entity : entityList) {
-            String tbName = dynamicTbNameStrategy.getTableName(entity);
-            tableGroupMap.computeIfAbsent(tbName, k -> new ArrayList<>()).add(entity);
+        if (isJdbcBatchMode() && tdOrmConfig.isJdbcBatchTableNamePlaceholder()) {
+            return doJdbcBatchInsert(entityList, pageSize, dynamicTbNameStrategy, false);
         }
-
-        // 对每个分组分别进行批量插入
-        List<Integer> resultList = new ArrayList<>();
-        for (Map.Entry<String, List<T>> entry : tableGroupMap.entrySet()) {
-            String tbName = entry.getKey();
-            List<T> groupEntityList = entry.getValue();
-
-            // 以防数据量过大, 分批进行插入
-            List<List<T>> partition = ListUtils.partition(groupEntityList, pageSize);
-
-            for (List<T> list : partition) {
-                Map<String, Object> paramsMap = new HashMap<>(list.size());
-                StringBuilder insertIntoSql = TdSqlUtil.getInsertIntoSqlPrefix(tbName, fieldList);
-                StringBuilder finalSql = new StringBuilder(insertIntoSql);
-                joinInsetSqlSuffix(list, finalSql, paramsMap);
-                int singleResult = updateWithInterceptor(finalSql.toString(), paramsMap);
-                if (log.isDebugEnabled()) {
-                    log.debug("{} ===== execute result ====>{}", finalSql, singleResult);
-                }
-                resultList.add(singleResult);
-            }
+        if (!isJdbcBatchMode() && tdOrmConfig.isMultiTableInsert()) {
+            return doBatchInsertMultiTable(entityList, pageSize, dynamicTbNameStrategy, false);
         }
+        // 不使用USING语法时, 不能指定TAG字段的值
+        Class<T> clazz = inferEntityClass(entityList);
 
-        return resultList.stream().mapToInt(Integer::intValue).toArray();
+        // 按照命名策略对数据进行分组,相同表名的数据放在一起, 再对每个分组分别进行批量插入
+        Map<String, List<T>> tableGroupMap = groupByTableName(entityList, dynamicTbNameStrategy);
+        return executeGroups(tableGroupMap, newGroupInserter(clazz, pageSize, false));
     }
 
     /**
@@ -533,7 +1414,7 @@ public class TdTemplate extends AbstractTdJdbcTemplate {
      * @return 每批插入影响的行数数组
      */
     public int[] batchInsert(String tableName, List<Map<String, Object>> dataList) {
-        return batchInsert(tableName, dataList, tdOrmConfig.getPageSize());
+        return batchInsert(tableName, dataList, getDefaultPageSize());
     }
 
     /**
@@ -561,7 +1442,7 @@ public class TdTemplate extends AbstractTdJdbcTemplate {
         if (pageSize <= 0) {
             throw new IllegalArgumentException("Partition size must be greater than zero");
         }
-        AssertUtil.notBlank(tableName, new TdOrmException(TdOrmExceptionCode.TABLE_NAME_BLANK));
+        AssertUtil.notBlank(tableName, () -> new TdOrmException(TdOrmExceptionCode.TABLE_NAME_BLANK));
         if (CollectionUtils.isEmpty(dataList)) {
             return new int[0];
         }
@@ -584,7 +1465,7 @@ public class TdTemplate extends AbstractTdJdbcTemplate {
      * @return 每批插入影响的行数数组
      */
     public int[] batchInsertMap(List<Map<String, Object>> dataList, DynamicNameStrategy<Map<String, Object>> strategy) {
-        return batchInsertMap(dataList, strategy, tdOrmConfig.getPageSize());
+        return batchInsertMap(dataList, strategy, getDefaultPageSize());
     }
 
     /**
@@ -618,29 +1499,10 @@ public class TdTemplate extends AbstractTdJdbcTemplate {
             return new int[0];
         }
 
-        // 按照命名策略对数据进行分组,相同表名的数据放在一起
-        Map<String, List<Map<String, Object>>> tableGroupMap = new HashMap<>();
-
-        for (Map<String, Object> dataMap : dataList) {
-            String tbName = strategy.getTableName(dataMap);
-            AssertUtil.notBlank(tbName, new TdOrmException(TdOrmExceptionCode.TABLE_NAME_BLANK));
-            tableGroupMap.computeIfAbsent(tbName, k -> new ArrayList<>()).add(dataMap);
-        }
-
-        // 对每个分组分别进行批量插入
-        List<Integer> resultList = new ArrayList<>();
-        for (Map.Entry<String, List<Map<String, Object>>> entry : tableGroupMap.entrySet()) {
-            String tbName = entry.getKey();
-            List<Map<String, Object>> groupDataList = entry.getValue();
-
-            int[] batchResults = doBatchInsertMaps(tbName, groupDataList, pageSize);
-            for (int result : batchResults) {
-                resultList.add(result);
-            }
-        }
-
-        return resultList.stream().mapToInt(Integer::intValue).toArray();
-    }
+        // 按照命名策略对数据进行分组,相同表名的数据放在一起, 再对每个分组分别进行批量插入
+        Map<String, List<Map<String, Object>>> tableGroupMap = groupByTableName(dataList, strategy);
+        return executeGroups(tableGroupMap, (tbName, rows) -> doBatchInsertMaps(tbName, rows, pageSize));
+    }
 
     /**
      * 使用 USING 语法批量插入子表数据（默认表名策略，默认批次大小）
@@ -663,7 +1525,7 @@ public class TdTemplate extends AbstractTdJdbcTemplate {
      * @return 每批插入影响的行数数组
      */
     public <T> int[] batchInsertUsing(List<T> entityList) {
-        return batchInsertUsing(entityList, tdOrmConfig.getPageSize(), getDefaultNamingStrategy());
+        return batchInsertUsing(entityList, getDefaultPageSize(), getDefaultNamingStrategy());
     }
 
     /**
@@ -688,7 +1550,7 @@ public class TdTemplate extends AbstractTdJdbcTemplate {
      * @return 每批插入影响的行数数组
      */
     public <T> int[] batchInsertUsing(List<T> entityList, DynamicNameStrategy<T> dynamicTbNameStrategy) {
-        return batchInsertUsing(entityList, tdOrmConfig.getPageSize(), dynamicTbNameStrategy);
+        return batchInsertUsing(entityList, getDefaultPageSize(), dynamicTbNameStrategy);
     }
 
     /**
@@ -722,54 +1584,897 @@ public class TdTemplate extends AbstractTdJdbcTemplate {
         if (CollectionUtils.isEmpty(entityList)) {
             return new int[0];
         }
+        if (isJdbcBatchMode() && tdOrmConfig.isJdbcBatchTableNamePlaceholder()) {
+            return doJdbcBatchInsert(entityList, pageSize, dynamicTbNameStrategy, true);
+        }
+        if (!isJdbcBatchMode() && tdOrmConfig.isMultiTableInsert()) {
+            return doBatchInsertMultiTable(entityList, pageSize, dynamicTbNameStrategy, true);
+        }
 
         Class<T> clazz = inferEntityClass(entityList);
 
-        // 获取TAG字段列表
-        List<Field> tagFields = TdSqlUtil.getExistTagFields(clazz);
-
         // 按照子表名对数据进行分组，相同子表的数据（相同TAG值）放在一起
-        Map<String, List<T>> tagGroupMap = new LinkedHashMap<>();
+        // 相同子表名意味着相同的TAG值组合, 每组的TAG值取自该组第一个实体
+        Map<String, List<T>> tagGroupMap = groupByTableName(entityList, dynamicTbNameStrategy);
+        return executeGroups(tagGroupMap, newGroupInserter(clazz, pageSize, true));
+    }
 
-        for (T entity : entityList) {
-            // 使用动态表名策略生成子表名作为分组key
-            // 相同子表名意味着相同的TAG值组合
-            String subTableName = dynamicTbNameStrategy.getTableName(entity);
-            tagGroupMap.computeIfAbsent(subTableName, k -> new ArrayList<>()).add(entity);
+    /**
+     * 流式批量插入（不使用 USING 语法，默认表名策略和批次大小）
+     *
+     * @param entityStream 实体流
+     * @param <T>          实体类型
+     * @return 影响的总行数
+     * @see #batchInsert(Iterator, int, DynamicNameStrategy)
+     */
+    public <T> long batchInsert(Stream<T> entityStream) {
+        return batchInsert(entityStream.iterator(), getDefaultPageSize(), getDefaultNamingStrategy());
+    }
+
+    /**
+     * 流式批量插入（不使用 USING 语法）
+     *
+     * @param entityStream          实体流
+     * @param pageSize              每批次大小
+     * @param dynamicTbNameStrategy 动态表名策略
+     * @param <T>                   实体类型
+     * @return 影响的总行数
+     * @see #batchInsert(Iterator, int, DynamicNameStrategy)
+     */
+    public <T> long batchInsert(Stream<T> entityStream, int pageSize, DynamicNameStrategy<T> dynamicTbNameStrategy) {
+        return batchInsert(entityStream.iterator(), pageSize, dynamicTbNameStrategy);
+    }
+
+    /**
+     * 流式批量插入（不使用 USING 语法）
+     *
+     * <p>
+     * 逐条消费输入，不要求先把全部数据加载为 List：每个子表只保留一个缓冲，
+     * 缓冲达到 pageSize 行时立即写入该子表；所有子表缓冲的总行数达到 {@code td-orm.stream-max-buffered-rows} 时
+     * 一次性写入全部缓冲。内存占用与输入总量无关，同一子表内的写入顺序与输入顺序一致。
+     * </p>
+     *
+     * <p><b>适用场景：</b>从文件、游标或消息队列导入大量历史数据</p>
+     *
+     * @param entityIterator        实体迭代器
+     * @param pageSize              每批次大小
+     * @param dynamicTbNameStrategy 动态表名策略
+     * @param <T>                   实体类型
+     * @return 影响的总行数
+     */
+    public <T> long batchInsert(Iterator<T> entityIterator, int pageSize, DynamicNameStrategy<T> dynamicTbNameStrategy) {
+        return doStreamInsert(entityIterator, pageSize, dynamicTbNameStrategy, false);
+    }
+
+    /**
+     * 流式批量插入（使用 USING 语法，默认表名策略和批次大小）
+     *
+     * @param entityStream 实体流
+     * @param <T>          实体类型
+     * @return 影响的总行数
+     * @see #batchInsert(Iterator, int, DynamicNameStrategy)
+     */
+    public <T> long batchInsertUsing(Stream<T> entityStream) {
+        return batchInsertUsing(entityStream.iterator(), getDefaultPageSize(), getDefaultNamingStrategy());
+    }
+
+    /**
+     * 流式批量插入（使用 USING 语法，子表不存在时自动创建）
+     *
+     * @param entityStream          实体流
+     * @param pageSize              每批次大小
+     * @param dynamicTbNameStrategy 动态子表名称策略
+     * @param <T>                   实体类型
+     * @return 影响的总行数
+     * @see #batchInsert(Iterator, int, DynamicNameStrategy)
+     */
+    public <T> long batchInsertUsing(Stream<T> entityStream, int pageSize, DynamicNameStrategy<T> dynamicTbNameStrategy) {
+        return batchInsertUsing(entityStream.iterator(), pageSize, dynamicTbNameStrategy);
+    }
+
+    /**
+     * 流式批量插入（使用 USING 语法，子表不存在时自动创建）
+     *
+     * @param entityIterator        实体迭代器
+     * @param pageSize              每批次大小
+     * @param dynamicTbNameStrategy 动态子表名称策略
+     * @param <T>                   实体类型
+     * @return 影响的总行数
+     * @see #batchInsert(Iterator, int, DynamicNameStrategy)
+     */
+    public <T> long batchInsertUsing(Iterator<T> entityIterator, int pageSize, DynamicNameStrategy<T> dynamicTbNameStrategy) {
+        return doStreamInsert(entityIterator, pageSize, dynamicTbNameStrategy, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> long doStreamInsert(Iterator<T> entityIterator, int pageSize,
+                                    DynamicNameStrategy<T> dynamicTbNameStrategy, boolean using) {
+        if (pageSize <= 0) {
+            throw new TdOrmException(TdOrmExceptionCode.PARTITION_SIZE_IS_ZERO);
+        }
+        int maxBufferedRows = Math.max(1, tdOrmConfig.getStreamMaxBufferedRows());
+        int tableFlushRows = Math.min(pageSize, maxBufferedRows);
+
+        Map<String, List<T>> buffers = new LinkedHashMap<>();
+        int bufferedRows = 0;
+        long affectedRows = 0;
+        Class<T> clazz = null;
+        while (entityIterator.hasNext()) {
+            T entity = entityIterator.next();
+            if (entity == null) {
+                continue;
+            }
+            if (clazz == null) {
+                clazz = (Class<T>) entity.getClass();
+            }
+            String tbName = dynamicTbNameStrategy.getTableName(entity);
+            AssertUtil.notBlank(tbName, () -> new TdOrmException(TdOrmExceptionCode.TABLE_NAME_BLANK));
+            insertFiller.fill(entity, tbName);
+
+            List<T> buffer = buffers.computeIfAbsent(tbName, k -> new ArrayList<>());
+            buffer.add(entity);
+            bufferedRows++;
+            if (buffer.size() >= tableFlushRows) {
+                buffers.remove(tbName);
+                bufferedRows -= buffer.size();
+                affectedRows += sum(insertTableGroups(clazz, Collections.singletonMap(tbName, buffer), buffer.size(),
+                        pageSize, using));
+            } else if (bufferedRows >= maxBufferedRows) {
+                affectedRows += sum(insertTableGroups(clazz, buffers, bufferedRows, pageSize, using));
+                buffers = new LinkedHashMap<>();
+                bufferedRows = 0;
+            }
+        }
+        if (bufferedRows > 0) {
+            affectedRows += sum(insertTableGroups(clazz, buffers, bufferedRows, pageSize, using));
+        }
+        return affectedRows;
+    }
+
+    /**
+     * 按当前写入方式写入已按子表分组的数据
+     */
+    private <T> int[] insertTableGroups(Class<T> clazz, Map<String, List<T>> tableGroupMap, int rowCount, int pageSize,
+                                        boolean using) {
+        if (isJdbcBatchMode() && tdOrmConfig.isJdbcBatchTableNamePlaceholder()) {
+            return doJdbcBatchInsert(clazz, tableGroupMap, rowCount, pageSize, using);
+        }
+        if (!isJdbcBatchMode() && tdOrmConfig.isMultiTableInsert()) {
+            return doBatchInsertMultiTable(tableGroupMap, UnaryOperator.identity(), pageSize, using);
+        }
+        return executeGroups(tableGroupMap, newGroupInserter(clazz, pageSize, using));
+    }
+
+    private static long sum(int[] results) {
+        long total = 0;
+        for (int result : results) {
+            total += result;
+        }
+        return total;
+    }
+
+    /**
+     * 并行批量插入（不使用 USING 语法）
+     *
+     * <p>
+     * 按子表分组后，各组分发到 {@link ParallelBatchExecutor} 并行执行，同一子表内按顺序写入。
+     * 单个分组失败不会中断其他分组，所有分组的结果和失败原因汇总在返回值中。
+     * 未配置执行器时在当前线程依次执行。
+     * </p>
+     *
+     * <p><b>适用场景：</b>大量子表的批量导入，写入吞吐受单连接往返延迟限制时</p>
+     *
+     * @param entityList            实体列表
+     * @param pageSize              每批次大小
+     * @param dynamicTbNameStrategy 动态表名策略
+     * @param <T>                   实体类型
+     * @return 分组写入结果
+     */
+    public <T> BatchInsertResult batchInsertParallel(List<T> entityList, int pageSize,
+                                                     DynamicNameStrategy<T> dynamicTbNameStrategy) {
+        if (pageSize <= 0) {
+            throw new TdOrmException(TdOrmExceptionCode.PARTITION_SIZE_IS_ZERO);
+        }
+        if (CollectionUtils.isEmpty(entityList)) {
+            return new BatchInsertResult(Collections.emptyList());
+        }
+        return executeGroupsParallel(groupByTableName(entityList, dynamicTbNameStrategy),
+                newGroupInserter(inferEntityClass(entityList), pageSize, false));
+    }
+
+    /**
+     * 并行批量插入（使用 USING 语法，子表不存在时自动创建）
+     *
+     * @param entityList            实体列表
+     * @param pageSize              每批次大小
+     * @param dynamicTbNameStrategy 动态子表名称策略
+     * @param <T>                   实体类型
+     * @return 分组写入结果
+     * @see #batchInsertParallel(List, int, DynamicNameStrategy)
+     */
+    public <T> BatchInsertResult batchInsertUsingParallel(List<T> entityList, int pageSize,
+                                                          DynamicNameStrategy<T> dynamicTbNameStrategy) {
+        if (pageSize <= 0) {
+            throw new TdOrmException(TdOrmExceptionCode.PARTITION_SIZE_IS_ZERO);
+        }
+        if (CollectionUtils.isEmpty(entityList)) {
+            return new BatchInsertResult(Collections.emptyList());
+        }
+        return executeGroupsParallel(groupByTableName(entityList, dynamicTbNameStrategy),
+                newGroupInserter(inferEntityClass(entityList), pageSize, true));
+    }
+
+    /**
+     * 并行批量插入Map数据到不同表
+     *
+     * @param dataList 数据列表
+     * @param strategy 动态表名策略
+     * @param pageSize 每批次大小
+     * @return 分组写入结果
+     * @see #batchInsertParallel(List, int, DynamicNameStrategy)
+     */
+    public BatchInsertResult batchInsertMapParallel(List<Map<String, Object>> dataList,
+                                                    DynamicNameStrategy<Map<String, Object>> strategy, int pageSize) {
+        if (pageSize <= 0) {
+            throw new TdOrmException(TdOrmExceptionCode.PARTITION_SIZE_IS_ZERO);
+        }
+        if (CollectionUtils.isEmpty(dataList)) {
+            return new BatchInsertResult(Collections.emptyList());
+        }
+        return executeGroupsParallel(groupByTableName(dataList, strategy),
+                (tbName, rows) -> doBatchInsertMaps(tbName, rows, pageSize));
+    }
+
+    /**
+     * 无模式写入（InfluxDB 行协议）
+     *
+     * <p>
+     * 实体按 {@code @TdTable} / {@code @TdTag} 定义编码为行协议，写入当前线程复用的字节缓冲区，
+     * 每累计 {@code td-orm.schemaless.max-batch-bytes} 字节提交一次给 {@link SchemalessSink}。
+     * 超级表、子表和新增列由服务端自动创建，子表名由服务端根据 TAG 值生成；
+     * 默认命名策略解析出的子表名只用作 ts 自动填充的分配键，与 SQL 写入保持一致。
+     * 不生成 SQL，因此不经过 SQL 拦截器。
+     * </p>
+     *
+     * <p>
+     * 自动建出的表结构与 {@link #createStableTableIfNotExist(Class)} 不同：TAG 均为 NCHAR，ts 以外的 TIMESTAMP 字段为 BIGINT，
+     * 详见 {@link LineProtocolEncoder}。
+     * </p>
+     *
+     * <p><b>适用场景：</b>表结构随设备演进、不希望预先建表的高吞吐采集写入</p>
+     *
+     * @param entityList 实体列表
+     * @param <T>        实体类型
+     * @return 写入的行数
+     */
+    public <T> int insertSchemaless(List<T> entityList) {
+        if (CollectionUtils.isEmpty(entityList)) {
+            return 0;
+        }
+        SchemalessSink sink = schemalessSink;
+        if (sink == null) {
+            throw new TdOrmException(TdOrmExceptionCode.SCHEMALESS_SINK_NOT_CONFIGURED);
+        }
+        TdOrmConfig.Schemaless config = tdOrmConfig.getSchemaless();
+        TimeUnit precision = config.getTimestampPrecision();
+        int maxBatchBytes = Math.max(1, config.getMaxBatchBytes());
+        LineProtocolEncoder encoder = new LineProtocolEncoder(precision, tdOrmConfig.getTsPrecision());
+        DynamicNameStrategy<Object> namingStrategy = getDefaultNamingStrategy();
+        LineProtocolBuffer buffer = SCHEMALESS_BUFFER.get();
+        buffer.reset();
+
+        int written = 0;
+        try {
+            for (T entity : entityList) {
+                // 与 SQL 写入使用同一分配键（默认命名策略解析出的子表名），两条路径写入同一子表时 ts 不会冲突
+                insertFiller.fill(entity, namingStrategy.getTableName(entity));
+                encoder.encode(entity, buffer);
+                if (buffer.size() >= maxBatchBytes) {
+                    written += flushSchemaless(sink, buffer, precision);
+                }
+            }
+            if (buffer.lines() > 0) {
+                written += flushSchemaless(sink, buffer, precision);
+            }
+        } finally {
+            // 偶发的大行会撑大缓冲区，用完后释放多余空间
+            buffer.reset(maxBatchBytes * 2);
+            if (queryResultCache != null) {
+                entityList.stream().map(Object::getClass).distinct()
+                        .forEach(clazz -> queryResultCache.onTableWrite(TdSqlUtil.getTbName(clazz)));
+            }
+            if (lastRowCache != null) {
+                // 子表名由服务端生成，无法按子表更新
+                entityList.stream().map(Object::getClass).distinct().forEach(lastRowCache::invalidateClass);
+            }
+        }
+        return written;
+    }
+
+    /**
+     * 按已转换的字段值批量写入单个子表
+     *
+     * <p>
+     * 值数组已经过 TypeHandler 转换，顺序与实体类的 TAG 字段、非 TAG 字段顺序一致（见 {@link InsertPlan#getValues(Object)}）。
+     * 用于写入缓冲回放等已经脱离实体对象的场景，按 {@code td-orm.max-sql-length} 和 pageSize 分批。
+     * </p>
+     *
+     * @param entityClass 实体类
+     * @param tbName      子表名
+     * @param tagValues   TAG 值，为 null 时不使用 USING 语法
+     * @param rows        行值列表
+     * @param pageSize    每批次最大行数
+     * @return 每批次影响的行数
+     */
+    public int[] insertValues(Class<?> entityClass, String tbName, Object[] tagValues, List<Object[]> rows, int pageSize) {
+        if (pageSize <= 0) {
+            throw new TdOrmException(TdOrmExceptionCode.PARTITION_SIZE_IS_ZERO);
+        }
+        if (CollectionUtils.isEmpty(rows)) {
+            return new int[0];
+        }
+        AssertUtil.notBlank(tbName, () -> new TdOrmException(TdOrmExceptionCode.TABLE_NAME_BLANK));
+        InsertPlan commPlan = InsertPlan.of(entityClass, InsertPlan.ColumnSet.NON_TAG);
+        InsertPlan tagPlan = InsertPlan.of(entityClass, InsertPlan.ColumnSet.TAG);
+        try {
+            return insertWithKnownSubTable(tbName, tagValues != null && !tagPlan.isEmpty(),
+                    using -> doInsertValues(tbName, using ? tagPlan : null, tagValues, commPlan, rows, pageSize));
+        } finally {
+            // 值数组无法还原为实体
+            invalidateLastRow(tbName);
+        }
+    }
+
+    /**
+     * 将已完成元对象填充的多个子表分组合并为多子表 INSERT 写入
+     *
+     * <p>
+     * 不再调用 {@link InsertFiller}，用于异步写入器等在入队时已按目标表填充过的场景，避免重复填充。
+     * 各分组依次装入 {@code INSERT INTO t1 ... VALUES (...) t2 ... VALUES (...)} 语句，
+     * 每条语句最多 pageSize 行并受 {@code td-orm.max-sql-length} 限制（见 {@link #batchInsertMultiTable(List, int, DynamicNameStrategy, boolean)}）。
+     * </p>
+     *
+     * @param tableGroupMap  分组数据，每组内的实体属于同一实体类、同一子表，使用 USING 时 TAG 值取每组第一个实体
+     * @param tableNameOfKey 分组键到子表名的映射，分组键即子表名时传 {@link UnaryOperator#identity()}
+     * @param pageSize       每条语句的最大行数
+     * @param using          是否使用 USING 语法自动建表
+     * @param <T>            实体类型
+     * @return 每条语句影响的行数
+     */
+    public <T> int[] insertFilled(Map<String, List<T>> tableGroupMap, UnaryOperator<String> tableNameOfKey,
+                                  int pageSize, boolean using) {
+        if (pageSize <= 0) {
+            throw new TdOrmException(TdOrmExceptionCode.PARTITION_SIZE_IS_ZERO);
+        }
+        if (CollectionUtils.isEmpty(tableGroupMap)) {
+            return new int[0];
+        }
+        return doBatchInsertMultiTable(tableGroupMap, tableNameOfKey, pageSize, using);
+    }
+
+    private int[] doInsertValues(String tbName, InsertPlan tagPlan, Object[] tagValues, InsertPlan commPlan,
+                                 List<Object[]> rows, int pageSize) {
+        Map<String, Object> tagValueMap = new HashMap<>(paramsCapacity(tagPlan == null ? 0 : tagPlan.size()));
+        StringBuilder insertIntoSql = new StringBuilder(SqlConstant.INSERT_INTO)
+                .append(SqlConstant.BLANK).append(addSingleQuotes(tbName));
+        int overheadBytes = 0;
+        if (tagPlan != null) {
+            insertIntoSql.append(tagPlan.getUsingSql());
+            tagPlan.appendTagRowValues(insertIntoSql, tagValues, tagValueMap, 0);
+            overheadBytes = tagPlan.estimateRowValues(tagValues);
+        }
+        insertIntoSql.append(commPlan.getColumnsSql()).append(SqlConstant.VALUES);
+        overheadBytes += insertIntoSql.length();
+
+        List<BatchPartitioner.Chunk<Object[]>> partition = newBatchPartitioner(pageSize)
+                .partition(rows, overheadBytes, commPlan::estimateRowValues);
+        int[] results = new int[partition.size()];
+        for (int i = 0; i < partition.size(); i++) {
+            BatchPartitioner.Chunk<Object[]> chunk = partition.get(i);
+            List<Object[]> list = chunk.getRows();
+            Map<String, Object> paramsMap = new HashMap<>(paramsCapacity(list.size() * commPlan.size() + tagValueMap.size()));
+            paramsMap.putAll(tagValueMap);
+            StringBuilder finalSql = newSqlBuilder(insertIntoSql, chunk.getEstimatedBytes());
+            for (int j = 0; j < list.size(); j++) {
+                commPlan.appendRowValues(finalSql, list.get(j), paramsMap, j);
+            }
+            results[i] = updateWithInterceptor(finalSql.toString(), paramsMap);
+            batchInsertStats.record(list.size(), chunk.getEstimatedBytes());
+        }
+        return results;
+    }
+
+    private int flushSchemaless(SchemalessSink sink, LineProtocolBuffer buffer, TimeUnit precision) {
+        int lines = buffer.lines();
+        int bytes = buffer.size();
+        int written = sink.write(buffer.asReadOnlyByteBuffer(), lines, precision);
+        batchInsertStats.record(lines, bytes);
+        buffer.reset();
+        return written;
+    }
+
+    /**
+     * 按表名策略分组，保持首次出现的顺序；取得表名后逐行执行元对象填充
+     */
+    private <T> Map<String, List<T>> groupByTableName(List<T> dataList, DynamicNameStrategy<? super T> strategy) {
+        Map<String, List<T>> tableGroupMap = new LinkedHashMap<>();
+        for (T data : dataList) {
+            String tbName = strategy.getTableName(data);
+            AssertUtil.notBlank(tbName, () -> new TdOrmException(TdOrmExceptionCode.TABLE_NAME_BLANK));
+            insertFiller.fill(data, tbName);
+            tableGroupMap.computeIfAbsent(tbName, k -> new ArrayList<>()).add(data);
+        }
+        return tableGroupMap;
+    }
+
+    /**
+     * 单个子表分组的写入动作
+     */
+    @FunctionalInterface
+    private interface GroupInserter<T> {
+        int[] insert(String tbName, List<T> rows);
+    }
+
+    private <T> GroupInserter<T> newGroupInserter(Class<T> clazz, int pageSize, boolean using) {
+        InsertPlan tagPlan = using ? InsertPlan.of(clazz, InsertPlan.ColumnSet.TAG) : null;
+        InsertPlan commPlan = InsertPlan.of(clazz, InsertPlan.ColumnSet.NON_TAG);
+        if (isJdbcBatchMode()) {
+            return (tbName, rows) -> trackLastRow(tbName, rows, () -> insertWithKnownSubTable(tbName, using, withUsing -> {
+                InsertPlan groupTagPlan = withUsing ? tagPlan : null;
+                String sql = buildPositionalInsertSql(tbName, groupTagPlan, commPlan);
+                List<Integer> resultList = new ArrayList<>();
+                collectBatchResult(sql, batchUpdateWithInterceptor(sql, rows, pageSize,
+                        (ps, entity) -> bindEntity(ps, 1, entity, groupTagPlan, commPlan)), resultList);
+                return resultList.stream().mapToInt(Integer::intValue).toArray();
+            }));
+        }
+        BatchPartitioner partitioner = newBatchPartitioner(pageSize);
+        return (tbName, rows) -> trackLastRow(tbName, rows, () -> insertWithKnownSubTable(tbName, using,
+                withUsing -> doBatchInsertGroup(tbName, rows, withUsing ? tagPlan : null, commPlan, partitioner)));
+    }
+
+    /**
+     * 单个子表写入时应用已存在子表登记表
+     * <p>
+     * 子表已知时不带 USING 写入，因子表不存在而失败时标记失效并带 USING 重试一次，其他错误原样抛出；写入成功后登记子表。
+     * 未配置登记表时按 using 原样写入。
+     * </p>
+     */
+    private int[] insertWithKnownSubTable(String tbName, boolean using, UsingInserter inserter) {
+        KnownSubTableRegistry registry = knownSubTableRegistry;
+        if (registry == null) {
+            return inserter.insert(using);
+        }
+        if (using && registry.mightExist(tbName)) {
+            try {
+                int[] result = inserter.insert(false);
+                registry.register(tbName);
+                return result;
+            } catch (RuntimeException e) {
+                if (!KnownSubTableRegistry.isTableNotExist(e)) {
+                    throw e;
+                }
+                registry.invalidate(tbName);
+                log.debug("Known sub table [{}] does not exist, retry with USING: {}", tbName, e.getMessage());
+            }
+        }
+        int[] result = inserter.insert(using);
+        registry.register(tbName);
+        return result;
+    }
+
+    /**
+     * 单个子表写入成功后记录最新行，写入失败时移除缓存（可能已部分写入）
+     */
+    private int[] trackLastRow(String tbName, List<?> rows, Supplier<int[]> writer) {
+        LastRowCache cache = lastRowCache;
+        if (cache == null) {
+            return writer.get();
+        }
+        int[] result;
+        try {
+            result = writer.get();
+        } catch (RuntimeException e) {
+            cache.invalidate(tbName);
+            throw e;
+        }
+        cache.putAll(tbName, rows);
+        return result;
+    }
+
+    /**
+     * 多个子表写入成功后记录各子表的最新行，写入失败时移除这些子表的缓存
+     *
+     * @param tableNameOfKey 分组键到子表名的映射
+     */
+    private <T> int[] trackLastRows(Map<String, List<T>> tableGroupMap, UnaryOperator<String> tableNameOfKey,
+                                    Supplier<int[]> writer) {
+        LastRowCache cache = lastRowCache;
+        if (cache == null) {
+            return writer.get();
+        }
+        int[] result;
+        try {
+            result = writer.get();
+        } catch (RuntimeException e) {
+            tableGroupMap.keySet().forEach(key -> cache.invalidate(tableNameOfKey.apply(key)));
+            throw e;
+        }
+        tableGroupMap.forEach((key, rows) -> cache.putAll(tableNameOfKey.apply(key), rows));
+        return result;
+    }
+
+    private void invalidateLastRow(String tbName) {
+        if (lastRowCache != null) {
+            lastRowCache.invalidate(tbName);
+        }
+    }
+
+    /**
+     * 多个子表打包写入时应用已存在子表登记表
+     * <p>
+     * 已知子表与未知子表分开写入，只有未知子表生成 USING 子句；已知子表因子表不存在而失败时全部标记失效，
+     * 并入未知子表带 USING 重试（已写入的行按时间戳覆盖，结果不变），其他错误原样抛出。写入成功后登记所有子表。
+     * </p>
+     *
+     * @param tableNameOfKey 分组键到子表名的映射
+     */
+    private <T> int[] insertWithKnownSubTables(Map<String, List<T>> tableGroupMap, UnaryOperator<String> tableNameOfKey,
+                                               boolean using, GroupsUsingInserter<T> inserter) {
+        KnownSubTableRegistry registry = knownSubTableRegistry;
+        if (registry == null) {
+            return inserter.insert(tableGroupMap, using);
+        }
+        if (!using) {
+            int[] result = inserter.insert(tableGroupMap, false);
+            tableGroupMap.keySet().forEach(key -> registry.register(tableNameOfKey.apply(key)));
+            return result;
+        }
+
+        Map<String, List<T>> knownGroups = new LinkedHashMap<>();
+        Map<String, List<T>> unknownGroups = new LinkedHashMap<>();
+        for (Map.Entry<String, List<T>> entry : tableGroupMap.entrySet()) {
+            boolean known = registry.mightExist(tableNameOfKey.apply(entry.getKey()));
+            (known ? knownGroups : unknownGroups).put(entry.getKey(), entry.getValue());
+        }
+        int[] knownResult = new int[0];
+        if (!knownGroups.isEmpty()) {
+            try {
+                knownResult = inserter.insert(knownGroups, false);
+            } catch (RuntimeException e) {
+                if (!KnownSubTableRegistry.isTableNotExist(e)) {
+                    throw e;
+                }
+                knownGroups.keySet().forEach(key -> registry.invalidate(tableNameOfKey.apply(key)));
+                log.debug("Some of {} known sub tables do not exist, retry with USING: {}",
+                        knownGroups.size(), e.getMessage());
+                unknownGroups.putAll(knownGroups);
+            }
+        }
+        int[] unknownResult = unknownGroups.isEmpty() ? new int[0] : inserter.insert(unknownGroups, true);
+        tableGroupMap.keySet().forEach(key -> registry.register(tableNameOfKey.apply(key)));
+
+        int[] result = Arrays.copyOf(knownResult, knownResult.length + unknownResult.length);
+        System.arraycopy(unknownResult, 0, result, knownResult.length, unknownResult.length);
+        return result;
+    }
+
+    /**
+     * 按是否生成 USING 子句执行的单子表写入动作
+     */
+    @FunctionalInterface
+    private interface UsingInserter {
+        int[] insert(boolean using);
+    }
+
+    /**
+     * 按是否生成 USING 子句执行的多子表写入动作
+     */
+    @FunctionalInterface
+    private interface GroupsUsingInserter<T> {
+        int[] insert(Map<String, List<T>> tableGroupMap, boolean using);
+    }
+
+    /**
+     * 对单个子表分组按字节预算分批，生成多行命名参数 INSERT 并执行
+     *
+     * @param tbName      子表名
+     * @param rows        同一子表的数据
+     * @param tagPlan     TAG 写入计划，为 null 时不使用 USING 语法（TAG 值取自第一条数据）
+     * @param commPlan    普通字段写入计划
+     * @param partitioner 分批器
+     * @return 每批插入影响的行数数组
+     */
+    private <T> int[] doBatchInsertGroup(String tbName, List<T> rows, InsertPlan tagPlan, InsertPlan commPlan,
+                                         BatchPartitioner partitioner) {
+        T firstEntity = rows.get(0);
+        Map<String, Object> tagValueMap = tagPlan == null ? Collections.emptyMap()
+                : new HashMap<>(paramsCapacity(tagPlan.size()));
+        StringBuilder insertIntoSql = new StringBuilder(SqlConstant.INSERT_INTO);
+        TdSqlUtil.appendInsertTableClause(insertIntoSql, tbName, firstEntity, tagPlan, commPlan, tagValueMap, 0);
+        int overheadBytes = insertIntoSql.length() + (tagPlan == null ? 0 : tagPlan.estimateRow(firstEntity));
+
+        // 以防数据量过大, 分批进行插入
+        List<BatchPartitioner.Chunk<T>> partition = partitioner.partition(rows, overheadBytes, commPlan::estimateRow);
+
+        int[] results = new int[partition.size()];
+        for (int i = 0; i < partition.size(); i++) {
+            BatchPartitioner.Chunk<T> chunk = partition.get(i);
+            List<T> list = chunk.getRows();
+            Map<String, Object> paramsMap = new HashMap<>(paramsCapacity(list.size() * commPlan.size() + tagValueMap.size()));
+            paramsMap.putAll(tagValueMap);
+
+            StringBuilder finalSql = newSqlBuilder(insertIntoSql, chunk.getEstimatedBytes());
+            joinInsetSqlSuffix(list, commPlan, finalSql, paramsMap);
+            results[i] = updateWithInterceptor(finalSql.toString(), paramsMap);
+            batchInsertStats.record(list.size(), chunk.getEstimatedBytes());
+            if (log.isDebugEnabled()) {
+                log.debug("{} ===== execute result ====>{}, rows: {}, estimated bytes: {}", finalSql, results[i],
+                        list.size(), chunk.getEstimatedBytes());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 执行各分组写入：开启并行且配置了执行器时并行执行（全部结束后统一抛出失败），否则依次执行
+     */
+    private <T> int[] executeGroups(Map<String, List<T>> tableGroupMap, GroupInserter<T> inserter) {
+        if (parallelBatchExecutor != null && tdOrmConfig.getParallel().isEnabled() && tableGroupMap.size() > 1) {
+            return parallelBatchExecutor.execute(toGroupTasks(tableGroupMap, inserter))
+                    .throwIfFailed()
+                    .toStatementResults();
         }
 
-        // 对每个TAG组（子表）分别进行批量插入
         List<Integer> resultList = new ArrayList<>();
+        for (Map.Entry<String, List<T>> entry : tableGroupMap.entrySet()) {
+            for (int result : inserter.insert(entry.getKey(), entry.getValue())) {
+                resultList.add(result);
+            }
+        }
+        return resultList.stream().mapToInt(Integer::intValue).toArray();
+    }
 
-        for (Map.Entry<String, List<T>> entry : tagGroupMap.entrySet()) {
-            List<T> groupEntityList = entry.getValue();
+    private <T> BatchInsertResult executeGroupsParallel(Map<String, List<T>> tableGroupMap, GroupInserter<T> inserter) {
+        List<ParallelBatchExecutor.GroupTask> tasks = toGroupTasks(tableGroupMap, inserter);
+        return parallelBatchExecutor == null ? ParallelBatchExecutor.executeInline(tasks) : parallelBatchExecutor.execute(tasks);
+    }
+
+    private static <T> List<ParallelBatchExecutor.GroupTask> toGroupTasks(Map<String, List<T>> tableGroupMap,
+                                                                         GroupInserter<T> inserter) {
+        List<ParallelBatchExecutor.GroupTask> tasks = new ArrayList<>(tableGroupMap.size());
+        for (Map.Entry<String, List<T>> entry : tableGroupMap.entrySet()) {
+            String tbName = entry.getKey();
+            List<T> rows = entry.getValue();
+            tasks.add(ParallelBatchExecutor.GroupTask.of(tbName, rows.size(), () -> inserter.insert(tbName, rows)));
+        }
+        return tasks;
+    }
 
-            // 对当前TAG组进行分页
-            List<List<T>> partition = ListUtils.partition(groupEntityList, pageSize);
+    /**
+     * 多子表合并批量插入（默认表名策略，默认批次大小，使用 USING 语法）
+     *
+     * @param entityList 实体列表，可以混合不同实体类（不同超级表）
+     * @return 每条语句影响的行数数组
+     * @see #batchInsertMultiTable(List, int, DynamicNameStrategy, boolean)
+     */
+    public int[] batchInsertMultiTable(List<?> entityList) {
+        return batchInsertMultiTable(entityList, getDefaultPageSize(), getDefaultNamingStrategy(), true);
+    }
 
-            // 使用该组第一个实体获取TAG值（同一组内TAG值相同）
+    /**
+     * 多子表合并批量插入
+     *
+     * <p>
+     * 使用 TDengine 的多表插入语法，把多个子表的数据拼接到同一条语句中：
+     * {@code INSERT INTO t1 USING st1 TAGS(...) (...) VALUES (...)(...) t2 USING st2 TAGS(...) (...) VALUES (...)}。
+     * 数据先按实体类和子表名分组（保持首次出现的顺序），再依次装入语句，
+     * 每条语句最多包含 pageSize 行，子表分组在语句边界处会被拆分。
+     * 这样每次调用的开销与数据量成正比，而不是与子表数量成正比。
+     * </p>
+     *
+     * <p><b>注意事项：</b></p>
+     * <ul>
+     *     <li>同一子表的 TAG 值取自该子表分组的第一条数据</li>
+     *     <li>using 为 false 时不写入 TAG，要求子表已存在</li>
+     * </ul>
+     *
+     * <p><b>适用场景：</b>海量设备各上报少量数据、多个超级表的数据混合写入</p>
+     *
+     * @param entityList            实体列表，可以混合不同实体类（不同超级表）
+     * @param pageSize              每条语句的最大行数
+     * @param dynamicTbNameStrategy 动态表名策略
+     * @param using                 是否使用 USING 语法（子表不存在时自动创建）
+     * @return 每条语句影响的行数数组
+     */
+    @SuppressWarnings("unchecked")
+    public int[] batchInsertMultiTable(List<?> entityList, int pageSize, DynamicNameStrategy<Object> dynamicTbNameStrategy,
+                                       boolean using) {
+        if (pageSize <= 0) {
+            throw new TdOrmException(TdOrmExceptionCode.PARTITION_SIZE_IS_ZERO);
+        }
+        if (CollectionUtils.isEmpty(entityList)) {
+            return new int[0];
+        }
+        return doBatchInsertMultiTable((List<Object>) entityList, pageSize, dynamicTbNameStrategy, using);
+    }
+
+    private <T> int[] doBatchInsertMultiTable(List<T> entityList, int pageSize,
+                                              DynamicNameStrategy<? super T> dynamicTbNameStrategy, boolean using) {
+        // 按实体类 + 子表名分组，保持首次出现的顺序
+        Map<String, List<T>> tableGroupMap = new LinkedHashMap<>();
+        Map<String, String> groupTableNameMap = new HashMap<>();
+        for (T entity : entityList) {
+            String tbName = dynamicTbNameStrategy.getTableName(entity);
+            AssertUtil.notBlank(tbName, () -> new TdOrmException(TdOrmExceptionCode.TABLE_NAME_BLANK));
+            insertFiller.fill(entity, tbName);
+            String groupKey = entity.getClass().getName() + '#' + tbName;
+            List<T> group = tableGroupMap.get(groupKey);
+            if (group == null) {
+                group = new ArrayList<>();
+                tableGroupMap.put(groupKey, group);
+                groupTableNameMap.put(groupKey, tbName);
+            }
+            group.add(entity);
+        }
+
+        return doBatchInsertMultiTable(tableGroupMap, groupTableNameMap::get, pageSize, using);
+    }
+
+    /**
+     * 将已分组的数据打包为多子表 INSERT 语句
+     *
+     * @param tableGroupMap  分组数据，每组内的实体属于同一实体类、同一子表
+     * @param tableNameOfKey 分组键到子表名的映射
+     */
+    private <T> int[] doBatchInsertMultiTable(Map<String, List<T>> tableGroupMap, UnaryOperator<String> tableNameOfKey,
+                                              int pageSize, boolean using) {
+        return trackLastRows(tableGroupMap, tableNameOfKey, () -> insertWithKnownSubTables(tableGroupMap, tableNameOfKey,
+                using, (groups, withUsing) -> packMultiTableInsert(groups, tableNameOfKey, pageSize, withUsing)));
+    }
+
+    private <T> int[] packMultiTableInsert(Map<String, List<T>> tableGroupMap, UnaryOperator<String> tableNameOfKey,
+                                           int pageSize, boolean using) {
+        BatchPartitioner partitioner = newBatchPartitioner(pageSize);
+        List<Integer> resultList = new ArrayList<>();
+
+        StringBuilder sql = new StringBuilder(SqlConstant.INSERT_INTO);
+        Map<String, Object> paramsMap = new HashMap<>();
+        long statementBytes = SqlConstant.INSERT_INTO.length();
+        int rowCount = 0;
+        int clauseCount = 0;
+
+        for (Map.Entry<String, List<T>> entry : tableGroupMap.entrySet()) {
+            String tbName = tableNameOfKey.apply(entry.getKey());
+            List<T> groupEntityList = entry.getValue();
             T firstEntity = groupEntityList.get(0);
-            Map<String, Object> tagValueMap = TdSqlUtil.getFiledValueMap(tagFields, firstEntity);
-
-            // 对每个分页批次进行插入
-            for (List<T> list : partition) {
-                Map<String, Object> paramsMap = new HashMap<>(list.size());
-                paramsMap.putAll(tagValueMap);
-
-                StringBuilder finalSql = new StringBuilder(TdSqlUtil.getInsertUsingSqlPrefix(firstEntity,
-                        TdSqlUtil.getExistFields(clazz), dynamicTbNameStrategy, paramsMap));
-                joinInsetSqlSuffix(list, finalSql, paramsMap);
-                int singleResult = updateWithInterceptor(finalSql.toString(), paramsMap);
-                if (log.isDebugEnabled()) {
-                    log.debug("{} =====execute result====>{}", finalSql, singleResult);
+            InsertPlan tagPlan = using ? InsertPlan.of(firstEntity.getClass(), InsertPlan.ColumnSet.TAG) : null;
+            InsertPlan commPlan = InsertPlan.of(firstEntity.getClass(), InsertPlan.ColumnSet.NON_TAG);
+            int clauseBytes = estimateInsertTableClause(tbName, firstEntity, tagPlan, commPlan);
+
+            int index = 0;
+            while (index < groupEntityList.size()) {
+                int rowBytes = commPlan.estimateRow(groupEntityList.get(index));
+                if (!partitioner.fits(statementBytes, rowCount, clauseBytes + rowBytes)) {
+                    resultList.add(updateWithInterceptor(sql.toString(), paramsMap));
+                    batchInsertStats.record(rowCount, statementBytes);
+                    sql = new StringBuilder(SqlConstant.INSERT_INTO);
+                    paramsMap = new HashMap<>();
+                    statementBytes = SqlConstant.INSERT_INTO.length();
+                    rowCount = 0;
+                    clauseCount = 0;
                 }
-                resultList.add(singleResult);
+
+                TdSqlUtil.appendInsertTableClause(sql, tbName, firstEntity, tagPlan, commPlan, paramsMap, clauseCount++);
+                statementBytes += clauseBytes;
+                do {
+                    commPlan.appendRow(sql, groupEntityList.get(index), paramsMap, rowCount++);
+                    statementBytes += rowBytes;
+                    index++;
+                    rowBytes = index < groupEntityList.size() ? commPlan.estimateRow(groupEntityList.get(index)) : 0;
+                } while (index < groupEntityList.size() && partitioner.fits(statementBytes, rowCount, rowBytes));
             }
         }
 
+        if (rowCount > 0) {
+            resultList.add(updateWithInterceptor(sql.toString(), paramsMap));
+            batchInsertStats.record(rowCount, statementBytes);
+        }
+        return resultList.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * 使用表名占位符的位置参数预编译语句 + executeBatch 批量写入
+     * <p>
+     * 所有子表共用一条单行 INSERT 语句 {@code INSERT INTO ? USING stb (...) TAGS (?,...) (...) VALUES (?,...)}，
+     * 只预编译一次，每行先绑定子表名再按字段顺序位置绑定，每 pageSize 行执行一次 executeBatch。
+     * 不使用表名占位符时，每个子表分组使用固定表名的语句（见 {@link #newGroupInserter}）。
+     * </p>
+     *
+     * @return 每次 executeBatch 影响的行数数组
+     */
+    private <T> int[] doJdbcBatchInsert(List<T> entityList, int pageSize,
+                                        DynamicNameStrategy<? super T> dynamicTbNameStrategy, boolean using) {
+        // 按子表名分组，保持首次出现的顺序
+        return doJdbcBatchInsert(inferEntityClass(entityList), groupByTableName(entityList, dynamicTbNameStrategy),
+                entityList.size(), pageSize, using);
+    }
+
+    private <T> int[] doJdbcBatchInsert(Class<T> clazz, Map<String, List<T>> tableGroupMap, int rowCount, int pageSize,
+                                        boolean using) {
+        return trackLastRows(tableGroupMap, UnaryOperator.identity(), () -> insertWithKnownSubTables(tableGroupMap,
+                UnaryOperator.identity(), using, (groups, withUsing) -> jdbcBatchInsert(clazz, groups, rowCount, pageSize, withUsing)));
+    }
+
+    private <T> int[] jdbcBatchInsert(Class<T> clazz, Map<String, List<T>> tableGroupMap, int rowCount, int pageSize,
+                                      boolean using) {
+        InsertPlan tagPlan = using ? InsertPlan.of(clazz, InsertPlan.ColumnSet.TAG) : null;
+        InsertPlan commPlan = InsertPlan.of(clazz, InsertPlan.ColumnSet.NON_TAG);
+
+        // 所有子表共用一条语句，按分组顺序展开为 (子表名, 实体)
+        List<Pair<String, T>> rows = new ArrayList<>(rowCount);
+        for (Map.Entry<String, List<T>> entry : tableGroupMap.entrySet()) {
+            for (T entity : entry.getValue()) {
+                rows.add(Pair.of(entry.getKey(), entity));
+            }
+        }
+        String sql = buildPositionalInsertSql(null, tagPlan, commPlan);
+        List<Integer> resultList = new ArrayList<>();
+        collectBatchResult(sql, batchUpdateWithInterceptor(sql, rows, pageSize, (ps, row) -> {
+            ps.setString(1, row.getFirst());
+            bindEntity(ps, 2, row.getSecond(), tagPlan, commPlan);
+        }), resultList);
         return resultList.stream().mapToInt(Integer::intValue).toArray();
     }
 
+    private static void bindEntity(PreparedStatement ps, int parameterIndex, Object entity, InsertPlan tagPlan,
+                                   InsertPlan commPlan) throws SQLException {
+        if (tagPlan != null) {
+            parameterIndex = tagPlan.bind(ps, parameterIndex, entity);
+        }
+        commPlan.bind(ps, parameterIndex, entity);
+    }
+
+    private static void collectBatchResult(String sql, int[][] batchCounts, List<Integer> resultList) {
+        for (int[] counts : batchCounts) {
+            // 驱动返回 SUCCESS_NO_INFO 时按 1 行计
+            int affected = 0;
+            for (int count : counts) {
+                affected += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("{} ===== execute batch result ====>{}, rows: {}", sql, affected, counts.length);
+            }
+            resultList.add(affected);
+        }
+    }
+
+    /**
+     * 生成单行位置参数 INSERT 语句，tbName 为 null 时使用表名占位符
+     */
+    private static String buildPositionalInsertSql(String tbName, InsertPlan tagPlan, InsertPlan commPlan) {
+        StringBuilder sql = new StringBuilder(SqlConstant.INSERT_INTO)
+                .append(tbName == null ? "?" : addSingleQuotes(tbName));
+        if (tagPlan != null && !tagPlan.isEmpty()) {
+            sql.append(tagPlan.getUsingSql()).append(tagPlan.getPlaceholdersSql());
+        }
+        return sql.append(commPlan.getColumnsSql())
+                .append(SqlConstant.VALUES)
+                .append(commPlan.getPlaceholdersSql())
+                .toString();
+    }
+
+    /**
+     * 预估 INSERT 中单个子表表头部分的字节数
+     */
+    private static int estimateInsertTableClause(String tbName, Object tagSource, InsertPlan tagPlan, InsertPlan commPlan) {
+        int size = tbName.length() + 4 + commPlan.getColumnsSql().length() + SqlConstant.VALUES.length();
+        if (tagPlan != null && !tagPlan.isEmpty()) {
+            size += tagPlan.getUsingSql().length() + tagPlan.estimateRow(tagSource);
+        }
+        return size;
+    }
+
     /**
      * 交换表中两列的数据位置
      * 通过创建新表、插入数据、删除旧表、重命名的方式实现列交换
@@ -812,78 +2517,26 @@ public class TdTemplate extends AbstractTdJdbcTemplate {
         return updateWithInterceptor(sql, paramsMap);
     }
 
-    private static <T> void joinInsetSqlSuffix(List<T> list, StringBuilder finalSql, Map<String, Object> paramsMap) {
+    private static <T> void joinInsetSqlSuffix(List<T> list, InsertPlan plan, StringBuilder finalSql,
+                                               Map<String, Object> paramsMap) {
         for (int i = 0; i < list.size(); i++) {
-            T entity = list.get(i);
-            List<Field> fields = TdSqlUtil.getExistNonTagFields(entity.getClass());
-            Pair<String, Map<String, Object>> insertSqlSuffix = TdSqlUtil.getInsertSqlSuffix(entity, fields, i);
-            finalSql.append(insertSqlSuffix.getFirst());
-            paramsMap.putAll(insertSqlSuffix.getSecond());
+            plan.appendRow(finalSql, list.get(i), paramsMap, i);
         }
     }
 
     /**
-     * TdTemplate方法拦截器（基于Spring AOP的CGLIB代理）
-     * 用于在方法调用前后添加元对象处理逻辑
+     * 按预估长度预分配 SQL 构建器，避免拼接过程中反复扩容
      */
-    private static class TdTemplateMethodInterceptor implements MethodInterceptor {
-        private final MetaObjectHandler metaObjectHandler;
-
-        public TdTemplateMethodInterceptor(MetaObjectHandler metaObjectHandler) {
-            this.metaObjectHandler = metaObjectHandler;
-        }
-
-        @Override
-        public Object invoke(MethodInvocation invocation) throws Throwable {
-            // 只有在设置了MetaObjectHandler时才执行处理逻辑
-            if (metaObjectHandler != null) {
-                // 对于插入相关方法，在调用前进行元对象处理
-                String methodName = invocation.getMethod().getName();
-                if (methodName.equals("insert") || methodName.equals("insertUsing") ||
-                        methodName.startsWith("batchInsert")) {
-
-                    // 处理参数中的实体对象或Map
-                    processInsertParams(invocation.getArguments());
-                }
-            }
-
-            // 调用原始方法
-            return invocation.proceed();
-        }
+    private static StringBuilder newSqlBuilder(CharSequence prefix, long estimatedBytes) {
+        int capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(prefix.length() + 16, estimatedBytes));
+        return new StringBuilder(capacity).append(prefix);
+    }
 
-        /**
-         * 处理插入方法的参数，执行元对象填充
-         * 只处理实体对象 T 和 List<T>，跳过 Class、String、int、Map、DynamicNameStrategy 等
-         *
-         * @param args 方法参数
-         */
-        private void processInsertParams(Object[] args) {
-            if (args == null || args.length == 0) {
-                return;
-            }
-            Arrays.stream(args)
-                    .filter(Objects::nonNull)
-                    .forEach(this::processObject);
-        }
-
-        /**
-         * 处理单个对象或列表对象
-         * 只处理有 @TdTable 注解的实体对象
-         *
-         * @param obj 待处理的对象
-         */
-        private void processObject(Object obj) {
-            if (obj == null) {
-                return;
-            }
-            if (obj instanceof List) {
-                ((List<?>) obj).forEach(this::processObject);
-                return;
-            }
-            // 只处理有 @TdTable 注解的实体对象
-            if (TdSqlUtil.isTdEntity(obj.getClass())) {
-                metaObjectHandler.insertFill(obj);
-            }
-        }
+    /**
+     * 按参数个数计算 HashMap 初始容量，避免写入过程中 rehash
+     */
+    private static int paramsCapacity(int expectedSize) {
+        return (int) (expectedSize / 0.75f) + 1;
     }
+
 }
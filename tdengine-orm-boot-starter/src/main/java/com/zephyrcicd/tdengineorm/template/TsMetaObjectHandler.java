@@ -1,20 +1,39 @@
 package com.zephyrcicd.tdengineorm.template;
 
-import com.zephyrcicd.tdengineorm.util.ClassUtil;
+import com.zephyrcicd.tdengineorm.batch.InsertPlan;
+import com.zephyrcicd.tdengineorm.constant.TdColumnConstant;
+import com.zephyrcicd.tdengineorm.metadata.ColumnMetadata;
+import com.zephyrcicd.tdengineorm.metadata.EntityMetadata;
+import lombok.Getter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.Field;
+import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.Map;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 默认填充ts字段的元对象处理器
- * <p>在插入数据前自动填充ts字段为当前时间，解决并发生成时间戳问题</p>
+ * <p>
+ * 在插入数据前将为空的 ts 字段（包装类型为 null，基本类型 long 为 0）填充为当前时间。时间戳由 {@link MonotonicTsAllocator} 按子表单调分配，
+ * 同一子表并发写入时不会生成重复的时间戳（重复时间戳在 TDengine 中会相互覆盖）。
+ * 写入路径经 {@link InsertFiller#fill(Object, String)} 传入目标子表名，按子表名区分：SQL 写入取命名策略解析出的表名，
+ * 无模式写入取默认命名策略解析出的表名，同一子表经两条路径写入时共用一个分配键。
+ * 直接调用 {@link #insertFill(Object)} 未传表名时按实体类 + TAG 值区分。
+ * </p>
+ * <p>
+ * 每个实体类只解析一次 ts 字段和填充方式。{@link Date} 类型的字段无法表示亚毫秒精度，始终按毫秒分配；
+ * long / Long 类型的字段按配置的精度填充数值。int / Integer（毫秒时间戳会溢出）和 {@link LocalDate}（同一天的时间戳全部相同）
+ * 无法保存分配的时间戳，这类字段不自动填充并在首次遇到时输出警告。
+ * </p>
  *
  * @author Zephyr
  */
@@ -22,6 +41,40 @@ public class TsMetaObjectHandler implements MetaObjectHandler {
 
     private static final Logger log = LoggerFactory.getLogger(TsMetaObjectHandler.class);
 
+    /**
+     * 未知表名的 Map 数据共用的分配键
+     */
+    private static final Object MAP_KEY = new Object();
+
+    /**
+     * 没有 ts 字段的实体类
+     */
+    private static final FillPlan NO_FILL = new FillPlan(null, null, null, null);
+
+    /**
+     * 时间戳精度，需与数据库精度一致
+     */
+    @Getter
+    private final TimeUnit precision;
+
+    private final MonotonicTsAllocator allocator;
+    private final MonotonicTsAllocator millisAllocator;
+    private final Map<Class<?>, FillPlan> planCache = new ConcurrentHashMap<>();
+
+    public TsMetaObjectHandler() {
+        this(TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param precision 时间戳精度（MILLISECONDS / MICROSECONDS / NANOSECONDS），与数据库精度一致
+     */
+    public TsMetaObjectHandler(TimeUnit precision) {
+        this.precision = precision;
+        this.allocator = new MonotonicTsAllocator(precision);
+        this.millisAllocator = precision == TimeUnit.MILLISECONDS ? allocator
+                : new MonotonicTsAllocator(TimeUnit.MILLISECONDS);
+    }
+
     /**
      * 插入元对象字段填充（用于插入时对公共字段的填充）
      *
@@ -30,6 +83,18 @@ public class TsMetaObjectHandler implements MetaObjectHandler {
      */
     @Override
     public <T> void insertFill(T object) {
+        insertFill(object, null);
+    }
+
+    /**
+     * 插入元对象字段填充，按表名分配单调时间戳
+     *
+     * @param object    实体对象或Map
+     * @param tableName 目标表名，为 null 时按实体类 + TAG 值区分子表
+     * @param <T>       实体类型或Map类型
+     */
+    @Override
+    public <T> void insertFill(T object, String tableName) {
         if (object == null) {
             return;
         }
@@ -38,56 +103,160 @@ public class TsMetaObjectHandler implements MetaObjectHandler {
         if (object instanceof Map) {
             Map<String, Object> map = (Map<String, Object>) object;
             // 只有在ts字段不存在或为空时才进行填充
-            if (!map.containsKey("ts") || map.get("ts") == null) {
-                map.put("ts", getCurrentTimeForType(Object.class));
+            if (map.get(TdColumnConstant.TS) == null) {
+                map.put(TdColumnConstant.TS, allocator.next(tableName == null ? MAP_KEY : tableName));
             }
             return;
         }
 
         // 处理实体对象
-        ClassUtil.getAllFields(object.getClass())
-                .stream()
-                .filter(field -> "ts".equals(field.getName()))
-                .forEach(field -> {
-                    try {
-                        field.setAccessible(true);
-                        // 只有在ts字段为空时才进行填充
-                        if (field.get(object) == null) {
-                            Object timeValue = getCurrentTimeForType(field.getType());
-                            field.set(object, timeValue);
-                        }
-                    } catch (IllegalAccessException e) {
-                        log.warn("Failed to access field: {}", field.getName(), e);
-                        // 忽略访问异常
-                    }
-                });
+        FillPlan plan = planCache.computeIfAbsent(object.getClass(), this::buildPlan);
+        if (plan.field == null) {
+            return;
+        }
+        try {
+            // 只有在ts字段为空时才进行填充
+            if (plan.isUnset(plan.field.get(object))) {
+                Object key = tableName != null ? tableName : plan.allocationKey(object);
+                plan.field.set(object, plan.type.toValue(plan.allocator.next(key), plan.allocator.getPrecision()));
+            }
+        } catch (IllegalAccessException e) {
+            log.warn("Failed to access field: {}", plan.field.getName(), e);
+            // 忽略访问异常
+        }
+    }
+
+    private FillPlan buildPlan(Class<?> clazz) {
+        ColumnMetadata tsColumn = EntityMetadata.of(clazz).getColumnByFieldName(TdColumnConstant.TS);
+        if (tsColumn == null) {
+            return NO_FILL;
+        }
+        Field field = tsColumn.getField();
+        Class<?> fieldType = field.getType();
+        if (fieldType == int.class || fieldType == Integer.class || fieldType == LocalDate.class) {
+            log.warn("ts field type [{}] of [{}] can not hold a millisecond timestamp, skip auto fill",
+                    fieldType.getName(), clazz.getName());
+            return NO_FILL;
+        }
+        TsType type = TsType.of(fieldType);
+        if (type == null) {
+            log.warn("Unsupported ts field type [{}] of [{}], skip auto fill", fieldType.getName(), clazz.getName());
+            return NO_FILL;
+        }
+        InsertPlan tagPlan = InsertPlan.of(clazz, InsertPlan.ColumnSet.TAG);
+        return new FillPlan(field, type, type.supportsSubMillis() ? allocator : millisAllocator, tagPlan);
     }
 
     /**
-     * 根据字段类型获取当前时间值
-     *
-     * @param fieldType 字段类型
-     * @return 对应类型的时间值
+     * 实体类的 ts 填充计划
+     */
+    private static final class FillPlan {
+
+        private final Field field;
+        private final TsType type;
+        private final MonotonicTsAllocator allocator;
+        private final InsertPlan tagPlan;
+
+        FillPlan(Field field, TsType type, MonotonicTsAllocator allocator, InsertPlan tagPlan) {
+            this.field = field;
+            this.type = type;
+            this.allocator = allocator;
+            this.tagPlan = tagPlan;
+        }
+
+        /**
+         * ts 字段是否未赋值：包装类型为 null，基本类型 long 为默认值 0
+         */
+        boolean isUnset(Object value) {
+            return value == null || field.getType() == long.class && (Long) value == 0L;
+        }
+
+        /**
+         * 未知表名时的分配键：实体类 + TAG 值（与按 TAG 命名子表的策略一一对应）
+         */
+        Object allocationKey(Object entity) {
+            if (tagPlan.isEmpty()) {
+                return entity.getClass();
+            }
+            Object[] key = new Object[tagPlan.size() + 1];
+            key[0] = entity.getClass();
+            for (int i = 0; i < tagPlan.size(); i++) {
+                key[i + 1] = tagPlan.getValue(entity, i);
+            }
+            return Arrays.asList(key);
+        }
+    }
+
+    /**
+     * 支持自动填充的 ts 字段类型
      */
-    private Object getCurrentTimeForType(Class<?> fieldType) {
-        // 使用ThreadLocalRandom避免并发问题
-        long timestamp = System.currentTimeMillis() + ThreadLocalRandom.current().nextLong(0, 1000);
-
-        if (fieldType == long.class || fieldType == Long.class) {
-            return timestamp;
-        } else if (fieldType == int.class || fieldType == Integer.class) {
-            return (int) timestamp;
-        } else if (fieldType == Date.class) {
-            return new Date(timestamp);
-        } else if (fieldType == LocalDateTime.class) {
-            return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault());
-        } else if (fieldType == LocalDate.class) {
-            return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault()).toLocalDate();
-        } else if (fieldType == Instant.class) {
-            return Instant.ofEpochMilli(timestamp);
-        } else {
-            // 默认返回Long类型时间戳
-            return timestamp;
+    private enum TsType {
+        LONG(true) {
+            @Override
+            Object toValue(long ts, TimeUnit unit) {
+                return ts;
+            }
+        },
+        TIMESTAMP(true) {
+            @Override
+            Object toValue(long ts, TimeUnit unit) {
+                long nanos = unit.toNanos(ts);
+                Timestamp timestamp = new Timestamp(Math.floorDiv(nanos, 1_000_000L));
+                timestamp.setNanos((int) Math.floorMod(nanos, 1_000_000_000L));
+                return timestamp;
+            }
+        },
+        DATE(false) {
+            @Override
+            Object toValue(long ts, TimeUnit unit) {
+                return new Date(ts);
+            }
+        },
+        LOCAL_DATE_TIME(true) {
+            @Override
+            Object toValue(long ts, TimeUnit unit) {
+                return LocalDateTime.ofInstant(toInstant(ts, unit), ZoneId.systemDefault());
+            }
+        },
+        INSTANT(true) {
+            @Override
+            Object toValue(long ts, TimeUnit unit) {
+                return toInstant(ts, unit);
+            }
+        };
+
+        private final boolean subMillis;
+
+        TsType(boolean subMillis) {
+            this.subMillis = subMillis;
+        }
+
+        boolean supportsSubMillis() {
+            return subMillis;
+        }
+
+        abstract Object toValue(long ts, TimeUnit unit);
+
+        static TsType of(Class<?> fieldType) {
+            if (fieldType == long.class || fieldType == Long.class) {
+                return LONG;
+            } else if (fieldType == Timestamp.class) {
+                return TIMESTAMP;
+            } else if (fieldType == Date.class) {
+                return DATE;
+            } else if (fieldType == LocalDateTime.class) {
+                return LOCAL_DATE_TIME;
+            } else if (fieldType == Instant.class) {
+                return INSTANT;
+            } else if (fieldType == Object.class || fieldType == Number.class) {
+                return LONG;
+            }
+            return null;
+        }
+
+        private static Instant toInstant(long ts, TimeUnit unit) {
+            long nanos = unit.toNanos(ts);
+            return Instant.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L), Math.floorMod(nanos, 1_000_000_000L));
         }
     }
 }
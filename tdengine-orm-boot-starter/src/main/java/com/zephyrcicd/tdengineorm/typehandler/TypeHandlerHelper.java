@@ -76,13 +76,29 @@ public final class TypeHandlerHelper {
      * @param value Java对象值
      * @return 转换后的SQL值
      */
-    @SuppressWarnings("unchecked")
     public static Object toSqlValue(Field field, Object value) {
         if (value == null) {
             return null;
         }
+        return toSqlValue(TypeHandlerHelper.<Object>getHandler(field), value);
+    }
+
+    /**
+     * 写入时：使用已解析的TypeHandler将Java对象转换为SQL值
+     * <p>
+     * 供预编译的写入计划使用，避免每行重复查找字段处理器。
+     * </p>
+     *
+     * @param handler 字段对应的TypeHandler（可为null）
+     * @param value   Java对象值
+     * @return 转换后的SQL值
+     */
+    @SuppressWarnings("unchecked")
+    public static Object toSqlValue(TypeHandler<Object> handler, Object value) {
+        if (value == null) {
+            return null;
+        }
 
-        TypeHandler<Object> handler = getHandler(field);
         if (handler != null) {
             return handler.toSqlValue(value);
         }
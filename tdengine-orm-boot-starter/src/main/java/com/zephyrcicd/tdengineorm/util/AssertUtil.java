@@ -6,6 +6,7 @@ import org.springframework.util.StringUtils;
 import java.lang.reflect.Array;
 import java.util.Collection;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * @author Zephyr
@@ -25,6 +26,12 @@ public class AssertUtil {
         }
     }
 
+    public static void isTrue(boolean expression, Supplier<? extends RuntimeException> exceptionSupplier) {
+        if (!expression) {
+            throw exceptionSupplier.get();
+        }
+    }
+
     public static void notEmpty(Collection<?> collection, RuntimeException exception) {
         if (CollectionUtils.isEmpty(collection)) {
             throw exception;
@@ -62,4 +69,13 @@ public class AssertUtil {
         }
     }
 
+    /**
+     * 校验失败时才创建异常，用于逐行调用的热点路径（异常构造需要填充堆栈，开销远大于校验本身）
+     */
+    public static void notBlank(String text, Supplier<? extends RuntimeException> exceptionSupplier) {
+        if (!StringUtils.hasText(text)) {
+            throw exceptionSupplier.get();
+        }
+    }
+
 }
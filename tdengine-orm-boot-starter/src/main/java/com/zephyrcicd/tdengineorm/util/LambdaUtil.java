@@ -6,6 +6,8 @@ import org.jetbrains.annotations.NotNull;
 
 import java.lang.invoke.SerializedLambda;
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author Zephyr
@@ -13,6 +15,11 @@ import java.lang.reflect.Method;
 @Slf4j
 public class LambdaUtil {
 
+    /**
+     * 按 lambda 实现类缓存的 SerializedLambda：同一调用点的 getter 引用类相同，其实现方法和实例化类型也相同
+     */
+    private static final Map<Class<?>, SerializedLambda> SERIALIZED_LAMBDA_CACHE = new ConcurrentHashMap<>();
+
     public static <T> String getUnderlineFieldNameByGetter(GetterFunction<T, ?> getterFunc) {
         String methodName = getMethodName(getSerializedLambda(getterFunc));
         return FieldUtil.toUnderlineCase(methodName);
@@ -31,6 +38,16 @@ public class LambdaUtil {
     }
 
     private static <T> SerializedLambda getSerializedLambda(GetterFunction<T, ?> getterFunc) {
+        SerializedLambda cached = SERIALIZED_LAMBDA_CACHE.get(getterFunc.getClass());
+        if (cached != null) {
+            return cached;
+        }
+        SerializedLambda serializedLambda = resolveSerializedLambda(getterFunc);
+        SERIALIZED_LAMBDA_CACHE.put(getterFunc.getClass(), serializedLambda);
+        return serializedLambda;
+    }
+
+    private static <T> SerializedLambda resolveSerializedLambda(GetterFunction<T, ?> getterFunc) {
         try {
             Method method = getterFunc.getClass().getDeclaredMethod("writeReplace");
             method.setAccessible(true);
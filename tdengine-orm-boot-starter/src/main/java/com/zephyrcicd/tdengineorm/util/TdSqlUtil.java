@@ -3,6 +3,7 @@ package com.zephyrcicd.tdengineorm.util;
 import com.zephyrcicd.tdengineorm.annotation.TdColumn;
 import com.zephyrcicd.tdengineorm.annotation.TdTable;
 import com.zephyrcicd.tdengineorm.annotation.TdTag;
+import com.zephyrcicd.tdengineorm.batch.InsertPlan;
 import com.zephyrcicd.tdengineorm.typehandler.TypeHandlerHelper;
 import com.zephyrcicd.tdengineorm.constant.SqlConstant;
 import com.zephyrcicd.tdengineorm.constant.TdColumnConstant;
@@ -12,6 +13,8 @@ import com.zephyrcicd.tdengineorm.enums.TdSelectFuncEnum;
 import com.zephyrcicd.tdengineorm.exception.TdOrmException;
 import com.zephyrcicd.tdengineorm.exception.TdOrmExceptionCode;
 import com.zephyrcicd.tdengineorm.func.GetterFunction;
+import com.zephyrcicd.tdengineorm.metadata.ColumnMetadata;
+import com.zephyrcicd.tdengineorm.metadata.EntityMetadata;
 import com.zephyrcicd.tdengineorm.strategy.DynamicNameStrategy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.util.Pair;
@@ -74,24 +77,24 @@ public class TdSqlUtil {
     }
 
     /**
-     * 获取所有存在的字段（exist=true）
+     * 获取所有存在的字段（exist=true），返回 {@link EntityMetadata} 中字段列表的可修改副本
      */
     public static List<Field> getExistFields(Class<?> clazz) {
-        return ClassUtil.getAllFields(clazz, existFieldFilter());
+        return new ArrayList<>(EntityMetadata.of(clazz).getFields());
     }
 
     /**
      * 获取所有存在的非 TAG 字段
      */
     public static List<Field> getExistNonTagFields(Class<?> clazz) {
-        return ClassUtil.getAllFields(clazz, existNonTagFieldFilter());
+        return new ArrayList<>(EntityMetadata.of(clazz).getNonTagFields());
     }
 
     /**
      * 获取所有存在的 TAG 字段
      */
     public static List<Field> getExistTagFields(Class<?> clazz) {
-        return ClassUtil.getAllFields(clazz, existTagFieldFilter());
+        return new ArrayList<>(EntityMetadata.of(clazz).getTagFields());
     }
 
     // ========== 原有方法 ==========
@@ -108,9 +111,7 @@ public class TdSqlUtil {
     }
 
     public static String getTbName(Class<?> entityClass) {
-        String tbNameByAnno = getTbNameByAnno(entityClass);
-        return StringUtils.hasText(tbNameByAnno) ?
-                tbNameByAnno : FieldUtil.toUnderlineCase(entityClass.getSimpleName());
+        return EntityMetadata.of(entityClass).getTableName();
     }
 
     public static String getTbNameByAnno(Class<?> entityClass) {
@@ -119,7 +120,7 @@ public class TdSqlUtil {
     }
 
     public static boolean isTdEntity(Class<?> clazz) {
-        return clazz.isAnnotationPresent(TdTable.class);
+        return EntityMetadata.of(clazz).isTdEntity();
     }
 
     public static Collector<CharSequence, ?, String> getParenthesisCollector() {
@@ -256,7 +257,7 @@ public class TdSqlUtil {
 
     private static String buildColumnSql(Field field, String idFieldName, List<String> paramNameList, List<String> updateColumnList) {
         String fieldName = field.getName();
-        String columnName = getColumnName(field, fieldName);
+        String columnName = getColumnName(field);
         String paramName = SqlConstant.COLON + fieldName;
         paramNameList.add(paramName);
         if (!Arrays.asList("createTime", idFieldName).contains(fieldName)) {
@@ -265,14 +266,6 @@ public class TdSqlUtil {
         return columnName;
     }
 
-    private static String getColumnName(Field field, String fieldName) {
-        TdColumn tableFieldAnno = field.getAnnotation(TdColumn.class);
-        if (tableFieldAnno != null && StringUtils.hasText(tableFieldAnno.value())) {
-            return tableFieldAnno.value();
-        }
-        return FieldUtil.toUnderlineCase(fieldName);
-    }
-
 
     /**
      * 获取插入语句的前缀 SQL
@@ -340,12 +333,7 @@ public class TdSqlUtil {
      * @return String
      */
     public static String getColumnName(Field field) {
-        TdColumn tableField = field.getAnnotation(TdColumn.class);
-        String fieldNameUnderlineCase = FieldUtil.toUnderlineCase(field.getName());
-        if (tableField == null || !StringUtils.hasText(tableField.value())) {
-            return fieldNameUnderlineCase;
-        }
-        return tableField.value();
+        return EntityMetadata.columnOf(field).getColumnName();
     }
 
     /**
@@ -422,19 +410,12 @@ public class TdSqlUtil {
     }
 
     public static <T> String getColumnName(GetterFunction<T, ?> getterFunc) {
-        String fieldName = LambdaUtil.getFiledNameByGetter(getterFunc);
-        Field field = ClassUtil.getFieldByName(LambdaUtil.getEntityClass(getterFunc), fieldName);
-        TdColumn column = field == null ? null : field.getAnnotation(TdColumn.class);
-        String tableFiledAnnoValue = column == null ? null : column.value();
-        return StringUtils.hasText(tableFiledAnnoValue) ? tableFiledAnnoValue : FieldUtil.toUnderlineCase(fieldName);
+        return EntityMetadata.of(LambdaUtil.getEntityClass(getterFunc))
+                .getColumnName(LambdaUtil.getFiledNameByGetter(getterFunc));
     }
 
     public static <T> String getColumnName(Class<T> tClass, GetterFunction<T, ?> getterFunc) {
-        String fieldName = LambdaUtil.getFiledNameByGetter(getterFunc);
-        Field field = ClassUtil.getFieldByName(tClass, fieldName);
-        TdColumn column = field == null ? null : field.getAnnotation(TdColumn.class);
-        String tableFiledAnnoValue = column == null ? null : column.value();
-        return StringUtils.hasText(tableFiledAnnoValue) ? tableFiledAnnoValue : FieldUtil.toUnderlineCase(fieldName);
+        return EntityMetadata.of(tClass).getColumnName(LambdaUtil.getFiledNameByGetter(getterFunc));
     }
 
     public static <T> String joinSqlValue(T entity, List<Field> fields, Map<String, Object> paramsMapList, int index) {
@@ -487,6 +468,35 @@ public class TdSqlUtil {
         return Pair.of(finalSql, paramsMap);
     }
 
+    /**
+     * 追加 INSERT 中单个子表的表头部分
+     * <p>
+     * 生成格式：'tb' USING stb (tag1,tag2) TAGS (:tag1_t0,:tag2_t0) (c1,c2) VALUES
+     * 或（不使用 USING 时）：'tb' (c1,c2) VALUES
+     * </p>
+     * <p>
+     * TAG 参数名格式为 {@code 字段名_t子表序号}，与行参数名 {@code 字段名_行序号} 互不冲突，
+     * 因此同一条语句中可以拼接任意多个子表（包括不同超级表）。
+     * </p>
+     *
+     * @param sql         SQL 构建器
+     * @param tbName      子表名
+     * @param tagSource   提供 TAG 值的实体（不使用 USING 时可为 null）
+     * @param tagPlan     TAG 字段写入计划（不使用 USING 时可为 null）
+     * @param commPlan    普通字段写入计划
+     * @param paramsMap   参数 Map（输出参数）
+     * @param clauseIndex 子表在当前语句中的序号
+     */
+    public static void appendInsertTableClause(StringBuilder sql, String tbName, Object tagSource, InsertPlan tagPlan,
+                                               InsertPlan commPlan, Map<String, Object> paramsMap, int clauseIndex) {
+        sql.append(SqlConstant.BLANK).append(addSingleQuotes(tbName));
+        if (tagSource != null && tagPlan != null && !tagPlan.isEmpty()) {
+            sql.append(tagPlan.getUsingSql());
+            tagPlan.appendTagValues(sql, tagSource, paramsMap, clauseIndex);
+        }
+        sql.append(commPlan.getColumnsSql()).append(SqlConstant.VALUES);
+    }
+
     /**
      * 按是否有Tag注解区分Field
      *
@@ -523,7 +533,7 @@ public class TdSqlUtil {
 
     private static String getFieldTypeAndLength(Field field) {
         TdColumn tdField = field.getAnnotation(TdColumn.class);
-        TdFieldTypeEnum type = null == tdField ? getColumnTypeByField(field) : tdField.type();
+        TdFieldTypeEnum type = getFieldType(field);
         if (type.isNeedLengthLimit()) {
             int defaultLength;
             switch (type) {
@@ -543,6 +553,17 @@ public class TdSqlUtil {
         return type.getFiledType();
     }
 
+    /**
+     * 获取字段对应的 TDengine 类型：优先使用 {@link TdColumn#type()}，否则按 Java 类型匹配，无法匹配时为 NCHAR
+     *
+     * @param field 字段
+     * @return TDengine 字段类型
+     */
+    public static TdFieldTypeEnum getFieldType(Field field) {
+        TdColumn tdField = field.getAnnotation(TdColumn.class);
+        return null == tdField ? getColumnTypeByField(field) : tdField.type();
+    }
+
     private static TdFieldTypeEnum getColumnTypeByField(Field field) {
         Class<?> fieldType = field.getType();
         TdFieldTypeEnum tdFieldTypeEnum = TdFieldTypeEnum.matchByFieldType(fieldType);
@@ -590,10 +611,9 @@ public class TdSqlUtil {
 
             // 组合主键，仅支持 TDengine 3.3.x 以上版本（tag不支持组合主键）
             if (!isTag) {
-                TdColumn tableField = field.getAnnotation(TdColumn.class);
-                if (tableField != null && tableField.compositeKey()) {
-                    TdTag tdTag = field.getAnnotation(TdTag.class);
-                    if (tdTag != null) {
+                ColumnMetadata column = EntityMetadata.columnOf(field);
+                if (column.isCompositeKey()) {
+                    if (column.isTag()) {
                         throw new TdOrmException(TdOrmExceptionCode.TAG_FIELD_CAN_NOT_BE_COMPOSITE_FIELD);
                     }
                     finalSb.append(TdSqlConstant.COMPOSITE_KEY);
@@ -0,0 +1,64 @@
+package com.zephyrcicd.tdengineorm.util;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 时间戳工具类
+ *
+ * @author Zephyr
+ */
+public class TdTimeUtil {
+
+    private TdTimeUtil() {
+    }
+
+    /**
+     * 将 JDBC 时间戳转换为指定精度的 epoch 值（保留微秒、纳秒部分）
+     *
+     * @param value     时间戳
+     * @param precision 精度（MILLISECONDS / MICROSECONDS / NANOSECONDS）
+     * @return epoch 值
+     */
+    public static long toEpoch(Timestamp value, TimeUnit precision) {
+        if (precision == TimeUnit.MILLISECONDS) {
+            return value.getTime();
+        }
+        long seconds = Math.floorDiv(value.getTime(), 1000L);
+        return precision.convert(seconds, TimeUnit.SECONDS) + precision.convert(value.getNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 将查询条件中的时间值转换为毫秒 epoch 值
+     *
+     * @param value            时间值（Date / Timestamp、数值、Instant、LocalDateTime 或 {@code yyyy-MM-dd HH:mm:ss[.fff]} 字符串）
+     * @param numericPrecision 数值类型时间值的精度
+     * @return 毫秒 epoch 值，无法识别时返回 null
+     */
+    public static Long toEpochMillis(Object value, TimeUnit numericPrecision) {
+        if (value instanceof Date) {
+            return ((Date) value).getTime();
+        }
+        if (value instanceof Number) {
+            return numericPrecision.toMillis(((Number) value).longValue());
+        }
+        if (value instanceof Instant) {
+            return ((Instant) value).toEpochMilli();
+        }
+        if (value instanceof LocalDateTime) {
+            return ((LocalDateTime) value).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+        if (value instanceof String) {
+            try {
+                return Timestamp.valueOf(((String) value).trim()).getTime();
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+}
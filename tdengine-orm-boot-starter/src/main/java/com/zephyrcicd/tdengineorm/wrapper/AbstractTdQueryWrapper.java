@@ -1,6 +1,7 @@
 package com.zephyrcicd.tdengineorm.wrapper;
 
 import com.zephyrcicd.tdengineorm.constant.SqlConstant;
+import com.zephyrcicd.tdengineorm.constant.TdColumnConstant;
 import com.zephyrcicd.tdengineorm.enums.TdWindFuncTypeEnum;
 import com.zephyrcicd.tdengineorm.enums.TdWrapperTypeEnum;
 import com.zephyrcicd.tdengineorm.exception.TdOrmException;
@@ -13,8 +14,15 @@ import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -22,18 +30,49 @@ import java.util.stream.Collectors;
  */
 public abstract class AbstractTdQueryWrapper<T> extends AbstractTdWrapper<T> {
 
+    private static final Pattern LIMIT_PATTERN = Pattern.compile(
+            "^\\s*LIMIT\\s+(\\d+)\\s*(?:(,|OFFSET)\\s*(\\d+))?\\s*$", Pattern.CASE_INSENSITIVE);
+
     protected String limit;
+    /**
+     * LIMIT 的偏移量和行数，未设置 LIMIT 时行数为 -1，无法解析时行数为 -2
+     */
+    protected long limitOffset;
+    protected long limitCount = -1;
     protected String groupBy;
     protected String partitionBy;
     protected String[] selectColumnNames;
     protected String windowFunc;
     protected SelectCalcWrapper<T> selectCalcWrapper;
     protected final StringBuilder orderBy = new StringBuilder();
+    /**
+     * 排序列及是否倒序，与 orderBy 子句一一对应
+     */
+    protected final Map<String, Boolean> orderColumns = new LinkedHashMap<>();
     protected List<TdQueryWrapper.JoinQuery> joinQueryEntityList = new ArrayList<>();
     /**
      * 内层Wrapper对象
      */
     protected AbstractTdQueryWrapper<T> innerQueryWrapper;
+    /**
+     * ts 列上的上界条件值（{@code <}、{@code <=}、{@code =}、BETWEEN 右值）
+     */
+    protected final List<Object> tsUpperBounds = new ArrayList<>();
+    /**
+     * ts 列上的下界条件值（{@code >}、{@code >=}、{@code =}、BETWEEN 左值）
+     */
+    protected final List<Object> tsLowerBounds = new ArrayList<>();
+    /**
+     * ts 列条件使用的参数名
+     */
+    protected final Set<String> tsParamNames = new LinkedHashSet<>();
+    /**
+     * WHERE 中出现 OR 时上下界条件不再可靠
+     */
+    protected boolean tsUpperBoundUnknown;
+    protected TdWindFuncTypeEnum windowType;
+    protected String windowValue;
+    protected String[] partitionColumns;
 
     public AbstractTdQueryWrapper(Class<T> entityClass) {
         super(entityClass);
@@ -54,8 +93,31 @@ public abstract class AbstractTdQueryWrapper<T> extends AbstractTdWrapper<T> {
     }
 
     public String getSql() {
+        return buildSql(null, null, orderBy, limit);
+    }
+
+    /**
+     * 生成键集（游标）分页 SQL，不修改当前 wrapper
+     * <p>
+     * 在当前查询基础上追加查询列、追加 WHERE 条件，并替换 ORDER BY 和 LIMIT 子句。
+     * </p>
+     *
+     * @param extraSelect     追加到查询列之后的列（含别名），如 {@code ts td_seek_ts}
+     * @param keysetCondition 以 AND 追加到 WHERE 的条件，为空时不追加
+     * @param orderByClause   替换原有排序的完整 ORDER BY 子句
+     * @param limitClause     替换原有限制的完整 LIMIT 子句
+     * @return SQL
+     */
+    public String getSeekSql(String extraSelect, String keysetCondition, String orderByClause, String limitClause) {
+        return buildSql(extraSelect, keysetCondition, orderByClause, limitClause);
+    }
+
+    private String buildSql(String extraSelect, String extraCondition, CharSequence orderByClause, String limitClause) {
         StringBuilder sql = new StringBuilder();
         buildSelect(sql);
+        if (StringUtils.hasText(extraSelect)) {
+            sql.append(SqlConstant.COMMA).append(extraSelect);
+        }
         buildFrom(sql);
         joinQueryEntityList.forEach(joinQueryEntity -> {
             sql
@@ -66,7 +128,14 @@ public abstract class AbstractTdQueryWrapper<T> extends AbstractTdWrapper<T> {
                     .append(SqlConstant.BLANK);
         });
 
-        if (where.length() > 0) {
+        if (StringUtils.hasText(extraCondition)) {
+            // 原条件可能包含 OR，整体加括号后再追加
+            sql.append(SqlConstant.WHERE);
+            if (where.length() > 0) {
+                sql.append(SqlConstant.LEFT_BRACKET).append(where).append(SqlConstant.RIGHT_BRACKET).append(SqlConstant.AND);
+            }
+            sql.append(extraCondition);
+        } else if (where.length() > 0) {
             sql.append(SqlConstant.WHERE).append(where);
         }
         if (StringUtils.hasText(partitionBy)) {
@@ -78,23 +147,180 @@ public abstract class AbstractTdQueryWrapper<T> extends AbstractTdWrapper<T> {
         if (StringUtils.hasText(groupBy)) {
             sql.append(groupBy);
         }
-        if (orderBy.length() > 0) {
-            sql.append(orderBy);
+        if (orderByClause != null && orderByClause.length() > 0) {
+            sql.append(orderByClause);
         }
-        if (StringUtils.hasText(limit)) {
-            sql.append(limit);
+        if (StringUtils.hasText(limitClause)) {
+            sql.append(limitClause);
         }
 
         return sql.toString();
     }
 
 
+    /**
+     * ts 列上的上界条件值（含内层查询），结果中的行不会晚于其中任何一个值
+     *
+     * @return 上界条件值，条件中包含 OR 时返回 null 表示无法确定
+     */
+    public List<Object> getTsUpperBounds() {
+        if (tsUpperBoundUnknown) {
+            return null;
+        }
+        if (innerQueryWrapper == null) {
+            return Collections.unmodifiableList(tsUpperBounds);
+        }
+        // 外层条件与内层条件同时成立，任一层的上界都约束结果
+        List<Object> innerBounds = innerQueryWrapper.getTsUpperBounds();
+        List<Object> bounds = new ArrayList<>(tsUpperBounds);
+        if (innerBounds != null) {
+            bounds.addAll(innerBounds);
+        }
+        return bounds;
+    }
+
+    /**
+     * 查询涉及的表名（含内层查询和连接的表）
+     */
+    public Set<String> getQueryTableNames() {
+        Set<String> tableNames = new LinkedHashSet<>();
+        if (innerQueryWrapper != null) {
+            tableNames.addAll(innerQueryWrapper.getQueryTableNames());
+        } else {
+            tableNames.add(tbName.trim());
+        }
+        joinQueryEntityList.forEach(joinQuery -> tableNames.add(joinQuery.getJoinTableName()));
+        return tableNames;
+    }
+
+    /**
+     * ts 列上的下界条件值，条件中包含 OR 或存在内层查询时返回 null 表示无法确定
+     */
+    public List<Object> getTsLowerBounds() {
+        return tsUpperBoundUnknown || innerQueryWrapper != null ? null : Collections.unmodifiableList(tsLowerBounds);
+    }
+
+    /**
+     * ts 列条件使用的参数名（不含内层查询）
+     */
+    public Set<String> getTsParamNames() {
+        return Collections.unmodifiableSet(tsParamNames);
+    }
+
+    /**
+     * 窗口类型，未设置窗口时为 null
+     */
+    public TdWindFuncTypeEnum getWindowType() {
+        return windowType;
+    }
+
+    /**
+     * 窗口参数，如 INTERVAL 的 {@code 1m}
+     */
+    public String getWindowValue() {
+        return windowValue;
+    }
+
+    /**
+     * PARTITION BY 的列，未分区时为空数组
+     */
+    public String[] getPartitionColumns() {
+        return partitionColumns == null ? new String[0] : partitionColumns.clone();
+    }
+
+    /**
+     * 是否为单表、无排序、无分页、无 GROUP BY 的查询
+     */
+    public boolean isSimpleQuery() {
+        return innerQueryWrapper == null && joinQueryEntityList.isEmpty() && orderBy.length() == 0
+                && !StringUtils.hasText(limit) && !StringUtils.hasText(groupBy);
+    }
+
+    /**
+     * 是否为逐行查询：单表、无内层查询、无窗口、无分区、无分组、查询列中无函数调用
+     * <p>
+     * 逐行查询的结果是各时间段（或各子表）结果的并集，可以拆分后分别执行再合并。
+     * </p>
+     */
+    public boolean isRowQuery() {
+        if (innerQueryWrapper != null || !joinQueryEntityList.isEmpty() || StringUtils.hasText(groupBy)
+                || StringUtils.hasText(partitionBy) || StringUtils.hasText(windowFunc)) {
+            return false;
+        }
+        if (selectColumnNames != null) {
+            for (String columnName : selectColumnNames) {
+                // 聚合、选择函数和 DISTINCT 的结果依赖全部数据
+                if (columnName.indexOf('(') >= 0 || columnName.toUpperCase(Locale.ROOT).contains("DISTINCT")) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 排序列及是否倒序，按 ORDER BY 中的顺序排列
+     */
+    public Map<String, Boolean> getOrderColumns() {
+        return Collections.unmodifiableMap(orderColumns);
+    }
+
+    /**
+     * LIMIT 的偏移量
+     */
+    public long getLimitOffset() {
+        return limitOffset;
+    }
+
+    /**
+     * LIMIT 的行数，未设置 LIMIT 时为 -1，LIMIT 子句无法解析时为 -2
+     */
+    public long getLimitCount() {
+        return limitCount;
+    }
+
+    protected void trackOrderBy(String columnName, boolean desc) {
+        orderColumns.put(columnName, desc);
+    }
+
+    protected void trackTsCondition(String columnName, String paramName, String symbol, Object value) {
+        String name = columnName.trim().replace(SqlConstant.HALF_ANGLE_DASH, "");
+        name = name.substring(name.lastIndexOf('.') + 1);
+        if (!TdColumnConstant.TS.equalsIgnoreCase(name) || value == null) {
+            return;
+        }
+        tsParamNames.add(paramName);
+        if (SqlConstant.LT.equals(symbol) || SqlConstant.LE.equals(symbol) || SqlConstant.EQUAL.equals(symbol)) {
+            tsUpperBounds.add(value);
+        }
+        if (SqlConstant.GT.equals(symbol) || SqlConstant.GE.equals(symbol) || SqlConstant.EQUAL.equals(symbol)) {
+            tsLowerBounds.add(value);
+        }
+    }
+
     protected void doLimit(String limitCount) {
         limit = limitCount;
+        Matcher matcher = LIMIT_PATTERN.matcher(limitCount);
+        if (!matcher.matches()) {
+            this.limitOffset = 0;
+            this.limitCount = -2;
+        } else if (matcher.group(2) == null) {
+            this.limitOffset = 0;
+            this.limitCount = Long.parseLong(matcher.group(1));
+        } else if (SqlConstant.COMMA.equals(matcher.group(2))) {
+            this.limitOffset = Long.parseLong(matcher.group(1));
+            this.limitCount = Long.parseLong(matcher.group(3));
+        } else {
+            this.limitOffset = Long.parseLong(matcher.group(3));
+            this.limitCount = Long.parseLong(matcher.group(1));
+        }
     }
 
     protected void doLimit(long pageNo, long pageSize) {
-        limit = SqlConstant.LIMIT + (pageNo - 1) + SqlConstant.COMMA + pageSize;
+        long offset = Math.max(0L, pageNo - 1) * pageSize;
+        limit = SqlConstant.LIMIT + offset + SqlConstant.COMMA + pageSize;
+        limitOffset = offset;
+        limitCount = pageSize;
     }
 
     private void buildSelect(StringBuilder sql) {
@@ -126,6 +352,8 @@ public abstract class AbstractTdQueryWrapper<T> extends AbstractTdWrapper<T> {
     protected void doWindowFunc(TdWindFuncTypeEnum funcType, String winFuncValue) {
         Assert.isNull(windowFunc, "[TDengineQueryWrapper] 不可重复设置窗口函数");
         windowFunc = buildWindowFunc(funcType, winFuncValue);
+        windowType = funcType;
+        windowValue = winFuncValue;
     }
 
     protected String buildWindowFunc(TdWindFuncTypeEnum tdWindFuncTypeEnum, String winFuncValue) {
@@ -142,6 +370,7 @@ public abstract class AbstractTdQueryWrapper<T> extends AbstractTdWrapper<T> {
      * @param columns 分区列，多个列用逗号分隔
      */
     protected void doPartitionBy(String columns) {
+        partitionColumns = Arrays.stream(columns.split(SqlConstant.COMMA)).map(String::trim).toArray(String[]::new);
         partitionBy = " PARTITION BY " + columns + SqlConstant.BLANK;
     }
 
@@ -182,6 +411,11 @@ public abstract class AbstractTdQueryWrapper<T> extends AbstractTdWrapper<T> {
     protected void addWhereParam(Object value, String columnName, String paramName, String symbol) {
         AssertUtil.notNull(value, new TdOrmException(TdOrmExceptionCode.PARAM_VALUE_CANT_NOT_BE_NULL));
         checkHasWhere();
+        if (SqlConstant.OR.equals(symbol)) {
+            tsUpperBoundUnknown = true;
+        } else {
+            trackTsCondition(columnName, paramName, symbol, value);
+        }
         where
                 .append(columnName)
                 .append(symbol)
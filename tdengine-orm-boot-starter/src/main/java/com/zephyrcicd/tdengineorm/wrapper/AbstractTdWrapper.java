@@ -1,14 +1,12 @@
 package com.zephyrcicd.tdengineorm.wrapper;
 
-import com.zephyrcicd.tdengineorm.annotation.TdTable;
 import com.zephyrcicd.tdengineorm.constant.SqlConstant;
 import com.zephyrcicd.tdengineorm.constant.TdSqlConstant;
 import com.zephyrcicd.tdengineorm.enums.TdWrapperTypeEnum;
-import com.zephyrcicd.tdengineorm.util.FieldUtil;
+import com.zephyrcicd.tdengineorm.metadata.EntityMetadata;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.springframework.util.StringUtils;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -49,15 +47,7 @@ public abstract class AbstractTdWrapper<T> {
     }
 
     protected void initTbName() {
-        String name = null;
-        TdTable annotation = entityClass.getAnnotation(TdTable.class);
-        if (annotation != null && StringUtils.hasText(annotation.value())) {
-            name = annotation.value();
-        }
-        if (!StringUtils.hasText(name)) {
-            name = FieldUtil.toUnderlineCase(entityClass.getSimpleName());
-        }
-        tbName = name;
+        tbName = EntityMetadata.of(entityClass).getTableName();
     }
 
     protected Integer getParamNameSeq() {
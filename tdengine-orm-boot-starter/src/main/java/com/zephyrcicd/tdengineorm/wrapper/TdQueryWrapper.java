@@ -7,6 +7,7 @@ import com.zephyrcicd.tdengineorm.enums.TdWindFuncTypeEnum;
 import com.zephyrcicd.tdengineorm.exception.TdOrmException;
 import com.zephyrcicd.tdengineorm.exception.TdOrmExceptionCode;
 import com.zephyrcicd.tdengineorm.func.GetterFunction;
+import com.zephyrcicd.tdengineorm.metadata.EntityMetadata;
 import com.zephyrcicd.tdengineorm.util.AssertUtil;
 import com.zephyrcicd.tdengineorm.util.ClassUtil;
 import com.zephyrcicd.tdengineorm.util.LambdaUtil;
@@ -42,7 +43,8 @@ public class TdQueryWrapper<T> extends AbstractTdQueryWrapper<T> {
     public TdQueryWrapper<T> selectAll(Class<?> selectClass) {
         List<Field> allFields = ClassUtil.getAllFields(selectClass);
         AssertUtil.notEmpty(allFields, new TdOrmException(TdOrmExceptionCode.NO_FILED));
-        String[] columnNames = allFields.stream().map(TdSqlUtil::getColumnName).toArray(String[]::new);
+        EntityMetadata metadata = EntityMetadata.of(selectClass);
+        String[] columnNames = allFields.stream().map(field -> metadata.getColumnName(field.getName())).toArray(String[]::new);
         addColumnNames(columnNames);
         return this;
     }
@@ -250,20 +252,27 @@ public class TdQueryWrapper<T> extends AbstractTdQueryWrapper<T> {
         } else {
             orderBy.append(SqlConstant.ORDER_BY).append(columnName);
         }
+        trackOrderBy(columnName, false);
         return this;
     }
 
-
+    /**
+     * 追加倒序排序列，每次调用都会为该列单独加上 DESC，
+     * 例如 {@code orderByDesc("a").orderByDesc("b")} 生成 {@code ORDER BY a DESC, b DESC}
+     *
+     * @param columnName 列名
+     * @return 当前对象
+     */
     public TdQueryWrapper<T> orderByDesc(String columnName) {
         if (orderBy.length() > 0) {
             orderBy.append(SqlConstant.COMMA);
-            orderBy.append(columnName);
         } else {
-            orderBy.append(SqlConstant.ORDER_BY)
-                    .append(columnName)
-                    .append(SqlConstant.BLANK)
-                    .append(SqlConstant.DESC);
+            orderBy.append(SqlConstant.ORDER_BY);
         }
+        orderBy.append(columnName)
+                .append(SqlConstant.BLANK)
+                .append(SqlConstant.DESC);
+        trackOrderBy(columnName, true);
         return this;
     }
 
@@ -540,6 +549,8 @@ public class TdQueryWrapper<T> extends AbstractTdQueryWrapper<T> {
 
         getParamsMap().put(leftParamName, leftValue);
         getParamsMap().put(rightParamName, rightValue);
+        trackTsCondition(columnName, leftParamName, SqlConstant.GT, leftValue);
+        trackTsCondition(columnName, rightParamName, SqlConstant.LE, rightValue);
         return this;
     }
 
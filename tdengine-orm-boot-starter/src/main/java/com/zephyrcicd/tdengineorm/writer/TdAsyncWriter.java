@@ -0,0 +1,447 @@
+package com.zephyrcicd.tdengineorm.writer;
+
+import com.zephyrcicd.tdengineorm.config.TdOrmConfig;
+import com.zephyrcicd.tdengineorm.exception.TdOrmException;
+import com.zephyrcicd.tdengineorm.exception.TdOrmExceptionCode;
+import com.zephyrcicd.tdengineorm.strategy.DynamicNameStrategy;
+import com.zephyrcicd.tdengineorm.template.TdTemplate;
+import com.zephyrcicd.tdengineorm.util.AssertUtil;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * TDengine 异步微批写入器
+ * <p>
+ * 写入方只负责把实体放入有界队列，由后台线程按子表缓冲。
+ * 当某个子表缓冲达到 {@code batchSize} 行、最早一行等待超过 {@code maxLatencyMs} 或线程内缓冲总行数达到 {@code batchSize} 时，
+ * 所有到期的子表缓冲通过 {@link TdTemplate#insertFilled(Map, UnaryOperator, int, boolean)} 合并为多子表 INSERT 写入，
+ * 设备多、每个设备每个延迟窗口只有少量数据时也能凑成大批次。
+ * </p>
+ * <p>
+ * 写入失败的数据放回缓冲，间隔 {@code retryBackoffMs} 后重试，最多 {@code maxRetries} 次；
+ * 仍失败时交给 {@code failureHandler} 回调，未配置回调时记录错误并丢弃。
+ * {@code maxRetries} 为 0 时失败即丢弃。
+ * </p>
+ * <p>
+ * 子表名在写入方线程中通过命名策略计算，并按子表名哈希路由到固定的写入线程，
+ * 因此同一子表内的数据顺序与提交顺序一致。队列满时写入方最多阻塞 {@code offerTimeoutMs}，
+ * 超时后 {@link #write(Object)} 返回 false。元对象填充在写入方线程中按子表名完成，刷新时不再重复填充。
+ * </p>
+ * <p>
+ * 入队与关闭由读写锁互斥：{@link #close()} 返回后不会再有数据入队，已入队的数据全部刷新后才退出。
+ * </p>
+ *
+ * @author Zephyr
+ */
+@Slf4j
+public class TdAsyncWriter implements AutoCloseable {
+
+    private final TdTemplate tdTemplate;
+    private final TdOrmConfig.AsyncWriter config;
+    private final Worker[] workers;
+
+    private volatile boolean running = true;
+
+    /**
+     * 入队持读锁，关闭持写锁，保证关闭后不会再有数据入队
+     */
+    private final ReadWriteLock stateLock = new ReentrantReadWriteLock();
+
+    private final LongAdder submittedRows = new LongAdder();
+    private final LongAdder writtenRows = new LongAdder();
+    private final LongAdder failedRows = new LongAdder();
+    private final LongAdder rejectedRows = new LongAdder();
+    private final LongAdder flushCount = new LongAdder();
+    private final LongAdder retriedRows = new LongAdder();
+
+    /**
+     * 刷新失败回调，参数为重试次数用尽后仍写入失败的实体列表和异常
+     */
+    @Setter
+    private BiConsumer<List<Object>, Throwable> failureHandler;
+
+    public TdAsyncWriter(TdTemplate tdTemplate, TdOrmConfig.AsyncWriter config) {
+        AssertUtil.isTrue(config.getBatchSize() > 0, new TdOrmException(TdOrmExceptionCode.PARTITION_SIZE_IS_ZERO));
+        this.tdTemplate = tdTemplate;
+        this.config = config;
+
+        int threads = Math.max(1, config.getThreads());
+        this.workers = new Worker[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Worker(i);
+            workers[i].start();
+        }
+    }
+
+    /**
+     * 使用 TdTemplate 默认命名策略异步写入
+     *
+     * @param entity 实体对象
+     * @param <T>    实体类型
+     * @return true 已入队，false 队列已满且等待超时
+     */
+    public <T> boolean write(T entity) {
+        return write(entity, tdTemplate.getDefaultNamingStrategy());
+    }
+
+    /**
+     * 使用指定命名策略异步写入
+     *
+     * @param entity              实体对象
+     * @param dynamicNameStrategy 子表命名策略
+     * @param <T>                 实体类型
+     * @return true 已入队，false 队列已满且等待超时
+     */
+    @SuppressWarnings("unchecked")
+    public <T> boolean write(T entity, DynamicNameStrategy<T> dynamicNameStrategy) {
+        if (!running) {
+            throw new TdOrmException(TdOrmExceptionCode.ASYNC_WRITER_CLOSED);
+        }
+        if (entity == null) {
+            return true;
+        }
+        String tableName = dynamicNameStrategy.getTableName(entity);
+        AssertUtil.notBlank(tableName, () -> new TdOrmException(TdOrmExceptionCode.TABLE_NAME_BLANK));
+        // 入队时填充，ts 取写入时刻而不是刷新时刻
+        tdTemplate.getInsertFiller().fill(entity, tableName);
+
+        PendingRow row = new PendingRow(entity, tableName);
+        Worker worker = workers[(tableName.hashCode() & Integer.MAX_VALUE) % workers.length];
+        stateLock.readLock().lock();
+        try {
+            if (!running) {
+                throw new TdOrmException(TdOrmExceptionCode.ASYNC_WRITER_CLOSED);
+            }
+            if (worker.queue.offer(row, config.getOfferTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                submittedRows.increment();
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            stateLock.readLock().unlock();
+        }
+        rejectedRows.increment();
+        return false;
+    }
+
+    /**
+     * 批量异步写入
+     *
+     * @param entities 实体集合
+     * @param <T>      实体类型
+     * @return 成功入队的行数
+     */
+    public <T> int writeAll(Collection<T> entities) {
+        int accepted = 0;
+        for (T entity : entities) {
+            if (write(entity)) {
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * 当前所有写入线程队列中等待处理的行数
+     */
+    public int getPendingRows() {
+        int pending = 0;
+        for (Worker worker : workers) {
+            pending += worker.queue.size() + worker.bufferedRows;
+        }
+        return pending;
+    }
+
+    public long getSubmittedRows() {
+        return submittedRows.sum();
+    }
+
+    public long getWrittenRows() {
+        return writtenRows.sum();
+    }
+
+    public long getFailedRows() {
+        return failedRows.sum();
+    }
+
+    public long getRejectedRows() {
+        return rejectedRows.sum();
+    }
+
+    public long getFlushCount() {
+        return flushCount.sum();
+    }
+
+    /**
+     * 写入失败后放回缓冲等待重试的累计行数（同一行多次重试会重复计数）
+     */
+    public long getRetriedRows() {
+        return retriedRows.sum();
+    }
+
+    /**
+     * 停止接收新数据，刷新所有队列和缓冲后退出
+     */
+    @Override
+    public void close() {
+        stateLock.writeLock().lock();
+        try {
+            if (!running) {
+                return;
+            }
+            running = false;
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+        long deadline = System.currentTimeMillis() + config.getShutdownTimeoutMs();
+        for (Worker worker : workers) {
+            long remaining = deadline - System.currentTimeMillis();
+            try {
+                worker.join(Math.max(1, remaining));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (worker.isAlive()) {
+                log.warn("TdAsyncWriter worker [{}] did not finish within {}ms, {} rows may be lost",
+                        worker.getName(), config.getShutdownTimeoutMs(), worker.queue.size() + worker.bufferedRows);
+            } else {
+                // 写入线程已退出（如被中断），由关闭线程刷新残留数据
+                worker.drainRemaining();
+            }
+        }
+    }
+
+    /**
+     * 把一组子表缓冲合并为多子表 INSERT 写入
+     *
+     * @return 写入失败时的异常，成功时为 null
+     */
+    private Exception flush(Map<String, List<Object>> tableGroupMap, Map<String, String> tableNames, int rowCount) {
+        try {
+            tdTemplate.insertFilled(tableGroupMap, tableNames::get, config.getBatchSize(), config.isUseUsing());
+            writtenRows.add(rowCount);
+            return null;
+        } catch (Exception e) {
+            log.warn("TdAsyncWriter flush failed, tables: {}, rows: {}, error: {}", tableGroupMap.size(), rowCount,
+                    e.getMessage());
+            return e;
+        } finally {
+            flushCount.increment();
+        }
+    }
+
+    /**
+     * 重试次数用尽的数据交给失败回调，未配置回调时记录错误后丢弃
+     */
+    private void fail(TableBuffer buffer, List<Object> rows, Exception e) {
+        failedRows.add(rows.size());
+        if (failureHandler == null) {
+            log.error("TdAsyncWriter dropped {} rows of table [{}] after {} retries, error: {}", rows.size(),
+                    buffer.tableName, buffer.attempts, e.getMessage());
+            return;
+        }
+        try {
+            failureHandler.accept(rows, e);
+        } catch (Exception handlerEx) {
+            log.warn("TdAsyncWriter failure handler error: {}", handlerEx.getMessage());
+        }
+    }
+
+    /**
+     * 写入线程：独占一个有界队列和一组子表缓冲
+     */
+    private class Worker extends Thread {
+
+        private final BlockingQueue<PendingRow> queue = new ArrayBlockingQueue<>(Math.max(1, config.getQueueCapacity()));
+        private final Map<String, TableBuffer> buffers = new HashMap<>();
+        private final List<PendingRow> drainList = new ArrayList<>();
+        private volatile int bufferedRows;
+
+        Worker(int index) {
+            super("td-async-writer-" + index);
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            long maxLatencyNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, config.getMaxLatencyMs()));
+            long pollMillis = Math.max(1, config.getMaxLatencyMs() / 2);
+            while (running || !queue.isEmpty()) {
+                try {
+                    PendingRow row = queue.poll(pollMillis, TimeUnit.MILLISECONDS);
+                    if (row != null) {
+                        append(row);
+                        queue.drainTo(drainList, config.getBatchSize());
+                        for (PendingRow pendingRow : drainList) {
+                            append(pendingRow);
+                        }
+                        drainList.clear();
+                    }
+                    flushDue(System.nanoTime(), maxLatencyNanos, false);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (Exception e) {
+                    log.error("TdAsyncWriter worker error: {}", e.getMessage(), e);
+                }
+            }
+            flushAll();
+        }
+
+        /**
+         * 刷新队列和缓冲中的残留数据，只能在写入线程结束后调用
+         */
+        private void drainRemaining() {
+            queue.drainTo(drainList);
+            for (PendingRow pendingRow : drainList) {
+                append(pendingRow);
+            }
+            drainList.clear();
+            flushAll();
+        }
+
+        private void append(PendingRow row) {
+            String key = row.entity.getClass().getName() + '#' + row.tableName;
+            TableBuffer buffer = buffers.get(key);
+            if (buffer == null) {
+                buffer = new TableBuffer(key, row.tableName);
+                buffers.put(key, buffer);
+            }
+            if (buffer.rows.isEmpty()) {
+                buffer.firstRowNanos = System.nanoTime();
+            }
+            buffer.rows.add(row.entity);
+            bufferedRows++;
+        }
+
+        /**
+         * 收集到期的子表缓冲并合并为一次多子表写入
+         * <p>
+         * 缓冲总行数达到 {@code batchSize} 时所有缓冲都到期，否则只有达到 {@code batchSize} 行或
+         * 最早一行等待超过 {@code maxLatencyMs} 的缓冲到期；处于重试等待中的缓冲不参与。
+         * 写入失败的缓冲在 {@code retryBackoffMs} 后重试，最多 {@code maxRetries} 次。
+         * </p>
+         *
+         * @param force 是否忽略到期条件和重试等待（关闭时刷新全部缓冲）
+         * @return 写入失败且仍可重试的缓冲数
+         */
+        private int flushDue(long now, long maxLatencyNanos, boolean force) {
+            boolean all = force || bufferedRows >= config.getBatchSize();
+            List<TableBuffer> due = new ArrayList<>();
+            Iterator<TableBuffer> iterator = buffers.values().iterator();
+            while (iterator.hasNext()) {
+                TableBuffer buffer = iterator.next();
+                if (buffer.rows.isEmpty()) {
+                    // 长期空闲的子表释放缓冲，避免设备数量多时常驻内存
+                    if (now - buffer.firstRowNanos > maxLatencyNanos * 100) {
+                        iterator.remove();
+                    }
+                    continue;
+                }
+                if (!force && now - buffer.retryAtNanos < 0) {
+                    continue;
+                }
+                if (all || buffer.rows.size() >= config.getBatchSize() || now - buffer.firstRowNanos >= maxLatencyNanos) {
+                    due.add(buffer);
+                }
+            }
+            if (due.isEmpty()) {
+                return 0;
+            }
+
+            Map<String, List<Object>> tableGroupMap = new LinkedHashMap<>();
+            Map<String, String> tableNames = new HashMap<>();
+            int rowCount = 0;
+            for (TableBuffer buffer : due) {
+                tableGroupMap.put(buffer.key, buffer.rows);
+                tableNames.put(buffer.key, buffer.tableName);
+                rowCount += buffer.rows.size();
+                buffer.rows = new ArrayList<>();
+            }
+            bufferedRows -= rowCount;
+
+            Exception error = flush(tableGroupMap, tableNames, rowCount);
+            int retrying = 0;
+            for (TableBuffer buffer : due) {
+                List<Object> rows = tableGroupMap.get(buffer.key);
+                if (error == null) {
+                    buffer.attempts = 0;
+                } else if (buffer.attempts < config.getMaxRetries()) {
+                    // 失败的数据放回缓冲头部等待重试，TDengine 按时间戳去重，重复写入已成功的部分不会产生重复行
+                    buffer.attempts++;
+                    buffer.rows.addAll(0, rows);
+                    buffer.firstRowNanos = now;
+                    buffer.retryAtNanos = now + TimeUnit.MILLISECONDS.toNanos(config.getRetryBackoffMs());
+                    bufferedRows += rows.size();
+                    retriedRows.add(rows.size());
+                    retrying++;
+                } else {
+                    fail(buffer, rows, error);
+                    buffer.attempts = 0;
+                }
+            }
+            return retrying;
+        }
+
+        /**
+         * 刷新全部缓冲，失败时按退避间隔重试直至成功或重试次数用尽
+         */
+        private void flushAll() {
+            long maxLatencyNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, config.getMaxLatencyMs()));
+            while (flushDue(System.nanoTime(), maxLatencyNanos, true) > 0) {
+                try {
+                    Thread.sleep(Math.max(1, config.getRetryBackoffMs()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    // 不再等待，剩余次数立即用完
+                    for (TableBuffer buffer : buffers.values()) {
+                        buffer.attempts = Math.max(buffer.attempts, config.getMaxRetries());
+                    }
+                }
+            }
+            buffers.clear();
+        }
+    }
+
+    private static class TableBuffer {
+        private final String key;
+        private final String tableName;
+        private List<Object> rows = new ArrayList<>();
+        private long firstRowNanos;
+        private long retryAtNanos;
+        private int attempts;
+
+        TableBuffer(String key, String tableName) {
+            this.key = key;
+            this.tableName = tableName;
+        }
+    }
+
+    private static class PendingRow {
+        private final Object entity;
+        private final String tableName;
+
+        PendingRow(Object entity, String tableName) {
+            this.entity = entity;
+            this.tableName = tableName;
+        }
+    }
+}